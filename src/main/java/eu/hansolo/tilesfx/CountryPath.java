@@ -17,7 +17,9 @@
 package eu.hansolo.tilesfx;
 
 import eu.hansolo.tilesfx.tools.Helper;
+import javafx.event.EventHandler;
 import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.shape.SVGPath;
 
 import java.util.Locale;
@@ -25,11 +27,15 @@ import java.util.Locale;
 
 /**
  * Created by hansolo on 21.12.16.
+ *
+ * The locale and the tooltip will be created lazily, the tooltip will be
+ * installed when the mouse enters the path for the first time.
  */
 public class CountryPath extends SVGPath {
-    private String  name;
-    private Locale  locale;
-    private Tooltip tooltip;
+    private String                    name;
+    private Locale                    locale;
+    private Tooltip                   tooltip;
+    private EventHandler<MouseEvent>  tooltipHandler;
 
 
     // ******************** Constructors **************************************
@@ -41,10 +47,12 @@ public class CountryPath extends SVGPath {
     }
     public CountryPath(final String NAME, final String CONTENT) {
         super();
-        name    = NAME;
-        locale  = new Locale("", NAME);
-        tooltip = new Tooltip(locale.getDisplayCountry());
-        Tooltip.install(CountryPath.this, tooltip);
+        name           = NAME;
+        tooltipHandler = e -> {
+            removeEventHandler(MouseEvent.MOUSE_ENTERED, tooltipHandler);
+            if (null == tooltip) { setTooltip(new Tooltip(getLocale().getDisplayCountry())); }
+        };
+        addEventHandler(MouseEvent.MOUSE_ENTERED, tooltipHandler);
         if (null == CONTENT) return;
         setContent(CONTENT);
     }
@@ -54,11 +62,18 @@ public class CountryPath extends SVGPath {
     public String getName() { return name; }
     public void setName(final String NAME) { this.name = NAME; }
 
-    public Locale getLocale() { return locale; }
+    public Locale getLocale() {
+        if (null == locale) { locale = new Locale("", name); }
+        return locale;
+    }
     public void setLocale(final Locale LOCALE) { locale = LOCALE; }
 
-    public Tooltip getTooltip() { return tooltip; }
+    public Tooltip getTooltip() {
+        if (null == tooltip) { setTooltip(new Tooltip(getLocale().getDisplayCountry())); }
+        return tooltip;
+    }
     public void setTooltip(final Tooltip TOOLTIP) {
+        if (null != tooltip) { Tooltip.uninstall(CountryPath.this, tooltip); }
         tooltip = TOOLTIP;
         Tooltip.install(CountryPath.this, tooltip);
     }
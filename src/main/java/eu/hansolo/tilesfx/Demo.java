@@ -214,7 +214,7 @@ public class Demo extends Application {
         chartData6 = new ChartData("Item 6", 13.0, Tile.BLUE);
         chartData7 = new ChartData("Item 7", 13.0, Tile.BLUE);
         chartData8 = new ChartData("Item 8", 13.0, Tile.BLUE);
-        //ChartData.animated = false;
+        //chartData1.setAnimated(false);
 
         smoothChartData1 = new ChartData("Item 1", RND.nextDouble() * 25, Tile.BLUE);
         smoothChartData2 = new ChartData("Item 2", RND.nextDouble() * 25, Tile.BLUE);
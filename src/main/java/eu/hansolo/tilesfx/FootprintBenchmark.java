@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx;
+
+import eu.hansolo.tilesfx.Tile.SkinType;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+
+/**
+ * Measures the retained heap per Tile for every SkinType, once for the
+ * Tile alone and once including its skin. Run it with a fixed heap
+ * (e.g. -Xms512m -Xmx512m) to get stable numbers. The number of tiles per
+ * SkinType can be defined with -Dtilesfx.benchmark.tiles=N. SkinTypes
+ * whose skin can't be created without further data (e.g. WEATHER) will be
+ * listed without numbers.
+ */
+public class FootprintBenchmark extends Application {
+    private static final int NO_OF_TILES = Integer.getInteger("tilesfx.benchmark.tiles", 200);
+    private static final int NO_OF_GCS   = 5;
+
+
+    @Override public void start(Stage stage) {
+        Pane  pane  = new Pane();
+        Scene scene = new Scene(pane, 400, 400);
+        stage.setScene(scene);
+
+        // Create every skin once before measuring to not count the loading of classes, fonts and css
+        for (SkinType skinType : SkinType.values()) { measure(pane, skinType, 1); }
+
+        System.out.println(String.format(Locale.US, "%-20s %14s %14s", "SkinType", "Tile [bytes]", "+Skin [bytes]"));
+        for (SkinType skinType : SkinType.values()) {
+            long[] footprint = measure(pane, skinType, NO_OF_TILES);
+            if (null == footprint) {
+                System.out.println(String.format(Locale.US, "%-20s %14s %14s", skinType.name(), "-", "-"));
+            } else {
+                System.out.println(String.format(Locale.US, "%-20s %14d %14d", skinType.name(), footprint[0], footprint[1]));
+            }
+        }
+        Platform.exit();
+    }
+
+    /**
+     * Returns the retained heap per tile without and with its skin or null
+     * if the skin could not be created, e.g. because it needs data that is
+     * not available in the benchmark.
+     */
+    private static long[] measure(final Pane PANE, final SkinType SKIN_TYPE, final int NO_OF_TILES) {
+        List<Tile> tiles = new ArrayList<>(NO_OF_TILES);
+        try {
+            long before = usedMemory();
+            for (int i = 0 ; i < NO_OF_TILES ; i++) { tiles.add(new Tile(SKIN_TYPE)); }
+            long tileOnly = usedMemory();
+
+            // Adding the tiles to a scene and applying the css creates the skins
+            PANE.getChildren().setAll(tiles);
+            PANE.applyCss();
+            PANE.layout();
+            long withSkin = usedMemory();
+
+            return new long[] { (tileOnly - before) / NO_OF_TILES, (withSkin - before) / NO_OF_TILES };
+        } catch (RuntimeException e) {
+            return null;
+        } finally {
+            PANE.getChildren().clear();
+            tiles.forEach(tile -> { if (null != tile.getSkin()) { tile.getSkin().dispose(); } });
+            tiles.clear();
+        }
+    }
+
+    @Override public void stop() {
+        System.exit(0);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0 ; i < NO_OF_GCS ; i++) {
+            System.gc();
+            try { Thread.sleep(20); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
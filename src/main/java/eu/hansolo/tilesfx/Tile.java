@@ -30,14 +30,22 @@ import eu.hansolo.tilesfx.events.TimeEventListener;
 import eu.hansolo.tilesfx.fonts.Fonts;
 import eu.hansolo.tilesfx.skins.*;
 import eu.hansolo.tilesfx.chart.ChartData;
+import eu.hansolo.tilesfx.chart.DoubleSeries;
+import eu.hansolo.tilesfx.chart.SmoothAreaChart.Downsampling;
+import eu.hansolo.tilesfx.tools.CountryGeometryStore;
+import eu.hansolo.tilesfx.tools.GradientLookup;
 import eu.hansolo.tilesfx.tools.TimeData;
 import eu.hansolo.tilesfx.tools.Helper;
 import eu.hansolo.tilesfx.tools.Location;
+import eu.hansolo.tilesfx.tools.MapTileSource;
 import eu.hansolo.tilesfx.tools.MovingAverage;
 import eu.hansolo.tilesfx.tools.SectionComparator;
 import eu.hansolo.tilesfx.tools.TimeSectionComparator;
+import eu.hansolo.tilesfx.tools.Track;
+import eu.hansolo.tilesfx.tools.UrlMapTileSource;
 import eu.hansolo.tilesfx.weather.DarkSky;
 import javafx.animation.Animation.Status;
+import javafx.animation.AnimationTimer;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
@@ -64,22 +72,21 @@ import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
 import javafx.util.Duration;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.text.NumberFormat;
 import java.time.Instant;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Properties;
 import java.util.Queue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
@@ -87,6 +94,8 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import static eu.hansolo.tilesfx.tools.Helper.clamp;
 import static eu.hansolo.tilesfx.tools.MovingAverage.MAX_PERIOD;
@@ -150,17 +159,34 @@ public class Tile extends Control {
         }
     }
     public enum MapProvider {
-        BW("blackwhite"),
-        STREET("street"),
-        BRIGHT("bright"),
-        DARK("dark"),
-        SAT("sat"),
-        TOPO("topo");
+        BW("blackwhite", "http://{s}.tiles.wmflabs.org/bw-mapnik/{z}/{x}/{y}.png", 18),
+        STREET("street", "http://{s}.google.com/vt/lyrs=m&x={x}&y={y}&z={z}", 20, "mt0", "mt1", "mt2", "mt3"),
+        BRIGHT("bright", "http://{s}.basemaps.cartocdn.com/light_all/{z}/{x}/{y}.png", 19, "a", "b", "c", "d"),
+        DARK("dark", "http://{s}.basemaps.cartocdn.com/dark_all/{z}/{x}/{y}.png", 19, "a", "b", "c", "d"),
+        SAT("sat", "http://{s}.google.com/vt/lyrs=s&x={x}&y={y}&z={z}", 20, "mt0", "mt1", "mt2", "mt3"),
+        TOPO("topo", "http://{s}.google.com/vt/lyrs=p&x={x}&y={y}&z={z}", 20, "mt0", "mt1", "mt2", "mt3");
 
-        public final String name;
+        public  final String        name;
+        public  final String        tileUrl;
+        private final int           maxZoom;
+        private final String[]      subdomains;
+        private       MapTileSource tileSource;
 
-        MapProvider(final String NAME) {
-            name = NAME;
+        MapProvider(final String NAME, final String TILE_URL, final int MAX_ZOOM, final String... SUBDOMAINS) {
+            name       = NAME;
+            tileUrl    = TILE_URL;
+            maxZoom    = MAX_ZOOM;
+            subdomains = SUBDOMAINS;
+        }
+
+        /**
+         * Returns the source that will be used by the canvas map of the
+         * MapTileSkin to load the tiles of this provider.
+         * @return the tile source of this provider
+         */
+        public synchronized MapTileSource getTileSource() {
+            if (null == tileSource) { tileSource = new UrlMapTileSource(name, tileUrl, maxZoom, subdomains); }
+            return tileSource;
         }
     }
 
@@ -180,7 +206,7 @@ public class Tile extends Control {
     public  static final int         SHORT_INTERVAL        = 20;
     public  static final int         LONG_INTERVAL         = 1000;
     private static final int         MAX_NO_OF_DECIMALS    = 3;
-    private static final String      COUNTRY_PROPERTIES    = "eu/hansolo/tilesfx/lowres.properties";
+    private static final int         MIN_OFFER_CAPACITY    = 16;
 
     private        final TileEvent   EXCEEDED_EVENT        = new TileEvent(EventType.THRESHOLD_EXCEEDED);
     private        final TileEvent   UNDERRUN_EVENT        = new TileEvent(EventType.THRESHOLD_UNDERRUN);
@@ -209,12 +235,27 @@ public class Tile extends Control {
     private List<AlarmEventListener> alarmListenerList     = new CopyOnWriteArrayList<>();
     private List<TimeEventListener>  timeEventListenerList = new CopyOnWriteArrayList<>();
 
+    // Batched tile events, guarded by batchedEvents because events can be fired from any thread
+    private final Map<EventType, TileEvent> batchedEvents = new LinkedHashMap<>();
+    private       int                       batchDepth;
+    private       boolean                   sectionsUnsorted;
+    private       boolean                   timeSectionsUnsorted;
+
 
     // Data related
     private              DoubleProperty                         value;
     private              DoubleProperty                         oldValue;      // last value
     private              DoubleProperty                         currentValue;
     private              DoubleProperty                         formerValue;   // last current value
+    private        final Object                                 offerLock = new Object();
+    private              double[]                               offeredValues;
+    private              long[]                                 offeredTimestamps;
+    private              int                                    offeredHead;
+    private              int                                    noOfOfferedValues;
+    private              double[]                               flushedValues;
+    private              long[]                                 flushedTimestamps;
+    private              AtomicBoolean                          offerFlushScheduled;
+    private              AnimationTimer                         offerFlushTimer;
     private              double                                 _minValue;
     private              DoubleProperty                         minValue;
     private              double                                 _maxValue;
@@ -250,32 +291,37 @@ public class Tile extends Control {
     private              BooleanProperty                        averagingEnabled;
     private              int                                    _averagingPeriod;
     private              IntegerProperty                        averagingPeriod;
-    private              MovingAverage                          movingAverage;
-    private              ObservableList<Section>                sections;
-    private              ObservableList<Series<String, Number>> series;
-    private              Properties                             countryProperties;
+    private volatile     MovingAverage                          movingAverage;
+    private volatile     ObservableList<Section>                sections;
+    private volatile     ObservableList<Series<String, Number>> series;
+    private volatile     ObservableList<DoubleSeries>           doubleSeries;
     private              Map<String, List<CountryPath>>         countryPaths;
-    private              List<Stop>                             gradientStops;
+    private volatile     List<Stop>                             gradientStops;
+    private              ZonedDateTime                          _time;
     private              ObjectProperty<ZonedDateTime>          time;
+    private              long                                   _currentTime;
     private              LongProperty                           currentTime;
     private              ZoneId                                 zoneId;
     private              int                                    updateInterval;
-    private              ObservableList<TimeSection>            timeSections;
+    private volatile     ObservableList<TimeSection>            timeSections;
     private              LocalTime                              _duration;
     private              ObjectProperty<LocalTime>              duration;
-    private              ObservableList<BarChartItem>           barChartItems;
-    private              List<LeaderBoardItem>                  leaderBoardItems;
+    private volatile     ObservableList<BarChartItem>           barChartItems;
+    private volatile     List<LeaderBoardItem>                  leaderBoardItems;
     private              ObjectProperty<Node>                   graphic;
     private              Location                               _currentLocation;
     private              ObjectProperty<Location>               currentLocation;
-    private              ObservableList<Location>               poiList;
-    private              ObservableList<ChartData>              chartDataList;
-    private              List<Location>                         track;
+    private volatile     ObservableList<Location>               poiList;
+    private volatile     ObservableList<ChartData>              chartDataList;
+    private        final Track                                  track     = new Track();
+    private volatile     List<Location>                         trackView;
     private              TileColor                              _trackColor;
     private              ObjectProperty<TileColor>              trackColor;
     private              MapProvider                            _mapProvider;
     private              ObjectProperty<MapProvider>            mapProvider;
-    private              List<String>                           characterList;
+    private              MapTileSource                          _mapTileSource;
+    private              ObjectProperty<MapTileSource>          mapTileSource;
+    private volatile     List<String>                           characterList;
     private              long                                   flipTimeInMS;
 
     // UI related
@@ -383,6 +429,12 @@ public class Tile extends Control {
     private              StringProperty                         alertMessage;
     private              boolean                                _smoothing;
     private              BooleanProperty                        smoothing;
+    private              boolean                                _canvasMapEnabled;
+    private              BooleanProperty                        canvasMapEnabled;
+    private              boolean                                _canvasChartEnabled;
+    private              BooleanProperty                        canvasChartEnabled;
+    private              Downsampling                           _downsampling;
+    private              ObjectProperty<Downsampling>           downsampling;
     private              double                                 increment;
     private              double                                 originalMinValue;
     private              double                                 originalMaxValue;
@@ -428,7 +480,7 @@ public class Tile extends Control {
     private              BooleanProperty                        alarmsEnabled;
     private              boolean                                _alarmsVisible;
     private              BooleanProperty                        alarmsVisible;
-    private              ObservableList<Alarm>                  alarms;
+    private volatile     ObservableList<Alarm>                  alarms;
     private              List<Alarm>                            alarmsToRemove;
     private              boolean                                _strokeWithGradient;
     private              BooleanProperty                        strokeWithGradient;
@@ -448,6 +500,8 @@ public class Tile extends Control {
     private              ObjectProperty<Country>                country;
     private              boolean                                _sortedData;
     private              BooleanProperty                        sortedData;
+    private              boolean                                _barChartVirtualized;
+    private              BooleanProperty                        barChartVirtualized;
 
     private volatile     ScheduledFuture<?>                     periodicTickTask;
     private static       ScheduledExecutorService               periodicTickExecutorService;
@@ -481,6 +535,7 @@ public class Tile extends Control {
                 lastCall = Instant.now();
                 if (isAnimated() && withinSpeedLimit) {
                     long animationDuration = isReturnToZero() ? (long) (0.2 * getAnimationDuration()) : getAnimationDuration();
+                    Timeline timeline = getTimeline();
                     timeline.stop();
 
                     final KeyValue KEY_VALUE = new KeyValue(currentValue, VALUE, Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0));
@@ -491,7 +546,7 @@ public class Tile extends Control {
                     currentValue.set(VALUE);
                     fireTileEvent(FINISHED_EVENT);
                 }
-                if (isAveragingEnabled()) { movingAverage.addData(new TimeData(VALUE)); }
+                if (isAveragingEnabled()) { getMovingAverage().addValue(VALUE); }
             }
             @Override protected void invalidated() { update(); }
             @Override public void set(final double VALUE) {
@@ -528,36 +583,17 @@ public class Tile extends Control {
             @Override public String getName() { return "currentValue";}
         };
         formerValue                         = new SimpleDoubleProperty(Tile.this, "formerValue", value.get());
+        offerFlushScheduled                 = new AtomicBoolean(false);
+        offerFlushTimer                     = new AnimationTimer() {
+            @Override public void handle(final long NOW) { flushOfferedValues(); }
+        };
         _range                              = _maxValue - _minValue;
         _threshold                          = _maxValue;
         _referenceValue                     = _minValue;
         _autoReferenceValue                 = true;
-        time                                = new ObjectPropertyBase<ZonedDateTime>(TIME) {
-            @Override protected void invalidated() {
-                zoneId = get().getZone();
-                fireTileEvent(RECALC_EVENT);
-                if (!isRunning() && isAnimated()) {
-                    long animationDuration = getAnimationDuration();
-                    timeline.stop();
-                    final KeyValue KEY_VALUE = new KeyValue(currentTime, TIME.toEpochSecond());
-                    final KeyFrame KEY_FRAME = new KeyFrame(javafx.util.Duration.millis(animationDuration), KEY_VALUE);
-                    timeline.getKeyFrames().setAll(KEY_FRAME);
-                    timeline.setOnFinished(e -> fireTileEvent(FINISHED_EVENT));
-                    timeline.play();
-                } else {
-                    currentTime.set(TIME.toEpochSecond());
-                    fireTileEvent(FINISHED_EVENT);
-                }
-            }
-            @Override public Object getBean() { return Tile.this; }
-            @Override public String getName() { return "time"; }
-        };
-        currentTime                         = new LongPropertyBase(time.get().toEpochSecond()) {
-            @Override protected void invalidated() {}
-            @Override public Object getBean() { return Tile.this; }
-            @Override public String getName() { return "currentTime"; }
-        };
-        zoneId                              = time.get().getZone();
+        _time                               = TIME;
+        _currentTime                        = TIME.toEpochSecond();
+        zoneId                              = TIME.getZone();
         _title                              = "";
         _titleAlignment                     = TextAlignment.LEFT;
         _description                        = "";
@@ -572,22 +608,10 @@ public class Tile extends Control {
         _averagingPeriod                    = 10;
         _duration                           = LocalTime.of(1, 0);
         _currentLocation                    = new Location(0, 0);
-        poiList                             = FXCollections.observableArrayList();
-        chartDataList                       = FXCollections.observableArrayList();
-        movingAverage                       = new MovingAverage(_averagingPeriod);
-        sections                            = FXCollections.observableArrayList();
-        series                              = FXCollections.observableArrayList();
-        timeSections                        = FXCollections.observableArrayList();
-        alarms                              = FXCollections.observableArrayList();
-        alarmsToRemove                      = new ArrayList<>();
-        barChartItems                       = FXCollections.observableArrayList();
-        track                               = new ArrayList<>();
         _trackColor                         = TileColor.BLUE;
         _mapProvider                        = MapProvider.BW;
-        characterList                       = new ArrayList<>();
+        _mapTileSource                      = null;
         flipTimeInMS                        = 500;
-        leaderBoardItems                    = new ArrayList<>();
-        gradientStops                       = new ArrayList<>(4);
 
         _textSize                           = TextSize.NORMAL;
         _roundedCorners                     = true;
@@ -649,6 +673,9 @@ public class Tile extends Control {
         _alert                              = false;
         _alertMessage                       = "";
         _smoothing                          = false;
+        _canvasMapEnabled                   = false;
+        _canvasChartEnabled                 = false;
+        _downsampling                       = Downsampling.LTTB;
         _secondsVisible                     = false;
         _discreteSeconds                    = true;
         _discreteMinutes                    = true;
@@ -661,29 +688,38 @@ public class Tile extends Control {
         _alarmsEnabled                      = false;
         _alarmsVisible                      = false;
         _strokeWithGradient                 = false;
-        tooltip                             = new Tooltip(null);
-        _xAxis                              = new CategoryAxis();
-        _yAxis                              = new NumberAxis();
         _radarChartMode                     = Mode.POLYGON;
         _chartGridColor                     = Tile.GRAY;
         _country                            = Country.DE;
         _sortedData                         = true;
+        _barChartVirtualized                = false;
         updateInterval                      = LONG_INTERVAL;
         increment                           = 1;
         originalMinValue                    = -Double.MAX_VALUE;
         originalMaxValue                    = Double.MAX_VALUE;
         originalThreshold                   = Double.MAX_VALUE;
         lastCall                            = Instant.now();
-        timeline                            = new Timeline();
-        timeline.setOnFinished(e -> {
-            if (isReturnToZero() && !Helper.equals(currentValue.get(), 0.0)) {
-                final KeyValue KEY_VALUE2 = new KeyValue(value, 0, Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0));
-                final KeyFrame KEY_FRAME2 = new KeyFrame(Duration.millis((long) (0.8 * getAnimationDuration())), KEY_VALUE2);
-                timeline.getKeyFrames().setAll(KEY_FRAME2);
-                timeline.play();
-            }
-            fireTileEvent(FINISHED_EVENT);
-        });
+    }
+
+    /**
+     * Returns the timeline that animates the value and the time. It will
+     * only be created if the tile is animated.
+     * @return the timeline that animates the value and the time
+     */
+    private Timeline getTimeline() {
+        if (null == timeline) {
+            timeline = new Timeline();
+            timeline.setOnFinished(e -> {
+                if (isReturnToZero() && !Helper.equals(currentValue.get(), 0.0)) {
+                    final KeyValue KEY_VALUE2 = new KeyValue(value, 0, Interpolator.SPLINE(0.5, 0.4, 0.4, 1.0));
+                    final KeyFrame KEY_FRAME2 = new KeyFrame(Duration.millis((long) (0.8 * getAnimationDuration())), KEY_VALUE2);
+                    timeline.getKeyFrames().setAll(KEY_FRAME2);
+                    timeline.play();
+                }
+                fireTileEvent(FINISHED_EVENT);
+            });
+        }
+        return timeline;
     }
 
     private void registerListeners() {
@@ -721,6 +757,88 @@ public class Tile extends Control {
     public void setValue(final double VALUE) { value.set(VALUE); }
     public DoubleProperty valueProperty() { return value; }
 
+    /**
+     * Offers the given value to the Tile. In contrast to setValue() this
+     * method can be called from any thread. All values that are offered
+     * between two pulses will be coalesced which means only the latest
+     * value will be set on the value property (one property change and one
+     * redraw per pulse). The intermediate values will be added to the
+     * moving average in bulk if averaging is enabled.
+     * Values that exceed the averaging period before they could be flushed
+     * will be dropped because they would not be part of the average anyway.
+     *
+     * @param VALUE
+     */
+    public void offerValue(final double VALUE) {
+        final long TIMESTAMP = System.currentTimeMillis();
+        synchronized (offerLock) {
+            if (null == offeredValues) {
+                offeredValues     = new double[MIN_OFFER_CAPACITY];
+                offeredTimestamps = new long[MIN_OFFER_CAPACITY];
+            }
+            int capacity = offeredValues.length;
+            if (noOfOfferedValues == capacity) {
+                int maxCapacity = Math.max(MIN_OFFER_CAPACITY, getAveragingPeriod() + 1);
+                if (capacity < maxCapacity) {
+                    int      newCapacity   = Math.min(maxCapacity, capacity * 2);
+                    double[] newValues     = new double[newCapacity];
+                    long[]   newTimestamps = new long[newCapacity];
+                    for (int i = 0 ; i < noOfOfferedValues ; i++) {
+                        int index = (offeredHead + i) % capacity;
+                        newValues[i]     = offeredValues[index];
+                        newTimestamps[i] = offeredTimestamps[index];
+                    }
+                    offeredValues     = newValues;
+                    offeredTimestamps = newTimestamps;
+                    offeredHead       = 0;
+                    capacity          = newCapacity;
+                } else {
+                    // Drop the oldest value
+                    offeredHead = (offeredHead + 1) % capacity;
+                    noOfOfferedValues--;
+                }
+            }
+            int index = (offeredHead + noOfOfferedValues) % capacity;
+            offeredValues[index]     = VALUE;
+            offeredTimestamps[index] = TIMESTAMP;
+            noOfOfferedValues++;
+        }
+        if (offerFlushScheduled.compareAndSet(false, true)) { Platform.runLater(() -> offerFlushTimer.start()); }
+    }
+
+    private void flushOfferedValues() {
+        final int NO_OF_VALUES;
+        synchronized (offerLock) {
+            NO_OF_VALUES = noOfOfferedValues;
+            if (NO_OF_VALUES > 0) {
+                if (null == flushedValues || flushedValues.length < NO_OF_VALUES) {
+                    flushedValues     = new double[offeredValues.length];
+                    flushedTimestamps = new long[offeredValues.length];
+                }
+                for (int i = 0 ; i < NO_OF_VALUES ; i++) {
+                    int index = (offeredHead + i) % offeredValues.length;
+                    flushedValues[i]     = offeredValues[index];
+                    flushedTimestamps[i] = offeredTimestamps[index];
+                }
+                offeredHead       = 0;
+                noOfOfferedValues = 0;
+            }
+        }
+        if (0 == NO_OF_VALUES) {
+            // Nothing was offered during the last pulse => stop flushing until the next value comes in
+            offerFlushTimer.stop();
+            offerFlushScheduled.set(false);
+            synchronized (offerLock) {
+                if (noOfOfferedValues > 0 && offerFlushScheduled.compareAndSet(false, true)) { offerFlushTimer.start(); }
+            }
+            return;
+        }
+        if (valueProperty().isBound()) return;
+        // The latest value will be added to the moving average by the value property itself
+        if (NO_OF_VALUES > 1 && isAveragingEnabled()) { getMovingAverage().addData(flushedValues, flushedTimestamps, NO_OF_VALUES - 1); }
+        setValue(flushedValues[NO_OF_VALUES - 1]);
+    }
+
     /**
      * Returns the current value of the Tile. If animated == true this value
      * represents the current value during the animation. Otherwise it's returns
@@ -767,7 +885,7 @@ public class Tile extends Control {
      * @param VALUE
      */
     public void setMinValue(final double VALUE) {
-        if (Status.RUNNING == timeline.getStatus()) { timeline.jumpTo(Duration.ONE); }
+        if (null != timeline && Status.RUNNING == timeline.getStatus()) { timeline.jumpTo(Duration.ONE); }
         if (null == minValue) {
             if (VALUE > getMaxValue()) { setMaxValue(VALUE); }
             _minValue = clamp(-Double.MAX_VALUE, getMaxValue(), VALUE);
@@ -814,7 +932,7 @@ public class Tile extends Control {
      * @param VALUE
      */
     public void setMaxValue(final double VALUE) {
-        if (Status.RUNNING == timeline.getStatus()) { timeline.jumpTo(Duration.ONE); }
+        if (null != timeline && Status.RUNNING == timeline.getStatus()) { timeline.jumpTo(Duration.ONE); }
         if (null == maxValue) {
             if (VALUE < getMinValue()) { setMinValue(VALUE); }
             _maxValue = clamp(getMinValue(), Double.MAX_VALUE, VALUE);
@@ -1206,7 +1324,14 @@ public class Tile extends Control {
      * Returns the moving average object
      * @return the moving average object
      */
-    public MovingAverage getMovingAverage() { return movingAverage; }
+    public MovingAverage getMovingAverage() {
+        if (null == movingAverage) {
+            synchronized (offerLock) {
+                if (null == movingAverage) { movingAverage = new MovingAverage(getAveragingPeriod()); }
+            }
+        }
+        return movingAverage;
+    }
 
     /**
      * Returns true if the averaging functionality is enabled.
@@ -1251,7 +1376,7 @@ public class Tile extends Control {
     public void setAveragingPeriod(final int PERIOD) {
         if (null == averagingPeriod) {
             _averagingPeriod = Helper.clamp(0, MAX_PERIOD, PERIOD);
-            movingAverage.setPeriod(_averagingPeriod); // MAX 1000 values
+            if (null != movingAverage) { movingAverage.setPeriod(_averagingPeriod); } // MAX 1000 values
             fireTileEvent(AVERAGING_EVENT);
         } else {
             averagingPeriod.set(Helper.clamp(0, MAX_PERIOD, PERIOD));
@@ -1261,7 +1386,7 @@ public class Tile extends Control {
         if (null == averagingPeriod) {
             averagingPeriod = new IntegerPropertyBase(_averagingPeriod) {
                 @Override protected void invalidated() {
-                    movingAverage.setPeriod(get());
+                    if (null != movingAverage) { movingAverage.setPeriod(get()); }
                     fireTileEvent(AVERAGING_EVENT);
                 }
                 @Override public Object getBean() { return Tile.this; }
@@ -1272,24 +1397,24 @@ public class Tile extends Control {
     }
 
     /**
-     * Returns a deep copy of the current list of Data objects that will
-     * be used to calculate the moving average.
-     * @return the current list of Data objects used for the moving average
+     * Returns a read only view on the Data objects that will be used
+     * to calculate the moving average.
+     * @return a read only view on the Data objects used for the moving average
      */
-    public Queue<TimeData> getAveragingWindow() { return movingAverage.getWindow(); }
+    public Queue<TimeData> getAveragingWindow() { return getMovingAverage().getWindow(); }
 
     /**
      * Returns the moving average over the number of values
      * defined by averagingPeriod.
      * @return the moving the average over the number of values defined by averagingPeriod
      */
-    public double getAverage() { return movingAverage.getAverage(); }
+    public double getAverage() { return getMovingAverage().getAverage(); }
     /**
      * Returns the moving average over the given duration.
      * @param DURATION
      * @return the moving average over the given duration
      */
-    public double getTimeBasedAverageOf(final java.time.Duration DURATION) { return movingAverage.getTimeBasedAverageOf(DURATION); }
+    public double getTimeBasedAverageOf(final java.time.Duration DURATION) { return getMovingAverage().getTimeBasedAverageOf(DURATION); }
 
     /**
      * Returns a duration that will be used in the TimeTileSkin
@@ -1327,7 +1452,14 @@ public class Tile extends Control {
      *
      * @return an observable list of Section objects
      */
-    public ObservableList<Section> getSections() { return sections; }
+    public ObservableList<Section> getSections() {
+        if (null == sections) {
+            synchronized (offerLock) {
+                if (null == sections) { sections = FXCollections.observableArrayList(); }
+            }
+        }
+        return sections;
+    }
     /**
      * Sets the sections to the given list of Section objects. The
      * sections will be used to colorize areas with a special
@@ -1338,8 +1470,8 @@ public class Tile extends Control {
      * @param SECTIONS
      */
     public void setSections(final List<Section> SECTIONS) {
-        sections.setAll(SECTIONS);
-        sections.sort(new SectionComparator());
+        getSections().setAll(SECTIONS);
+        sortSections();
         fireTileEvent(SECTION_EVENT);
     }
     /**
@@ -1359,8 +1491,20 @@ public class Tile extends Control {
      */
     public void addSection(final Section SECTION) {
         if (null == SECTION) return;
-        sections.add(SECTION);
-        sections.sort(new SectionComparator());
+        getSections().add(SECTION);
+        sortSections();
+        fireTileEvent(SECTION_EVENT);
+    }
+    /**
+     * Adds the given Sections to the list of sections and fires only one
+     * event.
+     *
+     * @param SECTIONS
+     */
+    public void addSections(final Collection<Section> SECTIONS) {
+        if (null == SECTIONS || SECTIONS.isEmpty()) return;
+        getSections().addAll(SECTIONS);
+        sortSections();
         fireTileEvent(SECTION_EVENT);
     }
     /**
@@ -1372,89 +1516,168 @@ public class Tile extends Control {
      */
     public void removeSection(final Section SECTION) {
         if (null == SECTION) return;
-        sections.remove(SECTION);
-        sections.sort(new SectionComparator());
+        getSections().remove(SECTION);
+        sortSections();
         fireTileEvent(SECTION_EVENT);
     }
     /**
      * Clears the list of sections.
      */
     public void clearSections() {
-        sections.clear();
+        getSections().clear();
         fireTileEvent(SECTION_EVENT);
     }
+    private void sortSections() {
+        if (isBatching()) {
+            sectionsUnsorted = true;
+        } else {
+            getSections().sort(new SectionComparator());
+        }
+    }
 
-    public Collection<Series<String, Number>> getSeries() { return series; }
+    public Collection<Series<String, Number>> getSeries() { return getSeriesList(); }
+    private ObservableList<Series<String, Number>> getSeriesList() {
+        if (null == series) {
+            synchronized (offerLock) {
+                if (null == series) { series = FXCollections.observableArrayList(); }
+            }
+        }
+        return series;
+    }
     public void setSeries(final List<Series<String, Number>> SERIES) {
-        series.setAll(SERIES);
+        getSeriesList().setAll(SERIES);
         fireTileEvent(SERIES_EVENT);
     }
     public void setSeries(final Series<String, Number>... SERIES) { setSeries(Arrays.asList(SERIES)); }
     public void addSeries(final Series<String, Number> SERIES) {
         if (null == SERIES) return;
-        series.add(SERIES);
+        getSeriesList().add(SERIES);
         fireTileEvent(SERIES_EVENT);
     }
     public void removeSeries(final Series<String, Number> SERIES) {
         if (null == SERIES) return;
-        series.remove(SERIES);
+        getSeriesList().remove(SERIES);
         fireTileEvent(SERIES_EVENT);
     }
     public void clearSeries() {
-        series.clear();
+        getSeriesList().clear();
+        fireTileEvent(SERIES_EVENT);
+    }
+
+    /**
+     * Returns the list of series with primitive values that will be drawn
+     * by the chart skins if the canvas chart mode is enabled.
+     * @return the list of series that will be drawn in canvas chart mode
+     */
+    public ObservableList<DoubleSeries> getDoubleSeries() {
+        if (null == doubleSeries) {
+            synchronized (offerLock) {
+                if (null == doubleSeries) { doubleSeries = FXCollections.observableArrayList(); }
+            }
+        }
+        return doubleSeries;
+    }
+    public void setDoubleSeries(final List<DoubleSeries> SERIES) {
+        getDoubleSeries().setAll(SERIES);
+        fireTileEvent(SERIES_EVENT);
+    }
+    public void setDoubleSeries(final DoubleSeries... SERIES) { setDoubleSeries(Arrays.asList(SERIES)); }
+    public void addDoubleSeries(final DoubleSeries SERIES) {
+        if (null == SERIES) return;
+        getDoubleSeries().add(SERIES);
+        fireTileEvent(SERIES_EVENT);
+    }
+    public void removeDoubleSeries(final DoubleSeries SERIES) {
+        if (null == SERIES) return;
+        getDoubleSeries().remove(SERIES);
+        fireTileEvent(SERIES_EVENT);
+    }
+    public void clearDoubleSeries() {
+        getDoubleSeries().clear();
         fireTileEvent(SERIES_EVENT);
     }
 
-    public ObservableList<BarChartItem> getBarChartItems() { return barChartItems; }
+    public ObservableList<BarChartItem> getBarChartItems() {
+        if (null == barChartItems) {
+            synchronized (offerLock) {
+                if (null == barChartItems) { barChartItems = FXCollections.observableArrayList(); }
+            }
+        }
+        return barChartItems;
+    }
     public void setBarChartItems(final List<BarChartItem> ITEMS) {
-        barChartItems.setAll(ITEMS);
+        getBarChartItems().setAll(ITEMS);
         fireTileEvent(DATA_EVENT);
     }
     public void setBarChartItems(final BarChartItem... ITEMS) { setBarChartItems(Arrays.asList(ITEMS)); }
     public void addBarChartItem(final BarChartItem ITEM) {
         if (null == ITEM) return;
-        barChartItems.add(ITEM);
+        getBarChartItems().add(ITEM);
+        fireTileEvent(DATA_EVENT);
+    }
+    public void addBarChartItems(final Collection<BarChartItem> ITEMS) {
+        if (null == ITEMS || ITEMS.isEmpty()) return;
+        getBarChartItems().addAll(ITEMS);
         fireTileEvent(DATA_EVENT);
     }
     public void removeBarChartItem(final BarChartItem ITEM) {
         if (null == ITEM) return;
-        barChartItems.remove(ITEM);
+        getBarChartItems().remove(ITEM);
         fireTileEvent(DATA_EVENT);
     }
     public void clearBarChartItems() {
-        barChartItems.clear();
+        getBarChartItems().clear();
         fireTileEvent(DATA_EVENT);
     }
 
-    public List<LeaderBoardItem> getLeaderBoardItems() { return leaderBoardItems; }
+    public List<LeaderBoardItem> getLeaderBoardItems() {
+        if (null == leaderBoardItems) {
+            synchronized (offerLock) {
+                if (null == leaderBoardItems) { leaderBoardItems = new ArrayList<>(); }
+            }
+        }
+        return leaderBoardItems;
+    }
     public void setLeaderBoardItems(final List<LeaderBoardItem> ITEMS) {
-        leaderBoardItems.clear();
-        leaderBoardItems.addAll(ITEMS);
+        getLeaderBoardItems().clear();
+        getLeaderBoardItems().addAll(ITEMS);
         fireTileEvent(DATA_EVENT);
     }
     public void setLeaderBoardItems(final LeaderBoardItem... ITEMS) { setLeaderBoardItems(Arrays.asList(ITEMS)); }
     public void addLeaderBoardItem(final LeaderBoardItem ITEM) {
         if (null == ITEM) return;
-        leaderBoardItems.add(ITEM);
+        getLeaderBoardItems().add(ITEM);
+        fireTileEvent(DATA_EVENT);
+    }
+    public void addLeaderBoardItems(final Collection<LeaderBoardItem> ITEMS) {
+        if (null == ITEMS || ITEMS.isEmpty()) return;
+        getLeaderBoardItems().addAll(ITEMS);
         fireTileEvent(DATA_EVENT);
     }
     public void removeLeaderBoardItem(final LeaderBoardItem ITEM) {
         if (null == ITEM) return;
-        leaderBoardItems.remove(ITEM);
+        getLeaderBoardItems().remove(ITEM);
         fireTileEvent(DATA_EVENT);
     }
     public void clearLeaderBoardItems() {
-        leaderBoardItems.clear();
+        getLeaderBoardItems().clear();
         fireTileEvent(DATA_EVENT);
     }
 
-    public List<Stop> getGradientStops() { return gradientStops; }
+    public List<Stop> getGradientStops() {
+        if (null == gradientStops) {
+            synchronized (offerLock) {
+                if (null == gradientStops) { gradientStops = new ArrayList<>(4); }
+            }
+        }
+        return gradientStops;
+    }
     public void setGradientStops(final Stop... STOPS) {
         setGradientStops(Arrays.asList(STOPS));
     }
     public void setGradientStops(final List<Stop> STOPS) {
-        gradientStops.clear();
-        gradientStops.addAll(STOPS);
+        getGradientStops().clear();
+        getGradientStops().addAll(STOPS);
         fireTileEvent(REDRAW_EVENT);
     }
 
@@ -1509,39 +1732,107 @@ public class Tile extends Control {
         fireTileEvent(LOCATION_EVENT);
     }
 
-    public ObservableList<Location> getPoiList() { return poiList; }
+    public ObservableList<Location> getPoiList() {
+        if (null == poiList) {
+            synchronized (offerLock) {
+                if (null == poiList) { poiList = FXCollections.observableArrayList(); }
+            }
+        }
+        return poiList;
+    }
     public void setPoiList(final List<Location> POI_LIST) {
-        poiList.clear();
-        poiList.addAll(POI_LIST);
+        getPoiList().clear();
+        getPoiList().addAll(POI_LIST);
         fireTileEvent(LOCATION_EVENT);
     }
     public void setPoiLocations(final Location... LOCATIONS) { setPoiList(Arrays.asList(LOCATIONS)); }
     public void addPoiLocation(final Location LOCATION) {
         if (null == LOCATION) return;
-        poiList.add(LOCATION);
+        getPoiList().add(LOCATION);
+        fireTileEvent(LOCATION_EVENT);
+    }
+    public void addPoiLocations(final Collection<Location> LOCATIONS) {
+        if (null == LOCATIONS || LOCATIONS.isEmpty()) return;
+        getPoiList().addAll(LOCATIONS);
         fireTileEvent(LOCATION_EVENT);
     }
     public void removePoiLocation(final Location LOCATION) {
         if (null == LOCATION) return;
-        poiList.remove(LOCATION);
+        getPoiList().remove(LOCATION);
         fireTileEvent(LOCATION_EVENT);
     }
     public void clearPoiLocations() {
-        poiList.clear();
+        getPoiList().clear();
         fireTileEvent(DATA_EVENT);
     }
 
-    public List<Location> getTrack() { return track; }
+    /**
+     * Returns a read only view on the track. The Location objects will be
+     * created on access, use getTrackData() to read the points directly.
+     * Previously this returned the modifiable list of the track. Calling
+     * add() or clear() on the returned list will now throw an
+     * UnsupportedOperationException, use addToTrack() and setTrack() to
+     * modify the track instead.
+     * @return a read only view on the track
+     */
+    public List<Location> getTrack() {
+        if (null == trackView) {
+            synchronized (offerLock) {
+                if (null == trackView) {
+                    trackView = new AbstractList<Location>() {
+                        @Override public Location get(final int INDEX) { return track.getLocation(INDEX); }
+                        @Override public int size() { return track.size(); }
+                    };
+                }
+            }
+        }
+        return trackView;
+    }
+    public Track getTrackData() { return track; }
     public void setTrack(final Location... LOCATIONS) {
         setTrack(Arrays.asList(LOCATIONS));
     }
     public void setTrack(final List<Location> LOCATIONS) {
-        track.clear();
-        track.addAll(LOCATIONS);
+        getTrackData().set(LOCATIONS);
+        fireTileEvent(TRACK_EVENT);
+    }
+    /**
+     * Appends the given location to the track. Only the new part of the
+     * track will be sent to the map.
+     * @param LOCATION
+     */
+    public void addToTrack(final Location LOCATION) {
+        getTrackData().add(LOCATION);
+        fireTileEvent(TRACK_EVENT);
+    }
+    public void addToTrack(final double LATITUDE, final double LONGITUDE) {
+        getTrackData().add(LATITUDE, LONGITUDE, System.currentTimeMillis());
         fireTileEvent(TRACK_EVENT);
     }
     public void clearTrack() {
-        track.clear();
+        getTrackData().clear();
+        fireTileEvent(TRACK_EVENT);
+    }
+
+    public int getTrackMaxPoints() { return getTrackData().getMaxPoints(); }
+    /**
+     * Defines the maximum number of points of the track, older points will
+     * be removed. A value of 0 means no limit.
+     * @param MAX_POINTS
+     */
+    public void setTrackMaxPoints(final int MAX_POINTS) {
+        getTrackData().setMaxPoints(MAX_POINTS);
+        fireTileEvent(TRACK_EVENT);
+    }
+
+    public java.time.Duration getTrackMaxAge() { return getTrackData().getMaxAge(); }
+    /**
+     * Defines the maximum age of the track points relative to the latest
+     * point, older points will be removed. Duration.ZERO means no limit.
+     * @param MAX_AGE
+     */
+    public void setTrackMaxAge(final java.time.Duration MAX_AGE) {
+        getTrackData().setMaxAge(MAX_AGE);
         fireTileEvent(TRACK_EVENT);
     }
 
@@ -1587,25 +1878,66 @@ public class Tile extends Control {
         return mapProvider;
     }
 
-    public List<String> getCharacterList() { return characterList; }
+    public MapTileSource getMapTileSource() { return null == mapTileSource ? _mapTileSource : mapTileSource.get(); }
+    /**
+     * Defines the source of the tiles that will be drawn by the canvas map
+     * of the MapTileSkin (e.g. a local directory or an MBTiles file). If no
+     * source is set the tiles of the current map provider will be used.
+     * @param SOURCE
+     */
+    public void setMapTileSource(final MapTileSource SOURCE) {
+        if (null == mapTileSource) {
+            _mapTileSource = SOURCE;
+            fireTileEvent(MAP_PROVIDER_EVENT);
+        } else {
+            mapTileSource.set(SOURCE);
+        }
+    }
+    public ObjectProperty<MapTileSource> mapTileSourceProperty() {
+        if (null == mapTileSource) {
+            mapTileSource = new ObjectPropertyBase<MapTileSource>(_mapTileSource) {
+                @Override protected void invalidated() { fireTileEvent(MAP_PROVIDER_EVENT); }
+                @Override public Object getBean() { return Tile.this; }
+                @Override public String getName() { return "mapTileSource"; }
+            };
+            _mapTileSource = null;
+        }
+        return mapTileSource;
+    }
+
+    public List<String> getCharacterList() {
+        if (null == characterList) {
+            synchronized (offerLock) {
+                if (null == characterList) { characterList = new ArrayList<>(); }
+            }
+        }
+        return characterList;
+    }
     public void setCharacters(final String... CHARACTERS) {
-        characterList.clear();
+        getCharacterList().clear();
         Arrays.stream(CHARACTERS)
               .filter(Objects::nonNull)
               .filter(character -> !character.isEmpty())
-              .forEach(character -> characterList.add(character) /*characterList.add(character.substring(0, 1)) */);
+              .forEach(character -> getCharacterList().add(character) /*characterList.add(character.substring(0, 1)) */);
     }
 
     public long getFlipTimeInMS() { return flipTimeInMS; }
     public void setFlipTimeInMS(final long FLIP_TIME) { flipTimeInMS = Helper.clamp(0, 2000, FLIP_TIME); }
 
-    public ObservableList<ChartData> getChartData() { return chartDataList; }
-    public void addChartData(final ChartData... DATA) { chartDataList.addAll(DATA); }
-    public void addChartData(final List<ChartData> DATA) { chartDataList.addAll(DATA); }
-    public void setChartData(final ChartData... DATA) { chartDataList.setAll(DATA); }
-    public void setChartData(final List<ChartData> DATA) { chartDataList.setAll(DATA); }
-    public void removeChartData(final ChartData DATA) { chartDataList.remove(DATA); }
-    public void clearChartData() { chartDataList.clear(); }
+    public ObservableList<ChartData> getChartData() {
+        if (null == chartDataList) {
+            synchronized (offerLock) {
+                if (null == chartDataList) { chartDataList = FXCollections.observableArrayList(); }
+            }
+        }
+        return chartDataList;
+    }
+    public void addChartData(final ChartData... DATA) { getChartData().addAll(DATA); }
+    public void addChartData(final List<ChartData> DATA) { getChartData().addAll(DATA); }
+    public void setChartData(final ChartData... DATA) { getChartData().setAll(DATA); }
+    public void setChartData(final List<ChartData> DATA) { getChartData().setAll(DATA); }
+    public void removeChartData(final ChartData DATA) { getChartData().remove(DATA); }
+    public void clearChartData() { getChartData().clear(); }
 
     /**
      * A convenient method to set the color of foreground elements like
@@ -3237,6 +3569,103 @@ public class Tile extends Control {
         return smoothing;
     }
 
+    /**
+     * Returns true if the WorldMapTileSkin renders the countries on a canvas
+     * instead of using one node per country path. The canvas mode is
+     * recommended for dashboards with several map tiles that update the
+     * country colors frequently.
+     * @return true if the WorldMapTileSkin renders the countries on a canvas
+     */
+    public boolean isCanvasMapEnabled() { return null == canvasMapEnabled ? _canvasMapEnabled : canvasMapEnabled.get(); }
+    /**
+     * Defines if the WorldMapTileSkin should render the countries on a canvas
+     * and if the MapTileSkin should draw the map tiles on a canvas instead of
+     * using a WebView.
+     * @param ENABLED
+     */
+    public void setCanvasMapEnabled(final boolean ENABLED) {
+        if (null == canvasMapEnabled) {
+            _canvasMapEnabled = ENABLED;
+            fireTileEvent(RESIZE_EVENT);
+        } else {
+            canvasMapEnabled.set(ENABLED);
+        }
+    }
+    public BooleanProperty canvasMapEnabledProperty() {
+        if (null == canvasMapEnabled) {
+            canvasMapEnabled = new BooleanPropertyBase(_canvasMapEnabled) {
+                @Override protected void invalidated() { fireTileEvent(RESIZE_EVENT); }
+                @Override public Object getBean() { return Tile.this; }
+                @Override public String getName() { return "canvasMapEnabled"; }
+            };
+        }
+        return canvasMapEnabled;
+    }
+
+    /**
+     * Returns true if the AreaChartTileSkin, LineChartTileSkin and the
+     * SmoothAreaChartTileSkin draw the double series on a canvas. The values
+     * will be downsampled to the width of the chart which makes it possible
+     * to visualize series with 100k and more values.
+     * @return true if the chart skins draw the double series on a canvas
+     */
+    public boolean isCanvasChartEnabled() { return null == canvasChartEnabled ? _canvasChartEnabled : canvasChartEnabled.get(); }
+    /**
+     * Defines if the chart skins should draw the double series on a canvas.
+     * @param ENABLED
+     */
+    public void setCanvasChartEnabled(final boolean ENABLED) {
+        if (null == canvasChartEnabled) {
+            _canvasChartEnabled = ENABLED;
+            fireTileEvent(RESIZE_EVENT);
+        } else {
+            canvasChartEnabled.set(ENABLED);
+        }
+    }
+    public BooleanProperty canvasChartEnabledProperty() {
+        if (null == canvasChartEnabled) {
+            canvasChartEnabled = new BooleanPropertyBase(_canvasChartEnabled) {
+                @Override protected void invalidated() { fireTileEvent(RESIZE_EVENT); }
+                @Override public Object getBean() { return Tile.this; }
+                @Override public String getName() { return "canvasChartEnabled"; }
+            };
+        }
+        return canvasChartEnabled;
+    }
+
+    /**
+     * Returns the method that will be used to downsample the double series
+     * in canvas chart mode.
+     * There are Downsampling.LTTB and Downsampling.MIN_MAX.
+     * @return the method that will be used to downsample the double series
+     */
+    public Downsampling getDownsampling() { return null == downsampling ? _downsampling : downsampling.get(); }
+    /**
+     * Defines the method that will be used to downsample the double series
+     * in canvas chart mode. LTTB keeps the shape of the line, MIN_MAX keeps
+     * all peaks.
+     * @param DOWNSAMPLING
+     */
+    public void setDownsampling(final Downsampling DOWNSAMPLING) {
+        if (null == downsampling) {
+            _downsampling = DOWNSAMPLING;
+            fireTileEvent(REDRAW_EVENT);
+        } else {
+            downsampling.set(DOWNSAMPLING);
+        }
+    }
+    public ObjectProperty<Downsampling> downsamplingProperty() {
+        if (null == downsampling) {
+            downsampling = new ObjectPropertyBase<Downsampling>(_downsampling) {
+                @Override protected void invalidated() { fireTileEvent(REDRAW_EVENT); }
+                @Override public Object getBean() { return Tile.this; }
+                @Override public String getName() { return "downsampling"; }
+            };
+            _downsampling = null;
+        }
+        return downsampling;
+    }
+
     /**
      * Calling this method will lead to a recalculation of the scale
      */
@@ -3257,25 +3686,72 @@ public class Tile extends Control {
      * Returns the current time of the clock.
      * @return the current time of the clock
      */
-    public ZonedDateTime getTime() { return time.get(); }
+    public ZonedDateTime getTime() { return null == time ? _time : time.get(); }
     /**
      * Defines the current time of the clock.
      * @param TIME
      */
     public void setTime(final ZonedDateTime TIME) {
-        time.set(TIME);
+        if (null == time) {
+            _time = TIME;
+            updateTime(TIME);
+        } else {
+            time.set(TIME);
+        }
     }
     public void setTime(final long EPOCH_SECONDS) {
-        time.set(ZonedDateTime.ofInstant(Instant.ofEpochSecond(EPOCH_SECONDS), getZoneId()));
+        setTime(ZonedDateTime.ofInstant(Instant.ofEpochSecond(EPOCH_SECONDS), getZoneId()));
+    }
+    public ObjectProperty<ZonedDateTime> timeProperty() {
+        if (null == time) {
+            time = new ObjectPropertyBase<ZonedDateTime>(_time) {
+                @Override protected void invalidated() { updateTime(get()); }
+                @Override public Object getBean() { return Tile.this; }
+                @Override public String getName() { return "time"; }
+            };
+            _time = null;
+        }
+        return time;
     }
-    public ObjectProperty<ZonedDateTime> timeProperty() { return time; }
 
     /**
      * Returns the current time in epoch seconds
      * @return the current time in epoch seconds
      */
-    public long getCurrentTime() { return currentTime.get(); }
-    public ReadOnlyLongProperty currentTimeProperty() { return currentTime; }
+    public long getCurrentTime() { return null == currentTime ? _currentTime : currentTime.get(); }
+    public ReadOnlyLongProperty currentTimeProperty() {
+        if (null == currentTime) {
+            currentTime = new LongPropertyBase(_currentTime) {
+                @Override protected void invalidated() {}
+                @Override public Object getBean() { return Tile.this; }
+                @Override public String getName() { return "currentTime"; }
+            };
+        }
+        return currentTime;
+    }
+
+    private void updateTime(final ZonedDateTime TIME) {
+        zoneId = TIME.getZone();
+        fireTileEvent(RECALC_EVENT);
+        if (!isRunning() && isAnimated()) {
+            long     animationDuration = getAnimationDuration();
+            Timeline timeline          = getTimeline();
+            timeline.stop();
+            currentTimeProperty();
+            final KeyValue KEY_VALUE = new KeyValue(currentTime, TIME.toEpochSecond());
+            final KeyFrame KEY_FRAME = new KeyFrame(javafx.util.Duration.millis(animationDuration), KEY_VALUE);
+            timeline.getKeyFrames().setAll(KEY_FRAME);
+            timeline.setOnFinished(e -> fireTileEvent(FINISHED_EVENT));
+            timeline.play();
+        } else {
+            if (null == currentTime) {
+                _currentTime = TIME.toEpochSecond();
+            } else {
+                currentTime.set(TIME.toEpochSecond());
+            }
+            fireTileEvent(FINISHED_EVENT);
+        }
+    }
 
     public ZoneId getZoneId() { return zoneId; }
 
@@ -3351,7 +3827,14 @@ public class Tile extends Control {
      * Areas.
      * @return an observable list of TimeSection objects
      */
-    public ObservableList<TimeSection> getTimeSections() { return timeSections; }
+    public ObservableList<TimeSection> getTimeSections() {
+        if (null == timeSections) {
+            synchronized (offerLock) {
+                if (null == timeSections) { timeSections = FXCollections.observableArrayList(); }
+            }
+        }
+        return timeSections;
+    }
     /**
      * Sets the sections to the given list of TimeSection objects. The
      * sections will be used to colorize areas with a special
@@ -3360,8 +3843,8 @@ public class Tile extends Control {
      * @param SECTIONS
      */
     public void setTimeSections(final List<TimeSection> SECTIONS) {
-        timeSections.setAll(SECTIONS);
-        timeSections.sort(new TimeSectionComparator());
+        getTimeSections().setAll(SECTIONS);
+        sortTimeSections();
         fireTileEvent(SECTION_EVENT);
     }
     /**
@@ -3380,8 +3863,19 @@ public class Tile extends Control {
      */
     public void addTimeSection(final TimeSection SECTION) {
         if (null == SECTION) return;
-        timeSections.add(SECTION);
-        timeSections.sort(new TimeSectionComparator());
+        getTimeSections().add(SECTION);
+        sortTimeSections();
+        fireTileEvent(SECTION_EVENT);
+    }
+    /**
+     * Adds the given TimeSections to the list of sections and fires only
+     * one event.
+     * @param SECTIONS
+     */
+    public void addTimeSections(final Collection<TimeSection> SECTIONS) {
+        if (null == SECTIONS || SECTIONS.isEmpty()) return;
+        getTimeSections().addAll(SECTIONS);
+        sortTimeSections();
         fireTileEvent(SECTION_EVENT);
     }
     /**
@@ -3392,17 +3886,24 @@ public class Tile extends Control {
      */
     public void removeTimeSection(final TimeSection SECTION) {
         if (null == SECTION) return;
-        timeSections.remove(SECTION);
-        timeSections.sort(new TimeSectionComparator());
+        getTimeSections().remove(SECTION);
+        sortTimeSections();
         fireTileEvent(SECTION_EVENT);
     }
     /**
      * Clears the list of sections.
      */
     public void clearTimeSections() {
-        sections.clear();
+        getSections().clear();
         fireTileEvent(SECTION_EVENT);
     }
+    private void sortTimeSections() {
+        if (isBatching()) {
+            timeSectionsUnsorted = true;
+        } else {
+            getTimeSections().sort(new TimeSectionComparator());
+        }
+    }
     
     /**
      * Returns true if the second hand of the clock should move
@@ -3973,12 +4474,19 @@ public class Tile extends Control {
      * Returns an observable list of Alarm objects.
      * @return an observable list of Alarm objects
      */
-    public ObservableList<Alarm> getAlarms() { return alarms; }
+    public ObservableList<Alarm> getAlarms() {
+        if (null == alarms) {
+            synchronized (offerLock) {
+                if (null == alarms) { alarms = FXCollections.observableArrayList(); }
+            }
+        }
+        return alarms;
+    }
     /**
      * Sets the alarms to the given list of Alarm objects.
      * @param ALARMS
      */
-    public void setAlarms(final List<Alarm> ALARMS) { alarms.setAll(ALARMS); }
+    public void setAlarms(final List<Alarm> ALARMS) { getAlarms().setAll(ALARMS); }
     /**
      * Sets the alarms to the given array of Alarm objects.
      * @param ALARMS
@@ -3988,16 +4496,16 @@ public class Tile extends Control {
      * Adds the given Alarm object from the list of alarms.
      * @param ALARM
      */
-    public void addAlarm(final Alarm ALARM) { if (!alarms.contains(ALARM)) alarms.add(ALARM); }
+    public void addAlarm(final Alarm ALARM) { if (!getAlarms().contains(ALARM)) getAlarms().add(ALARM); }
     /**
      * Removes the given Alarm object from the list of alarms.
      * @param ALARM
      */
-    public void removeAlarm(final Alarm ALARM) { if (alarms.contains(ALARM)) alarms.remove(ALARM); }
+    public void removeAlarm(final Alarm ALARM) { if (getAlarms().contains(ALARM)) getAlarms().remove(ALARM); }
     /**
      * Clears the list of alarms.
      */
-    public void clearAlarms() { alarms.clear(); }
+    public void clearAlarms() { getAlarms().clear(); }
 
     /**
      * Returns the text that will be shown in the Tile tooltip
@@ -4010,12 +4518,8 @@ public class Tile extends Control {
      */
     public void setTooltipText(final String TEXT) {
         if (null == tooltipText) {
-        tooltip.setText(TEXT);
-            if (null == TEXT || TEXT.isEmpty()) {
-                setTooltip(null);
-            } else {
-                setTooltip(tooltip);
-            }
+            _tooltipText = TEXT;
+            updateTooltip(TEXT);
         } else {
             tooltipText.set(TEXT);
         }
@@ -4024,14 +4528,7 @@ public class Tile extends Control {
     public StringProperty tooltipTextProperty() {
         if (null == tooltipText) {
             tooltipText = new StringPropertyBase() {
-                @Override protected void invalidated() {
-                    tooltip.setText(get());
-                    if (null == get() || get().isEmpty()) {
-                        setTooltip(null);
-                    } else {
-                        setTooltip(tooltip);
-                    }
-                }
+                @Override protected void invalidated() { updateTooltip(get()); }
                 @Override public Object getBean() { return Tile.this; }
                 @Override public String getName() { return "tooltipText"; }
             };
@@ -4039,8 +4536,25 @@ public class Tile extends Control {
         }
         return tooltipText;
     }
+    private void updateTooltip(final String TEXT) {
+        if (null == TEXT || TEXT.isEmpty()) {
+            setTooltip(null);
+        } else {
+            // The tooltip will only be created if a tile has a tooltip text
+            if (null == tooltip) { tooltip = new Tooltip(); }
+            tooltip.setText(TEXT);
+            setTooltip(tooltip);
+        }
+    }
 
-    public Axis getXAxis() { return null == xAxis ? _xAxis : xAxis.get(); }
+    public Axis getXAxis() {
+        if (null == xAxis) {
+            // The default axis will only be created if it's used
+            if (null == _xAxis) { _xAxis = new CategoryAxis(); }
+            return _xAxis;
+        }
+        return xAxis.get();
+    }
     public void setXAxis(final Axis AXIS) {
         if (null == xAxis) {
             _xAxis = AXIS;
@@ -4051,7 +4565,7 @@ public class Tile extends Control {
     }
     public ObjectProperty<Axis> xAxisProperty() {
         if (null == xAxis) {
-            xAxis = new ObjectPropertyBase<Axis>(_xAxis) {
+            xAxis = new ObjectPropertyBase<Axis>(getXAxis()) {
                 @Override protected void invalidated() { fireTileEvent(RESIZE_EVENT); }
                 @Override public Object getBean() { return Tile.this; }
                 @Override public String getName() {
@@ -4063,7 +4577,13 @@ public class Tile extends Control {
         return xAxis;
     }
 
-    public Axis getYAxis() { return null == yAxis ? _yAxis : yAxis.get(); }
+    public Axis getYAxis() {
+        if (null == yAxis) {
+            if (null == _yAxis) { _yAxis = new NumberAxis(); }
+            return _yAxis;
+        }
+        return yAxis.get();
+    }
     public void setYAxis(final Axis AXIS) {
         if (null == yAxis) {
             _yAxis = AXIS;
@@ -4074,7 +4594,7 @@ public class Tile extends Control {
     }
     public ObjectProperty<Axis> yAxisProperty() {
         if (null == yAxis) {
-            yAxis = new ObjectPropertyBase<Axis>(_yAxis) {
+            yAxis = new ObjectPropertyBase<Axis>(getYAxis()) {
                 @Override protected void invalidated() { fireTileEvent(RESIZE_EVENT); }
                 @Override public Object getBean() { return Tile.this; }
                 @Override public String getName() { return "yAxis"; }
@@ -4198,6 +4718,37 @@ public class Tile extends Control {
         return sortedData;
     }
 
+    /**
+     * Returns true if the BarChartTileSkin only creates views for the rows
+     * that fit into the tile. The views will be recycled while scrolling
+     * which makes it possible to visualize thousands of items.
+     * @return true if the BarChartTileSkin recycles a small pool of views
+     */
+    public boolean isBarChartVirtualized() { return null == barChartVirtualized ? _barChartVirtualized : barChartVirtualized.get(); }
+    /**
+     * Defines if the BarChartTileSkin should only create views for the rows
+     * that fit into the tile.
+     * @param VIRTUALIZED
+     */
+    public void setBarChartVirtualized(final boolean VIRTUALIZED) {
+        if (null == barChartVirtualized) {
+            _barChartVirtualized = VIRTUALIZED;
+            fireTileEvent(DATA_EVENT);
+        } else {
+            barChartVirtualized.set(VIRTUALIZED);
+        }
+    }
+    public BooleanProperty barChartVirtualizedProperty() {
+        if (null == barChartVirtualized) {
+            barChartVirtualized = new BooleanPropertyBase(_barChartVirtualized) {
+                @Override protected void invalidated() { fireTileEvent(DATA_EVENT); }
+                @Override public Object getBean() { return Tile.this; }
+                @Override public String getName() { return "barChartVirtualized"; }
+            };
+        }
+        return barChartVirtualized;
+    }
+
     public double getIncrement() { return increment; }
     public void setIncrement(final double INCREMENT) { increment = clamp(0, 10, INCREMENT); }
 
@@ -4264,20 +4815,39 @@ public class Tile extends Control {
         return customFont;
     }
 
+    /**
+     * Colors the given countries (choropleth) by looking up the color of
+     * their normalized value ((value - minValue) / range) in the given
+     * GradientLookup. Only countries whose color changes will be touched and
+     * only one redraw event will be fired for the whole batch. The skins
+     * will only repaint the countries that changed.
+     * @param VALUES the values of the countries
+     * @param LOOKUP the gradient lookup that is used to get the colors
+     * @return the number of countries whose color changed
+     */
+    public int updateCountryColors(final Map<Country, Double> VALUES, final GradientLookup LOOKUP) {
+        double minValue = getMinValue();
+        double range    = getRange();
+        int    changed  = 0;
+        for (Map.Entry<Country, Double> entry : VALUES.entrySet()) {
+            if (null == entry.getKey() || null == entry.getValue()) continue;
+            Color color = LOOKUP.getColorAt(range == 0 ? 0 : (entry.getValue() - minValue) / range);
+            if (color.equals(entry.getKey().getColor())) continue;
+            entry.getKey().setColor(color);
+            changed++;
+        }
+        if (changed > 0) { fireTileEvent(REDRAW_EVENT); }
+        return changed;
+    }
+
     /**
      * Returns a list of path elements that define the countries
      * @return a list of path elements that define the countries
      */
     public Map<String, List<CountryPath>> getCountryPaths() {
-        if (null == countryProperties) { countryProperties = readProperties(COUNTRY_PROPERTIES); }
         if (null == countryPaths) {
             countryPaths = new HashMap<>();
-            countryProperties.forEach((key, value) -> {
-                String            name     = key.toString();
-                List<CountryPath> pathList = new ArrayList<>();
-                for (String path : value.toString().split(";")) { pathList.add(new CountryPath(name, path)); }
-                countryPaths.put(name, pathList);
-            });
+            CountryGeometryStore.LOWRES.getAll().forEach((name, geometry) -> countryPaths.put(name, geometry.createPaths()));
         }
         return countryPaths;
     }
@@ -4328,17 +4898,6 @@ public class Tile extends Control {
         }
     }
 
-    private Properties readProperties(final String FILE_NAME) {
-        final ClassLoader LOADER     = Thread.currentThread().getContextClassLoader();
-        final Properties  PROPERTIES = new Properties();
-        try(InputStream resourceStream = LOADER.getResourceAsStream(FILE_NAME)) {
-            PROPERTIES.load(resourceStream);
-        } catch (IOException exception) {
-            exception.printStackTrace();
-        }
-        return PROPERTIES;
-    }
-
     /**
      * Calling this method will check the current time against all Alarm
      * objects in alarms. The Alarm object will fire events in case the
@@ -4346,6 +4905,8 @@ public class Tile extends Control {
      * @param TIME
      */
     private void checkAlarms(final ZonedDateTime TIME) {
+        if (null == alarms || alarms.isEmpty()) return;
+        if (null == alarmsToRemove) { alarmsToRemove = new ArrayList<>(); }
         alarmsToRemove.clear();
         for (Alarm alarm : alarms) {
             final ZonedDateTime ALARM_TIME = alarm.getTime();
@@ -4410,9 +4971,9 @@ public class Tile extends Control {
         if (isAnimated()) return;
         ZonedDateTime oldTime = getTime();
         setTime(getTime().plus(java.time.Duration.ofMillis(updateInterval)));
-        ZonedDateTime now = time.get();
+        ZonedDateTime now = getTime();
         if (isAlarmsEnabled()) checkAlarms(now);
-        if (getCheckSectionsForValue()) {
+        if (getCheckSectionsForValue() && null != timeSections) {
             for (TimeSection timeSection : timeSections) { timeSection.checkForTimeAndDate(now); }
         }
 
@@ -4470,9 +5031,62 @@ public class Tile extends Control {
     public void removeTileEventListener(final TileEventListener LISTENER) { if (listenerList.contains(LISTENER)) listenerList.remove(LISTENER); }
 
     public void fireTileEvent(final TileEvent EVENT) {
+        synchronized (batchedEvents) {
+            if (batchDepth > 0) {
+                batchedEvents.putIfAbsent(EVENT.getEventType(), EVENT);
+                return;
+            }
+        }
         for (TileEventListener listener : listenerList) { listener.onTileEvent(EVENT); }
     }
 
+    /**
+     * Applies the given changes to the tile and fires each type of tile
+     * event only once after all changes have been applied. Nested batches
+     * will be merged into the outermost batch. Sections and time sections
+     * will be sorted once at the end of the batch.
+     * The batch should be executed on the thread that modifies the tile.
+     * Events that are fired by other threads while a batch is running will
+     * be fired at the end of the batch too.
+     * @param CHANGES
+     */
+    public void batch(final Consumer<Tile> CHANGES) {
+        synchronized (batchedEvents) { batchDepth++; }
+        try {
+            CHANGES.accept(this);
+        } finally {
+            boolean done;
+            synchronized (batchedEvents) { done = --batchDepth == 0; }
+            if (done) { fireBatchedEvents(); }
+        }
+    }
+
+    /**
+     * Returns true while the changes of a batch are applied.
+     * @return true while the changes of a batch are applied
+     */
+    public boolean isBatching() {
+        synchronized (batchedEvents) { return batchDepth > 0; }
+    }
+
+    private void fireBatchedEvents() {
+        if (sectionsUnsorted) {
+            sectionsUnsorted = false;
+            getSections().sort(new SectionComparator());
+        }
+        if (timeSectionsUnsorted) {
+            timeSectionsUnsorted = false;
+            getTimeSections().sort(new TimeSectionComparator());
+        }
+        List<TileEvent> events;
+        synchronized (batchedEvents) {
+            if (batchedEvents.isEmpty()) return;
+            events = new ArrayList<>(batchedEvents.values());
+            batchedEvents.clear();
+        }
+        events.forEach(event -> fireTileEvent(event));
+    }
+
     
     public void setOnAlarm(final AlarmEventListener LISTENER) { addAlarmEventListener(LISTENER); }
     public void addAlarmEventListener(final AlarmEventListener LISTENER) { if (!alarmListenerList.contains(LISTENER)) alarmListenerList.add(LISTENER); }
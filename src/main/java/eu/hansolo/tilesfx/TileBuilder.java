@@ -20,7 +20,9 @@ import eu.hansolo.tilesfx.Tile.MapProvider;
 import eu.hansolo.tilesfx.Tile.SkinType;
 import eu.hansolo.tilesfx.Tile.TextSize;
 import eu.hansolo.tilesfx.Tile.TileColor;
+import eu.hansolo.tilesfx.chart.DoubleSeries;
 import eu.hansolo.tilesfx.chart.RadarChart;
+import eu.hansolo.tilesfx.chart.SmoothAreaChart;
 import eu.hansolo.tilesfx.events.AlarmEventListener;
 import eu.hansolo.tilesfx.events.TileEventListener;
 import eu.hansolo.tilesfx.events.TimeEventListener;
@@ -28,13 +30,9 @@ import eu.hansolo.tilesfx.skins.BarChartItem;
 import eu.hansolo.tilesfx.skins.LeaderBoardItem;
 import eu.hansolo.tilesfx.chart.ChartData;
 import eu.hansolo.tilesfx.tools.Location;
+import eu.hansolo.tilesfx.tools.MapTileSource;
 import eu.hansolo.tilesfx.weather.DarkSky;
 import javafx.beans.InvalidationListener;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.DoubleProperty;
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.LongProperty;
-import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.Property;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
@@ -42,7 +40,6 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.beans.property.StringProperty;
 import javafx.geometry.Dimension2D;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
@@ -56,18 +53,34 @@ import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
 
 import java.text.NumberFormat;
+import java.time.Duration;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 
 /**
  * Created by hansolo on 13.12.15.
  */
 public class TileBuilder<B extends TileBuilder<B>> {
-    private HashMap<String, Property> properties = new HashMap<>();
+    private static final Map<String, BiConsumer<Tile, Object>> PRIORITY_APPLIERS = new LinkedHashMap<>();
+    private static final Map<String, BiConsumer<Tile, Object>> APPLIERS          = new HashMap<>(256);
+    private static final Set<String>                           SINGLE_TILE_KEYS  = new HashSet<>(Arrays.asList(
+        "sectionsArray", "sectionsList", "timeSectionsArray", "timeSectionsList", "alarmsArray", "alarmsList",
+        "seriesArray", "seriesList", "doubleSeriesArray", "doubleSeriesList", "barChartItemsArray", "barChartItemsList",
+        "leaderBoardItemsArray", "leaderBoardItemsList", "chartDataArray", "chartDataList", "poiArray", "poiList",
+        "currentLocation", "graphic", "xAxis", "yAxis"));
+    private              HashMap<String, Property>             properties        = new HashMap<>();
 
 
     // ******************** Constructors **************************************
@@ -324,6 +337,16 @@ public class TileBuilder<B extends TileBuilder<B>> {
         return (B)this;
     }
 
+    public final B doubleSeries(final DoubleSeries... SERIES) {
+        properties.put("doubleSeriesArray", new SimpleObjectProperty<>(SERIES));
+        return (B)this;
+    }
+
+    public final B doubleSeries(final List<DoubleSeries> SERIES) {
+        properties.put("doubleSeriesList", new SimpleObjectProperty<>(SERIES));
+        return (B)this;
+    }
+
     public final B barChartItems(final BarChartItem... ITEMS) {
         properties.put("barChartItemsArray", new SimpleObjectProperty<>(ITEMS));
         return (B)this;
@@ -469,6 +492,21 @@ public class TileBuilder<B extends TileBuilder<B>> {
         return (B)this;
     }
 
+    public final B canvasMapEnabled(final boolean ENABLED) {
+        properties.put("canvasMapEnabled", new SimpleBooleanProperty(ENABLED));
+        return (B)this;
+    }
+
+    public final B canvasChartEnabled(final boolean ENABLED) {
+        properties.put("canvasChartEnabled", new SimpleBooleanProperty(ENABLED));
+        return (B)this;
+    }
+
+    public final B downsampling(final SmoothAreaChart.Downsampling DOWNSAMPLING) {
+        properties.put("downsampling", new SimpleObjectProperty<>(DOWNSAMPLING));
+        return (B)this;
+    }
+
     public final B onValueChanged(final InvalidationListener LISTENER) {
         properties.put("onValueChanged", new SimpleObjectProperty<>(LISTENER));
         return (B)this;
@@ -667,6 +705,16 @@ public class TileBuilder<B extends TileBuilder<B>> {
         return (B)this;
     }
 
+    public final B trackMaxPoints(final int MAX_POINTS) {
+        properties.put("trackMaxPoints", new SimpleIntegerProperty(MAX_POINTS));
+        return (B)this;
+    }
+
+    public final B trackMaxAge(final Duration MAX_AGE) {
+        properties.put("trackMaxAge", new SimpleObjectProperty<>(MAX_AGE));
+        return (B)this;
+    }
+
     public final B trackColor(final TileColor COLOR) {
         properties.put("trackColor", new SimpleObjectProperty(COLOR));
         return (B)this;
@@ -677,6 +725,11 @@ public class TileBuilder<B extends TileBuilder<B>> {
         return (B)this;
     }
 
+    public final B mapTileSource(final MapTileSource SOURCE) {
+        properties.put("mapTileSource", new SimpleObjectProperty<>(SOURCE));
+        return (B)this;
+    }
+
     public final B gradientStops(final Stop... STOPS) {
         properties.put("gradientStopsArray", new SimpleObjectProperty(STOPS));
         return (B)this;
@@ -731,6 +784,11 @@ public class TileBuilder<B extends TileBuilder<B>> {
         return (B)this;
     }
 
+    public final B barChartVirtualized(final boolean VIRTUALIZED) {
+        properties.put("barChartVirtualized", new SimpleBooleanProperty(VIRTUALIZED));
+        return (B)this;
+    }
+
     public final B prefSize(final double WIDTH, final double HEIGHT) {
         properties.put("prefSize", new SimpleObjectProperty<>(new Dimension2D(WIDTH, HEIGHT)));
         return (B)this;
@@ -803,453 +861,358 @@ public class TileBuilder<B extends TileBuilder<B>> {
         return (B)this;
     }
 
-    public final Tile build() {
-        final Tile CONTROL;
-        if (properties.containsKey("skinType")) {
-            SkinType skinType = ((ObjectProperty<SkinType>) properties.get("skinType")).get();
-            CONTROL = new Tile(skinType);
-            switch (skinType) {
-                case AREA_CHART:
-                    break;
-                case BAR_CHART:
-                    break;
-                case LINE_CHART:
-                    break;
-                case CLOCK:
-                    break;
-                case GAUGE:
-                    CONTROL.setAnimated(true);
-                    CONTROL.setTickLabelDecimals(0);
-                    CONTROL.setBarColor(Tile.FOREGROUND);
-                    CONTROL.setThresholdColor(Tile.BLUE);
-                    CONTROL.setThresholdVisible(true);
-                    break;
-                case HIGH_LOW:
-                    CONTROL.setMaxValue(Double.MAX_VALUE);
-                    CONTROL.setDecimals(2);
-                    CONTROL.setTickLabelDecimals(1);
-                    break;
-                case PERCENTAGE:
-                    CONTROL.setAnimated(true);
-                    CONTROL.setThresholdColor(Tile.GRAY);
-                    CONTROL.setTickLabelDecimals(0);
-                    break;
-                case PLUS_MINUS:
-                    break;
-                case SLIDER:
-                    CONTROL.setBarBackgroundColor(Tile.FOREGROUND);
-                    break;
-                case SPARK_LINE:
-                    CONTROL.setTextVisible(false);
-                    CONTROL.setAnimated(false);
-                    CONTROL.setAveragingEnabled(true);
-                    CONTROL.setAveragingPeriod(10);
-                    CONTROL.setDecimals(0);
-                    CONTROL.setTickLabelDecimals(0);
-                    break;
-                case SWITCH:
-                    break;
-                case WORLDMAP:
-                    CONTROL.setPrefSize(380, 250);
-                    break;
-                case TIMER_CONTROL:
-                    CONTROL.setSectionsVisible(true);
-                    CONTROL.setHighlightSections(true);
-                    CONTROL.setCheckSectionsForValue(true);
-                    break;
-                case NUMBER:
-                    break;
-                case TEXT:
-                    break;
-                case WEATHER:
-                    break;
-                case TIME:
-                    break;
-                case CUSTOM:
-                    break;
-                case LEADER_BOARD:
-                    break;
-                case MAP:
-                    break;
-                case RADIAL_CHART:
-                    CONTROL.setAnimated(true);
-                    break;
-                case DONUT_CHART:
-                    CONTROL.setAnimated(true);
-                    break;
-                case CIRCULAR_PROGRESS:
-                    CONTROL.setBarBackgroundColor(CONTROL.getBackgroundColor().brighter());
-                    CONTROL.setAnimated(true);
-                    break;
-                case STOCK:
-                    CONTROL.setAnimated(false);
-                    CONTROL.setAveragingPeriod(720);
-                    CONTROL.setAveragingEnabled(true);
-                    CONTROL.setDecimals(2);
-                    CONTROL.setTickLabelDecimals(2);
-                    CONTROL.setThresholdColor(Tile.GRAY);
-                    CONTROL.setTextVisible(false);
-                    break;
-                case GAUGE_SPARK_LINE:
-                    CONTROL.setBarColor(Tile.BLUE);
-                    CONTROL.setAngleRange(270);
-                    break;
-                case SMOOTH_AREA_CHART:
-                    break;
-                case RADAR_CHART:
-                    break;
-                case COUNTRY:
-                    break;
-                case EPHEMERIS:
-                    break;
-                case CHARACTER:
-                    break;
-                case FLIP:
-                    break;
-                case SWITCH_SLIDER:
-                    CONTROL.setBarBackgroundColor(Tile.FOREGROUND);
-                    break;
-                default:
-                    break;
+    public final Tile build() { return build(compile()); }
+
+    /**
+     * Builds the given number of tiles with the same configuration. The
+     * properties will only be resolved once and the resulting changes will
+     * be applied to every new tile.
+     * All tiles share the values of the builder. Because of that the
+     * properties that hold nodes (graphic, xAxis, yAxis, barChartItems and
+     * leaderBoardItems) or objects the skins listen to (sections, time
+     * sections, alarms, series, doubleSeries, chartData, poi and
+     * currentLocation) can only be used to build one tile. All other
+     * properties either hold immutable values or will be copied by the tile
+     * (e.g. the track).
+     * @param COUNT
+     * @return a list with the given number of equally configured tiles
+     * @throws IllegalStateException if COUNT is larger than 1 and one of the properties can only be used for one tile
+     */
+    public final List<Tile> build(final int COUNT) {
+        if (COUNT > 1) {
+            for (String key : properties.keySet()) {
+                if (SINGLE_TILE_KEYS.contains(key)) { throw new IllegalStateException("The property " + key + " can only be used to build one tile, please call build() for each tile"); }
             }
-        } else {
-            CONTROL = new Tile();
-        }
-
-        // Make sure that sections, areas and markers will be added first
-        if (properties.keySet().contains("sectionsArray")) {
-            CONTROL.setSections(((ObjectProperty<Section[]>) properties.get("sectionsArray")).get());
-        }
-        if(properties.keySet().contains("sectionsList")) {
-            CONTROL.setSections(((ObjectProperty<List<Section>>) properties.get("sectionsList")).get());
-        }
-
-        if (properties.keySet().contains("characterArray")) {
-            CONTROL.setCharacters(((ObjectProperty<String[]>) properties.get("characterArray")).get());
-        }
-
-        if(properties.keySet().contains("foregroundBaseColor")) {
-            CONTROL.setForegroundBaseColor(((ObjectProperty<Color>) properties.get("foregroundBaseColor")).get());
-        }
-
-        if (properties.keySet().contains("minValue")) {
-            CONTROL.setMinValue(((DoubleProperty) properties.get("minValue")).get());
-        }
-        if (properties.keySet().contains("maxValue")) {
-            CONTROL.setMaxValue(((DoubleProperty) properties.get("maxValue")).get());
-        }
-
-        if (properties.keySet().contains("alarmsArray")) {
-            CONTROL.setAlarms(((ObjectProperty<Alarm[]>) properties.get("alarmsArray")).get());
-        }
-        if(properties.keySet().contains("alarmsList")) {
-            CONTROL.setAlarms(((ObjectProperty<List<Alarm>>) properties.get("alarmsList")).get());
-        }
-
-        if (properties.keySet().contains("timeSectionsArray")) {
-            CONTROL.setTimeSections(((ObjectProperty<TimeSection[]>) properties.get("timeSectionsArray")).get());
-        }
-        if(properties.keySet().contains("timeSectionsList")) {
-            CONTROL.setTimeSections(((ObjectProperty<List<TimeSection>>) properties.get("timeSectionsList")).get());
-        }
-
-        if (properties.keySet().contains("seriesArray")) {
-            CONTROL.setSeries(((ObjectProperty<Series<String, Number>[]>) properties.get("seriesArray")).get());
-        }
-
-        if (properties.keySet().contains("seriesList")) {
-            CONTROL.setSeries(((ObjectProperty<List<Series<String, Number>>>) properties.get("seriesList")).get());
-        }
-
-        if (properties.keySet().contains("barChartItemsArray")) {
-            CONTROL.setBarChartItems(((ObjectProperty<BarChartItem[]>) properties.get("barChartItemsArray")).get());
-        }
-        if(properties.keySet().contains("barChartItemsList")) {
-            CONTROL.setBarChartItems(((ObjectProperty<List<BarChartItem>>) properties.get("barChartItemsList")).get());
-        }
-
-        if (properties.keySet().contains("leaderBoardItemsArray")) {
-            CONTROL.setLeaderBoardItems(((ObjectProperty<LeaderBoardItem[]>) properties.get("leaderBoardItemsArray")).get());
-        }
-        if(properties.keySet().contains("leaderBoardItemsList")) {
-            CONTROL.setLeaderBoardItems(((ObjectProperty<List<LeaderBoardItem>>) properties.get("leaderBoardItemsList")).get());
         }
+        final List<Consumer<Tile>> CHANGES = compile();
+        final List<Tile>           TILES   = new ArrayList<>(COUNT);
+        for (int i = 0 ; i < COUNT ; i++) { TILES.add(build(CHANGES)); }
+        return TILES;
+    }
 
-        if (properties.keySet().contains("gradientStopsArray")) {
-            CONTROL.setGradientStops(((ObjectProperty<Stop[]>) properties.get("gradientStopsArray")).get());
-        }
-        if (properties.keySet().contains("gradientStopsList")) {
-            CONTROL.setGradientStops(((ObjectProperty<List<Stop>>) properties.get("gradientStopsList")).get());
+    private Tile build(final List<Consumer<Tile>> CHANGES) {
+        final Tile     CONTROL;
+        final SkinType SKIN_TYPE;
+        if (properties.containsKey("skinType")) {
+            SKIN_TYPE = (SkinType) properties.get("skinType").getValue();
+            CONTROL   = new Tile(SKIN_TYPE);
+        } else {
+            SKIN_TYPE = null;
+            CONTROL   = new Tile();
         }
+        // Apply all properties in one batch to fire each type of tile event only once
+        CONTROL.batch(tile -> {
+            if (null != SKIN_TYPE) { applySkinDefaults(tile, SKIN_TYPE); }
+            for (Consumer<Tile> change : CHANGES) { change.accept(tile); }
+        });
+        return CONTROL;
+    }
 
-        if (properties.keySet().contains("chartDataArray")) {
-            CONTROL.setChartData(((ObjectProperty<ChartData[]>) properties.get("chartDataArray")).get());
+    /**
+     * Resolves the appliers for the properties of this builder. Sections,
+     * areas, markers and the value range will be applied first, the other
+     * properties will be applied afterwards.
+     * @return the list of changes that have to be applied to a new tile
+     */
+    private List<Consumer<Tile>> compile() {
+        List<Consumer<Tile>> changes = new ArrayList<>(properties.size());
+        for (Map.Entry<String, BiConsumer<Tile, Object>> entry : PRIORITY_APPLIERS.entrySet()) {
+            if (!properties.containsKey(entry.getKey())) { continue; }
+            BiConsumer<Tile, Object> applier = entry.getValue();
+            Object                   value   = properties.get(entry.getKey()).getValue();
+            changes.add(tile -> applier.accept(tile, value));
         }
-        if (properties.keySet().contains("chartDataList")) {
-            CONTROL.setChartData(((ObjectProperty<List<ChartData>>) properties.get("chartDataList")).get());
-        }
-
-        if (properties.keySet().contains("poiArray")) {
-            CONTROL.setPoiLocations(((ObjectProperty<Location[]>) properties.get("poiArray")).get());
+        for (String key : properties.keySet()) {
+            BiConsumer<Tile, Object> applier = APPLIERS.get(key);
+            if (null == applier) { continue; }
+            Object value = properties.get(key).getValue();
+            changes.add(tile -> applier.accept(tile, value));
         }
-        if (properties.keySet().contains("poiList")) {
-            CONTROL.setPoiList(((ObjectProperty<List<Location>>) properties.get("poiList")).get());
+        return changes;
+    }
+
+    private static <T> void registerFirst(final String KEY, final BiConsumer<Tile, T> SETTER) { PRIORITY_APPLIERS.put(KEY, applier(SETTER)); }
+
+    private static <T> void register(final String KEY, final BiConsumer<Tile, T> SETTER) { APPLIERS.put(KEY, applier(SETTER)); }
+
+    /**
+     * Wraps the given typed setter, the type of the value is defined by the
+     * builder method that stored the property with the same key.
+     * @param SETTER
+     * @return an applier that casts the value to the type of the setter
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> BiConsumer<Tile, Object> applier(final BiConsumer<Tile, T> SETTER) {
+        return (tile, value) -> SETTER.accept(tile, (T) value);
+    }
+
+    private static void applySkinDefaults(final Tile CONTROL, final SkinType SKIN_TYPE) {
+        switch (SKIN_TYPE) {
+            case AREA_CHART:
+                break;
+            case BAR_CHART:
+                break;
+            case LINE_CHART:
+                break;
+            case CLOCK:
+                break;
+            case GAUGE:
+                CONTROL.setAnimated(true);
+                CONTROL.setTickLabelDecimals(0);
+                CONTROL.setBarColor(Tile.FOREGROUND);
+                CONTROL.setThresholdColor(Tile.BLUE);
+                CONTROL.setThresholdVisible(true);
+                break;
+            case HIGH_LOW:
+                CONTROL.setMaxValue(Double.MAX_VALUE);
+                CONTROL.setDecimals(2);
+                CONTROL.setTickLabelDecimals(1);
+                break;
+            case PERCENTAGE:
+                CONTROL.setAnimated(true);
+                CONTROL.setThresholdColor(Tile.GRAY);
+                CONTROL.setTickLabelDecimals(0);
+                break;
+            case PLUS_MINUS:
+                break;
+            case SLIDER:
+                CONTROL.setBarBackgroundColor(Tile.FOREGROUND);
+                break;
+            case SPARK_LINE:
+                CONTROL.setTextVisible(false);
+                CONTROL.setAnimated(false);
+                CONTROL.setAveragingEnabled(true);
+                CONTROL.setAveragingPeriod(10);
+                CONTROL.setDecimals(0);
+                CONTROL.setTickLabelDecimals(0);
+                break;
+            case SWITCH:
+                break;
+            case WORLDMAP:
+                CONTROL.setPrefSize(380, 250);
+                break;
+            case TIMER_CONTROL:
+                CONTROL.setSectionsVisible(true);
+                CONTROL.setHighlightSections(true);
+                CONTROL.setCheckSectionsForValue(true);
+                break;
+            case NUMBER:
+                break;
+            case TEXT:
+                break;
+            case WEATHER:
+                break;
+            case TIME:
+                break;
+            case CUSTOM:
+                break;
+            case LEADER_BOARD:
+                break;
+            case MAP:
+                break;
+            case RADIAL_CHART:
+                CONTROL.setAnimated(true);
+                break;
+            case DONUT_CHART:
+                CONTROL.setAnimated(true);
+                break;
+            case CIRCULAR_PROGRESS:
+                CONTROL.setBarBackgroundColor(CONTROL.getBackgroundColor().brighter());
+                CONTROL.setAnimated(true);
+                break;
+            case STOCK:
+                CONTROL.setAnimated(false);
+                CONTROL.setAveragingPeriod(720);
+                CONTROL.setAveragingEnabled(true);
+                CONTROL.setDecimals(2);
+                CONTROL.setTickLabelDecimals(2);
+                CONTROL.setThresholdColor(Tile.GRAY);
+                CONTROL.setTextVisible(false);
+                break;
+            case GAUGE_SPARK_LINE:
+                CONTROL.setBarColor(Tile.BLUE);
+                CONTROL.setAngleRange(270);
+                break;
+            case SMOOTH_AREA_CHART:
+                break;
+            case RADAR_CHART:
+                break;
+            case COUNTRY:
+                break;
+            case EPHEMERIS:
+                break;
+            case CHARACTER:
+                break;
+            case FLIP:
+                break;
+            case SWITCH_SLIDER:
+                CONTROL.setBarBackgroundColor(Tile.FOREGROUND);
+                break;
+            default:
+                break;
         }
+    }
 
-        if (properties.keySet().contains("trackArray")) {
-            CONTROL.setTrack(((ObjectProperty<Location[]>) properties.get("trackArray")).get());
-        }
-        if (properties.keySet().contains("trackList")) {
-            CONTROL.setTrack(((ObjectProperty<List<Location>>) properties.get("trackList")).get());
-        }
 
-        for (String key : properties.keySet()) {
-            if ("prefSize".equals(key)) {
-                Dimension2D dim = ((ObjectProperty<Dimension2D>) properties.get(key)).get();
-                CONTROL.setPrefSize(dim.getWidth(), dim.getHeight());
-            } else if("minSize".equals(key)) {
-                Dimension2D dim = ((ObjectProperty<Dimension2D>) properties.get(key)).get();
-                CONTROL.setMinSize(dim.getWidth(), dim.getHeight());
-            } else if("maxSize".equals(key)) {
-                Dimension2D dim = ((ObjectProperty<Dimension2D>) properties.get(key)).get();
-                CONTROL.setMaxSize(dim.getWidth(), dim.getHeight());
-            } else if("prefWidth".equals(key)) {
-                CONTROL.setPrefWidth(((DoubleProperty) properties.get(key)).get());
-            } else if("prefHeight".equals(key)) {
-                CONTROL.setPrefHeight(((DoubleProperty) properties.get(key)).get());
-            } else if("minWidth".equals(key)) {
-                CONTROL.setMinWidth(((DoubleProperty) properties.get(key)).get());
-            } else if("minHeight".equals(key)) {
-                CONTROL.setMinHeight(((DoubleProperty) properties.get(key)).get());
-            } else if("maxWidth".equals(key)) {
-                CONTROL.setMaxWidth(((DoubleProperty) properties.get(key)).get());
-            } else if("maxHeight".equals(key)) {
-                CONTROL.setMaxHeight(((DoubleProperty) properties.get(key)).get());
-            } else if("scaleX".equals(key)) {
-                CONTROL.setScaleX(((DoubleProperty) properties.get(key)).get());
-            } else if("scaleY".equals(key)) {
-                CONTROL.setScaleY(((DoubleProperty) properties.get(key)).get());
-            } else if ("layoutX".equals(key)) {
-                CONTROL.setLayoutX(((DoubleProperty) properties.get(key)).get());
-            } else if ("layoutY".equals(key)) {
-                CONTROL.setLayoutY(((DoubleProperty) properties.get(key)).get());
-            } else if ("translateX".equals(key)) {
-                CONTROL.setTranslateX(((DoubleProperty) properties.get(key)).get());
-            } else if ("translateY".equals(key)) {
-                CONTROL.setTranslateY(((DoubleProperty) properties.get(key)).get());
-            } else if ("padding".equals(key)) {
-                CONTROL.setPadding(((ObjectProperty<Insets>) properties.get(key)).get());
-            } else if("styleClass".equals(key)) {
-                CONTROL.getStyleClass().setAll("tile");
-                CONTROL.getStyleClass().addAll(((ObjectProperty<String[]>) properties.get(key)).get());
-            } else if ("autoScale".equals(key)) {
-                CONTROL.setAutoScale(((BooleanProperty) properties.get(key)).get());
-            } else if("value".equals(key)) {
-                CONTROL.setValue(((DoubleProperty) properties.get(key)).get());
-            } else if("decimals".equals(key)) {
-                CONTROL.setDecimals(((IntegerProperty) properties.get(key)).get());
-            } else if("tickLabelDecimals".equals(key)) {
-                CONTROL.setTickLabelDecimals(((IntegerProperty) properties.get(key)).get());
-            } else if("title".equals(key)) {
-                CONTROL.setTitle(((StringProperty) properties.get(key)).get());
-            } else if("titleAlignment".equals(key)) {
-                CONTROL.setTitleAlignment(((ObjectProperty<TextAlignment>) properties.get(key)).get());
-            } else if("description".equals(key)) {
-                CONTROL.setDescription(((StringProperty) properties.get(key)).get());
-            } else if ("descriptionAlignment".equals(key)) {
-                CONTROL.setDescriptionAlignment(((ObjectProperty<Pos>) properties.get(key)).get());
-            } else if("unit".equals(key)) {
-                CONTROL.setUnit(((StringProperty) properties.get(key)).get());
-            } else if ("selected".equals(key)) {
-                CONTROL.setActive(((BooleanProperty) properties.get(key)).get());
-            } else if("averagingEnabled".equals(key)) {
-                CONTROL.setAveragingEnabled(((BooleanProperty) properties.get(key)).get());
-            } else if("averagingPeriod".equals(key)) {
-                CONTROL.setAveragingPeriod(((IntegerProperty) properties.get(key)).get());
-            } else if("startFromZero".equals(key)) {
-                CONTROL.setStartFromZero(((BooleanProperty) properties.get(key)).get());
-            } else if("returnToZero".equals(key)) {
-                CONTROL.setReturnToZero(((BooleanProperty) properties.get(key)).get());
-            } else if ("minMeasuredValueVisible".equals(key)) {
-                CONTROL.setMinMeasuredValueVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("maxMeasuredValueVisible".equals(key)) {
-                CONTROL.setMaxMeasuredValueVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("oldValueVisible".equals(key)) {
-                CONTROL.setOldValueVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("valueVisible".equals(key)) {
-                CONTROL.setValueVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("foregroundColor".equals(key)) {
-                CONTROL.setForegroundColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("backgroundColor".equals(key)) {
-                CONTROL.setBackgroundColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("borderColor".equals(key)) {
-                CONTROL.setBorderColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("borderWidth".equals(key)) {
-                CONTROL.setBorderWidth(((DoubleProperty) properties.get(key)).get());
-            } else if ("knobColor".equals(key)) {
-                CONTROL.setKnobColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if("animated".equals(key)) {
-                CONTROL.setAnimated(((BooleanProperty) properties.get(key)).get());
-            } else if("animationDuration".equals(key)) {
-                CONTROL.setAnimationDuration(((LongProperty) properties.get(key)).get());
-            } else if("startAngle".equals(key)) {
-                CONTROL.setStartAngle(((DoubleProperty) properties.get(key)).get());
-            } else if("angleRange".equals(key)) {
-                CONTROL.setAngleRange(((DoubleProperty) properties.get(key)).get());
-            } else if("needleColor".equals(key)) {
-                CONTROL.setNeedleColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if("barColor".equals(key)) {
-                CONTROL.setBarColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("barBackgroundColor".equals(key)) {
-                CONTROL.setBarBackgroundColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if("locale".equals(key)) {
-                CONTROL.setLocale(((ObjectProperty<Locale>) properties.get(key)).get());
-            } else if("numberFormat".equals(key)) {
-                CONTROL.setNumberFormat(((ObjectProperty<NumberFormat>) properties.get(key)).get());
-            } else if("shadowsEnabled".equals(key)) {
-                CONTROL.setShadowsEnabled(((BooleanProperty) properties.get(key)).get());
-            } else if ("style".equals(key)) {
-                CONTROL.setStyle(((StringProperty) properties.get(key)).get());
-            } else if ("innerShadowEnabled".equals(key)) {
-                CONTROL.setInnerShadowEnabled(((BooleanProperty) properties.get(key)).get());
-            } else if ("thresholdVisible".equals(key)) {
-                CONTROL.setThresholdVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("averageVisible".equals(key)) {
-                CONTROL.setAverageVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("sectionsVisible".equals(key)) {
-                CONTROL.setSectionsVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("sectionsAlwaysVisible".equals(key)) {
-                CONTROL.setSectionsAlwaysVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("sectionTextVisible".equals(key)) {
-                CONTROL.setSectionTextVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("sectionIconsVisible".equals(key)) {
-                CONTROL.setSectionIconsVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("highlightSections".equals(key)) {
-                CONTROL.setHighlightSections(((BooleanProperty) properties.get(key)).get());
-            } else if ("titleColor".equals(key)) {
-                CONTROL.setTitleColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("descriptionColor".equals(key)) {
-                CONTROL.setDescriptionColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("unitColor".equals(key)) {
-                CONTROL.setUnitColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("valueColor".equals(key)) {
-                CONTROL.setValueColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("thresholdColor".equals(key)) {
-                CONTROL.setThresholdColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("orientation".equals(key)) {
-                CONTROL.setOrientation(((ObjectProperty<Orientation>) properties.get(key)).get());
-            } else if ("checkSectionsForValue".equals(key)) {
-                CONTROL.setCheckSectionsForValue(((BooleanProperty) properties.get(key)).get());
-            } else if ("checkThreshold".equals(key)) {
-                CONTROL.setCheckThreshold(((BooleanProperty) properties.get(key)).get());
-            } else if ("onValueChanged".equals(key)) {
-                CONTROL.currentValueProperty().addListener(((ObjectProperty<InvalidationListener>) properties.get(key)).get());
-            } else if ("keepAspect".equals(key)) {
-                CONTROL.setKeepAspect(((BooleanProperty) properties.get(key)).get());
-            } else if ("threshold".equals(key)) {
-                CONTROL.setThreshold(((DoubleProperty) properties.get(key)).get());
-            } else if ("referenceValue".equals(key)) {
-                CONTROL.setReferenceValue(((DoubleProperty) properties.get(key)).get());
-            } else if ("autoReferenceValue".equals(key)) {
-                CONTROL.setAutoReferenceValue(((BooleanProperty) properties.get(key)).get());
-            } else if ("customFontEnabled".equals(key)) {
-                CONTROL.setCustomFontEnabled(((BooleanProperty) properties.get(key)).get());
-            } else if ("customFont".equals(key)) {
-                CONTROL.setCustomFont(((ObjectProperty<Font>) properties.get(key)).get());
-            } else if ("alertMessage".equals(key)) {
-                CONTROL.setAlertMessage(((StringProperty) properties.get(key)).get());
-            } else if ("smoothing".equals(key)) {
-                CONTROL.setSmoothing(((BooleanProperty) properties.get(key)).get());
-            } else if ("time".equals(key)) {
-                CONTROL.setTime(((ObjectProperty<ZonedDateTime>) properties.get(key)).get());
-            } else if ("text".equals(key)) {
-                CONTROL.setText(((StringProperty) properties.get(key)).get());
-            } else if ("textAlignment".equals(key)) {
-                CONTROL.setTextAlignment(((ObjectProperty<TextAlignment>) properties.get(key)).get());
-            } else if ("discreteSeconds".equals(key)) {
-                CONTROL.setDiscreteSeconds(((BooleanProperty) properties.get(key)).get());
-            } else if ("discreteMinutes".equals(key)) {
-                CONTROL.setDiscreteMinutes(((BooleanProperty) properties.get(key)).get());
-            } else if ("discreteHours".equals(key)) {
-                CONTROL.setDiscreteHours(((BooleanProperty) properties.get(key)).get());
-            } else if ("secondsVisible".equals(key)) {
-                CONTROL.setSecondsVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("textVisible".equals(key)) {
-                CONTROL.setTextVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("dateVisible".equals(key)) {
-                CONTROL.setDateVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("textColor".equals(key)) {
-                CONTROL.setTextColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("dateColor".equals(key)) {
-                CONTROL.setDateColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("hourTickMarkColor".equals(key)) {
-                CONTROL.setHourTickMarkColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("minuteTickMarkColor".equals(key)) {
-                CONTROL.setMinuteTickMarkColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("alarmColor".equals(key)) {
-                CONTROL.setAlarmColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("hourTickMarksVisible".equals(key)) {
-                CONTROL.setHourTickMarksVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("minuteTickMarksVisible".equals(key)) {
-                CONTROL.setMinuteTickMarksVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("hourColor".equals(key)) {
-                CONTROL.setHourColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("minuteColor".equals(key)) {
-                CONTROL.setMinuteColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("secondColor".equals(key)) {
-                CONTROL.setSecondColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("onAlarm".equals(key)) {
-                CONTROL.setOnAlarm(((ObjectProperty<AlarmEventListener>) properties.get(key)).get());
-            } else if ("onTimeEvent".equals(key)) {
-                CONTROL.setOnTimeEvent(((ObjectProperty<TimeEventListener>) properties.get(key)).get());
-            } else if ("alarmsEnabled".equals(key)) {
-                CONTROL.setAlarmsEnabled(((BooleanProperty) properties.get(key)).get());
-            } else if ("alarmsVisible".equals(key)) {
-                CONTROL.setAlarmsVisible(((BooleanProperty) properties.get(key)).get());
-            } else if ("running".equals(key)) {
-                CONTROL.setRunning(((BooleanProperty) properties.get(key)).get());
-            } else if ("increment".equals(key)) {
-                CONTROL.setIncrement(((DoubleProperty) properties.get(key)).get());
-            } else if ("activeColor".equals(key)) {
-                CONTROL.setActiveColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("darkSky".equals(key)) {
-                CONTROL.setDarkSky(((ObjectProperty<DarkSky>) properties.get(key)).get());
-            } else if ("duration".equals(key)) {
-                CONTROL.setDuration(((ObjectProperty<LocalTime>) properties.get(key)).get());
-            } else if ("strokeWithGradient".equals(key)) {
-                CONTROL.setStrokeWithGradient(((BooleanProperty) properties.get(key)).get());
-            } else if ("graphic".equals(key)) {
-                CONTROL.setGraphic(((ObjectProperty<Node>) properties.get(key)).get());
-            } else if ("roundedCorners".equals(key)) {
-                CONTROL.setRoundedCorners(((BooleanProperty) properties.get(key)).get());
-            } else if ("textSize".equals(key)) {
-                CONTROL.setTextSize(((ObjectProperty<TextSize>) properties.get(key)).get());
-            } else if ("currentLocation".equals(key)) {
-                CONTROL.setCurrentLocation(((ObjectProperty<Location>) properties.get(key)).get());
-            } else if ("trackColor".equals(key)) {
-                CONTROL.setTrackColor(((ObjectProperty<TileColor>) properties.get(key)).get());
-            } else if ("mapProvider".equals(key)) {
-                CONTROL.setMapProvider(((ObjectProperty<MapProvider>) properties.get(key)).get());
-            } else if ("tooltipText".equals(key)) {
-                CONTROL.setTooltipText(((StringProperty) properties.get(key)).get());
-            } else if ("xAxis".equals(key)) {
-                CONTROL.setXAxis(((ObjectProperty<Axis>) properties.get(key)).get());
-            } else if ("yAxis".equals(key)) {
-                CONTROL.setYAxis(((ObjectProperty<Axis>) properties.get(key)).get());
-            } else if ("radarChartMode".equals(key)) {
-                CONTROL.setRadarChartMode(((ObjectProperty<RadarChart.Mode>) properties.get(key)).get());
-            } else if ("chartGridColor".equals(key)) {
-                CONTROL.setChartGridColor(((ObjectProperty<Color>) properties.get(key)).get());
-            } else if ("country".equals(key)) {
-                CONTROL.setCountry(((ObjectProperty<Country>) properties.get(key)).get());
-            } else if ("sortedData".equals(key)) {
-                CONTROL.setSortedData(((BooleanProperty) properties.get(key)).get());
-            } else if ("flipTimeInMS".equals(key)) {
-                CONTROL.setFlipTimeInMS(((LongProperty) properties.get(key)).get());
-            } else if ("flipText".equals(key)) {
-                CONTROL.setFlipText(((StringProperty) properties.get(key)).get());
-            }
-        }
-        return CONTROL;
+    // ******************** Appliers ******************************************
+    static {
+        // Make sure that sections, areas and markers will be added first
+        registerFirst("sectionsArray", (Tile tile, Section[] value) -> tile.setSections(value));
+        registerFirst("sectionsList", (Tile tile, List<Section> value) -> tile.setSections(value));
+        registerFirst("characterArray", (Tile tile, String[] value) -> tile.setCharacters(value));
+        registerFirst("foregroundBaseColor", (Tile tile, Color value) -> tile.setForegroundBaseColor(value));
+        registerFirst("minValue", (Tile tile, Double value) -> tile.setMinValue(value));
+        registerFirst("maxValue", (Tile tile, Double value) -> tile.setMaxValue(value));
+        registerFirst("alarmsArray", (Tile tile, Alarm[] value) -> tile.setAlarms(value));
+        registerFirst("alarmsList", (Tile tile, List<Alarm> value) -> tile.setAlarms(value));
+        registerFirst("timeSectionsArray", (Tile tile, TimeSection[] value) -> tile.setTimeSections(value));
+        registerFirst("timeSectionsList", (Tile tile, List<TimeSection> value) -> tile.setTimeSections(value));
+        registerFirst("seriesArray", (Tile tile, Series<String, Number>[] value) -> tile.setSeries(value));
+        registerFirst("seriesList", (Tile tile, List<Series<String, Number>> value) -> tile.setSeries(value));
+        registerFirst("doubleSeriesArray", (Tile tile, DoubleSeries[] value) -> tile.setDoubleSeries(value));
+        registerFirst("doubleSeriesList", (Tile tile, List<DoubleSeries> value) -> tile.setDoubleSeries(value));
+        registerFirst("barChartItemsArray", (Tile tile, BarChartItem[] value) -> tile.setBarChartItems(value));
+        registerFirst("barChartItemsList", (Tile tile, List<BarChartItem> value) -> tile.setBarChartItems(value));
+        registerFirst("leaderBoardItemsArray", (Tile tile, LeaderBoardItem[] value) -> tile.setLeaderBoardItems(value));
+        registerFirst("leaderBoardItemsList", (Tile tile, List<LeaderBoardItem> value) -> tile.setLeaderBoardItems(value));
+        registerFirst("gradientStopsArray", (Tile tile, Stop[] value) -> tile.setGradientStops(value));
+        registerFirst("gradientStopsList", (Tile tile, List<Stop> value) -> tile.setGradientStops(value));
+        registerFirst("chartDataArray", (Tile tile, ChartData[] value) -> tile.setChartData(value));
+        registerFirst("chartDataList", (Tile tile, List<ChartData> value) -> tile.setChartData(value));
+        registerFirst("poiArray", (Tile tile, Location[] value) -> tile.setPoiLocations(value));
+        registerFirst("poiList", (Tile tile, List<Location> value) -> tile.setPoiList(value));
+        registerFirst("trackArray", (Tile tile, Location[] value) -> tile.setTrack(value));
+        registerFirst("trackList", (Tile tile, List<Location> value) -> tile.setTrack(value));
+
+        register("prefSize", (Tile tile, Dimension2D dim) -> tile.setPrefSize(dim.getWidth(), dim.getHeight()));
+        register("minSize", (Tile tile, Dimension2D dim) -> tile.setMinSize(dim.getWidth(), dim.getHeight()));
+        register("maxSize", (Tile tile, Dimension2D dim) -> tile.setMaxSize(dim.getWidth(), dim.getHeight()));
+        register("prefWidth", (Tile tile, Double value) -> tile.setPrefWidth(value));
+        register("prefHeight", (Tile tile, Double value) -> tile.setPrefHeight(value));
+        register("minWidth", (Tile tile, Double value) -> tile.setMinWidth(value));
+        register("minHeight", (Tile tile, Double value) -> tile.setMinHeight(value));
+        register("maxWidth", (Tile tile, Double value) -> tile.setMaxWidth(value));
+        register("maxHeight", (Tile tile, Double value) -> tile.setMaxHeight(value));
+        register("scaleX", (Tile tile, Double value) -> tile.setScaleX(value));
+        register("scaleY", (Tile tile, Double value) -> tile.setScaleY(value));
+        register("layoutX", (Tile tile, Double value) -> tile.setLayoutX(value));
+        register("layoutY", (Tile tile, Double value) -> tile.setLayoutY(value));
+        register("translateX", (Tile tile, Double value) -> tile.setTranslateX(value));
+        register("translateY", (Tile tile, Double value) -> tile.setTranslateY(value));
+        register("padding", (Tile tile, Insets value) -> tile.setPadding(value));
+        register("styleClass", (Tile tile, String[] styles) -> {
+            tile.getStyleClass().setAll("tile");
+            tile.getStyleClass().addAll(styles);
+        });
+        register("autoScale", (Tile tile, Boolean value) -> tile.setAutoScale(value));
+        register("value", (Tile tile, Double value) -> tile.setValue(value));
+        register("decimals", (Tile tile, Integer value) -> tile.setDecimals(value));
+        register("tickLabelDecimals", (Tile tile, Integer value) -> tile.setTickLabelDecimals(value));
+        register("title", (Tile tile, String value) -> tile.setTitle(value));
+        register("titleAlignment", (Tile tile, TextAlignment value) -> tile.setTitleAlignment(value));
+        register("description", (Tile tile, String value) -> tile.setDescription(value));
+        register("descriptionAlignment", (Tile tile, Pos value) -> tile.setDescriptionAlignment(value));
+        register("unit", (Tile tile, String value) -> tile.setUnit(value));
+        register("selected", (Tile tile, Boolean value) -> tile.setActive(value));
+        register("averagingEnabled", (Tile tile, Boolean value) -> tile.setAveragingEnabled(value));
+        register("averagingPeriod", (Tile tile, Integer value) -> tile.setAveragingPeriod(value));
+        register("startFromZero", (Tile tile, Boolean value) -> tile.setStartFromZero(value));
+        register("returnToZero", (Tile tile, Boolean value) -> tile.setReturnToZero(value));
+        register("minMeasuredValueVisible", (Tile tile, Boolean value) -> tile.setMinMeasuredValueVisible(value));
+        register("maxMeasuredValueVisible", (Tile tile, Boolean value) -> tile.setMaxMeasuredValueVisible(value));
+        register("oldValueVisible", (Tile tile, Boolean value) -> tile.setOldValueVisible(value));
+        register("valueVisible", (Tile tile, Boolean value) -> tile.setValueVisible(value));
+        register("foregroundColor", (Tile tile, Color value) -> tile.setForegroundColor(value));
+        register("backgroundColor", (Tile tile, Color value) -> tile.setBackgroundColor(value));
+        register("borderColor", (Tile tile, Color value) -> tile.setBorderColor(value));
+        register("borderWidth", (Tile tile, Double value) -> tile.setBorderWidth(value));
+        register("knobColor", (Tile tile, Color value) -> tile.setKnobColor(value));
+        register("animated", (Tile tile, Boolean value) -> tile.setAnimated(value));
+        register("animationDuration", (Tile tile, Long value) -> tile.setAnimationDuration(value));
+        register("startAngle", (Tile tile, Double value) -> tile.setStartAngle(value));
+        register("angleRange", (Tile tile, Double value) -> tile.setAngleRange(value));
+        register("needleColor", (Tile tile, Color value) -> tile.setNeedleColor(value));
+        register("barColor", (Tile tile, Color value) -> tile.setBarColor(value));
+        register("barBackgroundColor", (Tile tile, Color value) -> tile.setBarBackgroundColor(value));
+        register("locale", (Tile tile, Locale value) -> tile.setLocale(value));
+        register("numberFormat", (Tile tile, NumberFormat value) -> tile.setNumberFormat(value));
+        register("shadowsEnabled", (Tile tile, Boolean value) -> tile.setShadowsEnabled(value));
+        register("style", (Tile tile, String value) -> tile.setStyle(value));
+        register("innerShadowEnabled", (Tile tile, Boolean value) -> tile.setInnerShadowEnabled(value));
+        register("thresholdVisible", (Tile tile, Boolean value) -> tile.setThresholdVisible(value));
+        register("averageVisible", (Tile tile, Boolean value) -> tile.setAverageVisible(value));
+        register("sectionsVisible", (Tile tile, Boolean value) -> tile.setSectionsVisible(value));
+        register("sectionsAlwaysVisible", (Tile tile, Boolean value) -> tile.setSectionsAlwaysVisible(value));
+        register("sectionTextVisible", (Tile tile, Boolean value) -> tile.setSectionTextVisible(value));
+        register("sectionIconsVisible", (Tile tile, Boolean value) -> tile.setSectionIconsVisible(value));
+        register("highlightSections", (Tile tile, Boolean value) -> tile.setHighlightSections(value));
+        register("titleColor", (Tile tile, Color value) -> tile.setTitleColor(value));
+        register("descriptionColor", (Tile tile, Color value) -> tile.setDescriptionColor(value));
+        register("unitColor", (Tile tile, Color value) -> tile.setUnitColor(value));
+        register("valueColor", (Tile tile, Color value) -> tile.setValueColor(value));
+        register("thresholdColor", (Tile tile, Color value) -> tile.setThresholdColor(value));
+        register("orientation", (Tile tile, Orientation value) -> tile.setOrientation(value));
+        register("checkSectionsForValue", (Tile tile, Boolean value) -> tile.setCheckSectionsForValue(value));
+        register("checkThreshold", (Tile tile, Boolean value) -> tile.setCheckThreshold(value));
+        register("onValueChanged", (Tile tile, InvalidationListener listener) -> tile.currentValueProperty().addListener(listener));
+        register("keepAspect", (Tile tile, Boolean value) -> tile.setKeepAspect(value));
+        register("threshold", (Tile tile, Double value) -> tile.setThreshold(value));
+        register("referenceValue", (Tile tile, Double value) -> tile.setReferenceValue(value));
+        register("autoReferenceValue", (Tile tile, Boolean value) -> tile.setAutoReferenceValue(value));
+        register("customFontEnabled", (Tile tile, Boolean value) -> tile.setCustomFontEnabled(value));
+        register("customFont", (Tile tile, Font value) -> tile.setCustomFont(value));
+        register("alertMessage", (Tile tile, String value) -> tile.setAlertMessage(value));
+        register("smoothing", (Tile tile, Boolean value) -> tile.setSmoothing(value));
+        register("canvasMapEnabled", (Tile tile, Boolean value) -> tile.setCanvasMapEnabled(value));
+        register("canvasChartEnabled", (Tile tile, Boolean value) -> tile.setCanvasChartEnabled(value));
+        register("downsampling", (Tile tile, SmoothAreaChart.Downsampling value) -> tile.setDownsampling(value));
+        register("time", (Tile tile, ZonedDateTime value) -> tile.setTime(value));
+        register("text", (Tile tile, String value) -> tile.setText(value));
+        register("textAlignment", (Tile tile, TextAlignment value) -> tile.setTextAlignment(value));
+        register("discreteSeconds", (Tile tile, Boolean value) -> tile.setDiscreteSeconds(value));
+        register("discreteMinutes", (Tile tile, Boolean value) -> tile.setDiscreteMinutes(value));
+        register("discreteHours", (Tile tile, Boolean value) -> tile.setDiscreteHours(value));
+        register("secondsVisible", (Tile tile, Boolean value) -> tile.setSecondsVisible(value));
+        register("textVisible", (Tile tile, Boolean value) -> tile.setTextVisible(value));
+        register("dateVisible", (Tile tile, Boolean value) -> tile.setDateVisible(value));
+        register("textColor", (Tile tile, Color value) -> tile.setTextColor(value));
+        register("dateColor", (Tile tile, Color value) -> tile.setDateColor(value));
+        register("hourTickMarkColor", (Tile tile, Color value) -> tile.setHourTickMarkColor(value));
+        register("minuteTickMarkColor", (Tile tile, Color value) -> tile.setMinuteTickMarkColor(value));
+        register("alarmColor", (Tile tile, Color value) -> tile.setAlarmColor(value));
+        register("hourTickMarksVisible", (Tile tile, Boolean value) -> tile.setHourTickMarksVisible(value));
+        register("minuteTickMarksVisible", (Tile tile, Boolean value) -> tile.setMinuteTickMarksVisible(value));
+        register("hourColor", (Tile tile, Color value) -> tile.setHourColor(value));
+        register("minuteColor", (Tile tile, Color value) -> tile.setMinuteColor(value));
+        register("secondColor", (Tile tile, Color value) -> tile.setSecondColor(value));
+        register("onAlarm", (Tile tile, AlarmEventListener value) -> tile.setOnAlarm(value));
+        register("onTimeEvent", (Tile tile, TimeEventListener value) -> tile.setOnTimeEvent(value));
+        register("alarmsEnabled", (Tile tile, Boolean value) -> tile.setAlarmsEnabled(value));
+        register("alarmsVisible", (Tile tile, Boolean value) -> tile.setAlarmsVisible(value));
+        register("running", (Tile tile, Boolean value) -> tile.setRunning(value));
+        register("increment", (Tile tile, Double value) -> tile.setIncrement(value));
+        register("activeColor", (Tile tile, Color value) -> tile.setActiveColor(value));
+        register("darkSky", (Tile tile, DarkSky value) -> tile.setDarkSky(value));
+        register("duration", (Tile tile, LocalTime value) -> tile.setDuration(value));
+        register("strokeWithGradient", (Tile tile, Boolean value) -> tile.setStrokeWithGradient(value));
+        register("graphic", (Tile tile, Node value) -> tile.setGraphic(value));
+        register("roundedCorners", (Tile tile, Boolean value) -> tile.setRoundedCorners(value));
+        register("textSize", (Tile tile, TextSize value) -> tile.setTextSize(value));
+        register("currentLocation", (Tile tile, Location value) -> tile.setCurrentLocation(value));
+        register("trackColor", (Tile tile, TileColor value) -> tile.setTrackColor(value));
+        register("trackMaxPoints", (Tile tile, Integer value) -> tile.setTrackMaxPoints(value));
+        register("trackMaxAge", (Tile tile, Duration value) -> tile.setTrackMaxAge(value));
+        register("mapProvider", (Tile tile, MapProvider value) -> tile.setMapProvider(value));
+        register("mapTileSource", (Tile tile, MapTileSource value) -> tile.setMapTileSource(value));
+        register("tooltipText", (Tile tile, String value) -> tile.setTooltipText(value));
+        register("xAxis", (Tile tile, Axis<?> value) -> tile.setXAxis(value));
+        register("yAxis", (Tile tile, Axis<?> value) -> tile.setYAxis(value));
+        register("radarChartMode", (Tile tile, RadarChart.Mode value) -> tile.setRadarChartMode(value));
+        register("chartGridColor", (Tile tile, Color value) -> tile.setChartGridColor(value));
+        register("country", (Tile tile, Country value) -> tile.setCountry(value));
+        register("sortedData", (Tile tile, Boolean value) -> tile.setSortedData(value));
+        register("barChartVirtualized", (Tile tile, Boolean value) -> tile.setBarChartVirtualized(value));
+        register("flipTimeInMS", (Tile tile, Long value) -> tile.setFlipTimeInMS(value));
+        register("flipText", (Tile tile, String value) -> tile.setFlipText(value));
     }
 }
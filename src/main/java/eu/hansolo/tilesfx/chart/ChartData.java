@@ -19,26 +19,29 @@ package eu.hansolo.tilesfx.chart;
 import eu.hansolo.tilesfx.Tile;
 import eu.hansolo.tilesfx.events.ChartDataEvent;
 import eu.hansolo.tilesfx.events.ChartDataEventListener;
-import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
-import javafx.beans.property.DoubleProperty;
-import javafx.beans.property.DoublePropertyBase;
 import javafx.scene.paint.Color;
-import javafx.util.Duration;
 
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
  * Created by hansolo on 17.02.17.
+ *
+ * Animated value changes are driven by one shared clock for all ChartData
+ * objects (see ChartDataAnimator), so a ChartData doesn't own a Timeline.
  */
 public class ChartData {
+    public  static final long            DEFAULT_ANIMATION_DURATION = 800;
+    /**
+     * @deprecated Use setAnimated() of the ChartData objects instead. If
+     * false the ChartDataAnimator will not animate any ChartData.
+     */
+    @Deprecated
     public  static boolean               animated     = true;
     private final ChartDataEvent         UPDATE_EVENT = new ChartDataEvent(ChartData.this);
     private String                       name;
@@ -46,8 +49,10 @@ public class ChartData {
     private Color                        color;
     private Instant                      timestamp;
     private List<ChartDataEventListener> listenerList = new CopyOnWriteArrayList<>();
-    private DoubleProperty               currentValue;
-    private Timeline                     timeline;
+    private boolean                      valueAnimated;
+    private long                         animationDuration;
+            int                          animationSlot;
+      final AtomicInteger                animationRequest;
 
 
     // ******************** Constructors **************************************
@@ -70,20 +75,14 @@ public class ChartData {
         this(NAME, VALUE, COLOR, Instant.now());
     }
     public ChartData(final String NAME, final double VALUE, final Color COLOR, final Instant TIMESTAMP) {
-        name         = NAME;
-        value        = VALUE;
-        color        = COLOR;
-        timestamp    = TIMESTAMP;
-        currentValue = new DoublePropertyBase(value) {
-            @Override protected void invalidated() {
-                value = get();
-                fireChartDataEvent(UPDATE_EVENT);
-            }
-            @Override public Object getBean() { return ChartData.this; }
-            @Override public String getName() { return "currentValue"; }
-        };
-        timeline     = new Timeline();
-        animated     = true;
+        name              = NAME;
+        value             = VALUE;
+        color             = COLOR;
+        timestamp         = TIMESTAMP;
+        valueAnimated     = true;
+        animationDuration = DEFAULT_ANIMATION_DURATION;
+        animationSlot     = -1;
+        animationRequest  = new AtomicInteger();
     }
 
 
@@ -96,20 +95,35 @@ public class ChartData {
 
     public double getValue() { return value; }
     public void setValue(final double VALUE) {
-        if (animated) {
-            timeline.stop();
-            KeyValue kv1 = new KeyValue(currentValue, value, Interpolator.EASE_BOTH);
-            KeyValue kv2 = new KeyValue(currentValue, VALUE, Interpolator.EASE_BOTH);
-            KeyFrame kf1 = new KeyFrame(Duration.ZERO, kv1);
-            KeyFrame kf2 = new KeyFrame(Duration.millis(800), kv2);
-            timeline.getKeyFrames().setAll(kf1, kf2);
-            timeline.play();
+        if (valueAnimated) {
+            ChartDataAnimator.animate(ChartData.this, value, VALUE, animationDuration);
         } else {
+            ChartDataAnimator.stop(ChartData.this);
             value = VALUE;
             fireChartDataEvent(UPDATE_EVENT);
         }
     }
 
+    void setCurrentValue(final double VALUE) {
+        value = VALUE;
+        fireChartDataEvent(UPDATE_EVENT);
+    }
+
+    public boolean isAnimated() { return valueAnimated; }
+    /**
+     * Defines if changes of the value will be animated. A running
+     * animation will finish with its target value.
+     * @param ANIMATED
+     */
+    public void setAnimated(final boolean ANIMATED) { valueAnimated = ANIMATED; }
+
+    public long getAnimationDuration() { return animationDuration; }
+    /**
+     * Defines the duration of the value animation in milliseconds.
+     * @param DURATION
+     */
+    public void setAnimationDuration(final long DURATION) { animationDuration = Math.max(1, DURATION); }
+
     public Color getColor() { return color; }
     public void setColor(final Color COLOR) {
         color = COLOR;
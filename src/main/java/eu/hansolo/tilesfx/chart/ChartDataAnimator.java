@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.hansolo.tilesfx.chart;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.Interpolator;
+import javafx.application.Platform;
+
+
+/**
+ * Shared clock for the value animations of all ChartData objects. The
+ * running animations are stored in parallel primitive arrays and one
+ * AnimationTimer advances all of them once per pulse. The timer only runs
+ * while there are running animations. Starting an animation for a
+ * ChartData that is already animated reuses its slot, so updating a value
+ * doesn't allocate anything once the arrays are large enough.
+ * The slots will only be changed on the FX application thread. Calls from
+ * other threads will be passed to it and skipped if animate() or stop()
+ * was called again for the same ChartData in the meantime.
+ * No ChartData will be animated while the deprecated ChartData.animated
+ * is false.
+ */
+final class ChartDataAnimator {
+    private static final int            INITIAL_CAPACITY = 64;
+    private static       ChartData[]    data             = new ChartData[INITIAL_CAPACITY];
+    private static       double[]       startValues      = new double[INITIAL_CAPACITY];
+    private static       double[]       endValues        = new double[INITIAL_CAPACITY];
+    private static       long[]         startTimes       = new long[INITIAL_CAPACITY];
+    private static       long[]         durations        = new long[INITIAL_CAPACITY];
+    private static       int            size;
+    private static       boolean        running;
+    private static final AnimationTimer TIMER            = new AnimationTimer() {
+        @Override public void handle(final long NOW) { advance(NOW); }
+    };
+
+
+    // ******************** Constructors **************************************
+    private ChartDataAnimator() {}
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Animates the value of the given ChartData from START to END within
+     * the given duration. A running animation of the ChartData will be
+     * replaced.
+     * @param DATA
+     * @param START
+     * @param END
+     * @param DURATION duration of the animation in milliseconds
+     */
+    static void animate(final ChartData DATA, final double START, final double END, final long DURATION) {
+        final int REQUEST = DATA.animationRequest.incrementAndGet();
+        if (Platform.isFxApplicationThread()) {
+            start(DATA, START, END, DURATION);
+        } else {
+            Platform.runLater(() -> { if (DATA.animationRequest.get() == REQUEST) { start(DATA, START, END, DURATION); } });
+        }
+    }
+
+    /**
+     * Stops a running animation of the given ChartData, the value will stay
+     * where it is. An animation that was requested from another thread and
+     * didn't start yet will be skipped.
+     * @param DATA
+     */
+    static void stop(final ChartData DATA) {
+        final int REQUEST = DATA.animationRequest.incrementAndGet();
+        if (Platform.isFxApplicationThread()) {
+            if (DATA.animationSlot >= 0) { remove(DATA.animationSlot); }
+        } else {
+            Platform.runLater(() -> { if (DATA.animationRequest.get() == REQUEST && DATA.animationSlot >= 0) { remove(DATA.animationSlot); } });
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void start(final ChartData DATA, final double START, final double END, final long DURATION) {
+        if (!ChartData.animated) {
+            if (DATA.animationSlot >= 0) { remove(DATA.animationSlot); }
+            DATA.setCurrentValue(END);
+            return;
+        }
+        int slot = DATA.animationSlot;
+        if (slot < 0) {
+            if (size == data.length) { grow(); }
+            slot               = size++;
+            data[slot]         = DATA;
+            DATA.animationSlot = slot;
+        }
+        startValues[slot] = START;
+        endValues[slot]   = END;
+        startTimes[slot]  = System.nanoTime();
+        durations[slot]   = Math.max(1, DURATION) * 1_000_000;
+        if (!running) {
+            running = true;
+            TIMER.start();
+        }
+    }
+
+    private static void advance(final long NOW) {
+        // Iterate backwards because finished animations will be replaced by the last one
+        for (int slot = size - 1 ; slot >= 0 ; slot--) {
+            ChartData chartData = data[slot];
+            double    fraction  = (double) (NOW - startTimes[slot]) / durations[slot];
+            if (fraction >= 1) {
+                double endValue = endValues[slot];
+                remove(slot);
+                chartData.setCurrentValue(endValue);
+            } else if (fraction > 0) {
+                chartData.setCurrentValue(Interpolator.EASE_BOTH.interpolate(startValues[slot], endValues[slot], fraction));
+            }
+        }
+        if (size == 0) {
+            TIMER.stop();
+            running = false;
+        }
+    }
+
+    private static void remove(final int SLOT) {
+        data[SLOT].animationSlot = -1;
+        int last = --size;
+        if (SLOT != last) {
+            data[SLOT]        = data[last];
+            startValues[SLOT] = startValues[last];
+            endValues[SLOT]   = endValues[last];
+            startTimes[SLOT]  = startTimes[last];
+            durations[SLOT]   = durations[last];
+            data[SLOT].animationSlot = SLOT;
+        }
+        data[last] = null;
+    }
+
+    private static void grow() {
+        int capacity = data.length * 2;
+        ChartData[] newData        = new ChartData[capacity];
+        double[]    newStartValues = new double[capacity];
+        double[]    newEndValues   = new double[capacity];
+        long[]      newStartTimes  = new long[capacity];
+        long[]      newDurations   = new long[capacity];
+        System.arraycopy(data, 0, newData, 0, size);
+        System.arraycopy(startValues, 0, newStartValues, 0, size);
+        System.arraycopy(endValues, 0, newEndValues, 0, size);
+        System.arraycopy(startTimes, 0, newStartTimes, 0, size);
+        System.arraycopy(durations, 0, newDurations, 0, size);
+        data        = newData;
+        startValues = newStartValues;
+        endValues   = newEndValues;
+        startTimes  = newStartTimes;
+        durations   = newDurations;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.hansolo.tilesfx.chart;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.paint.Color;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * A series of equidistant values that are stored in a primitive array.
+ * It is meant for the canvas mode of the charts where series with 100k and
+ * more values would be too expensive as XYChart.Data objects. The listeners
+ * will be informed about every change.
+ * If a max size is set the oldest values will be removed when new values
+ * are added to a full series. The values are stored in a ring buffer, so
+ * adding a value to a full series needs O(1).
+ */
+public class DoubleSeries implements Observable {
+    private static final int                        INITIAL_CAPACITY = 16;
+    private              String                     name;
+    private              Color                      color;
+    private              double[]                   values;
+    private              int                        head;
+    private              int                        size;
+    private              int                        maxSize;
+    private              double                     min;
+    private              double                     max;
+    private              boolean                    rangeValid;
+    private              List<InvalidationListener> listenerList = new CopyOnWriteArrayList<>();
+
+
+    // ******************** Constructors **************************************
+    public DoubleSeries() {
+        this("", null);
+    }
+    public DoubleSeries(final String NAME) {
+        this(NAME, null);
+    }
+    public DoubleSeries(final String NAME, final Color COLOR) {
+        name       = NAME;
+        color      = COLOR;
+        values     = new double[INITIAL_CAPACITY];
+        head       = 0;
+        size       = 0;
+        maxSize    = 0;
+        rangeValid = false;
+    }
+    public DoubleSeries(final String NAME, final Color COLOR, final double... VALUES) {
+        this(NAME, COLOR);
+        setValues(VALUES);
+    }
+
+
+    // ******************** Methods *******************************************
+    public String getName() { return name; }
+    public void setName(final String NAME) {
+        name = NAME;
+        fireInvalidationEvent();
+    }
+
+    /**
+     * Returns the color of the series or null if the chart should use one of
+     * its default colors.
+     * @return the color of the series or null
+     */
+    public Color getColor() { return color; }
+    public void setColor(final Color COLOR) {
+        color = COLOR;
+        fireInvalidationEvent();
+    }
+
+    /**
+     * Returns the backing array of the series. Only the first getSize()
+     * values are valid and the array must not be modified. If the ring
+     * buffer wrapped since the last call the values will be moved in place
+     * to start at index 0, which needs O(n) once.
+     * Synchronize on the series while reading the array to not race with
+     * new values.
+     * @return the backing array of the series
+     */
+    public synchronized double[] getValues() {
+        linearize();
+        return values;
+    }
+    /**
+     * Copies the given values into the series.
+     * @param VALUES
+     */
+    public void setValues(final double... VALUES) { setValues(VALUES, VALUES.length); }
+    /**
+     * Copies the first LENGTH values of the given array into the series. If
+     * a max size is set only the last max size values will be copied.
+     * @param VALUES
+     * @param LENGTH
+     */
+    public void setValues(final double[] VALUES, final int LENGTH) {
+        synchronized (this) {
+            int start = maxSize > 0 ? Math.max(0, LENGTH - maxSize) : 0;
+            size = LENGTH - start;
+            head = 0;
+            if (values.length < size) { values = new double[size]; }
+            System.arraycopy(VALUES, start, values, 0, size);
+            rangeValid = false;
+        }
+        fireInvalidationEvent();
+    }
+
+    public void addValue(final double VALUE) {
+        synchronized (this) {
+            if (maxSize > 0 && size == maxSize) {
+                double removed = values[head];
+                head = (head + 1) % values.length;
+                size--;
+                if (removed <= min || removed >= max) { rangeValid = false; }
+            }
+            if (size == values.length) {
+                linearize();
+                double[] newValues = new double[maxSize > 0 ? Math.min(maxSize, size * 2) : size * 2];
+                System.arraycopy(values, 0, newValues, 0, size);
+                values = newValues;
+            }
+            values[slot(size)] = VALUE;
+            size++;
+            if (rangeValid) {
+                min = Math.min(min, VALUE);
+                max = Math.max(max, VALUE);
+            }
+        }
+        fireInvalidationEvent();
+    }
+
+    public void clear() {
+        synchronized (this) {
+            head       = 0;
+            size       = 0;
+            rangeValid = false;
+        }
+        fireInvalidationEvent();
+    }
+
+    public synchronized int getSize() { return size; }
+
+    public synchronized double getValue(final int INDEX) {
+        if (INDEX < 0 || INDEX >= size) { throw new IndexOutOfBoundsException("Index: " + INDEX + ", Size: " + size); }
+        return values[slot(INDEX)];
+    }
+
+    public synchronized double getLastValue() { return size == 0 ? 0 : values[slot(size - 1)]; }
+
+    /**
+     * Returns the max number of values in the series, 0 means unlimited.
+     * @return the max number of values in the series
+     */
+    public synchronized int getMaxSize() { return maxSize; }
+    public void setMaxSize(final int MAX_SIZE) {
+        synchronized (this) {
+            maxSize = Math.max(0, MAX_SIZE);
+            if (maxSize > 0 && size > maxSize) {
+                linearize();
+                System.arraycopy(values, size - maxSize, values, 0, maxSize);
+                size       = maxSize;
+                rangeValid = false;
+            }
+        }
+        fireInvalidationEvent();
+    }
+
+    public synchronized double getMin() {
+        validateRange();
+        return min;
+    }
+
+    public synchronized double getMax() {
+        validateRange();
+        return max;
+    }
+
+    private void validateRange() {
+        if (rangeValid) return;
+        min = size == 0 ? 0 : Double.MAX_VALUE;
+        max = size == 0 ? 0 : -Double.MAX_VALUE;
+        for (int i = 0 ; i < size ; i++) {
+            double value = values[slot(i)];
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        rangeValid = true;
+    }
+
+    private int slot(final int INDEX) { return (head + INDEX) % values.length; }
+
+    /**
+     * Rotates the ring buffer in place so that the oldest value will be at
+     * index 0.
+     */
+    private void linearize() {
+        if (head == 0) return;
+        reverse(0, head - 1);
+        reverse(head, values.length - 1);
+        reverse(0, values.length - 1);
+        head = 0;
+    }
+
+    private void reverse(final int FROM, final int TO) {
+        for (int i = FROM, j = TO ; i < j ; i++, j--) {
+            double value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    @Override public String toString() {
+        return new StringBuilder().append("{\n")
+                                  .append("  \"name\":\"").append(name).append("\",\n")
+                                  .append("  \"size\":").append(getSize()).append("\n")
+                                  .append("}")
+                                  .toString();
+    }
+
+
+    // ******************** Event Handling ************************************
+    @Override public void addListener(final InvalidationListener LISTENER) { if (!listenerList.contains(LISTENER)) listenerList.add(LISTENER); }
+    @Override public void removeListener(final InvalidationListener LISTENER) { if (listenerList.contains(LISTENER)) listenerList.remove(LISTENER); }
+
+    public void fireInvalidationEvent() {
+        for (InvalidationListener listener : listenerList) { listener.invalidated(DoubleSeries.this); }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.hansolo.tilesfx.chart;
+
+import eu.hansolo.tilesfx.chart.SmoothAreaChart.Downsampling;
+import eu.hansolo.tilesfx.tools.LttbDecimator;
+import eu.hansolo.tilesfx.tools.MinMaxDecimator;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Paint;
+
+
+/**
+ * Draws DoubleSeries on a canvas. The values will be downsampled to the
+ * width in pixels before they are drawn which means the costs of drawing
+ * only depend on the width and not on the number of values. The buffers
+ * will be reused between the calls, so one renderer should be used per
+ * canvas.
+ */
+public class DoubleSeriesRenderer {
+    private static final int      INITIAL_CAPACITY = 256;
+    private              int[]    indices;
+    private              double[] pointsX;
+    private              double[] pointsY;
+
+
+    // ******************** Constructors **************************************
+    public DoubleSeriesRenderer() {
+        indices = new int[INITIAL_CAPACITY];
+        pointsX = new double[INITIAL_CAPACITY + 2];
+        pointsY = new double[INITIAL_CAPACITY + 2];
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Draws the given series as a line and if FILL is not null as an area
+     * between the line and ZERO_Y. The value at index i will be drawn at
+     * x = X + i * WIDTH / (NO_OF_SLOTS - 1) and y = OFFSET_Y + value * SCALE_Y.
+     * @param CTX the graphics context to draw on
+     * @param SERIES the series to draw
+     * @param DOWNSAMPLING the method that should be used to reduce the number of values
+     * @param NO_OF_SLOTS the number of values that fit into the given width (usually the size of the largest series)
+     * @param X the x coordinate of the first value
+     * @param WIDTH the width of NO_OF_SLOTS values
+     * @param OFFSET_Y the y coordinate of the value 0
+     * @param SCALE_Y the factor that will be used to convert a value into pixels
+     * @param ZERO_Y the y coordinate of the lower edge of the area
+     * @param STROKE the paint of the line, null if no line should be drawn
+     * @param LINE_WIDTH the width of the line
+     * @param FILL the paint of the area, null if no area should be drawn
+     */
+    public void draw(final GraphicsContext CTX, final DoubleSeries SERIES, final Downsampling DOWNSAMPLING, final int NO_OF_SLOTS,
+                     final double X, final double WIDTH, final double OFFSET_Y, final double SCALE_Y, final double ZERO_Y,
+                     final Paint STROKE, final double LINE_WIDTH, final Paint FILL) {
+        int noOfPoints;
+        synchronized (SERIES) {
+            int size = SERIES.getSize();
+            if (size == 0) return;
+            double[] values  = SERIES.getValues();
+            double   stepX   = NO_OF_SLOTS > 1 ? WIDTH / (NO_OF_SLOTS - 1) : 0;
+            int      columns = Math.max(1, (int) Math.ceil(stepX * (size - 1)));
+            ensureCapacity(Math.min(size, MinMaxDecimator.getMaxNoOfIndices(columns)));
+            if (Downsampling.MIN_MAX == DOWNSAMPLING) {
+                noOfPoints = MinMaxDecimator.decimate(values, size, columns, indices);
+            } else {
+                noOfPoints = LttbDecimator.decimate(values, size, columns, indices);
+            }
+            for (int i = 0 ; i < noOfPoints ; i++) {
+                int index = indices[i];
+                pointsX[i] = X + index * stepX;
+                pointsY[i] = OFFSET_Y + values[index] * SCALE_Y;
+            }
+        }
+
+        if (null != FILL) {
+            pointsX[noOfPoints]     = pointsX[noOfPoints - 1];
+            pointsY[noOfPoints]     = ZERO_Y;
+            pointsX[noOfPoints + 1] = pointsX[0];
+            pointsY[noOfPoints + 1] = ZERO_Y;
+            CTX.setFill(FILL);
+            CTX.fillPolygon(pointsX, pointsY, noOfPoints + 2);
+        }
+        if (null != STROKE) {
+            CTX.setStroke(STROKE);
+            CTX.setLineWidth(LINE_WIDTH);
+            CTX.strokePolyline(pointsX, pointsY, noOfPoints);
+        }
+    }
+
+    private void ensureCapacity(final int CAPACITY) {
+        if (indices.length >= CAPACITY) return;
+        indices = new int[CAPACITY];
+        pointsX = new double[CAPACITY + 2];
+        pointsY = new double[CAPACITY + 2];
+    }
+}
@@ -18,6 +18,7 @@ package eu.hansolo.tilesfx.chart;
 
 import eu.hansolo.tilesfx.Tile;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.tools.DecorationCache;
 import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
@@ -33,16 +34,12 @@ import javafx.beans.property.StringPropertyBase;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
-import javafx.geometry.Insets;
 import javafx.geometry.VPos;
 import javafx.scene.CacheHint;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.DropShadow;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
@@ -116,6 +113,10 @@ public class RadarChart extends Region {
     private              InvalidationListener      resizeListener;
     private              InvalidationListener      redrawListener;
     private              InvalidationListener      redrawOverlayListener;
+    private              InvalidationListener      redrawTextListener;
+    private              boolean                   chartDirty;
+    private              boolean                   overlayDirty;
+    private              boolean                   textDirty;
     private              ListChangeListener<Stop>  gradientListener;
 
 
@@ -134,7 +135,6 @@ public class RadarChart extends Region {
             @Override protected void invalidated() {
                 set(clamp(getMinValue(), Double.MAX_VALUE, get()));
                 range.set(get() - getMinValue());
-                redraw();
             }
             @Override public Object getBean() { return RadarChart.this; }
             @Override public String getName() { return "maxValue"; }
@@ -143,7 +143,7 @@ public class RadarChart extends Region {
             @Override protected void invalidated() {
                 set(clamp(minValue.get(), maxValue.get(), get()));
                 range.set(getMaxValue() - get());
-                redraw();
+                redrawOverlay();
             }
             @Override public Object getBean() { return RadarChart.this; }
             @Override public String getName() { return "threshold"; }
@@ -182,45 +182,49 @@ public class RadarChart extends Region {
         data                  = FXCollections.observableArrayList();
         legendScaleFactor     = 1.0;
         chartBackgroundColor  = new ObjectPropertyBase<Color>(Color.TRANSPARENT) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() {
+                if (null != pane) { pane.setBackground(DecorationCache.getBackground(get(), 1024)); }
+                redrawOverlay();
+            }
             @Override public Object getBean() { return RadarChart.this; }
             @Override public String getName() { return "chartBackgroundColor"; }
         };
         chartForegroundColor  = new ObjectPropertyBase<Color>(Tile.FOREGROUND) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { redrawOverlay(); }
             @Override public Object getBean() { return RadarChart.this; }
             @Override public String getName() { return "chartForegroundColor"; }
         };
         chartTextColor        = new ObjectPropertyBase<Color>(Tile.FOREGROUND) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { redrawLegend(); }
             @Override public Object getBean() { return RadarChart.this; }
             @Override public String getName() { return "chartTextColor"; }
         };
         gridColor             = new ObjectPropertyBase<Color>(Tile.GRAY) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { redrawOverlay(); }
             @Override public Object getBean() { return RadarChart.this; }
             @Override public String getName() { return "gridColor"; }
         };
         chartFill             = new ObjectPropertyBase<Paint>(Tile.BLUE) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { redrawData(); }
             @Override public Object getBean() { return RadarChart.this; }
             @Override public String getName() { return "chartFile"; }
         };
         thresholdColor        = new ObjectPropertyBase<Color>(Tile.LIGHT_RED) {
-            @Override protected void invalidated() { redraw(); }
+            @Override protected void invalidated() { redrawOverlay(); }
             @Override public Object getBean() { return RadarChart.this; }
             @Override public String getName() { return "thresholdColor"; }
         };
         resizeListener        = o -> resize();
         redrawListener        = o -> redraw();
-        redrawOverlayListener = o -> drawOverlay();
+        redrawOverlayListener = o -> redrawOverlay();
+        redrawTextListener    = o -> redrawLegend();
         gradientListener      = change -> {
             stops.clear();
             for (Stop stop : getGradientStops()) {
                 if (Double.compare(stop.getOffset(), 0.0) == 0) { stops.add(new Stop(0, stop.getColor())); }
                 stops.add(new Stop(stop.getOffset() * 0.69924 + 0.285, stop.getColor()));
             }
-            redraw();
+            redrawData();
         };
         initData(DATA);
 
@@ -317,7 +321,7 @@ public class RadarChart extends Region {
 
         // Add all nodes
         pane = new Pane(chartCanvas, overlayCanvas, unitText, minValueText, legend1Text, legend2Text, legend3Text, legend4Text, maxValueText);
-        pane.setBackground(new Background(new BackgroundFill(getChartBackgroundColor(), new CornerRadii(1024), Insets.EMPTY)));
+        pane.setBackground(DecorationCache.getBackground(getChartBackgroundColor(), 1024));
 
         getChildren().setAll(pane);
     }
@@ -325,11 +329,10 @@ public class RadarChart extends Region {
     private void registerListeners() {
         widthProperty().addListener(resizeListener);
         heightProperty().addListener(resizeListener);
-        unit.addListener(redrawListener);
-        legendVisible.addListener(redrawListener);
+        unit.addListener(redrawTextListener);
+        legendVisible.addListener(redrawTextListener);
         minValue.addListener(redrawListener);
         maxValue.addListener(redrawListener);
-        //data.addListener((MapChangeListener<Integer, ChartData>) change -> redraw());
         thresholdVisible.addListener(redrawOverlayListener);
         mode.addListener(redrawListener);
         noOfSectors.addListener(redrawListener);
@@ -339,8 +342,8 @@ public class RadarChart extends Region {
     public void dispose() {
         widthProperty().removeListener(resizeListener);
         heightProperty().removeListener(resizeListener);
-        unit.removeListener(redrawListener);
-        legendVisible.removeListener(redrawListener);
+        unit.removeListener(redrawTextListener);
+        legendVisible.removeListener(redrawTextListener);
         minValue.removeListener(redrawListener);
         maxValue.removeListener(redrawListener);
         thresholdVisible.removeListener(redrawOverlayListener);
@@ -422,7 +425,7 @@ public class RadarChart extends Region {
 
     public void scaleLegendToValue(final double VALUE) {
         legendScaleFactor = VALUE;
-        redrawText();
+        redrawLegend();
     }
 
     public Mode getMode() { return mode.get(); }
@@ -452,7 +455,7 @@ public class RadarChart extends Region {
         if (size > 0) {
             pane.setMaxSize(size, size);
             pane.relocate((getWidth() - size) * 0.5, (getHeight() - size) * 0.5);
-            pane.setBackground(new Background(new BackgroundFill(getChartBackgroundColor(), new CornerRadii(1024), Insets.EMPTY)));
+            pane.setBackground(DecorationCache.getBackground(getChartBackgroundColor(), 1024));
 
             chartCanvas.setWidth(size);
             chartCanvas.setHeight(size);
@@ -519,18 +522,56 @@ public class RadarChart extends Region {
         }
     }
 
+    /**
+     * Marks all layers of the chart dirty. The layers will be redrawn once
+     * in the next layout pass, so several calls within one pulse will only
+     * lead to one redraw.
+     */
     public void redraw() {
-        chartCanvas.setCache(false);
-        drawChart();
-        chartCanvas.setCache(true);
-        chartCanvas.setCacheHint(CacheHint.QUALITY);
+        chartDirty   = true;
+        overlayDirty = true;
+        textDirty    = true;
+        requestLayout();
+    }
+
+    /**
+     * Marks only the data layer dirty, the grid, the labels and the legend
+     * will not be redrawn. Should be called when the values of the data
+     * changed.
+     */
+    public void redrawData() {
+        chartDirty = true;
+        requestLayout();
+    }
 
-        overlayCanvas.setCache(false);
-        drawOverlay();
-        overlayCanvas.setCache(true);
-        overlayCanvas.setCacheHint(CacheHint.QUALITY);
+    private void redrawOverlay() {
+        overlayDirty = true;
+        requestLayout();
+    }
+
+    private void redrawLegend() {
+        textDirty = true;
+        requestLayout();
+    }
 
-        redrawText();
+    @Override protected void layoutChildren() {
+        super.layoutChildren();
+        if (size <= 0) return;
+        if (chartDirty) {
+            chartDirty = false;
+            drawChart();
+        }
+        if (overlayDirty) {
+            overlayDirty = false;
+            overlayCanvas.setCache(false);
+            drawOverlay();
+            overlayCanvas.setCache(true);
+            overlayCanvas.setCacheHint(CacheHint.QUALITY);
+        }
+        if (textDirty) {
+            textDirty = false;
+            redrawText();
+        }
     }
 
     private void drawChart() {
@@ -16,10 +16,12 @@
 
 package eu.hansolo.tilesfx.chart;
 
+import eu.hansolo.tilesfx.tools.BezierSmoother;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
+import javafx.beans.InvalidationListener;
 import javafx.beans.NamedArg;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
@@ -28,8 +30,10 @@ import javafx.beans.property.DoublePropertyBase;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.IntegerPropertyBase;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.ReadOnlyDoubleProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.css.CssMetaData;
 import javafx.css.Styleable;
@@ -37,12 +41,15 @@ import javafx.css.StyleableObjectProperty;
 import javafx.css.StyleableProperty;
 import javafx.css.StyleablePropertyFactory;
 import javafx.event.EventHandler;
-import javafx.geometry.Point2D;
+import javafx.geometry.Bounds;
 import javafx.scene.Group;
 import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.chart.AreaChart;
 import javafx.scene.chart.Axis;
 import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.ValueAxis;
 import javafx.scene.chart.XYChart;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Region;
@@ -60,16 +67,30 @@ import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.util.Duration;
-import javafx.util.Pair;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import static eu.hansolo.tilesfx.tools.Helper.*;
 
 
 /**
  * Created by hansolo on 04.01.17.
+ *
+ * In canvas mode the DoubleSeries of the chart will be drawn on a canvas in
+ * the plot area. The values are downsampled to the width of the plot area
+ * which makes it possible to show series with 100k and more values. The
+ * DoubleSeries are not smoothed, are not part of the legend and should only
+ * be modified on the JavaFX application thread. New values only mark the
+ * axis range dirty, it will be updated once per pulse.
  */
 public class SmoothAreaChart<X, Y> extends AreaChart<X, Y> {
+    public enum Downsampling { LTTB, MIN_MAX }
+
+    private static final Color[]                                   DEFAULT_COLORS       = { Color.web("#f3622d"), Color.web("#fba71b"), Color.web("#57b757"), Color.web("#41a9c9"),
+                                                                                            Color.web("#4258c9"), Color.web("#9a42c8"), Color.web("#c84164"), Color.web("#888888") };
     private static final StyleablePropertyFactory<SmoothAreaChart> FACTORY              = new StyleablePropertyFactory<>(Region.getClassCssMetaData());
     private static final CssMetaData<SmoothAreaChart, Color>       SELECTOR_COLOR       = FACTORY.createColorCssMetaData("-selector-color", s -> s.selectorColor, Color.web("#2468ea"), false);
     private static final CssMetaData<SmoothAreaChart, Color>       SELECTOR_CIRCLE_FILL = FACTORY.createColorCssMetaData("-selector-circle-fill", s -> s.selectorCircleFill, Color.TRANSPARENT, false);
@@ -85,7 +106,19 @@ public class SmoothAreaChart<X, Y> extends AreaChart<X, Y> {
     private              double                                    range;
     private              EventHandler<MouseEvent>                  mousePressHandler;
     private              EventHandler<MouseEvent>                  mouseReleaseHandler;
+    private              EventHandler<MouseEvent>                  mouseDragHandler;
     private              Timeline                                  timeline;
+    private              Map<Series<X, Y>, SmoothedSeries>         smoothedSeries;
+    private              ObservableList<DoubleSeries>              doubleSeries;
+    private              InvalidationListener                      doubleSeriesListener;
+    private              boolean                                   doubleSeriesDirty;
+    private              BooleanProperty                           canvasMode;
+    private              ObjectProperty<Downsampling>              downsampling;
+    private              Canvas                                    canvas;
+    private              GraphicsContext                           ctx;
+    private              DoubleSeriesRenderer                      renderer;
+    private              double                                    canvasOffsetY;
+    private              double                                    canvasScaleY;
 
     private              Region                                    chartPlotBackground;
     private              Line                                      selector;
@@ -118,10 +151,12 @@ public class SmoothAreaChart<X, Y> extends AreaChart<X, Y> {
         selectorEnabled           = new BooleanPropertyBase(false) {
             @Override protected void invalidated() {
                 if(get()) {
-                    setOnMousePressed(mousePressHandler);
-                    setOnMouseReleased(mouseReleaseHandler);
+                    addEventHandler(MouseEvent.MOUSE_PRESSED, mousePressHandler);
+                    addEventHandler(MouseEvent.MOUSE_DRAGGED, mouseDragHandler);
+                    addEventHandler(MouseEvent.MOUSE_RELEASED, mouseReleaseHandler);
                 } else {
                     removeEventHandler(MouseEvent.MOUSE_PRESSED, mousePressHandler);
+                    removeEventHandler(MouseEvent.MOUSE_DRAGGED, mouseDragHandler);
                     removeEventHandler(MouseEvent.MOUSE_RELEASED, mouseReleaseHandler);
                 }
             }
@@ -152,8 +187,30 @@ public class SmoothAreaChart<X, Y> extends AreaChart<X, Y> {
 
         mousePressHandler         = evt -> selectData(evt);
         mouseReleaseHandler       = evt -> timeline.play();
+        mouseDragHandler          = evt -> selectData(evt);
 
         _selectorRadius           = 5;
+        smoothedSeries            = new HashMap<>();
+        doubleSeries              = FXCollections.observableArrayList();
+        doubleSeriesListener      = o -> handleDoubleSeriesChange();
+        doubleSeriesDirty         = false;
+        canvasMode                = new BooleanPropertyBase(false) {
+            @Override protected void invalidated() {
+                canvas.setVisible(get());
+                handleDoubleSeriesChange();
+            }
+            @Override public Object getBean() { return SmoothAreaChart.this; }
+            @Override public String getName() { return "canvasMode"; }
+        };
+        downsampling              = new ObjectPropertyBase<Downsampling>(Downsampling.LTTB) {
+            @Override protected void invalidated() {
+                if (null == get()) { set(Downsampling.LTTB); }
+                if (isCanvasMode()) { drawCanvas(); }
+            }
+            @Override public Object getBean() { return SmoothAreaChart.this; }
+            @Override public String getName() { return "downsampling"; }
+        };
+        renderer                  = new DoubleSeriesRenderer();
 
         // Add additional nodes
         selector = new Line();
@@ -177,6 +234,20 @@ public class SmoothAreaChart<X, Y> extends AreaChart<X, Y> {
 
         getChartChildren().addAll(selector, selectorCircle, selectedValueText);
 
+        canvas = new Canvas();
+        canvas.setVisible(false);
+        canvas.setManaged(false);
+        ctx    = canvas.getGraphicsContext2D();
+        getPlotChildren().add(0, canvas);
+
+        doubleSeries.addListener((ListChangeListener<DoubleSeries>) c -> {
+            while (c.next()) {
+                if (c.wasRemoved()) { c.getRemoved().forEach(removedSeries -> removedSeries.removeListener(doubleSeriesListener)); }
+                if (c.wasAdded()) { c.getAddedSubList().forEach(addedSeries -> addedSeries.addListener(doubleSeriesListener)); }
+            }
+            handleDoubleSeriesChange();
+        });
+
         initTimeline();
 
         setLegend(getLegend());
@@ -264,6 +335,30 @@ public class SmoothAreaChart<X, Y> extends AreaChart<X, Y> {
         return selectorRadius;
     }
 
+    /**
+     * Returns the list of series that will be drawn in canvas mode.
+     * @return the list of series that will be drawn in canvas mode
+     */
+    public ObservableList<DoubleSeries> getDoubleSeries() { return doubleSeries; }
+
+    public boolean isCanvasMode() { return canvasMode.get(); }
+    /**
+     * Defines if the DoubleSeries of the chart should be drawn on a canvas.
+     * @param ENABLED
+     */
+    public void setCanvasMode(final boolean ENABLED) { canvasMode.set(ENABLED); }
+    public BooleanProperty canvasModeProperty() { return canvasMode; }
+
+    public Downsampling getDownsampling() { return downsampling.get(); }
+    /**
+     * Defines the method that will be used to reduce the values of the
+     * DoubleSeries to the width of the plot area. LTTB keeps the shape of
+     * the line, MIN_MAX keeps all peaks.
+     * @param DOWNSAMPLING
+     */
+    public void setDownsampling(final Downsampling DOWNSAMPLING) { downsampling.set(DOWNSAMPLING); }
+    public ObjectProperty<Downsampling> downsamplingProperty() { return downsampling; }
+
     public void enableLegend(final boolean ENABLE) {
         getLegend().setManaged(ENABLE);
     }
@@ -277,59 +372,84 @@ public class SmoothAreaChart<X, Y> extends AreaChart<X, Y> {
             seriesLine.setStrokeLineCap(StrokeLineCap.BUTT);
             fillPath.setVisible(isAreaVisible());
             fillPath.setManaged(isAreaVisible());
-            smooth(seriesLine.getElements(), fillPath.getElements());
+            smoothedSeries.computeIfAbsent(series, s -> new SmoothedSeries()).smooth(seriesLine.getElements(), fillPath.getElements());
         }
+        if (smoothedSeries.size() > getDataSize()) { smoothedSeries.keySet().retainAll(getData()); }
+        if (isCanvasMode()) { drawCanvas(); }
     }
 
-    private int getDataSize() {
-        final ObservableList<Series<X, Y>> data = getData();
-        return (data != null) ? data.size() : 0;
+    @Override protected void updateAxisRange() {
+        super.updateAxisRange();
+        final Axis<Y> yAxis = getYAxis();
+        if (!isCanvasMode() || doubleSeries.isEmpty() || !yAxis.isAutoRanging() || !(yAxis instanceof ValueAxis)) return;
+        // The range has to contain the data of the series and the min and max of the double series
+        final List<Y> yData = new ArrayList<>();
+        for (Series<X, Y> series : getData()) {
+            for (Data<X, Y> data : series.getData()) { yData.add(data.getYValue()); }
+        }
+        for (DoubleSeries series : doubleSeries) {
+            if (series.getSize() == 0) continue;
+            yData.add(yAxis.toRealValue(series.getMin()));
+            yData.add(yAxis.toRealValue(series.getMax()));
+        }
+        yAxis.invalidateRange(yData);
     }
 
-    private static void smooth(ObservableList<PathElement> strokeElements, ObservableList<PathElement> fillElements) {
-        if (fillElements.isEmpty()) return;
-        // as we do not have direct access to the data, first recreate the list of all the data points we have
-        final Point2D[] dataPoints = new Point2D[strokeElements.size()];
-        for (int i = 0; i < strokeElements.size(); i++) {
-            final PathElement element = strokeElements.get(i);
-            if (element instanceof MoveTo) {
-                MoveTo move   = (MoveTo) element;
-                dataPoints[i] = new Point2D(move.getX(), move.getY());
-            } else if (element instanceof LineTo) {
-                LineTo line   = (LineTo) element;
-                dataPoints[i] = new Point2D(line.getX(), line.getY());
-            }
+    @Override protected void layoutChildren() {
+        // The axis range will only be updated once per pulse and not for every new value of the double series
+        if (doubleSeriesDirty) {
+            doubleSeriesDirty = false;
+            updateAxisRange();
         }
-        // next we need to know the zero Y value
-        final double zeroY = ((MoveTo) fillElements.get(0)).getY();
-        // now clear and rebuild elements
-        strokeElements.clear();
-        fillElements.clear();
-        Pair<Point2D[], Point2D[]> result              = calcCurveControlPoints(dataPoints);
-        Point2D[]                  firstControlPoints  = result.getKey();
-        Point2D[]                  secondControlPoints = result.getValue();
-        // start both paths
-        strokeElements.add(new MoveTo(dataPoints[0].getX(), dataPoints[0].getY()));
-        fillElements.add(new MoveTo(dataPoints[0].getX(), zeroY));
-        fillElements.add(new LineTo(dataPoints[0].getX(), dataPoints[0].getY()));
-        // add curves
-        for (int i = 2; i < dataPoints.length; i++) {
-            final int ci = i - 1;
-            strokeElements.add(new CubicCurveTo(
-                firstControlPoints[ci].getX(), firstControlPoints[ci].getY(),
-                secondControlPoints[ci].getX(), secondControlPoints[ci].getY(),
-                dataPoints[i].getX(), dataPoints[i].getY()));
-            fillElements.add(new CubicCurveTo(
-                firstControlPoints[ci].getX(), firstControlPoints[ci].getY(),
-                secondControlPoints[ci].getX(), secondControlPoints[ci].getY(),
-                dataPoints[i].getX(), dataPoints[i].getY()));
+        super.layoutChildren();
+    }
+
+    private void handleDoubleSeriesChange() {
+        if (!isCanvasMode() || doubleSeriesDirty) return;
+        doubleSeriesDirty = true;
+        requestChartLayout();
+    }
+
+    private int getNoOfSlots() {
+        int noOfSlots = 0;
+        for (DoubleSeries series : doubleSeries) { noOfSlots = Math.max(noOfSlots, series.getSize()); }
+        return noOfSlots;
+    }
+
+    private void drawCanvas() {
+        final double width  = getXAxis().getWidth();
+        final double height = getYAxis().getHeight();
+        if (width <= 0 || height <= 0) return;
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+        }
+        ctx.clearRect(0, 0, width, height);
+        if (!(getYAxis() instanceof ValueAxis)) return;
+
+        final ValueAxis<?> yAxis      = (ValueAxis<?>) getYAxis();
+        final double       yRange     = yAxis.getUpperBound() - yAxis.getLowerBound();
+        final int          noOfSlots  = getNoOfSlots();
+        if (yRange <= 0 || noOfSlots == 0) return;
+        double zeroY = yAxis.getZeroPosition();
+        if (Double.isNaN(zeroY)) { zeroY = yAxis.getLowerBound() > 0 ? height : 0; }
+
+        canvasScaleY  = -height / yRange;
+        canvasOffsetY = height + yAxis.getLowerBound() * height / yRange;
+        for (int i = 0 ; i < doubleSeries.size() ; i++) {
+            final DoubleSeries series = doubleSeries.get(i);
+            final Color        color  = null == series.getColor() ? DEFAULT_COLORS[i % DEFAULT_COLORS.length] : series.getColor();
+            final Color        fill   = isAreaVisible() ? Color.color(color.getRed(), color.getGreen(), color.getBlue(), 0.15) : null;
+            renderer.draw(ctx, series, getDownsampling(), noOfSlots, 0, width, canvasOffsetY, canvasScaleY, zeroY, color, 2, fill);
         }
-        // end the paths
-        fillElements.add(new LineTo(dataPoints[dataPoints.length - 1].getX(), zeroY));
-        fillElements.add(new ClosePath());
     }
 
-    private double invB3P(double a0, double a1, double a2, double a3, double x) {
+    private int getDataSize() {
+        final ObservableList<Series<X, Y>> data = getData();
+        return (data != null) ? data.size() : 0;
+    }
+
+    private static double invB3P(double a0, double a1, double a2, double a3, double x) {
         double c;
         double h, p, q, D, R, S, F, t;
         double w1 = 2.0 * Math.PI / 3.0;
@@ -379,90 +499,6 @@ public class SmoothAreaChart<X, Y> extends AreaChart<X, Y> {
         return t;
     }
 
-    /**
-     * Calculate open-ended Bezier Spline Control Points.
-     *
-     * @param dataPoints Input data Bezier spline points.
-     * @return The spline points
-     */
-    private static Pair<Point2D[], Point2D[]> calcCurveControlPoints(Point2D[] dataPoints) {
-        Point2D[] firstControlPoints;
-        Point2D[] secondControlPoints;
-        int n = dataPoints.length - 1;
-        if (n == 1) { // Special case: Bezier curve should be a straight line.
-            firstControlPoints     = new Point2D[1];
-            // 3P1 = 2P0 + P3
-            firstControlPoints[0]  = new Point2D((2 * dataPoints[0].getX() + dataPoints[1].getX()) / 3, (2 * dataPoints[0].getY() + dataPoints[1].getY()) / 3);
-            secondControlPoints    = new Point2D[1];
-            // P2 = 2P1 – P0
-            secondControlPoints[0] = new Point2D(2 * firstControlPoints[0].getX() - dataPoints[0].getX(), 2 * firstControlPoints[0].getY() - dataPoints[0].getY());
-            return new Pair<>(firstControlPoints, secondControlPoints);
-        }
-
-        // Calculate first Bezier control points
-        // Right hand side vector
-        double[] rhs = new double[n];
-
-        // Set right hand side X values
-        for (int i = 1; i < n - 1; ++i) {
-            rhs[i] = 4 * dataPoints[i].getX() + 2 * dataPoints[i + 1].getX();
-        }
-        rhs[0]     = dataPoints[0].getX() + 2 * dataPoints[1].getX();
-        rhs[n - 1] = (8 * dataPoints[n - 1].getX() + dataPoints[n].getX()) / 2.0;
-        // Get first control points X-values
-        double[] x = getFirstControlPoints(rhs);
-
-        // Set right hand side Y values
-        for (int i = 1; i < n - 1; ++i) {
-            rhs[i] = 4 * dataPoints[i].getY() + 2 * dataPoints[i + 1].getY();
-        }
-        rhs[0]     = dataPoints[0].getY() + 2 * dataPoints[1].getY();
-        rhs[n - 1] = (8 * dataPoints[n - 1].getY() + dataPoints[n].getY()) / 2.0;
-        // Get first control points Y-values
-        double[] y = getFirstControlPoints(rhs);
-
-        // Fill output arrays.
-        firstControlPoints  = new Point2D[n];
-        secondControlPoints = new Point2D[n];
-        for (int i = 0; i < n; ++i) {
-            // First control point
-            firstControlPoints[i] = new Point2D(x[i], y[i]);
-            // Second control point
-            if (i < n - 1) {
-                secondControlPoints[i] = new Point2D(2 * dataPoints[i + 1].getX() - x[i + 1], 2 * dataPoints[i + 1].getY() - y[i + 1]);
-            } else {
-                secondControlPoints[i] = new Point2D((dataPoints[n].getX() + x[n - 1]) / 2, (dataPoints[n].getY() + y[n - 1]) / 2);
-            }
-        }
-        return new Pair<>(firstControlPoints, secondControlPoints);
-    }
-
-    /**
-     * Solves a tridiagonal system for one of coordinates (x or y) of first
-     * Bezier control points.
-     *
-     * @param rhs Right hand side vector.
-     * @return Solution vector.
-     */
-    private static double[] getFirstControlPoints(double[] rhs) {
-        int      n   = rhs.length;
-        double[] x   = new double[n]; // Solution vector.
-        double[] tmp = new double[n]; // Temp workspace.
-        double   b   = 2.0;
-
-        x[0] = rhs[0] / b;
-
-        for (int i = 1; i < n; i++) {// Decomposition and forward substitution.
-            tmp[i] = 1 / b;
-            b      = (i < n - 1 ? 4.0 : 3.5) - tmp[i];
-            x[i]   = (rhs[i] - x[i - 1]) / b;
-        }
-        for (int i = 1; i < n; i++) {
-            x[n - i - 1] -= tmp[n - i] * x[n - i]; // Backsubstitution.
-        }
-        return x;
-    }
-
     private void resizeSelector(final Region CHART_BACKGROUND) {
         selector.setLayoutX(CHART_BACKGROUND.getLayoutX());
         selector.setLayoutY(CHART_BACKGROUND.getLayoutY());
@@ -472,20 +508,21 @@ public class SmoothAreaChart<X, Y> extends AreaChart<X, Y> {
     }
 
     private void selectData(final MouseEvent EVENT) {
-        if (getData().isEmpty() ||
-            getData().get(0).getData().isEmpty() ||
-            getPlotChildren().isEmpty()) {
+        final boolean hasData         = !getData().isEmpty() && !getData().get(0).getData().isEmpty();
+        final boolean hasDoubleSeries = isCanvasMode() && getNoOfSlots() > 0;
+        if ((!hasData && !hasDoubleSeries) || getPlotChildren().isEmpty()) {
             return;
         }
 
         // Set Selector
         timeline.stop();
-        final double chartX     = localToScene(chartPlotBackground.getBoundsInParent()).getMinX();
-        final double chartY     = localToScene(chartPlotBackground.getBoundsInParent()).getMinY();
-        final double chartWidth = getPlotChildren().get(0).getParent().getLayoutBounds().getWidth();
-        final double insetLeft  = getInsets().getLeft();
-        final double eventX     = EVENT.getSceneX() - chartX - insetLeft;
-        final double eventY     = EVENT.getSceneY() - chartY;
+        final Bounds chartBounds = localToScene(chartPlotBackground.getBoundsInParent());
+        final double chartX      = chartBounds.getMinX();
+        final double chartY      = chartBounds.getMinY();
+        final double chartWidth  = getPlotChildren().get(0).getParent().getLayoutBounds().getWidth();
+        final double insetLeft   = getInsets().getLeft();
+        final double eventX      = EVENT.getSceneX() - chartX - insetLeft;
+        final double eventY      = EVENT.getSceneY() - chartY;
         selector.setStartX(clamp(insetLeft, chartWidth, eventX));
         selector.setEndX(clamp(insetLeft, chartWidth, eventX));
         selectorCircle.setCenterX(selector.getBoundsInParent().getMinX() + selector.getStrokeWidth() / 2);
@@ -499,46 +536,12 @@ public class SmoothAreaChart<X, Y> extends AreaChart<X, Y> {
         double nearestValue = -1;
         double nearestYt    = -1;
         double distance     = Double.MAX_VALUE;
+        double x            = selector.getStartX();
         for (Series<X, Y> series : getData()) {
-            final Path seriesLine = (Path) ((Group) series.getNode()).getChildren().get(1);
-            double     x0         = 0;
-            double     y0         = 0;
-            double     x1         = 0;
-            double     y1         = 0;
-            double     x2         = 0;
-            double     y2         = 0;
-            double     x3         = 0;
-            double     y3         = 0;
-            double     x          = selector.getStartX();
-            for (PathElement element : seriesLine.getElements()) {
-                if (element instanceof MoveTo) {
-                    MoveTo moveTo = (MoveTo) element;
-                    x0 = moveTo.getX();
-                    y0 = moveTo.getY();
-                } else if (element instanceof CubicCurveTo) {
-                    CubicCurveTo cubicCurveTo = (CubicCurveTo) element;
-                    x1 = cubicCurveTo.getControlX1();
-                    y1 = cubicCurveTo.getControlY1();
-                    x2 = cubicCurveTo.getControlX2();
-                    y2 = cubicCurveTo.getControlY2();
-                    x3 = cubicCurveTo.getX();
-                    y3 = cubicCurveTo.getY();
-
-                    if (x > x0 && x < x3) { break; }
-
-                    x0 = cubicCurveTo.getX();
-                    y0 = cubicCurveTo.getY();
-                }
-            }
-            double cy = 3.0 * (y1 - y0);
-            double by = 3.0 * (y2 - y1) - cy;
-            double ay = y3 - y0 - cy - by;
-            double a0 = x0;
-            double a1 = 3.0 * (x1 - x0);
-            double a2 = 3.0 * (x2 - 2.0 * x1 + x0);
-            double a3 = x3 - 3.0 * x2 + 3.0 * x1 - x0;
-            double t  = invB3P(a0, a1, a2, a3, x);
-            double yt = ay * t * t * t + by * t * t + cy * t + y0;
+            final SmoothedSeries smoothed = smoothedSeries.get(series);
+            if (null == smoothed) continue;
+            final double yt = smoothed.getYAt(x);
+            if (Double.isNaN(yt)) continue;
 
             if (Math.abs(eventY - (yt + 10)) < distance) {
                 distance     = Math.abs(eventY - (yt + 10));
@@ -546,6 +549,22 @@ public class SmoothAreaChart<X, Y> extends AreaChart<X, Y> {
                 nearestYt    = yt + 10;
             }
         }
+        if (hasDoubleSeries) {
+            // The values of the double series are equidistant, so the index can be calculated from x
+            final int noOfSlots = getNoOfSlots();
+            for (DoubleSeries series : doubleSeries) {
+                final int size = series.getSize();
+                if (size == 0) continue;
+                final int    index = clamp(0, size - 1, (int) Math.round(x / canvas.getWidth() * (noOfSlots - 1)));
+                final double value = series.getValue(index);
+                final double yt    = canvasOffsetY + value * canvasScaleY;
+                if (Math.abs(eventY - (yt + 10)) < distance) {
+                    distance     = Math.abs(eventY - (yt + 10));
+                    nearestValue = value;
+                    nearestYt    = yt + 10;
+                }
+            }
+        }
 
         selectedValue.set(nearestValue);
         selectorCircle.setCenterY(nearestYt);
@@ -558,4 +577,163 @@ public class SmoothAreaChart<X, Y> extends AreaChart<X, Y> {
         selector.setOpacity(1);
         selectorCircle.setOpacity(1);
     }
+
+
+    // ******************** Inner Classes *************************************
+    /**
+     * Keeps the smoothing state and the curve elements of one series. As we
+     * do not have direct access to the data the points will be recreated from
+     * the elements of the super class on every layout. The control points will
+     * only be recalculated from the first point that changed and the curve
+     * elements will be reused.
+     */
+    private static class SmoothedSeries {
+        private final BezierSmoother     smoother;
+        private final List<CubicCurveTo> strokeCurves;
+        private final List<CubicCurveTo> fillCurves;
+        private final List<PathElement>  strokeElements;
+        private final List<PathElement>  fillElements;
+        private final MoveTo             strokeStart;
+        private final MoveTo             fillStart;
+        private final LineTo             fillFirst;
+        private final LineTo             fillLast;
+        private final ClosePath          fillClose;
+        private       double[]           x;
+        private       double[]           y;
+        private       int                noOfPoints;
+
+
+        public SmoothedSeries() {
+            smoother       = new BezierSmoother();
+            strokeCurves   = new ArrayList<>();
+            fillCurves     = new ArrayList<>();
+            strokeElements = new ArrayList<>();
+            fillElements   = new ArrayList<>();
+            strokeStart    = new MoveTo();
+            fillStart      = new MoveTo();
+            fillFirst      = new LineTo();
+            fillLast       = new LineTo();
+            fillClose      = new ClosePath();
+            x              = new double[16];
+            y              = new double[16];
+        }
+
+
+        public void smooth(final ObservableList<PathElement> STROKE_ELEMENTS, final ObservableList<PathElement> FILL_ELEMENTS) {
+            if (FILL_ELEMENTS.isEmpty()) return;
+            final int noOfPoints = STROKE_ELEMENTS.size();
+            if (noOfPoints > x.length) {
+                x = new double[Math.max(noOfPoints, x.length * 2)];
+                y = new double[x.length];
+            }
+            for (int i = 0; i < noOfPoints; i++) {
+                final PathElement element = STROKE_ELEMENTS.get(i);
+                if (element instanceof MoveTo) {
+                    MoveTo move = (MoveTo) element;
+                    x[i] = move.getX();
+                    y[i] = move.getY();
+                } else if (element instanceof LineTo) {
+                    LineTo line = (LineTo) element;
+                    x[i] = line.getX();
+                    y[i] = line.getY();
+                }
+            }
+            // next we need to know the zero Y value
+            final double zeroY = ((MoveTo) FILL_ELEMENTS.get(0)).getY();
+
+            this.noOfPoints = noOfPoints;
+            final int firstChanged = smoother.smooth(x, y, noOfPoints);
+            final int noOfCurves   = Math.max(0, noOfPoints - 2);
+            if (strokeCurves.size() != noOfCurves) {
+                while (strokeCurves.size() > noOfCurves) {
+                    strokeCurves.remove(strokeCurves.size() - 1);
+                    fillCurves.remove(fillCurves.size() - 1);
+                }
+                while (strokeCurves.size() < noOfCurves) {
+                    strokeCurves.add(new CubicCurveTo());
+                    fillCurves.add(new CubicCurveTo());
+                }
+                strokeElements.clear();
+                strokeElements.add(strokeStart);
+                strokeElements.addAll(strokeCurves);
+                fillElements.clear();
+                fillElements.add(fillStart);
+                fillElements.add(fillFirst);
+                fillElements.addAll(fillCurves);
+                fillElements.add(fillLast);
+                fillElements.add(fillClose);
+            }
+
+            // start both paths
+            strokeStart.setX(x[0]);
+            strokeStart.setY(y[0]);
+            fillStart.setX(x[0]);
+            fillStart.setY(zeroY);
+            fillFirst.setX(x[0]);
+            fillFirst.setY(y[0]);
+            // update the curves starting at the first changed segment, the first segment is skipped
+            for (int i = Math.max(1, firstChanged) ; i <= noOfCurves ; i++) {
+                final double cx1 = smoother.getControlX1(i);
+                final double cy1 = smoother.getControlY1(i);
+                final double cx2 = smoother.getControlX2(i);
+                final double cy2 = smoother.getControlY2(i);
+                setCurve(strokeCurves.get(i - 1), cx1, cy1, cx2, cy2, x[i + 1], y[i + 1]);
+                setCurve(fillCurves.get(i - 1), cx1, cy1, cx2, cy2, x[i + 1], y[i + 1]);
+            }
+            // end the paths
+            fillLast.setX(x[noOfPoints - 1]);
+            fillLast.setY(zeroY);
+
+            STROKE_ELEMENTS.setAll(strokeElements);
+            FILL_ELEMENTS.setAll(fillElements);
+        }
+
+        /**
+         * Returns the y coordinate of the curve at the given x coordinate or
+         * NaN if there is no curve. The segment will be found by a binary
+         * search over the sorted x coordinates of the points, so only one
+         * cubic has to be solved. Outside of the curve the first or last
+         * segment will be used.
+         * @param X
+         * @return the y coordinate of the curve at the given x coordinate
+         */
+        public double getYAt(final double X) {
+            if (noOfPoints < 3) return Double.NaN;
+            // The first segment goes from the MoveTo to the duplicated first point and is not part of the curve
+            int lo = 1;
+            int hi = noOfPoints - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (x[mid] <= X) { lo = mid + 1; } else { hi = mid; }
+            }
+            final int    segment = clamp(1, noOfPoints - 2, lo - 1);
+            final double x0      = x[segment];
+            final double y0      = y[segment];
+            final double x1      = smoother.getControlX1(segment);
+            final double y1      = smoother.getControlY1(segment);
+            final double x2      = smoother.getControlX2(segment);
+            final double y2      = smoother.getControlY2(segment);
+            final double x3      = x[segment + 1];
+            final double y3      = y[segment + 1];
+
+            double cy = 3.0 * (y1 - y0);
+            double by = 3.0 * (y2 - y1) - cy;
+            double ay = y3 - y0 - cy - by;
+            double a0 = x0;
+            double a1 = 3.0 * (x1 - x0);
+            double a2 = 3.0 * (x2 - 2.0 * x1 + x0);
+            double a3 = x3 - 3.0 * x2 + 3.0 * x1 - x0;
+            double t  = invB3P(a0, a1, a2, a3, X);
+            return ay * t * t * t + by * t * t + cy * t + y0;
+        }
+
+        private static void setCurve(final CubicCurveTo CURVE, final double CX1, final double CY1, final double CX2, final double CY2, final double X, final double Y) {
+            CURVE.setControlX1(CX1);
+            CURVE.setControlY1(CY1);
+            CURVE.setControlX2(CX2);
+            CURVE.setControlY2(CY2);
+            CURVE.setX(X);
+            CURVE.setY(Y);
+        }
+    }
 }
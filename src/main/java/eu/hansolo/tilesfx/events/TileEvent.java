@@ -25,7 +25,8 @@ public class TileEvent {
                             THRESHOLD_EXCEEDED, THRESHOLD_UNDERRUN,
                             MAX_VALUE_EXCEEDED, MIN_VALUE_UNDERRUN, VALUE_IN_RANGE,
                             FINISHED, SERIES, DATA, GRAPHIC, UPDATE, AVERAGING, LOCATION, TRACK, MAP_PROVIDER,
-                            TOOLTIP_TEXT, VALUE_CHANGING, VALUE_CHANGED, FLIP_START, FLIP_FINISHED };
+                            TOOLTIP_TEXT, VALUE_CHANGING, VALUE_CHANGED, FLIP_START, FLIP_FINISHED,
+                            HIGHLIGHT_SECTIONS };
     private final EventType EVENT_TYPE;
 
 
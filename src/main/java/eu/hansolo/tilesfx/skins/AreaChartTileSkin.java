@@ -20,6 +20,7 @@ import eu.hansolo.tilesfx.Tile;
 import eu.hansolo.tilesfx.fonts.Fonts;
 import eu.hansolo.tilesfx.tools.Helper;
 import eu.hansolo.tilesfx.chart.SmoothAreaChart;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import javafx.geometry.Insets;
 import javafx.geometry.Side;
 import javafx.scene.chart.Axis;
@@ -44,6 +45,7 @@ public class AreaChartTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(EventType.SERIES);
 
         titleText = new Text();
         titleText.setFill(tile.getTitleColor());
@@ -57,6 +59,9 @@ public class AreaChartTileSkin extends TileSkin {
         chart.setLegendSide(Side.TOP);
         chart.setVerticalZeroLineVisible(false);
         chart.setCreateSymbols(false);
+        chart.getDoubleSeries().setAll(tile.getDoubleSeries());
+        chart.setCanvasMode(tile.isCanvasChartEnabled());
+        chart.setDownsampling(tile.getDownsampling());
 
         getPane().getChildren().addAll(titleText, chart);
     }
@@ -67,8 +72,12 @@ public class AreaChartTileSkin extends TileSkin {
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
+
+        if (EventType.SERIES == EVENT_TYPE) {
+            chart.getDoubleSeries().setAll(tile.getDoubleSeries());
+        }
     }
 
 
@@ -96,6 +105,7 @@ public class AreaChartTileSkin extends TileSkin {
         chart.setMaxSize(width - size * 0.1, height - size * 0.1);
         chart.setPadding(new Insets(titleText.getLayoutBounds().getHeight() + size * 0.05, 0, 0, 0));
         chart.relocate(size * 0.05, size * 0.05);
+        chart.setCanvasMode(tile.isCanvasChartEnabled());
     }
 
     @Override protected void redraw() {
@@ -105,5 +115,6 @@ public class AreaChartTileSkin extends TileSkin {
         resizeStaticText();
 
         titleText.setFill(tile.getTitleColor());
+        chart.setDownsampling(tile.getDownsampling());
     }
 }
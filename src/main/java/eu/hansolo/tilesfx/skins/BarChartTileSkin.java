@@ -17,31 +17,58 @@
 package eu.hansolo.tilesfx.skins;
 
 import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.events.UpdateEvent;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.skins.RenderScheduler.Dirty;
 import eu.hansolo.tilesfx.tools.Helper;
-import javafx.application.Platform;
+import eu.hansolo.tilesfx.tools.RankedList;
 import javafx.beans.InvalidationListener;
-import javafx.beans.WeakInvalidationListener;
-import javafx.collections.WeakListChangeListener;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.text.Text;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 
 /**
  * Created by hansolo on 19.12.16.
+ *
+ * If the tile is bar chart virtualized the items of the tile are only used
+ * as model. A small pool of views will be bound to the items in the visible
+ * window of the model which will be sorted by a RankedList. A value change
+ * only repositions the changed item and the views will be updated at most
+ * once per pulse if the window was affected.
  */
 public class BarChartTileSkin extends TileSkin {
-    private Text                      titleText;
-    private Text                      text;
-    private Pane                      barChartPane;
-    private EventHandler<UpdateEvent> updateHandler;
-    private InvalidationListener      paneSizeListener;
+    private Text                             titleText;
+    private Text                             text;
+    private Pane                             barChartPane;
+    private EventHandler<UpdateEvent>        updateHandler;
+    private InvalidationListener             paneSizeListener;
+    private ListChangeListener<BarChartItem> itemListListener;
+    private boolean                          virtualized;
+    private InvalidationListener             valueListener;
+    private EventHandler<ScrollEvent>        scrollHandler;
+    private RankedList<BarChartItem>         ranking;
+    private Set<BarChartItem>                registeredItems;
+    private List<BarChartItem>               views;
+    private BarChartItem[]                   boundItems;
+    private BarChartItem[]                   windowItems;
+    private int                              noOfRows;
+    private int                              firstRow;
+    private double                           scrollAccumulator;
 
 
     // ******************** Constructors **************************************
@@ -53,24 +80,60 @@ public class BarChartTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(EventType.VISIBILITY, EventType.DATA);
 
         updateHandler    = e -> updateChart();
         paneSizeListener = o -> resizeItems();
-
-        List<BarChartItem> barChartItems = tile.getBarChartItems().stream()
-                                                         .sorted(Comparator.comparing(BarChartItem::getValue).reversed())
-                                                         .collect(Collectors.toList());
+        itemListListener = change -> {
+            if (virtualized) {
+                handleModelChange(change);
+                return;
+            }
+            while (change.next()) {
+                if (change.wasAdded()) {
+                    change.getAddedSubList().forEach(addedItem -> {
+                        barChartPane.getChildren().add(addedItem);
+                        addedItem.addEventHandler(UpdateEvent.UPDATE_BAR_CHART, updateHandler);
+                    });
+                    updateChart();
+                } else if (change.wasRemoved()) {
+                    change.getRemoved().forEach(removedItem -> {
+                        removedItem.removeEventHandler(UpdateEvent.UPDATE_BAR_CHART, updateHandler);
+                        barChartPane.getChildren().remove(removedItem);
+                    });
+                    updateChart();
+                }
+            }
+        };
+        valueListener    = o -> handleValueChange((BarChartItem) ((ReadOnlyProperty<?>) o).getBean());
+        scrollHandler    = e -> {
+            if (!virtualized || Double.compare(e.getMultiplierY(), 0) == 0) return;
+            scrollAccumulator -= e.getDeltaY() / e.getMultiplierY();
+            int rows = (int) scrollAccumulator;
+            if (rows != 0) {
+                scrollAccumulator -= rows;
+                scrollBy(rows);
+            }
+            e.consume();
+        };
+        ranking          = new RankedList<>();
+        registeredItems  = Collections.newSetFromMap(new IdentityHashMap<>());
+        views            = new ArrayList<>();
+        noOfRows         = 4;
+        boundItems       = new BarChartItem[noOfRows];
+        windowItems      = new BarChartItem[noOfRows];
 
         tile.getBarChartItems().forEach(item -> {
-            item.addEventHandler(UpdateEvent.UPDATE_BAR_CHART, updateHandler);
             item.setMaxValue(tile.getMaxValue());
             if (null == item.getFormatString() || item.getFormatString().isEmpty()) {
                 item.setFormatString(formatString);
             }
-            item.valueProperty().addListener(new WeakInvalidationListener(o -> updateChart()));
         });
         barChartPane = new Pane();
-        barChartPane.getChildren().addAll(barChartItems);
+
+        // Start with the opposite mode to let updateMode() apply the mode of the tile
+        virtualized = !tile.isBarChartVirtualized();
+        updateMode();
 
         titleText = new Text();
         titleText.setFill(tile.getTitleColor());
@@ -85,70 +148,225 @@ public class BarChartTileSkin extends TileSkin {
 
     @Override protected void registerListeners() {
         super.registerListeners();
-        tile.getBarChartItems().addListener(new WeakListChangeListener<>(change -> {
-            while (change.next()) {
-                if (change.wasAdded()) {
-                    change.getAddedSubList().forEach(addedItem -> {
-                        barChartPane.getChildren().add(addedItem);
-                        addedItem.addEventHandler(UpdateEvent.UPDATE_BAR_CHART, updateHandler);
-                    });
-                    updateChart();
-                } else if (change.wasRemoved()) {
-                    change.getRemoved().forEach(removedItem -> {
-                        removedItem.removeEventHandler(UpdateEvent.UPDATE_BAR_CHART, updateHandler);
-                        barChartPane.getChildren().remove(removedItem);
-                    });
-                    updateChart();
-                }
-            }
-        }));
-
+        tile.getBarChartItems().addListener(itemListListener);
+        barChartPane.addEventHandler(ScrollEvent.SCROLL, scrollHandler);
         pane.widthProperty().addListener(paneSizeListener);
         pane.heightProperty().addListener(paneSizeListener);
     }
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(text, tile.isTextVisible());
-        } else if ("DATA".equals(EVENT_TYPE)) {
+        } else if (EventType.DATA == EVENT_TYPE) {
+            updateMode();
             updateChart();
         }
     }
 
+    /**
+     * Returns the index of the first row that is visible in the virtualized
+     * mode.
+     * @return the index of the first visible row
+     */
+    public int getFirstVisibleRow() { return firstRow; }
+
+    /**
+     * Scrolls the virtualized bar chart so that the given row will be the
+     * first visible row.
+     * @param ROW
+     */
+    public void scrollTo(final int ROW) {
+        int row = Helper.clamp(0, Math.max(0, getNoOfModelItems() - noOfRows), ROW);
+        if (row == firstRow) return;
+        firstRow = row;
+        markDirty(Dirty.DATA);
+    }
+    public void scrollBy(final int ROWS) { scrollTo(firstRow + ROWS); }
+
+    public void pageUp() { scrollBy(-noOfRows); }
+    public void pageDown() { scrollBy(noOfRows); }
+
+    /**
+     * Switches between the views of all items and the recycled views of the
+     * virtualized mode.
+     */
+    private void updateMode() {
+        boolean virtualize = tile.isBarChartVirtualized();
+        if (virtualize == virtualized) return;
+        virtualized = virtualize;
+
+        List<BarChartItem> items = tile.getBarChartItems();
+        if (virtualized) {
+            items.forEach(item -> {
+                item.removeEventHandler(UpdateEvent.UPDATE_BAR_CHART, updateHandler);
+                registerModel(item);
+            });
+            barChartPane.getChildren().clear();
+            firstRow = 0;
+        } else {
+            for (int i = 0 ; i < boundItems.length ; i++) { unbind(i); }
+            registeredItems.forEach(item -> item.valueProperty().removeListener(valueListener));
+            registeredItems.clear();
+            ranking.clear();
+            items.forEach(item -> {
+                item.setVisible(false);
+                item.addEventHandler(UpdateEvent.UPDATE_BAR_CHART, updateHandler);
+            });
+            barChartPane.getChildren().setAll(items);
+        }
+    }
+
+    private void handleModelChange(final ListChangeListener.Change<? extends BarChartItem> CHANGE) {
+        while (CHANGE.next()) {
+            if (CHANGE.wasRemoved()) { CHANGE.getRemoved().forEach(this::unregisterModel); }
+            if (CHANGE.wasAdded()) { CHANGE.getAddedSubList().forEach(this::registerModel); }
+        }
+        markDirty(Dirty.DATA);
+    }
+
+    private void registerModel(final BarChartItem ITEM) {
+        if (!registeredItems.add(ITEM)) return;
+        ITEM.valueProperty().addListener(valueListener);
+        ranking.add(ITEM, getRankingKey(ITEM.getValue()));
+    }
+
+    private void unregisterModel(final BarChartItem ITEM) {
+        if (!registeredItems.remove(ITEM)) return;
+        ITEM.valueProperty().removeListener(valueListener);
+        ranking.remove(ITEM);
+    }
+
+    private void handleValueChange(final BarChartItem ITEM) {
+        int oldRank = ranking.indexOf(ITEM);
+        int newRank = ranking.update(ITEM, getRankingKey(ITEM.getValue()));
+        if (oldRank == newRank || !tile.isSortedData()) return;
+        // Bound views follow the value themselves, only a changed order within the window needs a layout
+        if (Math.min(oldRank, newRank) < firstRow + noOfRows && Math.max(oldRank, newRank) >= firstRow) {
+            markDirty(Dirty.DATA);
+        }
+    }
+
+    /**
+     * Items without a value (NaN) will be ranked last instead of being
+     * rejected by the RankedList.
+     */
+    private static double getRankingKey(final double VALUE) { return Double.isNaN(VALUE) ? Double.NEGATIVE_INFINITY : VALUE; }
+
+    private int getNoOfModelItems() { return tile.isSortedData() ? ranking.size() : tile.getBarChartItems().size(); }
+
+    private void bind(final int INDEX, final BarChartItem ITEM) {
+        BarChartItem view = views.get(INDEX);
+        boundItems[INDEX] = ITEM;
+        view.setFormatString(ITEM.getFormatString());
+        view.nameProperty().bind(ITEM.nameProperty());
+        view.valueProperty().bind(ITEM.valueProperty());
+        view.barColorProperty().bind(ITEM.barColorProperty());
+        view.barBackgroundColorProperty().bind(ITEM.barBackgroundColorProperty());
+    }
+
+    private void unbind(final int INDEX) {
+        if (null == boundItems[INDEX]) return;
+        BarChartItem view = views.get(INDEX);
+        view.nameProperty().unbind();
+        view.valueProperty().unbind();
+        view.barColorProperty().unbind();
+        view.barBackgroundColorProperty().unbind();
+        boundItems[INDEX] = null;
+    }
+
+    private BarChartItem createView() {
+        BarChartItem view = new BarChartItem();
+        view.setNameColor(tile.getTextColor());
+        view.setValueColor(tile.getValueColor());
+        view.setMaxValue(tile.getMaxValue());
+        resizeItem(view);
+        return view;
+    }
+
     @Override public void dispose() {
+        tile.getBarChartItems().removeListener(itemListListener);
+        barChartPane.removeEventHandler(ScrollEvent.SCROLL, scrollHandler);
         pane.widthProperty().removeListener(paneSizeListener);
         pane.heightProperty().removeListener(paneSizeListener);
+        for (int i = 0 ; i < boundItems.length ; i++) { unbind(i); }
+        registeredItems.forEach(item -> item.valueProperty().removeListener(valueListener));
+        registeredItems.clear();
+        ranking.clear();
         super.dispose();
     }
 
 
     // ******************** Resizing ******************************************
-    private void updateChart() {
-        Platform.runLater(() -> {
-            if (tile.isSortedData()) {
-                tile.getBarChartItems().sort(Comparator.comparing(BarChartItem::getValue).reversed());
-            }
-            List<BarChartItem> items     = tile.getBarChartItems();
-            int                noOfItems = items.size();
-            if (noOfItems == 0) return;
-            double maxValue = tile.getMaxValue();
-
-            for (int i = 0 ; i < noOfItems ; i++) {
-                BarChartItem item = items.get(i);
-                if (i < 4) {
-                    item.setMaxValue(maxValue);
-                    item.setVisible(true);
-                    item.relocate(0, size * 0.18 + i * 0.175 * size);
-                } else {
-                    item.setVisible(false);
-                }
+    /**
+     * Sorts and positions the items at most once per pulse, no matter how
+     * many items have been added or changed in the meantime.
+     */
+    private void updateChart() { markDirty(Dirty.DATA); }
+
+    @Override protected void layoutData() {
+        if (virtualized) {
+            layoutWindow();
+        } else {
+            layoutItems();
+        }
+    }
+
+    private void layoutItems() {
+        if (tile.isSortedData()) {
+            tile.getBarChartItems().sort(Comparator.comparing(BarChartItem::getValue).reversed());
+        }
+        List<BarChartItem> items     = tile.getBarChartItems();
+        int                noOfItems = items.size();
+        if (noOfItems == 0) return;
+        double maxValue = tile.getMaxValue();
+
+        for (int i = 0 ; i < noOfItems ; i++) {
+            BarChartItem item = items.get(i);
+            if (i < 4) {
+                item.setMaxValue(maxValue);
+                item.setVisible(true);
+                item.relocate(0, size * 0.18 + i * 0.175 * size);
+            } else {
+                item.setVisible(false);
             }
-        });
+        }
+    }
+
+    /**
+     * Binds the views to the items of the visible window. Views will only be
+     * rebound if their item changed.
+     */
+    private void layoutWindow() {
+        int noOfItems = getNoOfModelItems();
+        firstRow = Helper.clamp(0, Math.max(0, noOfItems - noOfRows), firstRow);
+
+        int count;
+        if (tile.isSortedData()) {
+            count = ranking.getRange(firstRow, firstRow + noOfRows, windowItems);
+        } else {
+            List<BarChartItem> items = tile.getBarChartItems();
+            count = Math.min(noOfRows, noOfItems - firstRow);
+            for (int i = 0 ; i < count ; i++) { windowItems[i] = items.get(firstRow + i); }
+        }
+
+        while (views.size() < count) { views.add(createView()); }
+        ObservableList<Node> children = barChartPane.getChildren();
+        if (children.size() != count) { children.setAll(views.subList(0, count)); }
+
+        double maxValue = tile.getMaxValue();
+        for (int i = 0 ; i < count ; i++) {
+            if (boundItems[i] != windowItems[i]) { bind(i, windowItems[i]); }
+            BarChartItem view = views.get(i);
+            view.setMaxValue(maxValue);
+            view.relocate(0, size * 0.18 + i * 0.175 * size);
+            windowItems[i] = null;
+        }
+        for (int i = count ; i < boundItems.length ; i++) { unbind(i); }
     }
 
     @Override protected void resizeStaticText() {
@@ -177,17 +395,30 @@ public class BarChartTileSkin extends TileSkin {
     }
 
     private void resizeItems() {
-        barChartPane.getChildren().forEach(node -> {
-            BarChartItem item = (BarChartItem) node;
-            item.setParentSize(pane.getWidth(), pane.getHeight());
-            item.setPrefSize(pane.getWidth(), pane.getHeight());
-        });
+        // Pooled views that are not shown at the moment have to fit when they will be bound again
+        barChartPane.getChildren().forEach(node -> resizeItem((BarChartItem) node));
+        views.forEach(view -> { if (null == view.getParent()) { resizeItem(view); } });
+    }
+
+    private void resizeItem(final BarChartItem ITEM) {
+        ITEM.setParentSize(pane.getWidth(), pane.getHeight());
+        ITEM.setPrefSize(pane.getWidth(), pane.getHeight());
     }
+
     @Override protected void resize() {
         super.resize();
         barChartPane.setPrefSize(pane.getPrefWidth(), pane.getPrefHeight());
 
-        updateChart();
+        // Only the rows that fit into the tile will get a view
+        int rows = Math.max(1, (int) ((height - size * 0.28) / (size * 0.175)));
+        if (rows != noOfRows) {
+            for (int i = rows ; i < boundItems.length ; i++) { unbind(i); }
+            noOfRows    = rows;
+            boundItems  = Arrays.copyOf(boundItems, noOfRows);
+            windowItems = new BarChartItem[noOfRows];
+        }
+
+        layoutData();
     }
 
     @Override protected void redraw() {
@@ -199,6 +430,10 @@ public class BarChartTileSkin extends TileSkin {
             item.setNameColor(tile.getTextColor());
             item.setValueColor(tile.getValueColor());
         });
+        views.forEach(view -> {
+            view.setNameColor(tile.getTextColor());
+            view.setValueColor(tile.getValueColor());
+        });
 
         resizeDynamicText();
         resizeStaticText();
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.skins;
+
+import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.tools.Helper;
+import eu.hansolo.tilesfx.tools.Location;
+import eu.hansolo.tilesfx.tools.MapTileCache;
+import eu.hansolo.tilesfx.tools.MapTileSource;
+import eu.hansolo.tilesfx.tools.Track;
+import javafx.event.EventHandler;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+
+
+/**
+ * Draws a slippy map of XYZ raster tiles together with the current
+ * location, the pois and the track of a tile on a canvas. It's used by the
+ * MapTileSkin if the canvas map is enabled and doesn't need a WebView.
+ * Changes only mark the map dirty, it will be drawn at most once per pulse
+ * in layoutChildren(). Tiles that are not loaded yet will be replaced by a
+ * scaled part of a cached tile of a lower zoom level.
+ */
+class CanvasMapView extends Region {
+    private static final double                    TILE_SIZE         = 256;
+    private static final double                    MAX_LATITUDE      = 85.0511287798;
+    private static final int                       MAX_FALLBACK_ZOOM = 4;
+    private static final Color                     MARKER_STROKE     = Color.WHITE;
+    private        final Tile                      tile;
+    private        final Canvas                    canvas;
+    private        final GraphicsContext           ctx;
+    private        final Runnable                  tileListener;
+    private        final EventHandler<MouseEvent>  mouseHandler;
+    private        final EventHandler<ScrollEvent> scrollHandler;
+    private              MapTileCache              cache;
+    private              double                    centerLatitude;
+    private              double                    centerLongitude;
+    private              int                       zoomLevel;
+    private              double                    dragX;
+    private              double                    dragY;
+    private              boolean                   dirty;
+
+
+    // ******************** Constructors **************************************
+    CanvasMapView(final Tile TILE) {
+        tile            = TILE;
+        canvas          = new Canvas();
+        ctx             = canvas.getGraphicsContext2D();
+        tileListener    = this::requestRedraw;
+        mouseHandler    = e -> handleMouseEvent(e);
+        scrollHandler   = e -> {
+            if (Double.compare(e.getDeltaY(), 0) == 0) return;
+            setZoomLevel(zoomLevel + (e.getDeltaY() > 0 ? 1 : -1));
+            e.consume();
+        };
+        centerLatitude  = 0;
+        centerLongitude = 0;
+        zoomLevel       = 2;
+
+        getChildren().add(canvas);
+        addEventHandler(MouseEvent.MOUSE_PRESSED, mouseHandler);
+        addEventHandler(MouseEvent.MOUSE_DRAGGED, mouseHandler);
+        addEventHandler(ScrollEvent.SCROLL, scrollHandler);
+    }
+
+
+    // ******************** Methods *******************************************
+    void setTileSource(final MapTileSource SOURCE) {
+        if (null != cache && cache.getSource() == SOURCE) return;
+        if (null != cache) {
+            cache.removeListener(tileListener);
+            MapTileCache.release(cache.getSource());
+        }
+        cache = MapTileCache.get(SOURCE);
+        cache.addListener(tileListener);
+        requestRedraw();
+    }
+
+    void centerOn(final Location LOCATION) {
+        if (null == LOCATION) return;
+        centerLatitude  = LOCATION.getLatitude();
+        centerLongitude = LOCATION.getLongitude();
+        zoomLevel       = LOCATION.getZoomLevel();
+        requestRedraw();
+    }
+
+    void setZoomLevel(final int ZOOM_LEVEL) {
+        int zoom = null == cache ? ZOOM_LEVEL : Helper.clamp(cache.getSource().getMinZoom(), cache.getSource().getMaxZoom(), ZOOM_LEVEL);
+        if (zoom == zoomLevel) return;
+        zoomLevel = zoom;
+        requestRedraw();
+    }
+
+    /**
+     * Marks the map dirty, it will be drawn in the next layout pass.
+     */
+    void requestRedraw() {
+        if (dirty) return;
+        dirty = true;
+        requestLayout();
+    }
+
+    void dispose() {
+        if (null != cache) {
+            cache.removeListener(tileListener);
+            MapTileCache.release(cache.getSource());
+            cache = null;
+        }
+        removeEventHandler(MouseEvent.MOUSE_PRESSED, mouseHandler);
+        removeEventHandler(MouseEvent.MOUSE_DRAGGED, mouseHandler);
+        removeEventHandler(ScrollEvent.SCROLL, scrollHandler);
+    }
+
+    private void handleMouseEvent(final MouseEvent EVENT) {
+        if (MouseEvent.MOUSE_DRAGGED == EVENT.getEventType()) {
+            double scale = TILE_SIZE * (1 << zoom());
+            double x     = longitudeToX(centerLongitude, scale) - (EVENT.getX() - dragX);
+            double y     = Helper.clamp(0, scale, latitudeToY(centerLatitude, scale) - (EVENT.getY() - dragY));
+            centerLongitude = ((xToLongitude(x, scale) % 360) + 540) % 360 - 180;
+            centerLatitude  = yToLatitude(y, scale);
+            requestRedraw();
+        }
+        dragX = EVENT.getX();
+        dragY = EVENT.getY();
+    }
+
+    private int zoom() {
+        return null == cache ? zoomLevel : Helper.clamp(cache.getSource().getMinZoom(), cache.getSource().getMaxZoom(), zoomLevel);
+    }
+
+    @Override protected void layoutChildren() {
+        double width  = getWidth();
+        double height = getHeight();
+        if (Double.compare(canvas.getWidth(), width) != 0 || Double.compare(canvas.getHeight(), height) != 0) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            dirty = true;
+        }
+        if (dirty) { draw(); }
+    }
+
+    private void draw() {
+        dirty = false;
+        double width  = canvas.getWidth();
+        double height = canvas.getHeight();
+        ctx.clearRect(0, 0, width, height);
+        if (null == cache || width <= 0 || height <= 0) return;
+
+        int    zoom  = zoom();
+        int    tiles = 1 << zoom;
+        double scale = TILE_SIZE * tiles;
+        double left  = longitudeToX(centerLongitude, scale) - width * 0.5;
+        double top   = latitudeToY(centerLatitude, scale) - height * 0.5;
+
+        int minTileX = (int) Math.floor(left / TILE_SIZE);
+        int maxTileX = (int) Math.floor((left + width) / TILE_SIZE);
+        int minTileY = Math.max(0, (int) Math.floor(top / TILE_SIZE));
+        int maxTileY = Math.min(tiles - 1, (int) Math.floor((top + height) / TILE_SIZE));
+        for (int tileY = minTileY ; tileY <= maxTileY ; tileY++) {
+            for (int tileX = minTileX ; tileX <= maxTileX ; tileX++) {
+                drawTile(zoom, Math.floorMod(tileX, tiles), tileY, tileX * TILE_SIZE - left, tileY * TILE_SIZE - top);
+            }
+        }
+
+        drawTrack(zoom, left, top, scale);
+        for (Location poi : tile.getPoiList()) { drawMarker(poi, left, top, scale, size() * 0.015); }
+        drawMarker(tile.getCurrentLocation(), left, top, scale, size() * 0.025);
+    }
+
+    private void drawTile(final int ZOOM, final int X, final int Y, final double DX, final double DY) {
+        Image image = cache.getTile(ZOOM, X, Y);
+        if (null != image) {
+            ctx.drawImage(image, DX, DY, TILE_SIZE, TILE_SIZE);
+            return;
+        }
+        // Use the part of a cached parent tile until the tile is loaded
+        for (int levels = 1 ; levels <= Math.min(ZOOM, MAX_FALLBACK_ZOOM) ; levels++) {
+            Image parent = cache.getCachedTile(ZOOM - levels, X >> levels, Y >> levels);
+            if (null == parent) continue;
+            double partSize = parent.getWidth() / (1 << levels);
+            double partX    = (X - ((X >> levels) << levels)) * partSize;
+            double partY    = (Y - ((Y >> levels) << levels)) * partSize;
+            ctx.drawImage(parent, partX, partY, partSize, partSize, DX, DY, TILE_SIZE, TILE_SIZE);
+            return;
+        }
+    }
+
+    private void drawTrack(final int ZOOM, final double LEFT, final double TOP, final double SCALE) {
+        // Take a snapshot of the simplified track to not race with appends and evictions
+        Track    track = tile.getTrackData();
+        double[] latitudes;
+        double[] longitudes;
+        synchronized (track) {
+            if (track.size() <= 4) return;
+            int[] indices = track.simplify(ZOOM);
+            latitudes  = new double[indices.length];
+            longitudes = new double[indices.length];
+            for (int i = 0 ; i < indices.length ; i++) {
+                latitudes[i]  = track.getLatitude(indices[i]);
+                longitudes[i] = track.getLongitude(indices[i]);
+            }
+        }
+
+        ctx.setStroke(tile.getTrackColor().color);
+        ctx.setLineWidth(Math.max(1, size() * 0.008));
+        ctx.setLineCap(StrokeLineCap.ROUND);
+        ctx.setLineJoin(StrokeLineJoin.ROUND);
+        ctx.beginPath();
+        boolean connected = false;
+        double  lastX     = 0;
+        for (int i = 0 ; i < latitudes.length ; i++) {
+            // Locations at 0/0 split the track like on the WebView map
+            if (latitudes[i] == 0 && longitudes[i] == 0) {
+                connected = false;
+                continue;
+            }
+            double x = screenX(longitudes[i], LEFT, SCALE);
+            double y = latitudeToY(latitudes[i], SCALE) - TOP;
+            if (connected && Math.abs(x - lastX) < SCALE * 0.5) {
+                ctx.lineTo(x, y);
+            } else {
+                ctx.moveTo(x, y);
+            }
+            connected = true;
+            lastX     = x;
+        }
+        ctx.stroke();
+
+        // The first and the last point will always be kept by the simplification
+        int   last       = latitudes.length - 1;
+        Color trackColor = tile.getTrackColor().color;
+        drawMarker(latitudes[0], longitudes[0], trackColor, LEFT, TOP, SCALE, size() * 0.015);
+        drawMarker(latitudes[last], longitudes[last], trackColor, LEFT, TOP, SCALE, size() * 0.015);
+    }
+
+    private void drawMarker(final Location LOCATION, final double LEFT, final double TOP, final double SCALE, final double RADIUS) {
+        if (null == LOCATION) return;
+        drawMarker(LOCATION.getLatitude(), LOCATION.getLongitude(), LOCATION.getColor().color, LEFT, TOP, SCALE, RADIUS);
+    }
+    private void drawMarker(final double LATITUDE, final double LONGITUDE, final Color COLOR, final double LEFT, final double TOP, final double SCALE, final double RADIUS) {
+        double x = screenX(LONGITUDE, LEFT, SCALE);
+        double y = latitudeToY(LATITUDE, SCALE) - TOP;
+        if (x < -RADIUS || y < -RADIUS || x > canvas.getWidth() + RADIUS || y > canvas.getHeight() + RADIUS) return;
+        ctx.setFill(COLOR);
+        ctx.setStroke(MARKER_STROKE);
+        ctx.setLineWidth(Math.max(1, RADIUS * 0.3));
+        ctx.fillOval(x - RADIUS, y - RADIUS, 2 * RADIUS, 2 * RADIUS);
+        ctx.strokeOval(x - RADIUS, y - RADIUS, 2 * RADIUS, 2 * RADIUS);
+    }
+
+    /**
+     * Returns the x coordinate of the given longitude on the copy of the
+     * world that is closest to the center of the map.
+     */
+    private double screenX(final double LONGITUDE, final double LEFT, final double SCALE) {
+        double x = longitudeToX(LONGITUDE, SCALE) - LEFT - canvas.getWidth() * 0.5;
+        return x - Math.round(x / SCALE) * SCALE + canvas.getWidth() * 0.5;
+    }
+
+    private double size() { return Math.max(Math.min(canvas.getWidth(), canvas.getHeight()), 100); }
+
+    private static double longitudeToX(final double LONGITUDE, final double SCALE) { return (LONGITUDE + 180) / 360 * SCALE; }
+    private static double xToLongitude(final double X, final double SCALE) { return X / SCALE * 360 - 180; }
+
+    private static double latitudeToY(final double LATITUDE, final double SCALE) {
+        double sin = Math.sin(Math.toRadians(Helper.clamp(-MAX_LATITUDE, MAX_LATITUDE, LATITUDE)));
+        return (0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI)) * SCALE;
+    }
+    private static double yToLatitude(final double Y, final double SCALE) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * Y / SCALE))));
+    }
+}
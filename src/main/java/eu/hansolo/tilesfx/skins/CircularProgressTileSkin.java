@@ -18,9 +18,10 @@ package eu.hansolo.tilesfx.skins;
 
 import eu.hansolo.tilesfx.Section;
 import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.skins.RenderScheduler.Dirty;
 import eu.hansolo.tilesfx.tools.Helper;
-import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
 import javafx.geometry.VPos;
 import javafx.scene.Node;
@@ -69,7 +70,6 @@ public class CircularProgressTileSkin extends TileSkin {
     private Locale               locale;
     private StackPane            graphicContainer;
     private ChangeListener       graphicListener;
-    private InvalidationListener currentValueListener;
 
 
     // ******************** Constructors **************************************
@@ -83,6 +83,7 @@ public class CircularProgressTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(EventType.VISIBILITY);
 
         if (tile.isAutoScale()) tile.calcAutoScale();
         minValue             = tile.getMinValue();
@@ -92,7 +93,6 @@ public class CircularProgressTileSkin extends TileSkin {
         sections             = tile.getSections();
         formatString         = new StringBuilder("%.").append(Integer.toString(tile.getDecimals())).append("f").toString();
         locale               = tile.getLocale();
-        currentValueListener = o -> setBar(tile.getCurrentValue());
 
         graphicListener      = (o, ov, nv) -> { if (nv != null) { graphicContainer.getChildren().setAll(tile.getGraphic()); }};
 
@@ -165,23 +165,20 @@ public class CircularProgressTileSkin extends TileSkin {
 
     @Override protected void registerListeners() {
         super.registerListeners();
-        tile.currentValueProperty().addListener(currentValueListener);
         tile.graphicProperty().addListener(graphicListener);
     }
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("RECALC".equals(EVENT_TYPE)) {
+        if (EventType.RECALC == EVENT_TYPE) {
             minValue  = tile.getMinValue();
             range     = tile.getRange();
             angleStep = ANGLE_RANGE / range;
             sections  = tile.getSections();
-            redraw();
-            setBar(tile.getCurrentValue());
-        } else if ("VISIBILITY".equals(EVENT_TYPE)) {
+        } else if (EventType.VISIBILITY == EVENT_TYPE) {
             enableNode(titleText, !tile.getTitle().isEmpty());
             enableNode(text, tile.isTextVisible());
             enableNode(unitText, !tile.getUnit().isEmpty());
@@ -189,6 +186,8 @@ public class CircularProgressTileSkin extends TileSkin {
         }
     }
 
+    @Override protected void handleCurrentValue(final double VALUE) { setBar(VALUE); }
+
     private void setBar(final double VALUE) {
         if (minValue > 0) {
             bar.setLength((minValue - VALUE) * angleStep);
@@ -216,7 +215,6 @@ public class CircularProgressTileSkin extends TileSkin {
     }
 
     @Override public void dispose() {
-        tile.currentValueProperty().removeListener(currentValueListener);
         tile.graphicProperty().removeListener(graphicListener);
         super.dispose();
     }
@@ -19,7 +19,9 @@ package eu.hansolo.tilesfx.skins;
 import eu.hansolo.tilesfx.Country;
 import eu.hansolo.tilesfx.CountryPath;
 import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.skins.RenderScheduler.Dirty;
 import eu.hansolo.tilesfx.tools.Helper;
 import javafx.beans.value.ChangeListener;
 import javafx.geometry.VPos;
@@ -57,20 +59,19 @@ public class CountryTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(EventType.VISIBILITY);
 
         country = null == tile.getCountry() ? Country.DE : tile.getCountry();
         countryListener = (o, ov, nv) -> {
             if (nv != null) {
                 country = null == tile.getCountry() ? Country.DE : tile.getCountry();
-                countryPaths.clear();
-                countryPaths.addAll(Helper.getHiresCountryPaths().get(country.name()));
+                countryPaths = Helper.getHiresCountryPaths(country.name());
                 countryGroup.getChildren().setAll(countryPaths);
                 text.setText(tile.getCountry().getDisplayName());
-                resize();
-                redraw();
+                markDirty(Dirty.LAYOUT);
             }
         };
-        countryPaths = Helper.getHiresCountryPaths().get(country.name());
+        countryPaths = Helper.getHiresCountryPaths(country.name());
         countryPaths.forEach(path -> path.setFill(tile.getBarColor()));
 
         titleText = new Text();
@@ -114,10 +115,10 @@ public class CountryTileSkin extends TileSkin {
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(text, tile.isTextVisible());
             countryContainer.setMaxSize(size * 0.9, tile.isTextVisible() ? size * 0.68 : size * 0.795);
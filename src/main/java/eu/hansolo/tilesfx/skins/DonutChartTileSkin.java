@@ -20,6 +20,8 @@ import eu.hansolo.tilesfx.Tile;
 import eu.hansolo.tilesfx.events.ChartDataEventListener;
 import eu.hansolo.tilesfx.fonts.Fonts;
 import eu.hansolo.tilesfx.chart.ChartData;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
+import eu.hansolo.tilesfx.skins.RenderScheduler.Dirty;
 import eu.hansolo.tilesfx.tools.Helper;
 import javafx.collections.ListChangeListener;
 import javafx.geometry.VPos;
@@ -58,8 +60,9 @@ public class DonutChartTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(EventType.VISIBILITY);
 
-        chartEventListener = e -> drawChart();
+        chartEventListener = e -> markDirty(Dirty.DATA);
         tile.getChartData().forEach(chartData -> chartData.addChartDataEventListener(chartEventListener));
 
         chartDataListener  = c -> {
@@ -70,8 +73,7 @@ public class DonutChartTileSkin extends TileSkin {
                     c.getRemoved().forEach(removedItem -> removedItem.removeChartDataEventListener(chartEventListener));
                 }
             }
-            drawChart();
-            drawLegend();
+            markDirty(Dirty.DATA);
         };
 
         titleText = new Text();
@@ -98,10 +100,10 @@ public class DonutChartTileSkin extends TileSkin {
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(text, tile.isTextVisible());
             double chartCanvasWidth   = width - size * 0.1;
@@ -206,6 +208,14 @@ public class DonutChartTileSkin extends TileSkin {
         }
     }
 
+    /**
+     * Draws the chart and the legend once per pulse after the chart data changed.
+     */
+    @Override protected void layoutData() {
+        drawChart();
+        drawLegend();
+    }
+
 
     // ******************** Resizing ******************************************
     @Override protected void resizeStaticText() {
@@ -18,6 +18,7 @@ package eu.hansolo.tilesfx.skins;
 
 import eu.hansolo.tilesfx.Section;
 import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.fonts.Fonts;
 import eu.hansolo.tilesfx.tools.Helper;
 import javafx.geometry.VPos;
@@ -83,6 +84,7 @@ public class GaugeTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(EventType.VISIBILITY, EventType.ALERT);
 
         if (tile.isAutoScale()) tile.calcAutoScale();
         oldValue          = tile.getValue();
@@ -174,10 +176,10 @@ public class GaugeTileSkin extends TileSkin {
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(valueText, tile.isValueVisible());
             Helper.enableNode(sectionPane, tile.getSectionsVisible());
@@ -185,11 +187,11 @@ public class GaugeTileSkin extends TileSkin {
             Helper.enableNode(thresholdText, tile.isThresholdVisible());
             Helper.enableNode(unitText, !tile.getUnit().isEmpty());
             sectionsVisible = tile.getSectionsVisible();
-        } else if ("SECTION".equals(EVENT_TYPE)) {
+        } else if (EventType.SECTION == EVENT_TYPE) {
             sections = tile.getSections();
             sectionMap.clear();
             for(Section section : sections) { sectionMap.put(section, new Arc()); }
-        } else if ("ALERT".equals(EVENT_TYPE)) {
+        } else if (EventType.ALERT == EVENT_TYPE) {
             Helper.enableNode(valueText, tile.isValueVisible() && !tile.isAlert());
             Helper.enableNode(unitText, tile.isValueVisible() && !tile.isAlert());
             Helper.enableNode(alertIcon, tile.isAlert());
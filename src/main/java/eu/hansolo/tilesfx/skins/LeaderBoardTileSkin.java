@@ -17,30 +17,45 @@
 package eu.hansolo.tilesfx.skins;
 
 import eu.hansolo.tilesfx.Tile;
-import eu.hansolo.tilesfx.events.UpdateEvent;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.skins.RenderScheduler.Dirty;
 import eu.hansolo.tilesfx.tools.Helper;
-import javafx.application.Platform;
+import eu.hansolo.tilesfx.tools.RankedList;
 import javafx.beans.InvalidationListener;
-import javafx.event.EventHandler;
-import javafx.event.WeakEventHandler;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
 import javafx.scene.layout.Pane;
 import javafx.scene.text.Text;
 
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 
 /**
  * Created by hansolo on 19.12.16.
+ *
+ * The items are ordered in a RankedList, so a value change only moves the
+ * changed item and only the items whose rank changed get a new index. Only
+ * the top items are part of the scene graph and they will be repositioned
+ * at most once per pulse.
  */
 public class LeaderBoardTileSkin extends TileSkin {
-    private Text                      titleText;
-    private Text                      text;
-    private Pane                      leaderBoardPane;
-    private EventHandler<UpdateEvent> updateHandler;
-    private InvalidationListener      paneSizeListener;
+    private static final int                         NO_OF_VISIBLE_ITEMS = 4;
+    private              Text                        titleText;
+    private              Text                        text;
+    private              Pane                        leaderBoardPane;
+    private              InvalidationListener        paneSizeListener;
+    private              InvalidationListener        valueListener;
+    private              RankedList<LeaderBoardItem> ranking;
+    private              Set<LeaderBoardItem>        registeredItems;
+    private              LeaderBoardItem[]           visibleItems;
+    private              LeaderBoardItem[]           movedItems;
 
 
     // ******************** Constructors **************************************
@@ -52,18 +67,18 @@ public class LeaderBoardTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(EventType.VISIBILITY, EventType.DATA);
 
-        updateHandler    = e -> updateChart();
         paneSizeListener = o -> resizeItems();
-
-        List<LeaderBoardItem> leaderBoardItems = tile.getLeaderBoardItems().stream()
-                                                               .sorted(Comparator.comparing(LeaderBoardItem::getValue).reversed())
-                                                               .collect(Collectors.toList());
-
-        registerItemListeners();
+        valueListener    = o -> handleValueChange((LeaderBoardItem) ((ReadOnlyProperty<?>) o).getBean());
+        ranking          = new RankedList<>();
+        registeredItems  = Collections.newSetFromMap(new IdentityHashMap<>());
+        visibleItems     = new LeaderBoardItem[NO_OF_VISIBLE_ITEMS];
+        movedItems       = new LeaderBoardItem[16];
 
         leaderBoardPane = new Pane();
-        leaderBoardPane.getChildren().addAll(leaderBoardItems);
+
+        updateItems();
 
         titleText = new Text();
         titleText.setFill(tile.getTitleColor());
@@ -84,56 +99,104 @@ public class LeaderBoardTileSkin extends TileSkin {
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(text, tile.isTextVisible());
-        } else if ("DATA".equals(EVENT_TYPE)) {
-            registerItemListeners();
+        } else if (EventType.DATA == EVENT_TYPE) {
+            updateItems();
         }
     }
 
-    private void registerItemListeners() {
-        tile.getLeaderBoardItems().forEach(item -> {
+    /**
+     * Synchronizes the ranking with the items of the tile. Listeners will
+     * only be added to new items and removed from items that are gone.
+     */
+    private void updateItems() {
+        List<LeaderBoardItem> items        = tile.getLeaderBoardItems();
+        Set<LeaderBoardItem>  currentItems = Collections.newSetFromMap(new IdentityHashMap<>());
+        currentItems.addAll(items);
+        for (Iterator<LeaderBoardItem> iterator = registeredItems.iterator() ; iterator.hasNext() ; ) {
+            LeaderBoardItem item = iterator.next();
+            if (currentItems.contains(item)) continue;
+            item.valueProperty().removeListener(valueListener);
+            ranking.remove(item);
+            iterator.remove();
+        }
+        for (LeaderBoardItem item : items) {
+            if (!registeredItems.add(item)) continue;
             item.setFormatString(formatString);
-            item.addEventFilter(UpdateEvent.UPDATE_LEADER_BOARD, new WeakEventHandler<>(updateHandler));
-            item.valueProperty().addListener((o, ov, nv) -> sortItems());
-        });
+            item.valueProperty().addListener(valueListener);
+            ranking.add(item, getRankingKey(item.getValue()));
+        }
+        setIndices(0, ranking.size());
+        markDirty(Dirty.DATA);
     }
 
-    private void sortItems() {
-        List<LeaderBoardItem> items = tile.getLeaderBoardItems();
-        items.sort(Comparator.comparing(LeaderBoardItem::getValue).reversed());
-        items.forEach(i -> i.setIndex(items.indexOf(i)));
-        updateChart();
+    private void handleValueChange(final LeaderBoardItem ITEM) {
+        int oldRank = ranking.indexOf(ITEM);
+        int newRank = ranking.update(ITEM, getRankingKey(ITEM.getValue()));
+        if (oldRank == newRank) return;
+        // Only the moved item and the items between its old and new rank get a new index
+        int from = Math.min(oldRank, newRank);
+        int to   = Math.max(oldRank, newRank) + 1;
+        setIndices(from, to);
+        if (from < NO_OF_VISIBLE_ITEMS) { markDirty(Dirty.DATA); }
+    }
+
+    /**
+     * Items without a value (NaN) will be ranked last instead of being
+     * rejected by the RankedList.
+     * @param VALUE the value of an item
+     * @return the key that will be used to rank the item
+     */
+    static double getRankingKey(final double VALUE) { return Double.isNaN(VALUE) ? Double.NEGATIVE_INFINITY : VALUE; }
+
+    private void setIndices(final int FROM, final int TO) {
+        if (movedItems.length < TO - FROM) { movedItems = new LeaderBoardItem[Math.max(TO - FROM, movedItems.length * 2)]; }
+        int count = ranking.getRange(FROM, TO, movedItems);
+        for (int i = 0 ; i < count ; i++) {
+            movedItems[i].setIndex(FROM + i);
+            movedItems[i] = null;
+        }
     }
 
     @Override public void dispose() {
         pane.widthProperty().removeListener(paneSizeListener);
         pane.heightProperty().removeListener(paneSizeListener);
+        registeredItems.forEach(item -> item.valueProperty().removeListener(valueListener));
+        registeredItems.clear();
+        ranking.clear();
         super.dispose();
     }
 
 
     // ******************** Resizing ******************************************
-    private void updateChart() {
-        Platform.runLater(() -> {
-            List<LeaderBoardItem> items = tile.getLeaderBoardItems();
-            int noOfItems = items.size();
-            if (noOfItems == 0) return;
-
+    /**
+     * Shows the top items of the ranking. Items that drop out of the top
+     * will be removed from the scene graph.
+     */
+    @Override protected void layoutData() {
+        int                  noOfItems = ranking.getRange(0, NO_OF_VISIBLE_ITEMS, visibleItems);
+        ObservableList<Node> children  = leaderBoardPane.getChildren();
+        boolean              changed   = children.size() != noOfItems;
+        for (int i = 0 ; i < noOfItems && !changed ; i++) { changed = children.get(i) != visibleItems[i]; }
+        if (changed) {
             for (int i = 0 ; i < noOfItems ; i++) {
-                LeaderBoardItem item = items.get(i);
-                if (i < 4) {
-                    item.setVisible(true);
-                    item.relocate(0, size * 0.18 + i * 0.175 * size);
-                } else {
-                    item.setVisible(false);
-                }
+                LeaderBoardItem item = visibleItems[i];
+                if (item.getParent() == leaderBoardPane) continue;
+                item.setVisible(true);
+                item.setParentSize(pane.getWidth(), pane.getHeight());
+                item.setPrefSize(pane.getWidth(), pane.getHeight());
             }
-        });
+            children.setAll(Arrays.asList(visibleItems).subList(0, noOfItems));
+        }
+        for (int i = 0 ; i < noOfItems ; i++) {
+            visibleItems[i].relocate(0, size * 0.18 + i * 0.175 * size);
+            visibleItems[i] = null;
+        }
     }
 
     @Override protected void resizeStaticText() {
@@ -168,22 +231,12 @@ public class LeaderBoardTileSkin extends TileSkin {
             item.setPrefSize(pane.getWidth(), pane.getHeight());
         });
     }
+
     @Override protected void resize() {
         super.resize();
 
         leaderBoardPane.setPrefSize(width, height);
-        List<LeaderBoardItem> items = tile.getLeaderBoardItems();
-        int noOfItems = items.size();
-        if (noOfItems == 0) return;
-        for (int i = 0 ; i < noOfItems ; i++) {
-            LeaderBoardItem item = items.get(i);
-            if (i < 4) {
-                item.setVisible(true);
-                item.relocate(0, size * 0.18 + i * 0.175 * size);
-            } else {
-                item.setVisible(false);
-            }
-        }
+        layoutData();
     }
 
     @Override protected void redraw() {
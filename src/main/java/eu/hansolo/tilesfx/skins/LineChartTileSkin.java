@@ -17,6 +17,8 @@
 package eu.hansolo.tilesfx.skins;
 
 import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.chart.SmoothAreaChart;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.fonts.Fonts;
 import eu.hansolo.tilesfx.tools.Helper;
 import javafx.geometry.Insets;
@@ -31,10 +33,11 @@ import javafx.scene.text.Text;
  * Created by hansolo on 19.12.16.
  */
 public class LineChartTileSkin extends TileSkin {
-    private Text                      titleText;
-    private LineChart<String, Number> chart;
-    private CategoryAxis              xAxis;
-    private NumberAxis                yAxis;
+    private Text                            titleText;
+    private LineChart<String, Number>       chart;
+    private CategoryAxis                    xAxis;
+    private NumberAxis                      yAxis;
+    private SmoothAreaChart<String, Number> canvasChart;
 
 
     // ******************** Constructors **************************************
@@ -45,6 +48,7 @@ public class LineChartTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(EventType.SERIES);
 
         titleText = new Text();
         titleText.setFill(tile.getTitleColor());
@@ -68,8 +72,34 @@ public class LineChartTileSkin extends TileSkin {
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
+
+        if (EventType.SERIES == EVENT_TYPE) {
+            if (null != canvasChart) { canvasChart.getDoubleSeries().setAll(tile.getDoubleSeries()); }
+        }
+    }
+
+    /**
+     * In canvas mode the double series of the tile will be drawn by a
+     * SmoothAreaChart without area instead of the LineChart. The chart will
+     * be created on demand.
+     */
+    private void updateRenderMode() {
+        boolean canvasMode = tile.isCanvasChartEnabled();
+        if (canvasMode && null == canvasChart) {
+            canvasChart = new SmoothAreaChart<>(new CategoryAxis(), new NumberAxis());
+            canvasChart.setLegendSide(Side.TOP);
+            canvasChart.setVerticalZeroLineVisible(false);
+            canvasChart.setCreateSymbols(false);
+            canvasChart.setAreaVisible(false);
+            canvasChart.setCanvasMode(true);
+            canvasChart.setDownsampling(tile.getDownsampling());
+            canvasChart.getDoubleSeries().setAll(tile.getDoubleSeries());
+            getPane().getChildren().add(canvasChart);
+        }
+        Helper.enableNode(chart, !canvasMode);
+        if (null != canvasChart) { Helper.enableNode(canvasChart, canvasMode); }
     }
 
 
@@ -96,6 +126,15 @@ public class LineChartTileSkin extends TileSkin {
         chart.setMaxSize(width - size * 0.1, height - size * 0.1);
         chart.setPadding(new Insets(titleText.getLayoutBounds().getHeight() + size * 0.05, 0, 0, 0));
         chart.relocate(size * 0.05, size * 0.05);
+
+        updateRenderMode();
+        if (null != canvasChart) {
+            canvasChart.setMinSize(width - size * 0.1, height - size * 0.1);
+            canvasChart.setPrefSize(width - size * 0.1, height - size * 0.1);
+            canvasChart.setMaxSize(width - size * 0.1, height - size * 0.1);
+            canvasChart.setPadding(new Insets(titleText.getLayoutBounds().getHeight() + size * 0.05, 0, 0, 0));
+            canvasChart.relocate(size * 0.05, size * 0.05);
+        }
     }
 
     @Override protected void redraw() {
@@ -105,5 +144,6 @@ public class LineChartTileSkin extends TileSkin {
         resizeStaticText();
 
         titleText.setFill(tile.getTitleColor());
+        if (null != canvasChart) { canvasChart.setDownsampling(tile.getDownsampling()); }
     }
 }
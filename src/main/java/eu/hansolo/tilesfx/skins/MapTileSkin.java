@@ -19,38 +19,82 @@ package eu.hansolo.tilesfx.skins;
 import eu.hansolo.tilesfx.Tile;
 import eu.hansolo.tilesfx.Tile.MapProvider;
 import eu.hansolo.tilesfx.events.LocationEventListener;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.skins.RenderScheduler.Dirty;
 import eu.hansolo.tilesfx.tools.Helper;
 import eu.hansolo.tilesfx.tools.Location;
+import eu.hansolo.tilesfx.tools.MapTileSource;
+import eu.hansolo.tilesfx.tools.Track;
 import javafx.application.Platform;
 import javafx.collections.ListChangeListener;
 import javafx.concurrent.Worker;
 import javafx.event.EventHandler;
+import javafx.scene.Node;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.text.Text;
 import javafx.scene.web.WebEngine;
 import javafx.scene.web.WebView;
-import netscape.javascript.JSObject;
+import org.json.simple.JSONValue;
 
 import java.net.URL;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
  * Created by hansolo on 12.02.17.
+ *
+ * Changes of the current location, the pois, the track and the colors are
+ * collected and sent to the map once per pulse in one call of
+ * document.applyChanges(). Pois are diffed against the markers on the map,
+ * so only added, changed and removed pois will be sent and points that
+ * have been appended to the track will be streamed to the map.
+ * If the canvas map is enabled the map will be drawn by a CanvasMapView
+ * instead and no WebView will be created.
  */
 public class MapTileSkin extends TileSkin {
-    private static final DateTimeFormatter            DF = DateTimeFormatter.ISO_LOCAL_DATE;
-    private static final DateTimeFormatter            TF = DateTimeFormatter.ISO_LOCAL_TIME;
+    private static final DateTimeFormatter            DF                   = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final DateTimeFormatter            TF                   = DateTimeFormatter.ISO_LOCAL_TIME;
+    private static final int                          PROVIDER             = 1;
+    private static final int                          LOCATION             = 2;
+    private static final int                          COLORS               = 4;
+    private static final int                          POIS                 = 8;
+    private static final int                          TRACK                = 16;
+    private static final int                          ALL                  = PROVIDER | LOCATION | COLORS | POIS | TRACK;
+    private static final int                          MAX_TRACK_ZOOM_LEVEL = 18;
+    private static final int                          MIN_TRACK_SLACK      = 64;
     private              Text                         titleText;
     private              Text                         text;
+    private              Node                         mapView;
     private              WebView                      webView;
+    private              CanvasMapView                canvasMapView;
     private              WebEngine                    webEngine;
     private              boolean                      readyToGo;
     private              EventHandler<MouseEvent>     mouseHandler;
     private              LocationEventListener        locationListener;
+    private              LocationEventListener        poiLocationListener;
     private              ListChangeListener<Location> poiListener;
+    private              Location                     currentLocation;
+    private              Map<Location, MapPoi>        mapPois;
+    private              int                          nextPoiId;
+    private              AtomicInteger                pendingChanges;
+    private              StringBuilder                script;
+    private              StringBuilder                poiEntry;
+    private              StringBuilder                trackLabels;
+    private              boolean                      trackOnMap;
+    private              int                          trackGeneration;
+    private              long                         trackStart;
+    private              long                         trackEnd;
 
 
     // ******************** Constructors **************************************
@@ -62,26 +106,17 @@ public class MapTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
-
-        mouseHandler     = event -> { if (event.getClickCount() == 2) { centerLocation(); } };
-        locationListener = e -> redraw();
-        poiListener      = c -> {
-            while (c.next()) {
-                if (c.wasPermutated()) {      // Get items that have been permutated in list
-                    for (int i = c.getFrom(); i < c.getTo(); ++i) {
-                        updatePoi(tile.getPoiList().get(i));
-                    }
-                } else if (c.wasUpdated()) {  // Get items that have been updated in list
-                    for (int i = c.getFrom(); i < c.getTo(); ++i) {
-                        updatePoi(tile.getPoiList().get(i));
-                    }
-                } else if (c.wasAdded()) {
-                    c.getAddedSubList().forEach(poi -> addPoi(poi));
-                } else if (c.wasRemoved()) {
-                    c.getRemoved().forEach(poi -> removePoi(poi));
-                }
-            }
-        };
+        subscribe(EventType.VISIBILITY, EventType.LOCATION, EventType.TRACK, EventType.MAP_PROVIDER);
+
+        mapPois             = new IdentityHashMap<>();
+        pendingChanges      = new AtomicInteger();
+        script              = new StringBuilder();
+        poiEntry            = new StringBuilder();
+        trackLabels         = new StringBuilder();
+        mouseHandler        = event -> { if (event.getClickCount() == 2) { centerLocation(); } };
+        locationListener    = e -> requestChanges(LOCATION | COLORS);
+        poiLocationListener = e -> requestChanges(POIS);
+        poiListener         = c -> requestChanges(POIS);
 
         titleText = new Text();
         titleText.setFill(tile.getTitleColor());
@@ -91,243 +126,329 @@ public class MapTileSkin extends TileSkin {
         text.setFill(tile.getTextColor());
         Helper.enableNode(text, tile.isTextVisible());
 
-        webView = new WebView();
-        webView.setMinSize(size * 0.9, tile.isTextVisible() ? size * 0.72 : size * 0.795);
-        webView.setMaxSize(size * 0.9, tile.isTextVisible() ? size * 0.72 : size * 0.795);
-        webView.setPrefSize(size * 0.9, tile.isTextVisible() ? size * 0.72 : size * 0.795);
-        webEngine = webView.getEngine();
-        webEngine.getLoadWorker().stateProperty().addListener((ov, o, n) -> {
-            if (Worker.State.SUCCEEDED == n) {
-                readyToGo = true;
-                if (MapProvider.BW != tile.getMapProvider()) { changeMapProvider(tile.getMapProvider()); }
-                updateLocation();
-                updateLocationColor();
-                tile.getPoiList().forEach(poi -> addPoi(poi));
-                addTrack(tile.getTrack());
-                updateTrackColor();
-            }
-        });
-        URL maps = Tile.class.getResource("osm.html");
-        webEngine.load(maps.toExternalForm());
+        getPane().getChildren().addAll(titleText, text);
 
-        getPane().getChildren().addAll(titleText, webView, text);
+        updateMapMode();
+        resizeMapView(size * 0.9, tile.isTextVisible() ? size * 0.72 : size * 0.795);
     }
 
     @Override protected void registerListeners() {
         super.registerListeners();
         pane.addEventHandler(MouseEvent.MOUSE_CLICKED, mouseHandler);
         tile.getPoiList().addListener(poiListener);
+        updateCurrentLocation();
     }
     
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(text, tile.isTextVisible());
-            webView.setMaxSize(size * 0.9, tile.isTextVisible() ? size * 0.68 : size * 0.795);
-            webView.setPrefSize(size * 0.9, tile.isTextVisible() ? size * 0.68 : size * 0.795);
-        } else if ("LOCATION".equals(EVENT_TYPE)) {
-            tile.getCurrentLocation().addLocationEventListener(locationListener);
-            updateLocation();
-        } else if ("TRACK".equals(EVENT_TYPE)) {
-            addTrack(tile.getTrack());
-        } else if ("MAP_PROVIDER".equals(EVENT_TYPE)) {
-            changeMapProvider(tile.getMapProvider());
+            resizeMapView(size * 0.9, tile.isTextVisible() ? size * 0.68 : size * 0.795);
+        } else if (EventType.LOCATION == EVENT_TYPE) {
+            updateCurrentLocation();
+            requestChanges(LOCATION | COLORS | POIS);
+        } else if (EventType.TRACK == EVENT_TYPE) {
+            requestChanges(TRACK);
+        } else if (EventType.MAP_PROVIDER == EVENT_TYPE) {
+            requestChanges(PROVIDER);
         }
     }
 
     @Override public void dispose() {
         pane.removeEventHandler(MouseEvent.MOUSE_CLICKED, mouseHandler);
-        tile.getCurrentLocation().removeLocationEventListener(locationListener);
+        if (null != currentLocation) { currentLocation.removeLocationEventListener(locationListener); }
         tile.getPoiList().removeListener(poiListener);
+        clearMapPois();
+        if (null != canvasMapView) { canvasMapView.dispose(); }
         super.dispose();
     }
 
-    private void updateLocation() {
-        if (readyToGo) {
-            Platform.runLater(() -> {
-                Location      location      = tile.getCurrentLocation();
-                double        lat           = location.getLatitude();
-                double        lon           = location.getLongitude();
-                String        name          = location.getName();
-                String        info          = location.getInfo();
-                int           zoomLevel     = location.getZoomLevel();
-                StringBuilder scriptCommand = new StringBuilder();
-                scriptCommand.append("window.lat = ").append(lat).append(";")
-                             .append("window.lon = ").append(lon).append(";")
-                             .append("window.locationName = \"").append(name).append("\";")
-                             .append("window.locationInfo = \"").append(info.toString()).append("\";")
-                             .append("window.zoomLevel = ").append(zoomLevel).append(";")
-                             .append("document.moveMarker(window.locationName, window.locationInfo, window.lat, window.lon, window.zoomLevel);");
-                webEngine.executeScript(scriptCommand.toString());
+    /**
+     * Switches between the WebView and the canvas map depending on
+     * tile.isCanvasMapEnabled(). The map that is not used will be released.
+     */
+    private void updateMapMode() {
+        boolean canvasMapEnabled = tile.isCanvasMapEnabled();
+        if (null != mapView && canvasMapEnabled == (null != canvasMapView)) return;
+
+        if (null != mapView) { getPane().getChildren().remove(mapView); }
+        clearMapPois();
+        if (canvasMapEnabled) {
+            if (null != webEngine) { webEngine.load(null); }
+            webView       = null;
+            webEngine     = null;
+            readyToGo     = false;
+            canvasMapView = new CanvasMapView(tile);
+            mapView       = canvasMapView;
+            pendingChanges.set(ALL);
+        } else {
+            if (null != canvasMapView) { canvasMapView.dispose(); }
+            canvasMapView = null;
+            webView       = new WebView();
+            webEngine     = webView.getEngine();
+            webEngine.getLoadWorker().stateProperty().addListener((ov, o, n) -> {
+                if (Worker.State.SUCCEEDED == n) {
+                    readyToGo  = true;
+                    trackOnMap = false;
+                    clearMapPois();
+                    pendingChanges.set(MapProvider.BW == tile.getMapProvider() ? ALL & ~PROVIDER : ALL);
+                    flushChanges();
+                }
             });
+            URL maps = Tile.class.getResource("osm.html");
+            webEngine.load(maps.toExternalForm());
+            mapView = webView;
         }
+        getPane().getChildren().add(1, mapView);
     }
 
-    private void updatePoi(final Location POI) {
-        removePoi(POI);
-        addPoi(POI);
+    private MapTileSource getMapTileSource() {
+        return null == tile.getMapTileSource() ? tile.getMapProvider().getTileSource() : tile.getMapTileSource();
     }
-    private void addPoi(final Location POI) {
-        if (readyToGo) {
-            Platform.runLater(() -> {
-                double lat   = POI.getLatitude();
-                double lon   = POI.getLongitude();
-                String name  = POI.getName();
-                String info  = POI.getInfo();
-                String color = POI.getColor().styleName;
-                StringBuilder scriptCommand = new StringBuilder();
-                scriptCommand.append("window.lat = ").append(lat).append(";")
-                             .append("window.lon = ").append(lon).append(";")
-                             .append("window.locationName = \"").append(name).append("\";")
-                             .append("window.locationInfo = \"").append(info.toString()).append("\";")
-                             .append("window.poiColor = \"").append(color).append("\";")
-                             .append("document.addPoi(window.locationName, window.locationInfo, window.lat, window.lon, window.poiColor);");
-                webEngine.executeScript(scriptCommand.toString());
-            });
-        }
+
+    private void updateCurrentLocation() {
+        Location location = tile.getCurrentLocation();
+        if (location == currentLocation) return;
+        if (null != currentLocation) { currentLocation.removeLocationEventListener(locationListener); }
+        currentLocation = location;
+        if (null != currentLocation) { currentLocation.addLocationEventListener(locationListener); }
     }
-    private void removePoi(final Location POI) {
-        if (readyToGo) {
-            Platform.runLater(() -> {
-                String        name          = POI.getName();
-                StringBuilder scriptCommand = new StringBuilder();
-                scriptCommand.append("window.locationName = \"").append(name).append("\";")
-                             .append("document.removePoi(window.locationName);");
-                webEngine.executeScript(scriptCommand.toString());
-            });
+
+    /**
+     * Collects the given changes, they will be sent to the map in the next
+     * pulse.
+     * @param CHANGES
+     */
+    private void requestChanges(final int CHANGES) {
+        pendingChanges.accumulateAndGet(CHANGES, (a, b) -> a | b);
+        markDirty(Dirty.DATA);
+    }
+
+    /**
+     * Sends all collected changes to the map in one script call.
+     */
+    private void flushChanges() {
+        if (null != canvasMapView) {
+            flushCanvasChanges();
+            return;
+        }
+        if (!readyToGo) return;
+        int changes = pendingChanges.getAndSet(0);
+        if (0 == changes) return;
+
+        script.setLength(0);
+        script.append("document.applyChanges({");
+        int emptyLength = script.length();
+        if ((changes & PROVIDER) != 0) {
+            appendKey("provider");
+            appendString(tile.getMapProvider().name);
+        }
+        if ((changes & LOCATION) != 0 && null != currentLocation) {
+            appendKey("location");
+            script.append('[');
+            appendString(currentLocation.getName());
+            script.append(',');
+            appendString(currentLocation.getInfo());
+            script.append(',').append(currentLocation.getLatitude())
+                  .append(',').append(currentLocation.getLongitude())
+                  .append(',').append(currentLocation.getZoomLevel())
+                  .append(']');
         }
+        if ((changes & COLORS) != 0) {
+            if (null != currentLocation) {
+                appendKey("locationColor");
+                appendString(currentLocation.getColor().styleName);
+            }
+            appendKey("trackColor");
+            appendString(tile.getTrackColor().styleName);
+        }
+        if ((changes & POIS) != 0) { appendPoiChanges(); }
+        if ((changes & TRACK) != 0) { appendTrack(); }
+        if (script.length() == emptyLength) return;
+        script.append("});");
+        webEngine.executeScript(script.toString());
     }
 
-    private void updateLocationColor() {
-        if (readyToGo) {
-            Platform.runLater(() -> {
-                String locationColor = tile.getCurrentLocation().getColor().styleName;
-                StringBuilder scriptCommand = new StringBuilder();
-                scriptCommand.append("window.locationColor = '").append(locationColor).append("';")
-                             .append("document.setLocationColor(window.locationColor);");
-                webEngine.executeScript(scriptCommand.toString());
-            });
+    /**
+     * Applies the collected changes to the canvas map which will draw
+     * itself in the next layout pass.
+     */
+    private void flushCanvasChanges() {
+        int changes = pendingChanges.getAndSet(0);
+        if (0 == changes) return;
+        if ((changes & PROVIDER) != 0) { canvasMapView.setTileSource(getMapTileSource()); }
+        if ((changes & LOCATION) != 0) { canvasMapView.centerOn(currentLocation); }
+        if ((changes & POIS) != 0) {
+            // The canvas map reads the pois directly, so only the listeners have to be updated
+            Set<Location> currentPois = Collections.newSetFromMap(new IdentityHashMap<>());
+            currentPois.addAll(tile.getPoiList());
+            for (Iterator<Map.Entry<Location, MapPoi>> iterator = mapPois.entrySet().iterator() ; iterator.hasNext() ; ) {
+                Map.Entry<Location, MapPoi> entry = iterator.next();
+                if (currentPois.contains(entry.getKey())) continue;
+                entry.getKey().removeLocationEventListener(poiLocationListener);
+                iterator.remove();
+            }
+            for (Location poi : currentPois) {
+                if (mapPois.containsKey(poi)) continue;
+                mapPois.put(poi, new MapPoi(nextPoiId++));
+                poi.addLocationEventListener(poiLocationListener);
+            }
         }
+        canvasMapView.requestRedraw();
     }
 
-    private void updateTrackColor() {
-        if (readyToGo) {
-            Platform.runLater(() -> {
-                String trackColor = tile.getTrackColor().styleName;
-                StringBuilder scriptCommand = new StringBuilder();
-                scriptCommand.append("window.trackColor = '").append(trackColor).append("';")
-                             .append("document.setTrackColor(window.trackColor);");
-                webEngine.executeScript(scriptCommand.toString());
-            });
+    private void appendPoiChanges() {
+        List<Location> pois        = tile.getPoiList();
+        Set<Location>  currentPois = Collections.newSetFromMap(new IdentityHashMap<>());
+        currentPois.addAll(pois);
+
+        int mark = script.length();
+        appendKey("removePois");
+        script.append('[');
+        int start = script.length();
+        for (Iterator<Map.Entry<Location, MapPoi>> iterator = mapPois.entrySet().iterator() ; iterator.hasNext() ; ) {
+            Map.Entry<Location, MapPoi> entry = iterator.next();
+            if (currentPois.contains(entry.getKey())) continue;
+            if (script.length() > start) { script.append(','); }
+            script.append(entry.getValue().id);
+            entry.getKey().removeLocationEventListener(poiLocationListener);
+            iterator.remove();
+        }
+        closeArray(mark, start);
+
+        mark = script.length();
+        appendKey("pois");
+        script.append('[');
+        start = script.length();
+        for (Location poi : pois) {
+            poiEntry.setLength(0);
+            poiEntry.append(poi.getLatitude()).append(',').append(poi.getLongitude()).append(',');
+            appendString(poiEntry, poi.getName());
+            poiEntry.append(',');
+            appendString(poiEntry, poi.getInfo());
+            poiEntry.append(',');
+            appendString(poiEntry, poi.getColor().styleName);
+
+            MapPoi mapPoi = mapPois.get(poi);
+            if (null == mapPoi) {
+                mapPoi = new MapPoi(nextPoiId++);
+                mapPois.put(poi, mapPoi);
+                poi.addLocationEventListener(poiLocationListener);
+            } else if (mapPoi.entry.contentEquals(poiEntry)) {
+                continue;
+            }
+            mapPoi.entry = poiEntry.toString();
+            if (script.length() > start) { script.append(','); }
+            script.append('[').append(mapPoi.id).append(',').append(poiEntry).append(']');
         }
+        closeArray(mark, start);
     }
 
-    private void centerLocation() {
-        if (readyToGo) {
-            Platform.runLater(() -> {
-                StringBuilder scriptCommand = new StringBuilder();
-                scriptCommand.append("window.zoomLevel = ").append(tile.getCurrentLocation().getZoomLevel()).append(";");
-                scriptCommand.append("document.zoomToLocation(window.zoomLevel);");
-                webEngine.executeScript(scriptCommand.toString());
-            });
+    /**
+     * Closes the array that starts at START or removes the key at MARK if
+     * the array is empty.
+     */
+    private void closeArray(final int MARK, final int START) {
+        if (script.length() == START) {
+            script.setLength(MARK);
+        } else {
+            script.append(']');
         }
     }
 
-    private void addTrack(final List<Location> LOCATIONS) {
-        if (LOCATIONS.isEmpty()) {
-            if (readyToGo) {
-                Platform.runLater(() -> {
-                    StringBuilder scriptCommand = new StringBuilder();
-                    scriptCommand.append("document.clearTrack();");
-                    webEngine.executeScript(scriptCommand.toString());
-                });
-                return;
-            }
+    /**
+     * Appends the points that have been added to the track since the last
+     * call if the track on the map is still valid. Otherwise the whole
+     * track will be sent, simplified for the highest zoom level, which also
+     * happens after enough old points have been removed from the track.
+     */
+    private void appendTrack() {
+        Track track = tile.getTrackData();
+        // Read the track under one lock to not race with appends and evictions
+        synchronized (track) { appendTrack(track); }
+    }
+    private void appendTrack(final Track TRACK) {
+        long firstIndex = TRACK.getFirstIndex();
+        long endIndex   = TRACK.getEndIndex();
+        if (trackOnMap && TRACK.getGeneration() == trackGeneration && trackEnd >= firstIndex && endIndex >= trackEnd &&
+            firstIndex - trackStart <= Math.max(MIN_TRACK_SLACK, (endIndex - firstIndex) / 8)) {
+            if (endIndex == trackEnd) return;
+            appendKey("trackAppend");
+            script.append("{\"points\":[");
+            trackLabels.setLength(0);
+            for (int i = (int) (trackEnd - firstIndex), n = TRACK.size() ; i < n ; i++) { appendTrackPoint(TRACK, i); }
+            script.append("],\"labels\":[").append(trackLabels).append("]}");
+            trackEnd = endIndex;
+            return;
         }
-        int length = LOCATIONS.size();
-        if (length <= 4) return;
-        if (readyToGo) {
-            Platform.runLater(() -> {
-                StringBuilder scriptCommand = new StringBuilder();
-                double lat1;
-                double lon1;
-                double lat2;
-                double lon2;
-                String name;
-                String date;
-                String time;
-                String trackColor = tile.getTrackColor().styleName;
-                for (int i = 0 ; i < length - 1 ; i++) {
-                    scriptCommand.setLength(0);
-
-                    lat1 = LOCATIONS.get(i).getLatitude();
-                    lon1 = LOCATIONS.get(i).getLongitude();
-                    lat2 = LOCATIONS.get(i + 1).getLatitude();
-                    lon2 = LOCATIONS.get(i + 1).getLongitude();
-                    name = LOCATIONS.get(i).getName();
-                    date = DF.format(LOCATIONS.get(i).getZonedDateTime());
-                    time = TF.format(LOCATIONS.get(i).getZonedDateTime());
-
-                    scriptCommand.append("window.lat1 = ").append(lat1).append(";")
-                                     .append("window.lon1 = ").append(lon1).append(";")
-                                     .append("window.lat2 = ").append(lat2).append(";")
-                                     .append("window.lon2 = ").append(lon2).append(";")
-                                     .append("window.locationName = \"").append(name).append("\";")
-                                     .append("window.locationDate = \"").append(date).append("\";")
-                                     .append("window.locationTime = \"").append(time).append("\";")
-                                     .append("window.trackColor = \"").append(trackColor).append("\";")
-                                     .append("document.addToTrack(window.lat1, window.lon1, window.lat2, window.lon2,window.locationName, window.locationDate, window.locationTime, window.trackColor);");
-                    webEngine.executeScript(scriptCommand.toString());
-                }
 
-                // Start Marker
-                scriptCommand.setLength(0);
-                lat1 = LOCATIONS.get(0).getLatitude();
-                lon1 = LOCATIONS.get(0).getLongitude();
-                name = LOCATIONS.get(0).getName();
-                date = DF.format(LOCATIONS.get(0).getZonedDateTime());
-                time = TF.format(LOCATIONS.get(0).getZonedDateTime());
-                scriptCommand.append("window.lat1 = ").append(lat1).append(";")
-                             .append("window.lon1 = ").append(lon1).append(";")
-                             .append("window.locationName = \"").append(name).append("\";")
-                             .append("window.locationDate = \"").append(date).append("\";")
-                             .append("window.locationTime = \"").append(time).append("\";")
-                             .append("document.addStartPoiMarker(window.lat1, window.lon1, window.locationName, window.locationDate, window.locationTime);");
-                webEngine.executeScript(scriptCommand.toString());
+        trackGeneration = TRACK.getGeneration();
+        trackStart      = firstIndex;
+        trackEnd        = endIndex;
+        trackOnMap      = TRACK.size() > 4;
+        appendKey("track");
+        if (!trackOnMap) {
+            script.append("null");
+            return;
+        }
+        script.append("{\"color\":");
+        appendString(tile.getTrackColor().styleName);
+        script.append(",\"points\":[");
+        trackLabels.setLength(0);
+        for (int index : TRACK.simplify(MAX_TRACK_ZOOM_LEVEL)) { appendTrackPoint(TRACK, index); }
+        script.append("],\"labels\":[").append(trackLabels).append("]}");
+    }
 
-                // Stop Marker
-                scriptCommand.setLength(0);
-                lat1 = LOCATIONS.get(length - 1).getLatitude();
-                lon1 = LOCATIONS.get(length - 1).getLongitude();
-                name = LOCATIONS.get(length - 1).getName();
-                date = DF.format(LOCATIONS.get(length - 1).getZonedDateTime());
-                time = TF.format(LOCATIONS.get(length - 1).getZonedDateTime());
-                scriptCommand.append("window.lat1 = ").append(lat1).append(";")
-                             .append("window.lon1 = ").append(lon1).append(";")
-                             .append("window.locationName = \"").append(name).append("\";")
-                             .append("window.locationDate = \"").append(date).append("\";")
-                             .append("window.locationTime = \"").append(time).append("\";")
-                             .append("document.addStopPoiMarker(window.lat1, window.lon1, window.locationName, window.locationDate, window.locationTime);");
-                webEngine.executeScript(scriptCommand.toString());
-            });
+    private void appendTrackPoint(final Track TRACK, final int INDEX) {
+        ZonedDateTime dateTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(TRACK.getEpochMillis(INDEX)), ZoneId.systemDefault());
+        if (trackLabels.length() > 0) {
+            script.append(',');
+            trackLabels.append(',');
         }
+        script.append(TRACK.getLatitude(INDEX)).append(',').append(TRACK.getLongitude(INDEX));
+        trackLabels.append('[');
+        appendString(trackLabels, TRACK.getName(INDEX));
+        trackLabels.append(',');
+        appendString(trackLabels, DF.format(dateTime));
+        trackLabels.append(',');
+        appendString(trackLabels, TF.format(dateTime));
+        trackLabels.append(']');
     }
 
-    private void changeMapProvider(final MapProvider PROVIDER) {
-        if (readyToGo) {
+    private void appendKey(final String KEY) {
+        if (script.charAt(script.length() - 1) != '{') { script.append(','); }
+        script.append('"').append(KEY).append("\":");
+    }
+
+    private void appendString(final String TEXT) { appendString(script, TEXT); }
+    private void appendString(final StringBuilder BUILDER, final String TEXT) {
+        BUILDER.append('"').append(null == TEXT ? "" : JSONValue.escape(TEXT)).append('"');
+    }
+
+    private void clearMapPois() {
+        mapPois.keySet().forEach(poi -> poi.removeLocationEventListener(poiLocationListener));
+        mapPois.clear();
+    }
+
+    private void centerLocation() {
+        if (null != canvasMapView) {
+            canvasMapView.centerOn(tile.getCurrentLocation());
+        } else if (readyToGo) {
             Platform.runLater(() -> {
                 StringBuilder scriptCommand = new StringBuilder();
-                scriptCommand.append("window.provider = '").append(PROVIDER.name).append("';")
-                             .append("document.changeMapProvider(window.provider);");
+                scriptCommand.append("window.zoomLevel = ").append(tile.getCurrentLocation().getZoomLevel()).append(";");
+                scriptCommand.append("document.zoomToLocation(window.zoomLevel);");
                 webEngine.executeScript(scriptCommand.toString());
             });
         }
     }
 
+    @Override protected void layoutData() { flushChanges(); }
+
 
     // ******************** Resizing ******************************************
     @Override protected void resizeStaticText() {
@@ -359,6 +480,8 @@ public class MapTileSkin extends TileSkin {
         height = tile.getHeight() - tile.getInsets().getTop() - tile.getInsets().getBottom();
         size   = width < height ? width : height;
 
+        updateMapMode();
+
         double containerWidth  = width - size * 0.1;
         double containerHeight = tile.isTextVisible() ? height - size * 0.27 : height - size * 0.205;
 
@@ -367,15 +490,25 @@ public class MapTileSkin extends TileSkin {
             pane.setPrefSize(width, height);
 
             if (containerWidth > 0 && containerHeight > 0) {
-                webView.setMinSize(containerWidth, containerHeight);
-                webView.setMaxSize(containerWidth, containerHeight);
-                webView.setPrefSize(containerWidth, containerHeight);
-                webView.relocate(size * 0.05, size * 0.15);
+                resizeMapView(containerWidth, containerHeight);
+                mapView.relocate(size * 0.05, size * 0.15);
             }
             resizeStaticText();
         }
     }
 
+    private void resizeMapView(final double WIDTH, final double HEIGHT) {
+        if (null != canvasMapView) {
+            canvasMapView.setMinSize(WIDTH, HEIGHT);
+            canvasMapView.setMaxSize(WIDTH, HEIGHT);
+            canvasMapView.setPrefSize(WIDTH, HEIGHT);
+        } else {
+            webView.setMinSize(WIDTH, HEIGHT);
+            webView.setMaxSize(WIDTH, HEIGHT);
+            webView.setPrefSize(WIDTH, HEIGHT);
+        }
+    }
+
     @Override protected void redraw() {
         super.redraw();
         titleText.setText(tile.getTitle());
@@ -386,7 +519,19 @@ public class MapTileSkin extends TileSkin {
         titleText.setFill(tile.getTitleColor());
         text.setFill(tile.getTextColor());
 
-        updateLocationColor();
-        updateTrackColor();
+        pendingChanges.accumulateAndGet(COLORS, (a, b) -> a | b);
+        flushChanges();
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static final class MapPoi {
+        private final int    id;
+        private       String entry;
+
+        MapPoi(final int ID) {
+            id    = ID;
+            entry = "";
+        }
     }
 }
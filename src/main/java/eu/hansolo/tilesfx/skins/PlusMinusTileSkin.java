@@ -17,7 +17,9 @@
 package eu.hansolo.tilesfx.skins;
 
 import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.events.TileEvent;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.tools.DecorationCache;
 import eu.hansolo.tilesfx.tools.Helper;
 import javafx.event.EventHandler;
 import javafx.event.EventType;
@@ -25,11 +27,6 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.Border;
-import javafx.scene.layout.BorderStroke;
-import javafx.scene.layout.BorderStrokeStyle;
-import javafx.scene.layout.BorderWidths;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.scene.text.TextFlow;
@@ -61,6 +58,7 @@ public class PlusMinusTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(TileEvent.EventType.VISIBILITY);
 
         mouseEventHandler = e -> {
             final EventType TYPE = e.getEventType();
@@ -74,10 +72,10 @@ public class PlusMinusTileSkin extends TileSkin {
             } else if (MouseEvent.MOUSE_RELEASED == TYPE) {
                 if (SRC.equals(minusLabel)) {
                     minusLabel.setTextFill(tile.getForegroundColor());
-                    minusLabel.setBorder(new Border(new BorderStroke(tile.getForegroundColor(), BorderStrokeStyle.SOLID, new CornerRadii(1024), new BorderWidths(size * 0.01))));
+                    minusLabel.setBorder(DecorationCache.getBorder(tile.getForegroundColor(), 1024, size * 0.01));
                 } else if (SRC.equals(plusLabel)) {
                     plusLabel.setTextFill(tile.getForegroundColor());
-                    plusLabel.setBorder(new Border(new BorderStroke(tile.getForegroundColor(), BorderStrokeStyle.SOLID, new CornerRadii(1024), new BorderWidths(size * 0.01))));
+                    plusLabel.setBorder(DecorationCache.getBorder(tile.getForegroundColor(), 1024, size * 0.01));
                 }
             }
         };
@@ -130,10 +128,10 @@ public class PlusMinusTileSkin extends TileSkin {
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final TileEvent.EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (TileEvent.EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(text, tile.isTextVisible());
             Helper.enableNode(valueText, tile.isValueVisible());
@@ -149,13 +147,13 @@ public class PlusMinusTileSkin extends TileSkin {
 
     private void increment() {
         plusLabel.setTextFill(tile.getActiveColor());
-        plusLabel.setBorder(new Border(new BorderStroke(tile.getActiveColor(), BorderStrokeStyle.SOLID, new CornerRadii(1024), new BorderWidths(size * 0.01))));
+        plusLabel.setBorder(DecorationCache.getBorder(tile.getActiveColor(), 1024, size * 0.01));
         double newValue = clamp(minValue, maxValue, tile.getValue() + tile.getIncrement());
         tile.setValue(newValue);
     }
     private void decrement() {
         minusLabel.setTextFill(tile.getActiveColor());
-        minusLabel.setBorder(new Border(new BorderStroke(tile.getActiveColor(), BorderStrokeStyle.SOLID, new CornerRadii(1024), new BorderWidths(size * 0.01))));
+        minusLabel.setBorder(DecorationCache.getBorder(tile.getActiveColor(), 1024, size * 0.01));
         double newValue = clamp(minValue, maxValue, tile.getValue() - tile.getIncrement());
         tile.setValue(newValue);
     }
@@ -225,7 +223,7 @@ public class PlusMinusTileSkin extends TileSkin {
         minusLabel.setMaxSize(buttonSize, buttonSize);
         //minusLabel.setPadding(new Insets(-0.055 * size, 0, 0, 0));
         minusLabel.setPadding(new Insets(-0.0625 * size, 0, 0, 0));
-        minusLabel.setBorder(new Border(new BorderStroke(tile.getForegroundColor(), BorderStrokeStyle.SOLID, new CornerRadii(1024), new BorderWidths(size * 0.01))));
+        minusLabel.setBorder(DecorationCache.getBorder(tile.getForegroundColor(), 1024, size * 0.01));
         minusLabel.relocate(size * 0.05, height - size * 0.20 - buttonSize);
         
         plusLabel.setFont(Fonts.latoBold(size * 0.2));
@@ -233,7 +231,7 @@ public class PlusMinusTileSkin extends TileSkin {
         plusLabel.setMinSize(buttonSize, buttonSize);
         plusLabel.setMaxSize(buttonSize, buttonSize);
         plusLabel.setPadding(new Insets(-0.05 * size, 0, 0, 0));
-        plusLabel.setBorder(new Border(new BorderStroke(tile.getForegroundColor(), BorderStrokeStyle.SOLID, new CornerRadii(1024), new BorderWidths(size * 0.01))));
+        plusLabel.setBorder(DecorationCache.getBorder(tile.getForegroundColor(), 1024, size * 0.01));
         plusLabel.relocate(width - size * 0.05 - buttonSize, height - size * 0.20 - buttonSize);
 
         valueUnitFlow.setPrefWidth(width - size * 0.1);
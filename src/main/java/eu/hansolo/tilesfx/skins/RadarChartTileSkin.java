@@ -20,7 +20,9 @@ import eu.hansolo.tilesfx.Tile;
 import eu.hansolo.tilesfx.chart.ChartData;
 import eu.hansolo.tilesfx.chart.RadarChart;
 import eu.hansolo.tilesfx.events.ChartDataEventListener;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.skins.RenderScheduler.Dirty;
 import eu.hansolo.tilesfx.tools.Helper;
 import javafx.collections.ListChangeListener;
 import javafx.scene.text.Text;
@@ -46,6 +48,7 @@ public class RadarChartTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(EventType.VISIBILITY);
 
         radarChart = new RadarChart(tile.getChartData());
         radarChart.setMaxValue(tile.getMaxValue());
@@ -58,7 +61,7 @@ public class RadarChartTileSkin extends TileSkin {
         radarChart.setThresholdColor(tile.getThresholdColor());
         radarChart.setGradientStops(tile.getGradientStops());
 
-        chartEventListener = e -> radarChart.redraw();
+        chartEventListener = e -> markDirty(Dirty.DATA);
         tile.getChartData().forEach(chartData -> chartData.addChartDataEventListener(chartEventListener));
 
         chartDataListener  = c -> {
@@ -69,7 +72,7 @@ public class RadarChartTileSkin extends TileSkin {
                     c.getRemoved().forEach(removedItem -> removedItem.removeChartDataEventListener(chartEventListener));
                 }
             }
-            radarChart.redraw();
+            markDirty(Dirty.DATA);
         };
 
         titleText = new Text();
@@ -90,14 +93,14 @@ public class RadarChartTileSkin extends TileSkin {
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(text, tile.isTextVisible());
             radarChart.setThresholdVisible(tile.isThresholdVisible());
-        } else if ("RECALC".equals(EVENT_TYPE)) {
+        } else if (EventType.RECALC == EVENT_TYPE) {
             radarChart.setMaxValue(tile.getMaxValue());
             radarChart.setUnit(tile.getUnit());
             radarChart.setMode(tile.getRadarChartMode());
@@ -113,6 +116,11 @@ public class RadarChartTileSkin extends TileSkin {
         super.dispose();
     }
 
+    /**
+     * Redraws the chart once per pulse after the chart data changed.
+     */
+    @Override protected void layoutData() { radarChart.redraw(); }
+
 
     // ******************** Resizing ******************************************
     @Override protected void resizeStaticText() {
@@ -19,8 +19,10 @@ package eu.hansolo.tilesfx.skins;
 import eu.hansolo.tilesfx.Tile;
 import eu.hansolo.tilesfx.events.ChartDataEventListener;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.skins.RenderScheduler.Dirty;
 import eu.hansolo.tilesfx.tools.Helper;
 import eu.hansolo.tilesfx.chart.ChartData;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import javafx.collections.ListChangeListener;
 import javafx.geometry.VPos;
 import javafx.scene.canvas.Canvas;
@@ -59,8 +61,9 @@ public class RadialChartTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(EventType.VISIBILITY);
 
-        chartEventListener = e -> drawChart();
+        chartEventListener = e -> markDirty(Dirty.DATA);
         tile.getChartData().forEach(chartData -> chartData.addChartDataEventListener(chartEventListener));
 
         chartDataListener  = c -> {
@@ -71,7 +74,7 @@ public class RadialChartTileSkin extends TileSkin {
                     c.getRemoved().forEach(removedItem -> removedItem.removeChartDataEventListener(chartEventListener));
                 }
             }
-            drawChart();
+            markDirty(Dirty.DATA);
         };
 
         titleText = new Text();
@@ -95,10 +98,10 @@ public class RadialChartTileSkin extends TileSkin {
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(text, tile.isTextVisible());
             canvas.setWidth(tile.isTextVisible() ? size * 0.68 : size * 0.795);
@@ -171,6 +174,11 @@ public class RadialChartTileSkin extends TileSkin {
         }
     }
 
+    /**
+     * Draws the chart once per pulse after the chart data changed.
+     */
+    @Override protected void layoutData() { drawChart(); }
+
 
     // ******************** Resizing ******************************************
     @Override protected void resizeStaticText() {
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.skins;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Central scheduler that coalesces the resize() and redraw() calls of all
+ * TileSkins. Skins mark themselves dirty by category and one AnimationTimer
+ * will render each dirty skin at most once per pulse. If rendering takes
+ * longer than the frame budget the remaining skins will be rendered in the
+ * next pulse.
+ * Skins that are marked dirty from other threads will be handed over to the
+ * FX application thread with one Platform.runLater() call per pulse.
+ * If the scheduler is disabled the skins will be rendered immediately.
+ */
+public final class RenderScheduler {
+    public enum Dirty {
+        LAYOUT(1), STATIC_TEXT(2), VALUE(4), STYLE(8), DATA(16);
+
+        final int mask;
+
+        Dirty(final int MASK) {
+            mask = MASK;
+        }
+    }
+
+    private static final long            DEFAULT_FRAME_BUDGET = 8;
+    private static final Deque<TileSkin> QUEUE                = new ArrayDeque<>();
+    private static final Queue<TileSkin> HANDOFF_QUEUE        = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean   HANDOFF_SCHEDULED    = new AtomicBoolean(false);
+    private static       long            frameBudgetInNanos   = DEFAULT_FRAME_BUDGET * 1_000_000;
+    private static       boolean         enabled              = true;
+    private static       boolean         running;
+    private static final AnimationTimer  TIMER                = new AnimationTimer() {
+        @Override public void handle(final long NOW) { renderDirtySkins(); }
+    };
+
+
+    // ******************** Constructors **************************************
+    private RenderScheduler() {}
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns true if the rendering of the skins will be coalesced per pulse
+     * @return true if the rendering of the skins will be coalesced per pulse
+     */
+    public static boolean isEnabled() { return enabled; }
+    /**
+     * Defines if the rendering of the skins should be coalesced per pulse.
+     * If disabled each skin will be rendered immediately when it's marked dirty.
+     * @param ENABLED
+     */
+    public static void setEnabled(final boolean ENABLED) {
+        enabled = ENABLED;
+        if (!enabled) { runOnFxThread(() -> { while (!QUEUE.isEmpty()) { render(QUEUE.poll()); } }); }
+    }
+
+    /**
+     * Returns the time in milliseconds that can be used per pulse to
+     * render dirty skins.
+     * @return the time in milliseconds that can be used per pulse to render dirty skins
+     */
+    public static long getFrameBudgetInMS() { return frameBudgetInNanos / 1_000_000; }
+    /**
+     * Defines the time in milliseconds that can be used per pulse to render
+     * dirty skins. At least one skin will be rendered per pulse.
+     * @param BUDGET
+     */
+    public static void setFrameBudgetInMS(final long BUDGET) { frameBudgetInNanos = Math.max(1, BUDGET) * 1_000_000; }
+
+    static void markDirty(final TileSkin SKIN, final Dirty DIRTY) {
+        if (Platform.isFxApplicationThread()) {
+            markDirty(SKIN, DIRTY.mask);
+        } else {
+            // Collect the flags of the skin, it only has to be queued if it had no pending flags before
+            if (0 == SKIN.pendingFlags.getAndAccumulate(DIRTY.mask, (a, b) -> a | b)) { HANDOFF_QUEUE.add(SKIN); }
+            if (HANDOFF_SCHEDULED.compareAndSet(false, true)) { Platform.runLater(RenderScheduler::handOff); }
+        }
+    }
+
+    /**
+     * Renders the given skin immediately if it's marked dirty, e.g. to
+     * layout the skin in the same pulse in which its size changed.
+     * @param SKIN
+     */
+    static void renderNow(final TileSkin SKIN) {
+        if (0 == SKIN.dirtyFlags) return;
+        if (SKIN.scheduled) { QUEUE.remove(SKIN); }
+        render(SKIN);
+    }
+
+    static void cancel(final TileSkin SKIN) {
+        SKIN.pendingFlags.set(0);
+        if (!SKIN.scheduled) return;
+        QUEUE.remove(SKIN);
+        SKIN.scheduled  = false;
+        SKIN.dirtyFlags = 0;
+    }
+
+    private static void markDirty(final TileSkin SKIN, final int DIRTY_FLAGS) {
+        SKIN.dirtyFlags |= DIRTY_FLAGS;
+        if (!enabled) {
+            render(SKIN);
+            return;
+        }
+        if (SKIN.scheduled) return;
+        SKIN.scheduled = true;
+        QUEUE.add(SKIN);
+        if (!running) {
+            running = true;
+            TIMER.start();
+        }
+    }
+
+    private static void handOff() {
+        // Reset the flag first, skins that will be marked dirty from now on need another runLater()
+        HANDOFF_SCHEDULED.set(false);
+        TileSkin skin;
+        while (null != (skin = HANDOFF_QUEUE.poll())) {
+            final int DIRTY_FLAGS = skin.pendingFlags.getAndSet(0);
+            if (0 != DIRTY_FLAGS) { markDirty(skin, DIRTY_FLAGS); }
+        }
+    }
+
+    private static void renderDirtySkins() {
+        if (QUEUE.isEmpty()) {
+            TIMER.stop();
+            running = false;
+            return;
+        }
+        // Skins that will be marked dirty while rendering will be rendered in the next pulse
+        final long START       = System.nanoTime();
+        int        noOfSkins   = QUEUE.size();
+        int        noRendered  = 0;
+        while (noRendered < noOfSkins && (noRendered == 0 || System.nanoTime() - START < frameBudgetInNanos)) {
+            render(QUEUE.poll());
+            noRendered++;
+        }
+    }
+
+    private static void render(final TileSkin SKIN) {
+        final int FLAGS = SKIN.dirtyFlags;
+        SKIN.dirtyFlags = 0;
+        SKIN.scheduled  = false;
+        SKIN.render(FLAGS);
+    }
+
+    private static void runOnFxThread(final Runnable RUNNABLE) {
+        if (Platform.isFxApplicationThread()) { RUNNABLE.run(); } else { Platform.runLater(RUNNABLE); }
+    }
+}
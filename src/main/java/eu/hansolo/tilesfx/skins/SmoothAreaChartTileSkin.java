@@ -18,13 +18,20 @@ package eu.hansolo.tilesfx.skins;
 
 import eu.hansolo.tilesfx.Tile;
 import eu.hansolo.tilesfx.chart.ChartData;
+import eu.hansolo.tilesfx.chart.DoubleSeries;
+import eu.hansolo.tilesfx.chart.DoubleSeriesRenderer;
 import eu.hansolo.tilesfx.events.ChartDataEventListener;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.skins.RenderScheduler.Dirty;
 import eu.hansolo.tilesfx.tools.Helper;
+import javafx.beans.InvalidationListener;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.Point2D;
 import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.CycleMethod;
 import javafx.scene.paint.LinearGradient;
@@ -42,28 +49,37 @@ import javafx.scene.text.TextFlow;
 import javafx.util.Pair;
 
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 
 /**
  * Created by hansolo on 09.06.17.
  */
 public class SmoothAreaChartTileSkin extends TileSkin {
-    private Text                          titleText;
-    private Text                          valueText;
-    private Text                          unitText;
-    private TextFlow                      valueUnitFlow;
-    private int                           dataSize;
-    private double                        maxValue;
-    private Path                          fillPath;
-    private Path                          strokePath;
-    private double                        hStepSize;
-    private double                        vStepSize;
-    private Rectangle                     fillClip;
-    private Rectangle                     strokeClip;
-    private ChartDataEventListener        chartEventListener;
-    private ListChangeListener<ChartData> chartDataListener;
+    private Text                             titleText;
+    private Text                             valueText;
+    private Text                             unitText;
+    private TextFlow                         valueUnitFlow;
+    private int                              dataSize;
+    private double                           maxValue;
+    private Path                             fillPath;
+    private Path                             strokePath;
+    private double                           hStepSize;
+    private double                           vStepSize;
+    private Rectangle                        fillClip;
+    private Rectangle                        strokeClip;
+    private ChartDataEventListener           chartEventListener;
+    private ListChangeListener<ChartData>    chartDataListener;
+    private Canvas                           canvas;
+    private GraphicsContext                  ctx;
+    private Rectangle                        canvasClip;
+    private DoubleSeriesRenderer             renderer;
+    private InvalidationListener             doubleSeriesListener;
+    private ListChangeListener<DoubleSeries> doubleSeriesListListener;
+    private Map<Color, LinearGradient>       seriesFills;
+    private boolean                          dataChanged;
 
 
     // ******************** Constructors **************************************
@@ -75,8 +91,9 @@ public class SmoothAreaChartTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(EventType.VISIBILITY);
 
-        chartEventListener = e -> handleData();
+        chartEventListener = e -> updateData();
         chartDataListener  = c -> {
             while (c.next()) {
                 if (c.wasAdded()) {
@@ -85,8 +102,21 @@ public class SmoothAreaChartTileSkin extends TileSkin {
                     c.getRemoved().forEach(removedItem -> removedItem.removeChartDataEventListener(chartEventListener));
                 }
             }
-            handleData();
+            updateData();
         };
+        doubleSeriesListener     = o -> updateData();
+        doubleSeriesListListener = c -> {
+            while (c.next()) {
+                if (c.wasRemoved()) {
+                    c.getRemoved().forEach(removedSeries -> removedSeries.removeListener(doubleSeriesListener));
+                }
+                if (c.wasAdded()) {
+                    c.getAddedSubList().forEach(addedSeries -> addedSeries.addListener(doubleSeriesListener));
+                }
+            }
+            updateData();
+        };
+        seriesFills              = new HashMap<>();
 
         titleText = new Text();
         titleText.setFill(tile.getTitleColor());
@@ -104,6 +134,14 @@ public class SmoothAreaChartTileSkin extends TileSkin {
         strokePath.setStroke(tile.getBarColor());
         strokePath.setClip(strokeClip);
 
+        canvasClip = new Rectangle(0, 0, PREFERRED_HEIGHT, PREFERRED_HEIGHT);
+
+        canvas = new Canvas(PREFERRED_WIDTH, PREFERRED_HEIGHT);
+        canvas.setClip(canvasClip);
+        ctx    = canvas.getGraphicsContext2D();
+
+        renderer = new DoubleSeriesRenderer();
+
         valueText = new Text(String.format(locale, formatString, ((tile.getValue() - minValue) / range * 100)));
         valueText.setFill(tile.getValueColor());
         valueText.setTextOrigin(VPos.BASELINE);
@@ -117,29 +155,35 @@ public class SmoothAreaChartTileSkin extends TileSkin {
         valueUnitFlow = new TextFlow(valueText, unitText);
         valueUnitFlow.setTextAlignment(TextAlignment.RIGHT);
 
-        handleData();
+        updateData();
 
-        getPane().getChildren().addAll(titleText, fillPath, strokePath, valueUnitFlow);
+        updateRenderMode();
+
+        getPane().getChildren().addAll(titleText, fillPath, strokePath, canvas, valueUnitFlow);
     }
 
     @Override protected void registerListeners() {
         super.registerListeners();
         tile.getChartData().forEach(chartData -> chartData.addChartDataEventListener(chartEventListener));
         tile.getChartData().addListener(chartDataListener);
+        tile.getDoubleSeries().forEach(series -> series.addListener(doubleSeriesListener));
+        tile.getDoubleSeries().addListener(doubleSeriesListListener);
     }
 
     @Override public void dispose() {
-        super.dispose();
         tile.getChartData().removeListener(chartDataListener);
         tile.getChartData().forEach(chartData -> chartData.removeChartDataEventListener(chartEventListener));
+        tile.getDoubleSeries().removeListener(doubleSeriesListListener);
+        tile.getDoubleSeries().forEach(series -> series.removeListener(doubleSeriesListener));
+        super.dispose();
     }
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(valueText, tile.isValueVisible());
             Helper.enableNode(unitText, !tile.getUnit().isEmpty());
@@ -151,11 +195,48 @@ public class SmoothAreaChartTileSkin extends TileSkin {
         resizeDynamicText();
     }
 
-    private void handleData() {
+    /**
+     * Marks the data dirty, the value of the tile will be updated and the
+     * chart will be drawn once in the next pulse.
+     */
+    private void updateData() {
+        dataChanged = true;
+        markDirty(Dirty.DATA);
+    }
+
+    @Override protected void layoutData() {
+        if (dataChanged) {
+            dataChanged = false;
+            updateValue();
+        }
+        drawData();
+    }
+
+    /**
+     * In canvas mode the value will be taken from the first double series,
+     * otherwise from the last chart data.
+     */
+    private void updateValue() {
+        if (tile.isCanvasChartEnabled()) {
+            List<DoubleSeries> series = tile.getDoubleSeries();
+            if (!series.isEmpty() && series.get(0).getSize() > 0) { tile.setValue(series.get(0).getLastValue()); }
+        } else {
+            List<ChartData> data = tile.getChartData();
+            if (!data.isEmpty()) { tile.setValue(data.get(data.size() - 1).getValue()); }
+        }
+    }
+
+    private void drawData() {
+        if (tile.isCanvasChartEnabled()) {
+            drawCanvas();
+        } else {
+            drawPaths();
+        }
+    }
+
+    private void drawPaths() {
         List<ChartData> data = tile.getChartData();
         if (null == data || data.isEmpty()) { return; }
-        Optional<ChartData> lastDataEntry = data.stream().reduce((first, second) -> second);
-        if (lastDataEntry.isPresent()) { tile.setValue(lastDataEntry.get().getValue()); }
         dataSize  = data.size();
         maxValue  = data.stream().max(Comparator.comparing(c -> c.getValue())).get().getValue();
         hStepSize = width / dataSize;
@@ -173,6 +254,50 @@ public class SmoothAreaChartTileSkin extends TileSkin {
         smooth(strokePath.getElements(), fillPath.getElements());
     }
 
+    /**
+     * In canvas mode the double series of the tile will be drawn instead of
+     * the chart data and the value will be taken from the first series.
+     */
+    private void updateRenderMode() {
+        boolean canvasMode = tile.isCanvasChartEnabled();
+        Helper.enableNode(fillPath, !canvasMode);
+        Helper.enableNode(strokePath, !canvasMode);
+        Helper.enableNode(canvas, canvasMode);
+    }
+
+    /**
+     * Draws the double series scaled from the min to the max value of all
+     * series into the lower half of the tile.
+     */
+    private void drawCanvas() {
+        ctx.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        int    noOfSlots = 0;
+        double min       = Double.MAX_VALUE;
+        double max       = -Double.MAX_VALUE;
+        for (DoubleSeries series : tile.getDoubleSeries()) {
+            if (series.getSize() == 0) { continue; }
+            noOfSlots = Math.max(noOfSlots, series.getSize());
+            min       = Math.min(min, series.getMin());
+            max       = Math.max(max, series.getMax());
+        }
+        if (noOfSlots == 0) { return; }
+
+        // Series with a constant value will be drawn in the middle of the lower half
+        double range   = max - min;
+        double scaleY  = range > 0 ? (height * 0.5) / range : 0;
+        double offsetY = range > 0 ? height + min * scaleY : height * 0.75;
+        for (DoubleSeries series : tile.getDoubleSeries()) {
+            Color color = null == series.getColor() ? tile.getBarColor() : series.getColor();
+            renderer.draw(ctx, series, tile.getDownsampling(), noOfSlots, 0, width, offsetY, -scaleY, height, color, size * 0.02, getSeriesFill(color));
+        }
+    }
+
+    private LinearGradient getSeriesFill(final Color COLOR) {
+        return seriesFills.computeIfAbsent(COLOR, color -> new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
+                                                                              new Stop(0, Helper.getColorWithOpacity(color, 0.7)),
+                                                                              new Stop(1, Helper.getColorWithOpacity(color, 0.1))));
+    }
+
     private static void smooth(ObservableList<PathElement> strokeElements, ObservableList<PathElement> fillElements) {
         if (fillElements.isEmpty()) return;
         // as we do not have direct access to the data, first recreate the list of all the data points we have
@@ -329,10 +454,6 @@ public class SmoothAreaChartTileSkin extends TileSkin {
         valueUnitFlow.setPrefWidth(width - size * 0.1);
         valueUnitFlow.relocate(size * 0.05, size * 0.15);
 
-        hStepSize = width / dataSize;
-        vStepSize = (height * 0.5) / maxValue;
-
-        handleData();
         strokePath.setStrokeWidth(size * 0.02);
 
         double cornerRadius = tile.getRoundedCorners() ? size * 0.05 : 0;
@@ -350,6 +471,16 @@ public class SmoothAreaChartTileSkin extends TileSkin {
         strokeClip.setHeight(tile.getHeight());
         strokeClip.setArcWidth(cornerRadius);
         strokeClip.setArcHeight(cornerRadius);
+
+        canvas.setWidth(width);
+        canvas.setHeight(height);
+        canvasClip.setWidth(tile.getWidth());
+        canvasClip.setHeight(tile.getHeight());
+        canvasClip.setArcWidth(cornerRadius);
+        canvasClip.setArcHeight(cornerRadius);
+
+        // The chart will be drawn in redraw(), a changed value will be taken over in the next pulse
+        if (dataChanged) { markDirty(Dirty.DATA); }
     }
 
     @Override protected void redraw() {
@@ -371,5 +502,10 @@ public class SmoothAreaChartTileSkin extends TileSkin {
                                             new Stop(0, fillPathColor1),
                                             new Stop(1, fillPathColor2)));
         strokePath.setStroke(tile.getBarColor());
+
+        // Keep only the fills of the current colors
+        seriesFills.clear();
+        updateRenderMode();
+        drawData();
     }
 }
\ No newline at end of file
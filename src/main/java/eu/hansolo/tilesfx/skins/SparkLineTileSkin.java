@@ -17,12 +17,16 @@
 package eu.hansolo.tilesfx.skins;
 
 import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.skins.RenderScheduler.Dirty;
+import eu.hansolo.tilesfx.tools.BezierSmoother;
 import eu.hansolo.tilesfx.tools.GradientLookup;
 import eu.hansolo.tilesfx.tools.Helper;
+import eu.hansolo.tilesfx.tools.MinMaxDecimator;
 import eu.hansolo.tilesfx.tools.MovingAverage;
 import eu.hansolo.tilesfx.tools.NiceScale;
-import eu.hansolo.tilesfx.tools.Statistics;
+import eu.hansolo.tilesfx.tools.StreamingStatistics;
 import javafx.beans.InvalidationListener;
 import javafx.geometry.VPos;
 import javafx.scene.paint.Color;
@@ -43,12 +47,9 @@ import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.scene.text.TextFlow;
-import javafx.util.Pair;
 
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 
@@ -76,6 +77,8 @@ public class SparkLineTileSkin extends TileSkin {
     private Text                 timeSpanText;
     private Rectangle            graphBounds;
     private List<PathElement>    pathElements;
+    private List<PathElement>    curveElements;
+    private BezierSmoother       smoother;
     private Path                 sparkLine;
     private Circle               dot;
     private Rectangle            stdDeviationArea;
@@ -86,7 +89,11 @@ public class SparkLineTileSkin extends TileSkin {
     private double               high;
     private double               stdDeviation;
     private int                  noOfDatapoints;
-    private List<Double>         dataList;
+    private double[]             values;
+    private double[]             pointsX;
+    private double[]             pointsY;
+    private int[]                indices;
+    private StreamingStatistics  statistics;
     private MovingAverage        movingAverage;
     private InvalidationListener averagingListener;
     private NiceScale            niceScaleY;
@@ -106,8 +113,9 @@ public class SparkLineTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
+        subscribe(EventType.VISIBILITY, EventType.VALUE, EventType.AVERAGING);
 
-        averagingListener = o -> handleEvents("AVERAGING");
+        averagingListener = o -> handleEvents(EventType.AVERAGING);
 
         timeFormatter = DateTimeFormatter.ofPattern("HH:mm", tile.getLocale());
 
@@ -128,16 +136,18 @@ public class SparkLineTileSkin extends TileSkin {
             tickLabelsY.add(tickLabelY);
         }
 
-        gradientLookup = new GradientLookup(tile.getGradientStops());
+        gradientLookup = new GradientLookup(tile.getGradientStops(), 256);
         low            = tile.getMaxValue();
         high           = tile.getMinValue();
         stdDeviation   = 0;
         movingAverage  = tile.getMovingAverage();
         noOfDatapoints = tile.getAveragingPeriod();
-        dataList       = new LinkedList<>();
+        values         = new double[noOfDatapoints];
+        smoother       = new BezierSmoother(noOfDatapoints);
 
         // To get smooth lines in the chart we need at least 4 values
         if (noOfDatapoints < 4) throw new IllegalArgumentException("Please increase the averaging period to a value larger than 3.");
+        statistics     = new StreamingStatistics(noOfDatapoints, tile.getMinValue(), tile.getMaxValue());
 
         graphBounds = new Rectangle(PREFERRED_WIDTH * 0.05, PREFERRED_HEIGHT * 0.5, PREFERRED_WIDTH * 0.9, PREFERRED_HEIGHT * 0.45);
 
@@ -189,6 +199,9 @@ public class SparkLineTileSkin extends TileSkin {
         pathElements.add(0, new MoveTo());
         for (int i = 1 ; i < noOfDatapoints ; i++) { pathElements.add(i, new LineTo()); }
 
+        curveElements = new ArrayList<>(noOfDatapoints);
+        curveElements.add(new MoveTo());
+
         sparkLine = new Path();
         sparkLine.getElements().addAll(pathElements);
         sparkLine.setFill(null);
@@ -212,10 +225,10 @@ public class SparkLineTileSkin extends TileSkin {
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(text, tile.isTextVisible());
             Helper.enableNode(valueText, tile.isValueVisible());
@@ -224,30 +237,29 @@ public class SparkLineTileSkin extends TileSkin {
             Helper.enableNode(averageLine, tile.isAverageVisible());
             Helper.enableNode(averageText, tile.isAverageVisible());
             Helper.enableNode(stdDeviationArea, tile.isAverageVisible());
-            redraw();
-        } else if ("VALUE".equals(EVENT_TYPE)) {
+            markDirty(Dirty.STYLE);
+        } else if (EventType.VALUE == EVENT_TYPE) {
             if(tile.isAnimated()) { tile.setAnimated(false); }
             if (!tile.isAveragingEnabled()) { tile.setAveragingEnabled(true); }
             double value = clamp(minValue, maxValue, tile.getValue());
             addData(value);
             handleCurrentValue(value);
-        } else if ("AVERAGING".equals(EVENT_TYPE)) {
+        } else if (EventType.AVERAGING == EVENT_TYPE) {
             noOfDatapoints = tile.getAveragingPeriod();
 
             // To get smooth lines in the chart we need at least 4 values
             if (noOfDatapoints < 4) throw new IllegalArgumentException("Please increase the averaging period to a value larger than 3.");
-            for (int i = 0; i < noOfDatapoints; i++) { dataList.add(minValue); }
-            pathElements.clear();
-            pathElements.add(0, new MoveTo());
-            for (int i = 1 ; i < noOfDatapoints ; i++) { pathElements.add(i, new LineTo()); }
-            sparkLine.getElements().setAll(pathElements);
-            redraw();
+            values = new double[noOfDatapoints];
+            statistics = new StreamingStatistics(noOfDatapoints, minValue, maxValue);
+            for (int i = 0; i < noOfDatapoints; i++) { statistics.add(minValue); }
+            setNoOfPathElements(noOfDatapoints);
+            markDirty(Dirty.STYLE);
         }
     }
 
     @Override protected void handleCurrentValue(final double VALUE) {
-        low  = Statistics.getMin(dataList);
-        high = Statistics.getMax(dataList);
+        low  = statistics.getMin();
+        high = statistics.getMax();
         if (Helper.equals(low, high)) {
             low  = minValue;
             high = maxValue;
@@ -294,24 +306,23 @@ public class SparkLineTileSkin extends TileSkin {
         horizontalTickLines.forEach(line -> line.setEndX(maxX - horizontalLineOffset));
         tickLabelsY.forEach(label -> label.setX(maxX - label.getLayoutBounds().getWidth()));
 
-        if (!dataList.isEmpty()) {
+        if (!statistics.isEmpty()) {
+            int noOfPoints = updatePoints(minX, maxY, stepX, stepY);
             if (tile.isSmoothing()) {
-                smooth(dataList);
+                smooth(pointsX, pointsY, noOfPoints);
             } else {
+                setNoOfPathElements(noOfPoints);
                 MoveTo begin = (MoveTo) pathElements.get(0);
-                begin.setX(minX);
-                begin.setY(maxY - Math.abs(low - dataList.get(0)) * stepY);
-                for (int i = 1; i < (noOfDatapoints - 1); i++) {
+                begin.setX(pointsX[0]);
+                begin.setY(pointsY[0]);
+                for (int i = 1 ; i < noOfPoints ; i++) {
                     LineTo lineTo = (LineTo) pathElements.get(i);
-                    lineTo.setX(minX + i * stepX);
-                    lineTo.setY(maxY - Math.abs(low - dataList.get(i)) * stepY);
+                    lineTo.setX(pointsX[i]);
+                    lineTo.setY(pointsY[i]);
                 }
-                LineTo end = (LineTo) pathElements.get(noOfDatapoints - 1);
-                end.setX(maxX);
-                end.setY(maxY - Math.abs(low - dataList.get(noOfDatapoints - 1)) * stepY);
 
-                dot.setCenterX(maxX);
-                dot.setCenterY(end.getY());
+                dot.setCenterX(pointsX[noOfPoints - 1]);
+                dot.setCenterY(pointsY[noOfPoints - 1]);
 
                 if (tile.isStrokeWithGradient()) {
                     setupGradient();
@@ -346,14 +357,42 @@ public class SparkLineTileSkin extends TileSkin {
     }
 
     private void addData(final double VALUE) {
-        if (dataList.isEmpty()) { for (int i = 0 ; i < noOfDatapoints ;i ++) { dataList.add(VALUE); } }
-        if (dataList.size() <= noOfDatapoints) {
-            Collections.rotate(dataList, -1);
-            dataList.set((noOfDatapoints - 1), VALUE);
-        } else {
-            dataList.add(VALUE);
+        if (statistics.isEmpty()) {
+            for (int i = 0 ; i < noOfDatapoints ; i++) { statistics.add(VALUE); }
+        }
+        statistics.add(VALUE);
+        stdDeviation = statistics.getStdDev();
+    }
+
+    /**
+     * Copies the values of the window into the point arrays (in pixel
+     * coordinates) and returns the number of points. If there are more
+     * values than twice the width of the graph in pixels the values will
+     * be reduced to the min and max per pixel column.
+     */
+    private int updatePoints(final double MIN_X, final double MAX_Y, final double STEP_X, final double STEP_Y) {
+        if (values.length < statistics.getSize()) { values = new double[statistics.getWindowSize()]; }
+        int noOfValues    = statistics.copyTo(values);
+        int noOfColumns   = (int) Math.max(1, graphBounds.getWidth());
+        int maxNoOfPoints = Math.min(noOfValues, MinMaxDecimator.getMaxNoOfIndices(noOfColumns));
+        if (null == indices || indices.length < maxNoOfPoints) {
+            indices = new int[maxNoOfPoints];
+            pointsX = new double[maxNoOfPoints];
+            pointsY = new double[maxNoOfPoints];
+        }
+        int noOfPoints = MinMaxDecimator.decimate(values, noOfValues, noOfColumns, indices);
+        for (int i = 0 ; i < noOfPoints ; i++) {
+            pointsX[i] = MIN_X + indices[i] * STEP_X;
+            pointsY[i] = MAX_Y - Math.abs(low - values[indices[i]]) * STEP_Y;
         }
-        stdDeviation = Statistics.getStdDev(dataList);
+        return noOfPoints;
+    }
+
+    private void setNoOfPathElements(final int NO_OF_ELEMENTS) {
+        int noOfElements = pathElements.size();
+        if (noOfElements > NO_OF_ELEMENTS) { pathElements.subList(Math.max(1, NO_OF_ELEMENTS), noOfElements).clear(); }
+        for (int i = noOfElements ; i < NO_OF_ELEMENTS ; i++) { pathElements.add(new LineTo()); }
+        if (sparkLine.getElements().size() != pathElements.size() || sparkLine.getElements().get(0) != pathElements.get(0)) { sparkLine.getElements().setAll(pathElements); }
     }
 
     private void setupGradient() {
@@ -397,87 +436,39 @@ public class SparkLineTileSkin extends TileSkin {
 
 
     // ******************** Smoothing *****************************************
-    public void smooth(final List<Double> DATA_LIST) {
-        int      size = DATA_LIST.size();
-        double[] x    = new double[size];
-        double[] y    = new double[size];
-
-        low  = Statistics.getMin(DATA_LIST);
-        high = Statistics.getMax(DATA_LIST);
-        if (Helper.equals(low, high)) {
-            low  = minValue;
-            high = maxValue;
-        }
-        range = high - low;
-
-        double minX  = graphBounds.getX();
-        double maxX  = minX + graphBounds.getWidth();
-        double minY  = graphBounds.getY();
-        double maxY  = minY + graphBounds.getHeight();
-        double stepX = graphBounds.getWidth() / (noOfDatapoints - 1);
-        double stepY = graphBounds.getHeight() / range;
-
-        for (int i = 0 ; i < size ; i++) {
-            x[i] = minX + i * stepX;
-            y[i] = maxY - Math.abs(low - DATA_LIST.get(i)) * stepY;
+    /**
+     * Smoothes the line through the given points with cubic curves. The
+     * curve elements are reused and only the segments whose control points
+     * changed will be updated.
+     * @param X
+     * @param Y
+     * @param LENGTH
+     */
+    public void smooth(final double[] X, final double[] Y, final int LENGTH) {
+        int firstChanged = smoother.smooth(X, Y, LENGTH);
+        int noOfSegments = LENGTH - 1;
+        int noOfElements = curveElements.size();
+        if (noOfElements > noOfSegments + 1) { curveElements.subList(Math.max(1, noOfSegments + 1), noOfElements).clear(); }
+        for (int i = noOfElements ; i <= noOfSegments ; i++) { curveElements.add(new CubicCurveTo()); }
+        if (sparkLine.getElements().size() != curveElements.size() || sparkLine.getElements().get(0) != curveElements.get(0)) {
+            sparkLine.getElements().setAll(curveElements);
+            firstChanged = 0;
         }
 
-        Pair<Double[], Double[]> px = computeControlPoints(x);
-        Pair<Double[], Double[]> py = computeControlPoints(y);
-
-        sparkLine.getElements().clear();
-        for (int i = 0 ; i < size - 1 ; i++) {
-            sparkLine.getElements().add(new MoveTo(x[i], y[i]));
-            sparkLine.getElements().add(new CubicCurveTo(px.getKey()[i], py.getKey()[i], px.getValue()[i], py.getValue()[i], x[i + 1], y[i + 1]));
+        MoveTo begin = (MoveTo) curveElements.get(0);
+        begin.setX(X[0]);
+        begin.setY(Y[0]);
+        for (int i = firstChanged ; i < noOfSegments ; i++) {
+            CubicCurveTo curve = (CubicCurveTo) curveElements.get(i + 1);
+            curve.setControlX1(smoother.getControlX1(i));
+            curve.setControlY1(smoother.getControlY1(i));
+            curve.setControlX2(smoother.getControlX2(i));
+            curve.setControlY2(smoother.getControlY2(i));
+            curve.setX(X[i + 1]);
+            curve.setY(Y[i + 1]);
         }
-        dot.setCenterX(maxX);
-        dot.setCenterY(y[size - 1]);
-    }
-    private Pair<Double[], Double[]> computeControlPoints(final double[] K) {
-        int      n  = K.length - 1;
-        Double[] p1 = new Double[n];
-        Double[] p2 = new Double[n];
-
-	    /*rhs vector*/
-        double[] a = new double[n];
-        double[] b = new double[n];
-        double[] c = new double[n];
-        double[] r = new double[n];
-
-	    /*left most segment*/
-        a[0] = 0;
-        b[0] = 2;
-        c[0] = 1;
-        r[0] = K[0]+2*K[1];
-
-	    /*internal segments*/
-        for (int i = 1; i < n - 1; i++) {
-            a[i] = 1;
-            b[i] = 4;
-            c[i] = 1;
-            r[i] = 4 * K[i] + 2 * K[i + 1];
-        }
-
-	    /*right segment*/
-        a[n-1] = 2;
-        b[n-1] = 7;
-        c[n-1] = 0;
-        r[n-1] = 8 * K[n - 1] + K[n];
-
-	    /*solves Ax = b with the Thomas algorithm*/
-        for (int i = 1; i < n; i++) {
-            double m = a[i] / b[i - 1];
-            b[i] = b[i] - m * c[i - 1];
-            r[i] = r[i] - m * r[i - 1];
-        }
-
-        p1[n-1] = r[n-1] / b[n-1];
-        for (int i = n - 2; i >= 0; --i) { p1[i] = (r[i] - c[i] * p1[i + 1]) / b[i]; }
-
-        for (int i = 0 ; i < n - 1 ; i++) { p2[i] = 2 * K[i + 1] - p1[i + 1]; }
-        p2[n - 1] = 0.5 * (K[n] + p1[n - 1]);
-
-        return new Pair<>(p1, p2);
+        dot.setCenterX(X[LENGTH - 1]);
+        dot.setCenterY(Y[LENGTH - 1]);
     }
 
 
@@ -17,14 +17,16 @@
 package eu.hansolo.tilesfx.skins;
 
 import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.skins.RenderScheduler.Dirty;
 import eu.hansolo.tilesfx.tools.Helper;
+import eu.hansolo.tilesfx.tools.MinMaxDecimator;
 import eu.hansolo.tilesfx.tools.MovingAverage;
-import eu.hansolo.tilesfx.tools.Statistics;
+import eu.hansolo.tilesfx.tools.StreamingStatistics;
 import javafx.animation.FillTransition;
 import javafx.animation.ParallelTransition;
 import javafx.animation.RotateTransition;
-import javafx.beans.InvalidationListener;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.geometry.VPos;
@@ -50,8 +52,6 @@ import javafx.util.Duration;
 
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 import static eu.hansolo.tilesfx.tools.Helper.clamp;
@@ -99,9 +99,12 @@ public class StockTileSkin extends TileSkin {
     private double               low;
     private double               high;
     private int                  noOfDatapoints;
-    private List<Double>         dataList;
+    private double[]             values;
+    private double[]             pointsX;
+    private double[]             pointsY;
+    private int[]                indices;
+    private StreamingStatistics  statistics;
     private MovingAverage        movingAverage;
-    private InvalidationListener averagingListener;
     private State                state;
 
 
@@ -114,8 +117,7 @@ public class StockTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
-
-        averagingListener = o -> handleEvents("AVERAGING_PERIOD");
+        subscribe(EventType.VISIBILITY, EventType.VALUE, EventType.AVERAGING);
 
         timeFormatter = DateTimeFormatter.ofPattern("HH:mm", tile.getLocale());
 
@@ -127,10 +129,11 @@ public class StockTileSkin extends TileSkin {
         high           = tile.getMinValue();
         movingAverage  = tile.getMovingAverage();
         noOfDatapoints = tile.getAveragingPeriod();
-        dataList       = new LinkedList<>();
+        values         = new double[noOfDatapoints];
 
         // To get smooth lines in the chart we need at least 4 values
         if (noOfDatapoints < 4) throw new IllegalArgumentException("Please increase the averaging period to a value larger than 3.");
+        statistics     = new StreamingStatistics(noOfDatapoints);
 
         graphBounds = new Rectangle(PREFERRED_WIDTH * 0.05, PREFERRED_HEIGHT * 0.5, PREFERRED_WIDTH * 0.9, PREFERRED_HEIGHT * 0.45);
 
@@ -203,41 +206,39 @@ public class StockTileSkin extends TileSkin {
 
     @Override protected void registerListeners() {
         super.registerListeners();
-        tile.averagingPeriodProperty().addListener(averagingListener);
     }
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(valueText, tile.isValueVisible());
             Helper.enableNode(timeSpanText, !tile.isTextVisible());
-            redraw();
-        } else if ("VALUE".equals(EVENT_TYPE)) {
+            markDirty(Dirty.STYLE);
+        } else if (EventType.VALUE == EVENT_TYPE) {
             if(tile.isAnimated()) { tile.setAnimated(false); }
             if (!tile.isAveragingEnabled()) { tile.setAveragingEnabled(true); }
             double value = clamp(minValue, maxValue, tile.getValue());
             addData(value);
             handleCurrentValue(value);
-        } else if ("AVERAGING".equals(EVENT_TYPE)) {
+        } else if (EventType.AVERAGING == EVENT_TYPE) {
             noOfDatapoints = tile.getAveragingPeriod();
             // To get smooth lines in the chart we need at least 4 values
             if (noOfDatapoints < 4) throw new IllegalArgumentException("Please increase the averaging period to a value larger than 3.");
-            for (int i = 0; i < noOfDatapoints; i++) { dataList.add(minValue); }
-            pathElements.clear();
-            pathElements.add(0, new MoveTo());
-            for (int i = 1 ; i < noOfDatapoints ; i++) { pathElements.add(i, new LineTo()); }
-            sparkLine.getElements().setAll(pathElements);
-            redraw();
+            values = new double[noOfDatapoints];
+            statistics.setWindowSize(noOfDatapoints);
+            for (int i = 0; i < noOfDatapoints; i++) { statistics.add(minValue); }
+            setNoOfPathElements(noOfDatapoints);
+            markDirty(Dirty.STYLE);
         }
     }
 
     @Override protected void handleCurrentValue(final double VALUE) {
-        low  = Statistics.getMin(dataList);
-        high = Statistics.getMax(dataList);
+        low  = statistics.getMin();
+        high = statistics.getMax();
         if (Helper.equals(low, high)) {
             low  = minValue;
             high = maxValue;
@@ -245,28 +246,26 @@ public class StockTileSkin extends TileSkin {
         range = high - low;
 
         double minX           = graphBounds.getX();
-        double maxX           = minX + graphBounds.getWidth();
         double minY           = graphBounds.getY();
         double maxY           = minY + graphBounds.getHeight();
         double stepX          = graphBounds.getWidth() / (noOfDatapoints - 1);
         double stepY          = graphBounds.getHeight() / range;
         double referenceValue = tile.getReferenceValue();
 
-        if(!dataList.isEmpty()) {
+        if(!statistics.isEmpty()) {
+            int noOfPoints = updatePoints(minX, maxY, stepX, stepY);
+            setNoOfPathElements(noOfPoints);
             MoveTo begin = (MoveTo) pathElements.get(0);
-            begin.setX(minX);
-            begin.setY(maxY - Math.abs(low - dataList.get(0)) * stepY);
-            for (int i = 1; i < (noOfDatapoints - 1); i++) {
+            begin.setX(pointsX[0]);
+            begin.setY(pointsY[0]);
+            for (int i = 1 ; i < noOfPoints ; i++) {
                 LineTo lineTo = (LineTo) pathElements.get(i);
-                lineTo.setX(minX + i * stepX);
-                lineTo.setY(maxY - Math.abs(low - dataList.get(i)) * stepY);
+                lineTo.setX(pointsX[i]);
+                lineTo.setY(pointsY[i]);
             }
-            LineTo end = (LineTo) pathElements.get(noOfDatapoints - 1);
-            end.setX(maxX);
-            end.setY(maxY - Math.abs(low - dataList.get(noOfDatapoints - 1)) * stepY);
 
-            dot.setCenterX(maxX);
-            dot.setCenterY(end.getY());
+            dot.setCenterX(pointsX[noOfPoints - 1]);
+            dot.setCenterY(pointsY[noOfPoints - 1]);
 
             updateState(VALUE, referenceValue);
 
@@ -309,20 +308,44 @@ public class StockTileSkin extends TileSkin {
             dot.setVisible(true);
             referenceLine.setVisible(true);
         }
-        if (dataList.isEmpty()) {
+        if (statistics.isEmpty()) {
             double referenceValue = tile.getReferenceValue() != 0 ? tile.getReferenceValue() : VALUE;
-            for (int i = 0 ; i < noOfDatapoints ; i ++) {
-                dataList.add(referenceValue);
-            }
+            for (int i = 0 ; i < noOfDatapoints ; i ++) { statistics.add(referenceValue); }
             if (tile.isAutoReferenceValue()) { tile.setReferenceValue(referenceValue); }
         }
-        if (dataList.size() <= noOfDatapoints) {
-            Collections.rotate(dataList, -1);
-            dataList.set((noOfDatapoints - 1), VALUE);
-            if (tile.isAutoReferenceValue()) { tile.setReferenceValue(dataList.get(0)); }
-        } else {
-            dataList.add(VALUE);
+        statistics.add(VALUE);
+        if (tile.isAutoReferenceValue()) { tile.setReferenceValue(statistics.get(0)); }
+    }
+
+    /**
+     * Copies the values of the window into the point arrays (in pixel
+     * coordinates) and returns the number of points. If there are more
+     * values than twice the width of the graph in pixels the values will
+     * be reduced to the min and max per pixel column.
+     */
+    private int updatePoints(final double MIN_X, final double MAX_Y, final double STEP_X, final double STEP_Y) {
+        if (values.length < statistics.getSize()) { values = new double[statistics.getWindowSize()]; }
+        int noOfValues    = statistics.copyTo(values);
+        int noOfColumns   = (int) Math.max(1, graphBounds.getWidth());
+        int maxNoOfPoints = Math.min(noOfValues, MinMaxDecimator.getMaxNoOfIndices(noOfColumns));
+        if (null == indices || indices.length < maxNoOfPoints) {
+            indices = new int[maxNoOfPoints];
+            pointsX = new double[maxNoOfPoints];
+            pointsY = new double[maxNoOfPoints];
+        }
+        int noOfPoints = MinMaxDecimator.decimate(values, noOfValues, noOfColumns, indices);
+        for (int i = 0 ; i < noOfPoints ; i++) {
+            pointsX[i] = MIN_X + indices[i] * STEP_X;
+            pointsY[i] = MAX_Y - Math.abs(low - values[indices[i]]) * STEP_Y;
         }
+        return noOfPoints;
+    }
+
+    private void setNoOfPathElements(final int NO_OF_ELEMENTS) {
+        int noOfElements = pathElements.size();
+        if (noOfElements > NO_OF_ELEMENTS) { pathElements.subList(Math.max(1, NO_OF_ELEMENTS), noOfElements).clear(); }
+        for (int i = noOfElements ; i < NO_OF_ELEMENTS ; i++) { pathElements.add(new LineTo()); }
+        if (sparkLine.getElements().size() != pathElements.size() || sparkLine.getElements().get(0) != pathElements.get(0)) { sparkLine.getElements().setAll(pathElements); }
     }
 
     private void updateState(final double VALUE, final double REFERENCE_VALUE) {
@@ -377,7 +400,6 @@ public class StockTileSkin extends TileSkin {
     }
 
     @Override public void dispose() {
-        tile.averagingPeriodProperty().removeListener(averagingListener);
         super.dispose();
     }
 
@@ -19,26 +19,26 @@ package eu.hansolo.tilesfx.skins;
 import eu.hansolo.tilesfx.Section;
 import eu.hansolo.tilesfx.Tile;
 import eu.hansolo.tilesfx.Tile.TextSize;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.events.TileEventListener;
+import eu.hansolo.tilesfx.skins.RenderScheduler.Dirty;
+import eu.hansolo.tilesfx.tools.DecorationCache;
 import eu.hansolo.tilesfx.tools.Helper;
 import javafx.beans.InvalidationListener;
-import javafx.geometry.Insets;
 import javafx.scene.control.Skin;
 import javafx.scene.control.SkinBase;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
 import javafx.scene.layout.Border;
-import javafx.scene.layout.BorderStroke;
-import javafx.scene.layout.BorderStrokeStyle;
-import javafx.scene.layout.BorderWidths;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static eu.hansolo.tilesfx.tools.Helper.clamp;
 
@@ -73,15 +73,20 @@ public class TileSkin extends SkinBase<Tile> implements Skin<Tile> {
     protected              DropShadow           shadow;
     protected              InvalidationListener sizeListener;
     protected              TileEventListener    tileEventListener;
+    protected              EnumSet<EventType>   eventTypes;
     protected              InvalidationListener currentValueListener;
     protected              InvalidationListener currentTimeListener;
     protected              InvalidationListener timeListener;
     protected              Tile                 tile;
+                           int                  dirtyFlags;
+                           boolean              scheduled;
+                     final AtomicInteger        pendingFlags;
 
 
     // ******************** Constructors **************************************
     public TileSkin(final Tile TILE) {
         super(TILE);
+        pendingFlags         = new AtomicInteger();
         tile                 = TILE;
         minValue             = TILE.getMinValue();
         maxValue             = TILE.getMaxValue();
@@ -96,8 +101,12 @@ public class TileSkin extends SkinBase<Tile> implements Skin<Tile> {
         sectionsVisible      = TILE.getSectionsVisible();
         highlightSections    = tile.isHighlightSections();
         textSize             = tile.getTextSize();
-        sizeListener         = o -> handleEvents("RESIZE");
-        tileEventListener    = e -> handleEvents(e.getEventType().name());
+        eventTypes           = EnumSet.of(EventType.RESIZE, EventType.REDRAW, EventType.RECALC, EventType.SECTION);
+        sizeListener         = o -> handleEvents(EventType.RESIZE);
+        tileEventListener    = e -> {
+            EventType eventType = e.getEventType();
+            if (eventTypes.contains(eventType)) { handleEvents(eventType); }
+        };
         currentValueListener = o -> handleCurrentValue(tile.getCurrentValue());
 
         initGraphics();
@@ -120,8 +129,8 @@ public class TileSkin extends SkinBase<Tile> implements Skin<Tile> {
         shadow = new DropShadow(BlurType.TWO_PASS_BOX, Color.rgb(0, 0, 0, 0.65), 3, 0, 0, 0);
 
         pane = new Pane();
-        pane.setBorder(new Border(new BorderStroke(tile.getBorderColor(), BorderStrokeStyle.SOLID, new CornerRadii(PREFERRED_WIDTH * 0.025), new BorderWidths(tile.getBorderWidth()))));
-        pane.setBackground(new Background(new BackgroundFill(tile.getBackgroundColor(), new CornerRadii(PREFERRED_WIDTH * 0.025), Insets.EMPTY)));
+        pane.setBorder(DecorationCache.getBorder(tile.getBorderColor(), PREFERRED_WIDTH * 0.025, tile.getBorderWidth()));
+        pane.setBackground(DecorationCache.getBackground(tile.getBackgroundColor(), PREFERRED_WIDTH * 0.025));
 
         getChildren().setAll(pane);
     }
@@ -142,37 +151,88 @@ public class TileSkin extends SkinBase<Tile> implements Skin<Tile> {
     @Override protected double computeMaxWidth(final double HEIGHT, final double TOP, final double RIGHT, final double BOTTOM, final double LEFT)  { return MAXIMUM_WIDTH; }
     @Override protected double computeMaxHeight(final double WIDTH, final double TOP, final double RIGHT, final double BOTTOM, final double LEFT)  { return MAXIMUM_HEIGHT; }
 
+    @Override protected void layoutChildren(final double X, final double Y, final double WIDTH, final double HEIGHT) {
+        super.layoutChildren(X, Y, WIDTH, HEIGHT);
+        // The AnimationTimer of the RenderScheduler already ran in this pulse, layout a new size now to not show one stale frame
+        if ((dirtyFlags & Dirty.LAYOUT.mask) != 0) { RenderScheduler.renderNow(this); }
+    }
+
     protected Pane getPane() { return pane; }
 
-    protected void handleEvents(final String EVENT_TYPE) {
-        if ("RESIZE".equals(EVENT_TYPE)) {
-            resize();
-            redraw();
-        } else if ("REDRAW".equals(EVENT_TYPE)) {
-            redraw();
-        } else if ("RECALC".equals(EVENT_TYPE)) {
-            minValue          = tile.getMinValue();
-            maxValue          = tile.getMaxValue();
-            range             = tile.getRange();
-            threshold         = tile.getThreshold();
-            stepSize          = size / range;
-            angleRange        = clamp(90.0, 180.0, tile.getAngleRange());
-            angleStep         = angleRange / range;
-            highlightSections = tile.isHighlightSections();
-            redraw();
-            handleCurrentValue(tile.getCurrentValue());
-        } else if ("SECTION".equals(EVENT_TYPE)) {
-            sections = tile.getSections();
+    /**
+     * Adds the given types to the types of tile events that will be passed
+     * to handleEvents(). Events of all other types will be dropped in the
+     * listener without any further dispatching. RESIZE, REDRAW, RECALC and
+     * SECTION events will always be handled.
+     * @param EVENT_TYPES
+     */
+    protected void subscribe(final EventType... EVENT_TYPES) { Collections.addAll(eventTypes, EVENT_TYPES); }
+
+    protected void handleEvents(final EventType EVENT_TYPE) {
+        switch(EVENT_TYPE) {
+            case RESIZE:
+                markDirty(Dirty.LAYOUT);
+                break;
+            case REDRAW:
+                markDirty(Dirty.STYLE);
+                break;
+            case VISIBILITY:
+                markDirty(Dirty.STATIC_TEXT);
+                break;
+            case RECALC:
+                minValue          = tile.getMinValue();
+                maxValue          = tile.getMaxValue();
+                range             = tile.getRange();
+                threshold         = tile.getThreshold();
+                stepSize          = size / range;
+                angleRange        = clamp(90.0, 180.0, tile.getAngleRange());
+                angleStep         = angleRange / range;
+                highlightSections = tile.isHighlightSections();
+                markDirty(Dirty.STYLE);
+                markDirty(Dirty.VALUE);
+                break;
+            case SECTION:
+                sections = tile.getSections();
+                break;
+            default:
+                break;
         }
     }
 
+    /**
+     * Marks this skin as dirty in the given category. The skin will be
+     * rendered once in the next pulse by the RenderScheduler, no matter
+     * how often it was marked dirty before.
+     * @param DIRTY
+     */
+    protected void markDirty(final Dirty DIRTY) { RenderScheduler.markDirty(this, DIRTY); }
+
+    void render(final int DIRTY_FLAGS) {
+        if (null == tile) return;
+        boolean layout = (DIRTY_FLAGS & Dirty.LAYOUT.mask) != 0;
+        if (layout) { resize(); }
+        if (layout || (DIRTY_FLAGS & Dirty.STYLE.mask) != 0) { redraw(); }
+        if (!layout && (DIRTY_FLAGS & Dirty.STATIC_TEXT.mask) != 0) { resizeStaticText(); }
+        if ((DIRTY_FLAGS & Dirty.VALUE.mask) != 0) { handleCurrentValue(tile.getCurrentValue()); }
+        if (!layout && (DIRTY_FLAGS & Dirty.DATA.mask) != 0) { layoutData(); }
+    }
+
     protected void handleCurrentValue(final double VALUE) {}
 
+    /**
+     * Will be called by the RenderScheduler once per pulse if the skin was
+     * marked dirty with Dirty.DATA, e.g. to reposition the items of a chart
+     * after their order changed. A resize() replaces this call because it
+     * has to layout the data anyway.
+     */
+    protected void layoutData() {}
+
     @Override public void dispose() {
         tile.widthProperty().removeListener(sizeListener);
         tile.heightProperty().removeListener(sizeListener);
         tile.removeTileEventListener(tileEventListener);
         tile.currentValueProperty().removeListener(currentValueListener);
+        RenderScheduler.cancel(this);
         tile = null;
     }
     
@@ -202,8 +262,12 @@ public class TileSkin extends SkinBase<Tile> implements Skin<Tile> {
     }
 
     protected void redraw() {
-        pane.setBorder(new Border(new BorderStroke(tile.getBorderColor(), BorderStrokeStyle.SOLID, tile.getRoundedCorners() ? new CornerRadii(clamp(0, Double.MAX_VALUE, size * 0.025)) : CornerRadii.EMPTY, new BorderWidths(clamp(0, Double.MAX_VALUE, tile.getBorderWidth() / PREFERRED_WIDTH * size)))));
-        pane.setBackground(new Background(new BackgroundFill(tile.getBackgroundColor(), tile.getRoundedCorners() ? new CornerRadii(clamp(0, Double.MAX_VALUE, size * 0.025)) : CornerRadii.EMPTY, Insets.EMPTY)));
+        double     radius     = tile.getRoundedCorners() ? clamp(0, Double.MAX_VALUE, size * 0.025) : 0;
+        Border     border     = DecorationCache.getBorder(tile.getBorderColor(), radius, clamp(0, Double.MAX_VALUE, tile.getBorderWidth() / PREFERRED_WIDTH * size));
+        Background background = DecorationCache.getBackground(tile.getBackgroundColor(), radius);
+        // Only set if changed to avoid invalidating the css and geometry of the pane
+        if (pane.getBorder() != border) { pane.setBorder(border); }
+        if (pane.getBackground() != background) { pane.setBackground(background); }
 
         locale          = tile.getLocale();
         formatString    = new StringBuilder("%.").append(Integer.toString(tile.getDecimals())).append("f").toString();
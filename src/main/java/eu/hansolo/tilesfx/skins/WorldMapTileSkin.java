@@ -20,14 +20,25 @@ import eu.hansolo.tilesfx.Country;
 import eu.hansolo.tilesfx.CountryPath;
 import eu.hansolo.tilesfx.Tile;
 import eu.hansolo.tilesfx.Tile.TextSize;
+import eu.hansolo.tilesfx.events.TileEvent.EventType;
 import eu.hansolo.tilesfx.fonts.Fonts;
+import eu.hansolo.tilesfx.tools.CountryGeometry;
+import eu.hansolo.tilesfx.tools.CountryGeometryStore;
 import eu.hansolo.tilesfx.tools.Helper;
+import javafx.event.EventHandler;
+import javafx.geometry.Point2D;
 import javafx.scene.CacheHint;
 import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -36,15 +47,36 @@ import static eu.hansolo.tilesfx.tools.Helper.clamp;
 
 /**
  * Created by hansolo on 19.12.16.
+ *
+ * Supports two render modes. By default every country path is a separate
+ * node. If canvasMapEnabled is set on the tile the countries are rendered
+ * on a canvas, the resolution (lowres/highres) is chosen by the rendered
+ * size and a redraw will only repaint the countries whose color changed.
  */
 public class WorldMapTileSkin extends TileSkin {
-    protected static final double                         PREFERRED_WIDTH  = 500; //380; //510;
-    protected static final double                         PREFERRED_HEIGHT = 250;
+    protected static final double                         PREFERRED_WIDTH   = 500; //380; //510;
+    protected static final double                         PREFERRED_HEIGHT  = 250;
+    private   static final double                         MAP_WIDTH         = 1009;
+    private   static final double                         MAP_HEIGHT        = 665;
+    private   static final double                         HIRES_THRESHOLD   = 0.65;
+    private   static final double                         MAX_DIRTY_RATIO   = 0.25;
     private                Text                           titleText;
     private                Text                           text;
     private                Pane                           worldPane;
     private                Group                          group;
     private                Map<String, List<CountryPath>> countryPaths;
+    private                Canvas                         canvas;
+    private                GraphicsContext                ctx;
+    private                boolean                        canvasMode;
+    private                CountryGeometryStore           geometryStore;
+    private                Map<String, Color>             drawnColors;
+    private                Map<String, Country>           countries;
+    private                Color                          drawnStroke;
+    private                double                         mapScaleX;
+    private                double                         mapScaleY;
+    private                Tooltip                        canvasTooltip;
+    private                Country                        hoveredCountry;
+    private                EventHandler<MouseEvent>       mouseHandler;
 
 
     public WorldMapTileSkin(final Tile TILE) {
@@ -54,7 +86,9 @@ public class WorldMapTileSkin extends TileSkin {
     // ******************** Initialization ************************************
     @Override protected void initGraphics() {
         super.initGraphics();
-        countryPaths = tile.getCountryPaths();
+        subscribe(EventType.VISIBILITY);
+        drawnColors = new HashMap<>();
+        countries   = new HashMap<>();
 
         titleText = new Text();
         titleText.setFill(tile.getTitleColor());
@@ -64,52 +98,234 @@ public class WorldMapTileSkin extends TileSkin {
         text.setFill(tile.getUnitColor());
         Helper.enableNode(text, tile.isTextVisible());
 
-        Color fill   = tile.getForegroundColor();
-        Color stroke = tile.getBackgroundColor();
-
         worldPane = new Pane();
-        group     = new Group();
-
-        countryPaths.forEach((name, pathList) -> {
-            Country country = Country.valueOf(name);
-            pathList.forEach(path -> {
-                path.setFill(null == country.getColor() ? fill : country.getColor());
-                path.setStroke(stroke);
-                path.setStrokeWidth(0.2);
-            });
-            worldPane.getChildren().addAll(pathList);
-        });
-        group = new Group(worldPane);
-
-        getPane().getChildren().addAll(group, titleText, text);
+        group     = new Group(worldPane);
+
+        canvas = new Canvas(PREFERRED_WIDTH, PREFERRED_HEIGHT);
+        ctx    = canvas.getGraphicsContext2D();
+
+        canvasTooltip = new Tooltip();
+        mouseHandler  = e -> {
+            Country country = getCountryAt(canvas.getLayoutX() + e.getX(), canvas.getLayoutY() + e.getY());
+            if (MouseEvent.MOUSE_CLICKED == e.getEventType()) {
+                if (null != country) { tile.setCountry(country); }
+            } else if (country != hoveredCountry) {
+                hoveredCountry = country;
+                if (null == country) {
+                    Tooltip.uninstall(canvas, canvasTooltip);
+                } else {
+                    canvasTooltip.setText(country.getDisplayName());
+                    Tooltip.install(canvas, canvasTooltip);
+                }
+            }
+        };
+
+        canvasMode = !tile.isCanvasMapEnabled();
+        updateRenderMode();
+
+        getPane().getChildren().addAll(group, canvas, titleText, text);
     }
 
     @Override protected void registerListeners() {
         super.registerListeners();
+        canvas.addEventHandler(MouseEvent.MOUSE_MOVED, mouseHandler);
+        canvas.addEventHandler(MouseEvent.MOUSE_CLICKED, mouseHandler);
     }
 
 
     // ******************** Methods *******************************************
-    @Override protected void handleEvents(final String EVENT_TYPE) {
+    @Override protected void handleEvents(final EventType EVENT_TYPE) {
         super.handleEvents(EVENT_TYPE);
 
-        if ("VISIBILITY".equals(EVENT_TYPE)) {
+        if (EventType.VISIBILITY == EVENT_TYPE) {
             Helper.enableNode(titleText, !tile.getTitle().isEmpty());
             Helper.enableNode(text, tile.isTextVisible());
         }
     }
 
+    /**
+     * Returns the country at the given position (in the coordinates of the
+     * tile content) or null if there is none. The lookup uses the spatial
+     * index of the geometry instead of picking the nodes.
+     * @param X
+     * @param Y
+     * @return the country at the given position or null
+     */
+    public Country getCountryAt(final double X, final double Y) {
+        Point2D point = toMapCoordinates(X, Y);
+        if (null == point) return null;
+        CountryGeometry geometry = getGeometryStore().getSpatialIndex().getGeometryAt(point.getX(), point.getY());
+        return null == geometry ? null : getCountry(geometry.getName());
+    }
+
+    /**
+     * Returns all countries whose bounds intersect the given rectangle (in
+     * the coordinates of the tile content), e.g. the visible viewport.
+     * @param X
+     * @param Y
+     * @param WIDTH
+     * @param HEIGHT
+     * @return all countries whose bounds intersect the given rectangle
+     */
+    public List<Country> getCountriesIn(final double X, final double Y, final double WIDTH, final double HEIGHT) {
+        List<Country> result      = new ArrayList<>();
+        Point2D       topLeft     = toMapCoordinates(X, Y);
+        Point2D       bottomRight = toMapCoordinates(X + WIDTH, Y + HEIGHT);
+        if (null == topLeft || null == bottomRight) return result;
+        for (CountryGeometry geometry : getGeometryStore().getSpatialIndex().getGeometriesIn(topLeft.getX(), topLeft.getY(), bottomRight.getX(), bottomRight.getY())) {
+            Country country = getCountry(geometry.getName());
+            if (null != country) { result.add(country); }
+        }
+        return result;
+    }
+
+    private Point2D toMapCoordinates(final double X, final double Y) {
+        if (canvasMode) {
+            if (mapScaleX <= 0 || mapScaleY <= 0) return null;
+            return new Point2D((X - canvas.getLayoutX()) / mapScaleX, (Y - canvas.getLayoutY()) / mapScaleY);
+        }
+        return worldPane.parentToLocal(group.parentToLocal(X, Y));
+    }
+
+    private CountryGeometryStore getGeometryStore() {
+        // The nodes are created from the low resolution geometry
+        return canvasMode && null != geometryStore ? geometryStore : CountryGeometryStore.LOWRES;
+    }
+
+    @Override public void dispose() {
+        canvas.removeEventHandler(MouseEvent.MOUSE_MOVED, mouseHandler);
+        canvas.removeEventHandler(MouseEvent.MOUSE_CLICKED, mouseHandler);
+        super.dispose();
+    }
+
+    private void updateRenderMode() {
+        if (canvasMode == tile.isCanvasMapEnabled()) return;
+        canvasMode = tile.isCanvasMapEnabled();
+        if (canvasMode) {
+            worldPane.getChildren().clear();
+            countryPaths = null;
+        } else {
+            countryPaths = tile.getCountryPaths();
+            countryPaths.forEach((name, pathList) -> {
+                pathList.forEach(path -> path.setStrokeWidth(0.2));
+                worldPane.getChildren().addAll(pathList);
+            });
+            drawnColors.clear();
+            drawnStroke   = null;
+            geometryStore = null;
+            setFillAndStroke();
+            hoveredCountry = null;
+            Tooltip.uninstall(canvas, canvasTooltip);
+        }
+        Helper.enableNode(group, !canvasMode);
+        Helper.enableNode(canvas, canvasMode);
+    }
+
+    /**
+     * Updates fill and stroke of the country paths but only touches the
+     * paths of the countries whose color changed since the last update.
+     */
     private void setFillAndStroke() {
-        countryPaths.keySet().forEach(name -> {
-            Country country = Country.valueOf(name);
-            setCountryFillAndStroke(country, null == country.getColor() ? tile.getForegroundColor() : country.getColor(), tile.getBackgroundColor());
+        Color stroke = tile.getBackgroundColor();
+        if (!stroke.equals(drawnStroke)) {
+            countryPaths.values().forEach(pathList -> pathList.forEach(path -> path.setStroke(stroke)));
+            drawnStroke = stroke;
+        }
+        countryPaths.forEach((name, pathList) -> {
+            Color fill = getFill(name);
+            if (fill.equals(drawnColors.get(name))) return;
+            pathList.forEach(path -> path.setFill(fill));
+            drawnColors.put(name, fill);
         });
     }
-    private void setCountryFillAndStroke(final Country COUNTRY, final Color FILL, final Color STROKE) {
-        List<CountryPath> paths = countryPaths.get(COUNTRY.getName());
-        for (CountryPath path : paths) {
-            path.setFill(FILL);
-            path.setStroke(STROKE);
+
+    private Country getCountry(final String NAME) {
+        if (!countries.containsKey(NAME)) {
+            Country country;
+            try {
+                country = Country.valueOf(NAME);
+            } catch (IllegalArgumentException exception) {
+                country = null;
+            }
+            countries.put(NAME, country);
+        }
+        return countries.get(NAME);
+    }
+
+    private Color getFill(final String NAME) {
+        Country country = getCountry(NAME);
+        return null == country || null == country.getColor() ? tile.getForegroundColor() : country.getColor();
+    }
+
+    private void drawMap() {
+        ctx.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        if (null == geometryStore) return;
+        drawnColors.clear();
+        drawnStroke = tile.getBackgroundColor();
+        ctx.save();
+        ctx.scale(mapScaleX, mapScaleY);
+        ctx.setStroke(drawnStroke);
+        ctx.setLineWidth(0.2);
+        for (CountryGeometry geometry : geometryStore.getAll().values()) { drawCountry(geometry); }
+        ctx.restore();
+    }
+
+    /**
+     * Repaints only the countries whose color changed since they have been
+     * drawn. The area of each changed country will be cleared and all
+     * countries that intersect this area will be painted again (clipped to
+     * the area) to keep the borders of the neighbours intact.
+     */
+    private void drawChangedCountries() {
+        if (null == geometryStore) return;
+        if (!tile.getBackgroundColor().equals(drawnStroke)) {
+            drawMap();
+            return;
+        }
+        Map<String, CountryGeometry> geometries = geometryStore.getAll();
+        List<CountryGeometry>        changed    = new ArrayList<>();
+        for (CountryGeometry geometry : geometries.values()) {
+            if (!getFill(geometry.getName()).equals(drawnColors.get(geometry.getName()))) { changed.add(geometry); }
+        }
+        if (changed.isEmpty()) return;
+        if (changed.size() > geometries.size() * MAX_DIRTY_RATIO) {
+            drawMap();
+            return;
+        }
+        double margin = 1 / Math.min(mapScaleX, mapScaleY);
+        for (CountryGeometry geometry : changed) {
+            double minX = geometry.getMinX() - margin;
+            double minY = geometry.getMinY() - margin;
+            double maxX = geometry.getMaxX() + margin;
+            double maxY = geometry.getMaxY() + margin;
+            ctx.save();
+            ctx.scale(mapScaleX, mapScaleY);
+            ctx.beginPath();
+            ctx.rect(minX, minY, maxX - minX, maxY - minY);
+            ctx.clip();
+            ctx.clearRect(minX, minY, maxX - minX, maxY - minY);
+            ctx.setStroke(drawnStroke);
+            ctx.setLineWidth(0.2);
+            for (CountryGeometry neighbour : geometryStore.getSpatialIndex().getGeometriesIn(minX, minY, maxX, maxY)) { drawCountry(neighbour); }
+            ctx.restore();
+        }
+    }
+
+    private void drawCountry(final CountryGeometry GEOMETRY) {
+        Color fill = getFill(GEOMETRY.getName());
+        drawnColors.put(GEOMETRY.getName(), fill);
+        ctx.setFill(fill);
+        for (int path = 0 ; path < GEOMETRY.getNoOfPaths() ; path++) {
+            ctx.beginPath();
+            for (int ring = GEOMETRY.getFirstRingOfPath(path) ; ring <= GEOMETRY.getLastRingOfPath(path) ; ring++) {
+                int first = GEOMETRY.getFirstPointOfRing(ring);
+                int last  = GEOMETRY.getLastPointOfRing(ring);
+                ctx.moveTo(GEOMETRY.getX(first), GEOMETRY.getY(first));
+                for (int point = first + 1 ; point <= last ; point++) { ctx.lineTo(GEOMETRY.getX(point), GEOMETRY.getY(point)); }
+                ctx.closePath();
+            }
+            ctx.fill();
+            ctx.stroke();
         }
     }
 
@@ -159,6 +375,22 @@ public class WorldMapTileSkin extends TileSkin {
             double worldMapHeight = clamp(0, containerWidth * 0.65906838, containerHeight);
             double worldMapWidth  = clamp(0, width, containerHeight / 0.65906838);
 
+            updateRenderMode();
+            if (canvasMode) {
+                double factor       = TextSize.NORMAL == textSize ? 1.0 : 0.95;
+                double canvasWidth  = worldMapWidth * factor;
+                double canvasHeight = worldMapHeight * factor;
+                canvas.setWidth(canvasWidth);
+                canvas.setHeight(canvasHeight);
+                canvas.relocate((width - canvasWidth) * 0.5, (height - canvasHeight) * 0.5);
+                mapScaleX = canvasWidth / MAP_WIDTH;
+                mapScaleY = canvasHeight / MAP_HEIGHT;
+                // Level of detail: the low resolution geometry gets visibly coarse above ~0.65 device pixels per map unit
+                geometryStore = mapScaleX * Helper.getOutputScale(tile) > HIRES_THRESHOLD ? CountryGeometryStore.HIRES : CountryGeometryStore.LOWRES;
+                drawMap();
+                return;
+            }
+
             worldPane.setCache(true);
             worldPane.setCacheHint(CacheHint.SCALE);
 
@@ -181,5 +413,11 @@ public class WorldMapTileSkin extends TileSkin {
 
         titleText.setFill(tile.getTitleColor());
         text.setFill(tile.getTextColor());
+
+        if (canvasMode) {
+            drawChangedCountries();
+        } else {
+            setFillAndStroke();
+        }
     }
 }
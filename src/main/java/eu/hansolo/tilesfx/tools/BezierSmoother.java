@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import java.util.Arrays;
+
+
+/**
+ * Computes the control points of an open ended Bezier spline through a
+ * given list of points (one cubic curve per segment). The tridiagonal
+ * system is solved with the Thomas algorithm on preallocated buffers, so
+ * after the first call no memory is allocated as long as the number of
+ * points doesn't grow.
+ * The input of the last call is kept and only the part of the spline that
+ * is affected by changed points will be recomputed, e.g. if a point is
+ * appended only the tail of the spline has to be solved again because the
+ * influence of a point decays by a factor of ~0.27 per segment.
+ */
+public class BezierSmoother {
+    private static final double   EPSILON = 1e-9;
+    private              double[] pointsX;
+    private              double[] pointsY;
+    private              int      noOfPoints;
+    private              double[] denominators;
+    private              double[] forwardX;
+    private              double[] forwardY;
+    private              double[] controlX1;
+    private              double[] controlY1;
+    private              double[] controlX2;
+    private              double[] controlY2;
+
+
+    // ******************** Constructors **************************************
+    public BezierSmoother() {
+        this(16);
+    }
+    public BezierSmoother(final int INITIAL_CAPACITY) {
+        int capacity = Math.max(2, INITIAL_CAPACITY);
+        pointsX      = new double[capacity];
+        pointsY      = new double[capacity];
+        denominators = new double[capacity];
+        forwardX     = new double[capacity];
+        forwardY     = new double[capacity];
+        controlX1    = new double[capacity];
+        controlY1    = new double[capacity];
+        controlX2    = new double[capacity];
+        controlY2    = new double[capacity];
+        noOfPoints   = 0;
+        denominators[0] = 2;
+        for (int i = 1 ; i < capacity ; i++) { denominators[i] = 4 - 1 / denominators[i - 1]; }
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Computes the control points for the given points and returns the index
+     * of the first segment whose control points or end point changed since
+     * the last call (getNoOfSegments() if nothing changed).
+     * @param X x coordinates of the points
+     * @param Y y coordinates of the points
+     * @param LENGTH number of points that should be used
+     * @return the index of the first segment that changed
+     */
+    public int smooth(final double[] X, final double[] Y, final int LENGTH) {
+        int oldNoOfPoints = noOfPoints;
+        int firstChanged  = 0;
+        int minLength     = Math.min(LENGTH, oldNoOfPoints);
+        while (firstChanged < minLength && X[firstChanged] == pointsX[firstChanged] && Y[firstChanged] == pointsY[firstChanged]) { firstChanged++; }
+        if (firstChanged == LENGTH && LENGTH == oldNoOfPoints) { return getNoOfSegments(); }
+
+        ensureCapacity(LENGTH);
+        System.arraycopy(X, firstChanged, pointsX, firstChanged, LENGTH - firstChanged);
+        System.arraycopy(Y, firstChanged, pointsY, firstChanged, LENGTH - firstChanged);
+        noOfPoints = LENGTH;
+
+        int n = LENGTH - 1;
+        if (n < 1) return 0;
+        if (n == 1) {
+            // Special case: Bezier curve should be a straight line
+            controlX1[0] = (2 * pointsX[0] + pointsX[1]) / 3;
+            controlY1[0] = (2 * pointsY[0] + pointsY[1]) / 3;
+            controlX2[0] = 2 * controlX1[0] - pointsX[0];
+            controlY2[0] = 2 * controlY1[0] - pointsY[0];
+            return 0;
+        }
+
+        // Row i of the system depends on point i and i + 1, the last row of the old system has a different form
+        int firstRow = Math.max(0, firstChanged - 1);
+        if (LENGTH != oldNoOfPoints) { firstRow = Math.max(0, Math.min(firstRow, Math.min(LENGTH, oldNoOfPoints) - 2)); }
+        if (oldNoOfPoints < 3) { firstRow = 0; }
+
+        // Decomposition and forward substitution
+        for (int i = firstRow ; i < n ; i++) {
+            double rhsX;
+            double rhsY;
+            double denominator;
+            if (i == 0) {
+                rhsX        = pointsX[0] + 2 * pointsX[1];
+                rhsY        = pointsY[0] + 2 * pointsY[1];
+                denominator = denominators[0];
+            } else if (i < n - 1) {
+                rhsX        = 4 * pointsX[i] + 2 * pointsX[i + 1];
+                rhsY        = 4 * pointsY[i] + 2 * pointsY[i + 1];
+                denominator = denominators[i];
+            } else {
+                rhsX        = (8 * pointsX[n - 1] + pointsX[n]) / 2.0;
+                rhsY        = (8 * pointsY[n - 1] + pointsY[n]) / 2.0;
+                denominator = 3.5 - 1 / denominators[i - 1];
+            }
+            forwardX[i] = (i == 0 ? rhsX : rhsX - forwardX[i - 1]) / denominator;
+            forwardY[i] = (i == 0 ? rhsY : rhsY - forwardY[i - 1]) / denominator;
+        }
+
+        // Back substitution, stops below the first changed row as soon as the solution doesn't change anymore
+        controlX1[n - 1] = forwardX[n - 1];
+        controlY1[n - 1] = forwardY[n - 1];
+        int firstChangedSegment = n - 1;
+        for (int i = n - 2 ; i >= 0 ; i--) {
+            double x = forwardX[i] - controlX1[i + 1] / denominators[i];
+            double y = forwardY[i] - controlY1[i + 1] / denominators[i];
+            if (i < firstRow && Math.abs(x - controlX1[i]) < EPSILON && Math.abs(y - controlY1[i]) < EPSILON) { break; }
+            controlX1[i] = x;
+            controlY1[i] = y;
+            firstChangedSegment = i;
+        }
+
+        // Second control points depend on the first control point of the next segment
+        int firstSegment = Math.max(0, Math.min(firstChangedSegment, firstChanged) - 1);
+        for (int i = firstSegment ; i < n ; i++) {
+            if (i < n - 1) {
+                controlX2[i] = 2 * pointsX[i + 1] - controlX1[i + 1];
+                controlY2[i] = 2 * pointsY[i + 1] - controlY1[i + 1];
+            } else {
+                controlX2[i] = (pointsX[n] + controlX1[n - 1]) / 2;
+                controlY2[i] = (pointsY[n] + controlY1[n - 1]) / 2;
+            }
+        }
+        return firstSegment;
+    }
+
+    /**
+     * Forgets the points of the last call, the next call of smooth() will
+     * compute the whole spline.
+     */
+    public void reset() { noOfPoints = 0; }
+
+    public int getNoOfPoints() { return noOfPoints; }
+
+    public int getNoOfSegments() { return Math.max(0, noOfPoints - 1); }
+
+    public double getX(final int POINT) { return pointsX[POINT]; }
+    public double getY(final int POINT) { return pointsY[POINT]; }
+
+    public double getControlX1(final int SEGMENT) { return controlX1[SEGMENT]; }
+    public double getControlY1(final int SEGMENT) { return controlY1[SEGMENT]; }
+    public double getControlX2(final int SEGMENT) { return controlX2[SEGMENT]; }
+    public double getControlY2(final int SEGMENT) { return controlY2[SEGMENT]; }
+
+    private void ensureCapacity(final int CAPACITY) {
+        if (CAPACITY <= pointsX.length) return;
+        int oldCapacity = pointsX.length;
+        int capacity    = Math.max(CAPACITY, oldCapacity * 2);
+        pointsX      = Arrays.copyOf(pointsX, capacity);
+        pointsY      = Arrays.copyOf(pointsY, capacity);
+        denominators = Arrays.copyOf(denominators, capacity);
+        forwardX     = Arrays.copyOf(forwardX, capacity);
+        forwardY     = Arrays.copyOf(forwardY, capacity);
+        controlX1    = Arrays.copyOf(controlX1, capacity);
+        controlY1    = Arrays.copyOf(controlY1, capacity);
+        controlX2    = Arrays.copyOf(controlX2, capacity);
+        controlY2    = Arrays.copyOf(controlY2, capacity);
+        for (int i = oldCapacity ; i < capacity ; i++) { denominators[i] = 4 - 1 / denominators[i - 1]; }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import eu.hansolo.tilesfx.CountryPath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Immutable and shareable geometry of a country. The outline is stored as
+ * interleaved x/y float coordinates in absolute world map coordinates.
+ * A country consists of one or more paths (each one will be rendered as a
+ * separate CountryPath) and each path consists of one or more closed rings.
+ * Because the geometry contains no nodes it can be used by any number of
+ * tiles at the same time, each tile creates its own nodes via createPaths().
+ */
+public class CountryGeometry {
+    private final String  name;
+    private final float[] coordinates;
+    private final int[]   ringOffsets;
+    private final int[]   pathOffsets;
+    private final double  minX;
+    private final double  minY;
+    private final double  maxX;
+    private final double  maxY;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * @param NAME the name of the country (ISO 3166 alpha-2 code)
+     * @param COORDINATES interleaved x/y coordinates of all points
+     * @param RING_OFFSETS index of the first point of each ring plus the number of points as last entry
+     * @param PATH_OFFSETS index of the first ring of each path plus the number of rings as last entry
+     */
+    CountryGeometry(final String NAME, final float[] COORDINATES, final int[] RING_OFFSETS, final int[] PATH_OFFSETS) {
+        name        = NAME;
+        coordinates = COORDINATES;
+        ringOffsets = RING_OFFSETS;
+        pathOffsets = PATH_OFFSETS;
+
+        double x0 = Double.MAX_VALUE;
+        double y0 = Double.MAX_VALUE;
+        double x1 = -Double.MAX_VALUE;
+        double y1 = -Double.MAX_VALUE;
+        for (int i = 0 ; i < COORDINATES.length ; i += 2) {
+            x0 = Math.min(x0, COORDINATES[i]);
+            y0 = Math.min(y0, COORDINATES[i + 1]);
+            x1 = Math.max(x1, COORDINATES[i]);
+            y1 = Math.max(y1, COORDINATES[i + 1]);
+        }
+        boolean isEmpty = COORDINATES.length == 0;
+        minX = isEmpty ? 0 : x0;
+        minY = isEmpty ? 0 : y0;
+        maxX = isEmpty ? 0 : x1;
+        maxY = isEmpty ? 0 : y1;
+    }
+
+
+    // ******************** Methods *******************************************
+    public String getName() { return name; }
+
+    public int getNoOfPaths() { return pathOffsets.length - 1; }
+
+    public int getNoOfRings() { return ringOffsets.length - 1; }
+
+    public int getNoOfPoints() { return coordinates.length / 2; }
+
+    public int getFirstRingOfPath(final int PATH) { return pathOffsets[PATH]; }
+    public int getLastRingOfPath(final int PATH) { return pathOffsets[PATH + 1] - 1; }
+
+    public int getFirstPointOfRing(final int RING) { return ringOffsets[RING]; }
+    public int getLastPointOfRing(final int RING) { return ringOffsets[RING + 1] - 1; }
+
+    public double getX(final int POINT) { return coordinates[POINT * 2]; }
+    public double getY(final int POINT) { return coordinates[POINT * 2 + 1]; }
+
+    public double getMinX() { return minX; }
+    public double getMinY() { return minY; }
+    public double getMaxX() { return maxX; }
+    public double getMaxY() { return maxY; }
+
+    public double getWidth() { return maxX - minX; }
+    public double getHeight() { return maxY - minY; }
+
+    /**
+     * Returns true if the given point lies within the geometry by using the
+     * non-zero winding rule for each path (same as SVGPath).
+     * @param X
+     * @param Y
+     * @return true if the given point lies within the geometry
+     */
+    public boolean contains(final double X, final double Y) {
+        if (X < minX || X > maxX || Y < minY || Y > maxY) return false;
+        for (int path = 0 ; path < getNoOfPaths() ; path++) {
+            int winding = 0;
+            for (int ring = pathOffsets[path] ; ring < pathOffsets[path + 1] ; ring++) {
+                int first = ringOffsets[ring];
+                int last  = ringOffsets[ring + 1] - 1;
+                for (int i = first, j = last ; i <= last ; j = i++) {
+                    double xi = coordinates[i * 2];
+                    double yi = coordinates[i * 2 + 1];
+                    double xj = coordinates[j * 2];
+                    double yj = coordinates[j * 2 + 1];
+                    if (yj <= Y) {
+                        if (yi > Y && isLeft(xj, yj, xi, yi, X, Y) > 0) { winding++; }
+                    } else {
+                        if (yi <= Y && isLeft(xj, yj, xi, yi, X, Y) < 0) { winding--; }
+                    }
+                }
+            }
+            if (winding != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the svg path content of the given path (e.g. M1,2L3,4L5,6z)
+     * @param PATH
+     * @return the svg path content of the given path
+     */
+    public String getSvgContent(final int PATH) {
+        StringBuilder content = new StringBuilder();
+        for (int ring = pathOffsets[PATH] ; ring < pathOffsets[PATH + 1] ; ring++) {
+            for (int point = ringOffsets[ring] ; point < ringOffsets[ring + 1] ; point++) {
+                content.append(point == ringOffsets[ring] ? 'M' : 'L')
+                       .append(coordinates[point * 2]).append(',')
+                       .append(coordinates[point * 2 + 1]);
+            }
+            content.append('z');
+        }
+        return content.toString();
+    }
+
+    /**
+     * Creates new CountryPath nodes for this geometry. Nodes can only be part
+     * of one scene graph which is the reason why every caller will get it's
+     * own nodes.
+     * @return new CountryPath nodes for this geometry
+     */
+    public List<CountryPath> createPaths() {
+        List<CountryPath> paths = new ArrayList<>(getNoOfPaths());
+        for (int path = 0 ; path < getNoOfPaths() ; path++) { paths.add(new CountryPath(name, getSvgContent(path))); }
+        return paths;
+    }
+
+    private static double isLeft(final double X0, final double Y0, final double X1, final double Y1, final double X, final double Y) {
+        return (X1 - X0) * (Y - Y0) - (X - X0) * (Y1 - Y0);
+    }
+
+    @Override public String toString() {
+        return new StringBuilder().append("{\n")
+                                  .append("  \"name\":\"").append(name).append("\",\n")
+                                  .append("  \"paths\":").append(getNoOfPaths()).append(",\n")
+                                  .append("  \"points\":").append(getNoOfPoints()).append(",\n")
+                                  .append("  \"bounds\":").append(Arrays.toString(new double[] { minX, minY, maxX, maxY })).append("\n")
+                                  .append("}")
+                                  .toString();
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Lazy loading store for the country geometries of the world map. On first
+ * access the properties file will be read once and indexed (name -> offset
+ * and length of the path data). The path data of a country will only be
+ * parsed when it is requested and the resulting CountryGeometry will be
+ * cached and shared by all callers. The raw file content is only softly
+ * referenced and will be dropped after all countries have been parsed.
+ */
+public class CountryGeometryStore {
+    public  static final CountryGeometryStore         LOWRES = new CountryGeometryStore("eu/hansolo/tilesfx/lowres.properties");
+    public  static final CountryGeometryStore         HIRES  = new CountryGeometryStore("eu/hansolo/tilesfx/highres.properties");
+    private        final String                       fileName;
+    private              Map<String, int[]>           index;
+    private        final Map<String, CountryGeometry> geometries;
+    private              SoftReference<byte[]>        data;
+    private              CountryIndex                 spatialIndex;
+
+
+    // ******************** Constructors **************************************
+    private CountryGeometryStore(final String FILE_NAME) {
+        fileName   = FILE_NAME;
+        geometries = new HashMap<>();
+        data       = new SoftReference<>(null);
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the names of all countries (in the order of the file)
+     * @return the names of all countries
+     */
+    public synchronized Set<String> getNames() { return getOffsetIndex().keySet(); }
+
+    public synchronized boolean contains(final String NAME) { return getOffsetIndex().containsKey(NAME); }
+
+    /**
+     * Returns the geometry of the given country or null if the country
+     * is not available. The geometry will be parsed on first access.
+     * @param NAME the name of the country (ISO 3166 alpha-2 code)
+     * @return the geometry of the given country or null if not available
+     */
+    public synchronized CountryGeometry get(final String NAME) {
+        CountryGeometry geometry = geometries.get(NAME);
+        if (null != geometry) return geometry;
+
+        int[] entry = getOffsetIndex().get(NAME);
+        if (null == entry) return null;
+
+        geometry = CountryGeometryParser.parse(NAME, getData(), entry[0], entry[1]);
+        geometries.put(NAME, geometry);
+        if (geometries.size() == index.size()) { data.clear(); }
+        return geometry;
+    }
+
+    /**
+     * Returns the geometries of all countries (in the order of the file)
+     * @return the geometries of all countries
+     */
+    public synchronized Map<String, CountryGeometry> getAll() {
+        Map<String, CountryGeometry> all = new LinkedHashMap<>(getOffsetIndex().size());
+        for (String name : index.keySet()) { all.put(name, get(name)); }
+        return Collections.unmodifiableMap(all);
+    }
+
+    /**
+     * Returns a spatial index over all geometries of the store which can be
+     * used for hit-testing and viewport queries. The index will be created
+     * on first access and is shared.
+     * @return a spatial index over all geometries of the store
+     */
+    public synchronized CountryIndex getSpatialIndex() {
+        if (null == spatialIndex) { spatialIndex = new CountryIndex(getAll().values()); }
+        return spatialIndex;
+    }
+
+    /**
+     * Removes all parsed geometries from the store. They will be parsed
+     * again on the next access.
+     */
+    public synchronized void clear() {
+        geometries.clear();
+        data.clear();
+        spatialIndex = null;
+    }
+
+    private Map<String, int[]> getOffsetIndex() {
+        if (null == index) {
+            byte[]             bytes = getData();
+            Map<String, int[]> map   = new LinkedHashMap<>(256);
+            int lineStart = 0;
+            while (lineStart < bytes.length) {
+                int lineEnd = lineStart;
+                while (lineEnd < bytes.length && bytes[lineEnd] != '\n' && bytes[lineEnd] != '\r') { lineEnd++; }
+                if (lineEnd > lineStart && bytes[lineStart] != '#' && bytes[lineStart] != '!') {
+                    int separator = lineStart;
+                    while (separator < lineEnd && bytes[separator] != '=') { separator++; }
+                    if (separator < lineEnd) {
+                        String name = new String(bytes, lineStart, separator - lineStart).trim();
+                        map.put(name, new int[] { separator + 1, lineEnd - separator - 1 });
+                    }
+                }
+                lineStart = lineEnd + 1;
+            }
+            index = map;
+        }
+        return index;
+    }
+
+    private byte[] getData() {
+        byte[] bytes = data.get();
+        if (null == bytes) {
+            bytes = readResource(fileName);
+            data  = new SoftReference<>(bytes);
+        }
+        return bytes;
+    }
+
+    private static byte[] readResource(final String FILE_NAME) {
+        final ClassLoader LOADER = Thread.currentThread().getContextClassLoader();
+        try(InputStream resourceStream = LOADER.getResourceAsStream(FILE_NAME)) {
+            if (null == resourceStream) return new byte[0];
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 16);
+            byte[]                chunk  = new byte[1 << 14];
+            int                   read;
+            while ((read = resourceStream.read(chunk)) != -1) { buffer.write(chunk, 0, read); }
+            return buffer.toByteArray();
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            return new byte[0];
+        }
+    }
+
+
+    // ******************** Inner Classes *************************************
+    /**
+     * Parses the svg path data used in the properties files (M, L, H, V, Z
+     * in absolute and relative form, paths separated by ;) directly from the
+     * bytes without creating intermediate strings.
+     */
+    private static class CountryGeometryParser {
+        private final byte[]  bytes;
+        private final int     end;
+        private       int     pos;
+        private       float[] coordinates = new float[256];
+        private       int     noOfCoordinates;
+        private       int[]   ringOffsets = new int[16];
+        private       int     noOfRings;
+        private       int[]   pathOffsets = new int[4];
+        private       int     noOfPaths;
+
+
+        private CountryGeometryParser(final byte[] BYTES, final int OFFSET, final int LENGTH) {
+            bytes = BYTES;
+            pos   = OFFSET;
+            end   = OFFSET + LENGTH;
+        }
+
+
+        static CountryGeometry parse(final String NAME, final byte[] BYTES, final int OFFSET, final int LENGTH) {
+            return new CountryGeometryParser(BYTES, OFFSET, LENGTH).parse(NAME);
+        }
+
+        private CountryGeometry parse(final String NAME) {
+            double  x         = 0;
+            double  y         = 0;
+            double  startX    = 0;
+            double  startY    = 0;
+            int     ringStart = 0;
+            char    command   = 0;
+            boolean pathOpen  = false;
+
+            while (true) {
+                skipSeparators();
+                if (pos >= end || bytes[pos] == ';') {
+                    ringStart = closeRing(ringStart);
+                    if (pathOpen) {
+                        noOfPaths++;
+                        pathOffsets = add(pathOffsets, noOfPaths, noOfRings);
+                    }
+                    pathOpen = false;
+                    if (pos >= end) break;
+                    pos++;
+                    continue;
+                }
+                byte b = bytes[pos];
+                if (isCommand(b)) {
+                    command = (char) b;
+                    pos++;
+                    if (command == 'z' || command == 'Z') {
+                        ringStart = closeRing(ringStart);
+                        x = startX;
+                        y = startY;
+                    }
+                    continue;
+                }
+                if (!isNumberStart(b)) { pos++; continue; } // skip unknown characters
+                switch(command) {
+                    case 'M':
+                    case 'm':
+                        ringStart = closeRing(ringStart);
+                        if (!pathOpen) {
+                            pathOffsets = add(pathOffsets, noOfPaths, noOfRings);
+                            pathOpen    = true;
+                        }
+                        x = command == 'm' ? x + readNumber() : readNumber();
+                        y = command == 'm' ? y + readNumber() : readNumber();
+                        startX = x;
+                        startY = y;
+                        // Subsequent coordinates of a moveTo are treated as lineTo
+                        command = command == 'm' ? 'l' : 'L';
+                        break;
+                    case 'L': x = readNumber();     y = readNumber();     break;
+                    case 'l': x += readNumber();    y += readNumber();    break;
+                    case 'H': x = readNumber();                            break;
+                    case 'h': x += readNumber();                           break;
+                    case 'V': y = readNumber();                            break;
+                    case 'v': y += readNumber();                           break;
+                    default : readNumber(); continue; // unsupported command, skip the value
+                }
+                addPoint(x, y);
+            }
+            int[] rings = Arrays.copyOf(ringOffsets, noOfRings + 1);
+            rings[noOfRings] = noOfCoordinates / 2;
+            return new CountryGeometry(NAME, Arrays.copyOf(coordinates, noOfCoordinates), rings, Arrays.copyOf(pathOffsets, noOfPaths + 1));
+        }
+
+        /**
+         * Finishes the current ring if it contains points and returns the
+         * index of the first point of the next ring.
+         */
+        private int closeRing(final int RING_START) {
+            int noOfPoints = noOfCoordinates / 2;
+            if (noOfPoints > RING_START) { ringOffsets = add(ringOffsets, noOfRings++, RING_START); }
+            return noOfPoints;
+        }
+
+        private void addPoint(final double X, final double Y) {
+            if (noOfCoordinates + 2 > coordinates.length) { coordinates = Arrays.copyOf(coordinates, coordinates.length * 2); }
+            coordinates[noOfCoordinates++] = (float) X;
+            coordinates[noOfCoordinates++] = (float) Y;
+        }
+
+        private void skipSeparators() {
+            while (pos < end && (bytes[pos] == ',' || bytes[pos] == ' ' || bytes[pos] == '\t')) { pos++; }
+        }
+
+        private double readNumber() {
+            skipSeparators();
+            boolean negative = false;
+            if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+')) { negative = bytes[pos++] == '-'; }
+            double value = 0;
+            while (pos < end && bytes[pos] >= '0' && bytes[pos] <= '9') { value = value * 10 + (bytes[pos++] - '0'); }
+            if (pos < end && bytes[pos] == '.') {
+                pos++;
+                double factor = 0.1;
+                while (pos < end && bytes[pos] >= '0' && bytes[pos] <= '9') {
+                    value  += (bytes[pos++] - '0') * factor;
+                    factor *= 0.1;
+                }
+            }
+            if (pos < end && (bytes[pos] == 'e' || bytes[pos] == 'E')) {
+                pos++;
+                boolean negativeExponent = false;
+                if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+')) { negativeExponent = bytes[pos++] == '-'; }
+                int exponent = 0;
+                while (pos < end && bytes[pos] >= '0' && bytes[pos] <= '9') { exponent = exponent * 10 + (bytes[pos++] - '0'); }
+                value *= Math.pow(10, negativeExponent ? -exponent : exponent);
+            }
+            return negative ? -value : value;
+        }
+
+        private static boolean isCommand(final byte B) {
+            switch(B) {
+                case 'M': case 'm': case 'L': case 'l': case 'H': case 'h': case 'V': case 'v': case 'Z': case 'z': return true;
+                default : return false;
+            }
+        }
+
+        private static boolean isNumberStart(final byte B) { return (B >= '0' && B <= '9') || B == '-' || B == '+' || B == '.'; }
+
+        private static int[] add(final int[] ARRAY, final int INDEX, final int VALUE) {
+            int[] array = INDEX < ARRAY.length ? ARRAY : Arrays.copyOf(ARRAY, Math.max(4, ARRAY.length * 2));
+            array[INDEX] = VALUE;
+            return array;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ * Immutable uniform grid index over the bounding boxes of country
+ * geometries. Every cell keeps the indices of the geometries whose bounds
+ * intersect the cell which makes point queries (hit-testing) and viewport
+ * queries independent of the number of countries. Results are returned in
+ * the order in which the geometries have been added (the paint order).
+ */
+public class CountryIndex {
+    private static final int               MAX_CELLS_PER_SIDE = 64;
+    private        final CountryGeometry[] geometries;
+    private        final int[][]           cells;
+    private        final int               columns;
+    private        final int               rows;
+    private        final double            minX;
+    private        final double            minY;
+    private        final double            maxX;
+    private        final double            maxY;
+    private        final double            cellWidth;
+    private        final double            cellHeight;
+
+
+    // ******************** Constructors **************************************
+    public CountryIndex(final Collection<CountryGeometry> GEOMETRIES) {
+        geometries = GEOMETRIES.toArray(new CountryGeometry[0]);
+
+        double x0 = Double.MAX_VALUE;
+        double y0 = Double.MAX_VALUE;
+        double x1 = -Double.MAX_VALUE;
+        double y1 = -Double.MAX_VALUE;
+        for (CountryGeometry geometry : geometries) {
+            if (geometry.getNoOfPoints() == 0) continue;
+            x0 = Math.min(x0, geometry.getMinX());
+            y0 = Math.min(y0, geometry.getMinY());
+            x1 = Math.max(x1, geometry.getMaxX());
+            y1 = Math.max(y1, geometry.getMaxY());
+        }
+        boolean isEmpty = x0 > x1;
+        minX       = isEmpty ? 0 : x0;
+        minY       = isEmpty ? 0 : y0;
+        maxX       = isEmpty ? 0 : x1;
+        maxY       = isEmpty ? 0 : y1;
+        columns    = isEmpty ? 1 : MAX_CELLS_PER_SIDE;
+        rows       = isEmpty ? 1 : Math.max(1, (int) Math.ceil(MAX_CELLS_PER_SIDE * (maxY - minY) / Math.max(1e-9, maxX - minX)));
+        cellWidth  = Math.max(1e-9, (maxX - minX) / columns);
+        cellHeight = Math.max(1e-9, (maxY - minY) / rows);
+
+        int[] counts = new int[columns * rows];
+        for (CountryGeometry geometry : geometries) {
+            if (geometry.getNoOfPoints() == 0) continue;
+            for (int row = row(geometry.getMinY()) ; row <= row(geometry.getMaxY()) ; row++) {
+                for (int column = column(geometry.getMinX()) ; column <= column(geometry.getMaxX()) ; column++) { counts[row * columns + column]++; }
+            }
+        }
+        cells = new int[columns * rows][];
+        for (int i = 0 ; i < cells.length ; i++) { cells[i] = new int[counts[i]]; }
+        Arrays.fill(counts, 0);
+        for (int i = 0 ; i < geometries.length ; i++) {
+            CountryGeometry geometry = geometries[i];
+            if (geometry.getNoOfPoints() == 0) continue;
+            for (int row = row(geometry.getMinY()) ; row <= row(geometry.getMaxY()) ; row++) {
+                for (int column = column(geometry.getMinX()) ; column <= column(geometry.getMaxX()) ; column++) {
+                    int cell = row * columns + column;
+                    cells[cell][counts[cell]++] = i;
+                }
+            }
+        }
+    }
+
+
+    // ******************** Methods *******************************************
+    public int getNoOfGeometries() { return geometries.length; }
+
+    /**
+     * Returns the geometry that contains the given point or null. If more
+     * than one geometry contains the point the one that has been painted
+     * last (the topmost) will be returned.
+     * @param X
+     * @param Y
+     * @return the geometry that contains the given point or null
+     */
+    public CountryGeometry getGeometryAt(final double X, final double Y) {
+        if (X < minX || X > maxX || Y < minY || Y > maxY) return null;
+        int[] candidates = cells[row(Y) * columns + column(X)];
+        for (int i = candidates.length - 1 ; i >= 0 ; i--) {
+            CountryGeometry geometry = geometries[candidates[i]];
+            if (geometry.contains(X, Y)) return geometry;
+        }
+        return null;
+    }
+
+    /**
+     * Returns all geometries whose bounds intersect the given rectangle in
+     * paint order.
+     * @param MIN_X
+     * @param MIN_Y
+     * @param MAX_X
+     * @param MAX_Y
+     * @return all geometries whose bounds intersect the given rectangle
+     */
+    public List<CountryGeometry> getGeometriesIn(final double MIN_X, final double MIN_Y, final double MAX_X, final double MAX_Y) {
+        List<CountryGeometry> result = new ArrayList<>();
+        if (MAX_X < minX || MIN_X > maxX || MAX_Y < minY || MIN_Y > maxY) return result;
+        BitSet found = new BitSet(geometries.length);
+        for (int row = row(MIN_Y) ; row <= row(MAX_Y) ; row++) {
+            for (int column = column(MIN_X) ; column <= column(MAX_X) ; column++) {
+                for (int index : cells[row * columns + column]) {
+                    if (found.get(index)) continue;
+                    CountryGeometry geometry = geometries[index];
+                    if (geometry.getMaxX() < MIN_X || geometry.getMinX() > MAX_X || geometry.getMaxY() < MIN_Y || geometry.getMinY() > MAX_Y) continue;
+                    found.set(index);
+                }
+            }
+        }
+        for (int index = found.nextSetBit(0) ; index >= 0 ; index = found.nextSetBit(index + 1)) { result.add(geometries[index]); }
+        return result;
+    }
+
+    private int column(final double X) { return Helper.clamp(0, columns - 1, (int) ((X - minX) / cellWidth)); }
+    private int row(final double Y) { return Helper.clamp(0, rows - 1, (int) ((Y - minY) / cellHeight)); }
+}
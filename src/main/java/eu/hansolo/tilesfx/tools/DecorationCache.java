@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import javafx.geometry.Insets;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.BorderStrokeStyle;
+import javafx.scene.layout.BorderWidths;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.paint.Color;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * Shared cache of the immutable Border and Background objects that are
+ * used by the skins. The objects are keyed by color, corner radii and
+ * border width so that skins with the same settings will get the same
+ * instance and setting it again on a region won't invalidate its CSS
+ * and geometry. The cache is limited to the MAX_ENTRIES least recently
+ * used entries.
+ */
+public class DecorationCache {
+    private static final int               MAX_ENTRIES = 512;
+    private static final Map<Key, Object>  CACHE       = new LinkedHashMap<Key, Object>(64, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(final Map.Entry<Key, Object> ELDEST) { return size() > MAX_ENTRIES; }
+    };
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns a solid Border with the given color, corner radius and width.
+     * A radius of 0 results in a border without rounded corners.
+     * @param COLOR
+     * @param RADIUS
+     * @param WIDTH
+     * @return a solid Border with the given color, corner radius and width
+     */
+    public static Border getBorder(final Color COLOR, final double RADIUS, final double WIDTH) {
+        final Key KEY = new Key(true, COLOR, RADIUS, RADIUS, RADIUS, RADIUS, WIDTH);
+        synchronized (CACHE) {
+            Border border = (Border) CACHE.get(KEY);
+            if (null == border) {
+                border = new Border(new BorderStroke(COLOR, BorderStrokeStyle.SOLID, createCornerRadii(RADIUS, RADIUS, RADIUS, RADIUS), new BorderWidths(WIDTH)));
+                CACHE.put(KEY, border);
+            }
+            return border;
+        }
+    }
+
+    /**
+     * Returns a Background filled with the given color and the given corner
+     * radius. A radius of 0 results in a background without rounded corners.
+     * @param COLOR
+     * @param RADIUS
+     * @return a Background filled with the given color and the given corner radius
+     */
+    public static Background getBackground(final Color COLOR, final double RADIUS) {
+        return getBackground(COLOR, RADIUS, RADIUS, RADIUS, RADIUS);
+    }
+    public static Background getBackground(final Color COLOR, final double TOP_LEFT, final double TOP_RIGHT, final double BOTTOM_RIGHT, final double BOTTOM_LEFT) {
+        final Key KEY = new Key(false, COLOR, TOP_LEFT, TOP_RIGHT, BOTTOM_RIGHT, BOTTOM_LEFT, 0);
+        synchronized (CACHE) {
+            Background background = (Background) CACHE.get(KEY);
+            if (null == background) {
+                background = new Background(new BackgroundFill(COLOR, createCornerRadii(TOP_LEFT, TOP_RIGHT, BOTTOM_RIGHT, BOTTOM_LEFT), Insets.EMPTY));
+                CACHE.put(KEY, background);
+            }
+            return background;
+        }
+    }
+
+    public static void clear() {
+        synchronized (CACHE) { CACHE.clear(); }
+    }
+
+    private static CornerRadii createCornerRadii(final double TOP_LEFT, final double TOP_RIGHT, final double BOTTOM_RIGHT, final double BOTTOM_LEFT) {
+        if (TOP_LEFT <= 0 && TOP_RIGHT <= 0 && BOTTOM_RIGHT <= 0 && BOTTOM_LEFT <= 0) return CornerRadii.EMPTY;
+        return new CornerRadii(Math.max(0, TOP_LEFT), Math.max(0, TOP_RIGHT), Math.max(0, BOTTOM_RIGHT), Math.max(0, BOTTOM_LEFT), false);
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private static final class Key {
+        private final boolean isBorder;
+        private final Color   color;
+        private final double  topLeft;
+        private final double  topRight;
+        private final double  bottomRight;
+        private final double  bottomLeft;
+        private final double  width;
+
+
+        Key(final boolean IS_BORDER, final Color COLOR, final double TOP_LEFT, final double TOP_RIGHT, final double BOTTOM_RIGHT, final double BOTTOM_LEFT, final double WIDTH) {
+            isBorder    = IS_BORDER;
+            color       = COLOR;
+            topLeft     = TOP_LEFT;
+            topRight    = TOP_RIGHT;
+            bottomRight = BOTTOM_RIGHT;
+            bottomLeft  = BOTTOM_LEFT;
+            width       = WIDTH;
+        }
+
+
+        @Override public boolean equals(final Object OBJECT) {
+            if (this == OBJECT) return true;
+            if (!(OBJECT instanceof Key)) return false;
+            Key key = (Key) OBJECT;
+            return isBorder == key.isBorder &&
+                   Double.compare(topLeft, key.topLeft) == 0 &&
+                   Double.compare(topRight, key.topRight) == 0 &&
+                   Double.compare(bottomRight, key.bottomRight) == 0 &&
+                   Double.compare(bottomLeft, key.bottomLeft) == 0 &&
+                   Double.compare(width, key.width) == 0 &&
+                   Objects.equals(color, key.color);
+        }
+
+        @Override public int hashCode() {
+            int result = Boolean.hashCode(isBorder);
+            result = 31 * result + Objects.hashCode(color);
+            result = 31 * result + Double.hashCode(topLeft);
+            result = 31 * result + Double.hashCode(topRight);
+            result = 31 * result + Double.hashCode(bottomRight);
+            result = 31 * result + Double.hashCode(bottomLeft);
+            result = 31 * result + Double.hashCode(width);
+            return result;
+        }
+    }
+}
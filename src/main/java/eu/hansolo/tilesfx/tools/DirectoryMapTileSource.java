@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+/**
+ * Loads the tiles from a local directory with the layout
+ * ROOT/{z}/{x}/{y}.EXTENSION as it is created by most tile downloaders.
+ */
+public class DirectoryMapTileSource implements MapTileSource {
+    private final Path   root;
+    private final String extension;
+    private final int    maxZoom;
+
+
+    // ******************** Constructors **************************************
+    public DirectoryMapTileSource(final Path ROOT) {
+        this(ROOT, "png", 19);
+    }
+    public DirectoryMapTileSource(final Path ROOT, final String EXTENSION, final int MAX_ZOOM) {
+        root      = ROOT;
+        extension = EXTENSION;
+        maxZoom   = MAX_ZOOM;
+    }
+
+
+    // ******************** Methods *******************************************
+    @Override public byte[] loadTile(final int ZOOM, final int X, final int Y) throws IOException {
+        Path file = root.resolve(Integer.toString(ZOOM)).resolve(Integer.toString(X)).resolve(Y + "." + extension);
+        return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+    }
+
+    @Override public String getName() { return root.getFileName().toString(); }
+
+    @Override public int getMaxZoom() { return maxZoom; }
+
+    @Override public boolean isCacheable() { return false; }
+}
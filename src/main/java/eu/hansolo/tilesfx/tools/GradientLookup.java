@@ -21,7 +21,6 @@ import javafx.scene.paint.Stop;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -29,9 +28,17 @@ import java.util.TreeMap;
 
 /**
  * Created by hansolo on 25.12.16.
+ *
+ * If a resolution > 1 is set the colors will be precomputed into a table
+ * of resolution entries whenever the stops change. The lookup is then only
+ * an array access without allocation at the cost of quantizing the
+ * position to 1 / (resolution - 1).
  */
 public class GradientLookup {
-    private Map<Double, Stop> stops;
+    public  static final int                   MAX_RESOLUTION = 65536;
+    private        final TreeMap<Double, Stop> stops;
+    private              int                   resolution;
+    private              Color[]               lookupTable;
 
 
     // ******************** Constructors **************************************
@@ -42,7 +49,15 @@ public class GradientLookup {
         this(Arrays.asList(STOPS));
     }
     public GradientLookup(final List<Stop> STOPS) {
-        stops = new TreeMap<>();
+        this(STOPS, 0);
+    }
+    /**
+     * @param STOPS
+     * @param RESOLUTION number of precomputed colors (e.g. 256 or 1024), 0 disables the lookup table
+     */
+    public GradientLookup(final List<Stop> STOPS, final int RESOLUTION) {
+        stops      = new TreeMap<>();
+        resolution = RESOLUTION <= 1 ? 0 : Helper.clamp(2, MAX_RESOLUTION, RESOLUTION);
         for (Stop stop : STOPS) { stops.put(stop.getOffset(), stop); }
         init();
     }
@@ -50,40 +65,55 @@ public class GradientLookup {
 
     // ******************** Initialization ************************************
     private void init() {
-        if (stops.isEmpty()) return;
+        if (!stops.isEmpty()) {
+            double minFraction = stops.firstKey();
+            double maxFraction = stops.lastKey();
 
-        double minFraction = Collections.min(stops.keySet());
-        double maxFraction = Collections.max(stops.keySet());
+            if (Double.compare(minFraction, 0) > 0) { stops.put(0.0, new Stop(0.0, stops.get(minFraction).getColor())); }
+            if (Double.compare(maxFraction, 1) < 0) { stops.put(1.0, new Stop(1.0, stops.get(maxFraction).getColor())); }
+        }
+        bakeLookupTable();
+    }
 
-        if (Double.compare(minFraction, 0) > 0) { stops.put(0.0, new Stop(0.0, stops.get(minFraction).getColor())); }
-        if (Double.compare(maxFraction, 1) < 0) { stops.put(1.0, new Stop(1.0, stops.get(maxFraction).getColor())); }
+    private void bakeLookupTable() {
+        if (resolution == 0 || stops.isEmpty()) {
+            lookupTable = null;
+            return;
+        }
+        lookupTable = new Color[resolution];
+        double step = 1.0 / (resolution - 1);
+        for (int i = 0 ; i < resolution ; i++) { lookupTable[i] = computeColorAt(i * step); }
     }
 
 
     // ******************** Methods *******************************************
     public Color getColorAt(final double POSITION_OF_COLOR) {
         if (stops.isEmpty()) return Color.BLACK;
-
         final double POSITION = Helper.clamp(0.0, 1.0, POSITION_OF_COLOR);
-        final Color COLOR;
-        if (stops.size() == 1) {
-            final Map<Double, Color> ONE_ENTRY = (Map<Double, Color>) stops.entrySet().iterator().next();
-            COLOR = stops.get(ONE_ENTRY.keySet().iterator().next()).getColor();
+        if (null != lookupTable) { return lookupTable[(int) (POSITION * (resolution - 1) + 0.5)]; }
+        return computeColorAt(POSITION);
+    }
+
+    /**
+     * Fills the given COLORS array with the colors at the given positions.
+     * Only min(POSITIONS.length, COLORS.length) entries will be filled.
+     * @param POSITIONS positions in the range of 0 - 1
+     * @param COLORS the array that will be filled with the colors
+     * @return the given COLORS array
+     */
+    public Color[] getColorsAt(final double[] POSITIONS, final Color[] COLORS) {
+        int length = Math.min(POSITIONS.length, COLORS.length);
+        if (null == lookupTable) {
+            for (int i = 0 ; i < length ; i++) { COLORS[i] = getColorAt(POSITIONS[i]); }
         } else {
-            Stop lowerBound = stops.get(0.0);
-            Stop upperBound = stops.get(1.0);
-            for (Double fraction : stops.keySet()) {
-                if (Double.compare(fraction,POSITION) < 0) {
-                    lowerBound = stops.get(fraction);
-                }
-                if (Double.compare(fraction, POSITION) > 0) {
-                    upperBound = stops.get(fraction);
-                    break;
-                }
+            final Color[] TABLE = lookupTable;
+            final int     MAX   = resolution - 1;
+            for (int i = 0 ; i < length ; i++) {
+                double position = POSITIONS[i];
+                COLORS[i] = TABLE[position <= 0 ? 0 : position >= 1 ? MAX : (int) (position * MAX + 0.5)];
             }
-            COLOR = interpolateColor(lowerBound, upperBound, POSITION);
         }
-        return COLOR;
+        return COLORS;
     }
 
     public List<Stop> getStops() { return new ArrayList<>(stops.values()); }
@@ -94,6 +124,33 @@ public class GradientLookup {
         init();
     }
 
+    /**
+     * Returns the number of precomputed colors or 0 if the colors will be
+     * computed on every call.
+     * @return the number of precomputed colors or 0
+     */
+    public int getResolution() { return resolution; }
+    /**
+     * Defines the number of precomputed colors (e.g. 256 or 1024). A value
+     * of 0 disables the lookup table and the colors will be computed on
+     * every call.
+     * @param RESOLUTION
+     */
+    public void setResolution(final int RESOLUTION) {
+        int newResolution = RESOLUTION <= 1 ? 0 : Helper.clamp(2, MAX_RESOLUTION, RESOLUTION);
+        if (newResolution == resolution) return;
+        resolution = newResolution;
+        bakeLookupTable();
+    }
+
+    private Color computeColorAt(final double POSITION) {
+        if (stops.size() == 1) { return stops.firstEntry().getValue().getColor(); }
+        Map.Entry<Double, Stop> lowerBound = stops.floorEntry(POSITION);
+        Map.Entry<Double, Stop> upperBound = stops.ceilingEntry(POSITION);
+        if (null == lowerBound) { return upperBound.getValue().getColor(); }
+        if (null == upperBound || Double.compare(lowerBound.getKey(), upperBound.getKey()) == 0) { return lowerBound.getValue().getColor(); }
+        return interpolateColor(lowerBound.getValue(), upperBound.getValue(), POSITION);
+    }
     private Color interpolateColor(final Stop LOWER_BOUND, final Stop UPPER_BOUND, final double POSITION) {
         final double POS  = (POSITION - LOWER_BOUND.getOffset()) / (UPPER_BOUND.getOffset() - LOWER_BOUND.getOffset());
 
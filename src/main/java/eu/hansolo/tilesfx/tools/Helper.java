@@ -24,9 +24,9 @@ import javafx.scene.control.Label;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
+import javafx.stage.Window;
 
-import java.io.IOException;
-import java.io.InputStream;
+import java.lang.reflect.Method;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.ArrayList;
@@ -34,7 +34,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Properties;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
 
@@ -43,10 +42,8 @@ import java.util.concurrent.ThreadFactory;
  * Created by hansolo on 11.12.15.
  */
 public class Helper {
-    private static final double                         EPSILON                  = 1E-6;
-    private static final String                         HIRES_COUNTRY_PROPERTIES = "eu/hansolo/tilesfx/highres.properties";
-    private static       Properties                     hiresCountryProperties;
-    private static       Map<String, List<CountryPath>> hiresCountryPaths;
+    private static final double EPSILON        = 1E-6;
+    private static final Method OUTPUT_SCALE_X = getWindowMethod("getOutputScaleX");
 
 
     public static final String[] TIME_0_TO_5       = {"1", "2", "3", "4", "5", "0"};
@@ -251,6 +248,32 @@ public class Helper {
         NODE.setScaleY(TARGET_HEIGHT / NODE.getLayoutBounds().getHeight());
     }
 
+    /**
+     * Returns the horizontal output scale (e.g. 2.0 on HiDPI displays) of
+     * the window that shows the given node or 1.0 if the node is not shown
+     * or the output scale is not available (JavaFX 8).
+     * @param NODE
+     * @return the horizontal output scale of the window that shows the given node
+     */
+    public static final double getOutputScale(final Node NODE) {
+        Window window = null == NODE.getScene() ? null : NODE.getScene().getWindow();
+        if (null == window || null == OUTPUT_SCALE_X) { return 1.0; }
+        try {
+            return Math.max(1.0, (Double) OUTPUT_SCALE_X.invoke(window));
+        } catch (ReflectiveOperationException e) {
+            return 1.0;
+        }
+    }
+
+    private static Method getWindowMethod(final String NAME) {
+        // Window.getOutputScaleX() only exists since JavaFX 9
+        try {
+            return Window.class.getMethod(NAME);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
     public static final String normalize(final String TEXT) {
         String normalized = TEXT.replaceAll("\u00fc", "ue")
                                 .replaceAll("\u00f6", "oe")
@@ -279,28 +302,27 @@ public class Helper {
         return Color.color(COLOR.getRed(), COLOR.getGreen(), COLOR.getBlue(), OPACITY);
     }
 
+    /**
+     * Returns new CountryPath nodes for all countries in high resolution.
+     * The geometry is shared but the nodes are created for every call
+     * because nodes can only be part of one scene graph. If you only need
+     * one country use getHiresCountryPaths(NAME) instead.
+     * @return new CountryPath nodes for all countries in high resolution
+     */
     public static Map<String, List<CountryPath>> getHiresCountryPaths() {
-        if (null == hiresCountryProperties) { hiresCountryProperties = readProperties(HIRES_COUNTRY_PROPERTIES); }
-        if (null == hiresCountryPaths) {
-            hiresCountryPaths = new HashMap<>();
-            hiresCountryProperties.forEach((key, value) -> {
-                String            name     = key.toString();
-                List<CountryPath> pathList = new ArrayList<>();
-                for (String path : value.toString().split(";")) { pathList.add(new CountryPath(name, path)); }
-                hiresCountryPaths.put(name, pathList);
-            });
-        }
+        Map<String, List<CountryPath>> hiresCountryPaths = new HashMap<>();
+        CountryGeometryStore.HIRES.getAll().forEach((name, geometry) -> hiresCountryPaths.put(name, geometry.createPaths()));
         return hiresCountryPaths;
     }
-    private static Properties readProperties(final String FILE_NAME) {
-        final ClassLoader LOADER     = Thread.currentThread().getContextClassLoader();
-        final Properties  PROPERTIES = new Properties();
-        try(InputStream resourceStream = LOADER.getResourceAsStream(FILE_NAME)) {
-            PROPERTIES.load(resourceStream);
-        } catch (IOException exception) {
-            exception.printStackTrace();
-        }
-        return PROPERTIES;
+    /**
+     * Returns new CountryPath nodes for the given country in high resolution.
+     * Only the geometry of the given country will be parsed.
+     * @param NAME the name of the country (ISO 3166 alpha-2 code)
+     * @return new CountryPath nodes for the given country in high resolution
+     */
+    public static List<CountryPath> getHiresCountryPaths(final String NAME) {
+        CountryGeometry geometry = CountryGeometryStore.HIRES.get(NAME);
+        return null == geometry ? new ArrayList<>() : geometry.createPaths();
     }
 
     public static void drawRoundedRect(final GraphicsContext CTX, final CtxBounds BOUNDS, final CtxCornerRadii RADII) {
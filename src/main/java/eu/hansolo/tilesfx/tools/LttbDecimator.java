@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.hansolo.tilesfx.tools;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling of equidistant values for
+ * line charts. The values between the first and the last value are split
+ * into THRESHOLD - 2 buckets and from each bucket the value that forms the
+ * largest triangle with the previously selected value and the average of
+ * the next bucket will be kept. In comparison to the min/max decimation the
+ * number of points is exactly THRESHOLD and the shape of the line will be
+ * preserved better, but single spikes might get lost.
+ */
+public class LttbDecimator {
+
+    // ******************** Methods *******************************************
+    /**
+     * Writes the indices of the values that should be drawn into INDICES and
+     * returns the number of indices. If LENGTH is not larger than THRESHOLD
+     * all indices will be returned.
+     * @param VALUES the values
+     * @param LENGTH the number of values that should be used
+     * @param THRESHOLD the number of values that should be kept (e.g. the width in pixels), min 3
+     * @param INDICES array that will be filled with the indices, needs a length of at least min(LENGTH, THRESHOLD)
+     * @return the number of indices
+     */
+    public static int decimate(final double[] VALUES, final int LENGTH, final int THRESHOLD, final int[] INDICES) {
+        if (LENGTH <= 0) return 0;
+        int threshold = Math.max(3, THRESHOLD);
+        if (LENGTH <= threshold) {
+            for (int i = 0 ; i < LENGTH ; i++) { INDICES[i] = i; }
+            return LENGTH;
+        }
+
+        double bucketSize = (double) (LENGTH - 2) / (threshold - 2);
+        int    count      = 0;
+        int    a          = 0;
+        INDICES[count++] = 0;
+        for (int bucket = 0 ; bucket < threshold - 2 ; bucket++) {
+            // Average of the next bucket (the last value for the last bucket)
+            int    avgStart = (int) ((bucket + 1) * bucketSize) + 1;
+            int    avgEnd   = Math.min((int) ((bucket + 2) * bucketSize) + 1, LENGTH);
+            double avgX     = (avgStart + avgEnd - 1) * 0.5;
+            double avgY     = 0;
+            for (int i = avgStart ; i < avgEnd ; i++) { avgY += VALUES[i]; }
+            avgY /= (avgEnd - avgStart);
+
+            // Value of the current bucket that forms the largest triangle
+            int    start   = (int) (bucket * bucketSize) + 1;
+            int    end     = (int) ((bucket + 1) * bucketSize) + 1;
+            double ax      = a;
+            double ay      = VALUES[a];
+            double maxArea = -1;
+            int    next    = start;
+            for (int i = start ; i < end ; i++) {
+                double area = Math.abs((ax - avgX) * (VALUES[i] - ay) - (ax - i) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next    = i;
+                }
+            }
+            INDICES[count++] = next;
+            a = next;
+        }
+        INDICES[count++] = LENGTH - 1;
+        return count;
+    }
+}
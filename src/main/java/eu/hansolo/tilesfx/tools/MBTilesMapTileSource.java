@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+
+/**
+ * Loads the tiles from an MBTiles file, a SQLite database that stores the
+ * tiles in the TMS scheme. The file will be accessed with JDBC, which means
+ * a SQLite JDBC driver (e.g. org.xerial:sqlite-jdbc) has to be on the
+ * classpath, TilesFX itself doesn't depend on it.
+ */
+public class MBTilesMapTileSource implements MapTileSource, AutoCloseable {
+    private static final String            TILE_QUERY = "SELECT tile_data FROM tiles WHERE zoom_level = ? AND tile_column = ? AND tile_row = ?";
+    private        final Path              file;
+    private        final Connection        connection;
+    private        final PreparedStatement tileStatement;
+    private        final int               minZoom;
+    private        final int               maxZoom;
+
+
+    // ******************** Constructors **************************************
+    public MBTilesMapTileSource(final Path FILE) throws IOException {
+        file = FILE;
+        try {
+            connection    = DriverManager.getConnection("jdbc:sqlite:" + FILE.toAbsolutePath());
+            tileStatement = connection.prepareStatement(TILE_QUERY);
+            minZoom       = readZoom("minzoom", 0);
+            maxZoom       = readZoom("maxzoom", 19);
+        } catch (SQLException e) {
+            throw new IOException("Cannot open " + FILE + ", please make sure a SQLite JDBC driver is on the classpath", e);
+        }
+    }
+
+
+    // ******************** Methods *******************************************
+    @Override public synchronized byte[] loadTile(final int ZOOM, final int X, final int Y) throws IOException {
+        try {
+            tileStatement.setInt(1, ZOOM);
+            tileStatement.setInt(2, X);
+            tileStatement.setInt(3, (1 << ZOOM) - 1 - Y); // MBTiles uses the TMS scheme with the origin in the south west
+            try (ResultSet resultSet = tileStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getBytes(1) : null;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Loading tile " + ZOOM + "/" + X + "/" + Y + " from " + file + " failed", e);
+        }
+    }
+
+    @Override public String getName() { return file.getFileName().toString(); }
+
+    @Override public int getMinZoom() { return minZoom; }
+
+    @Override public int getMaxZoom() { return maxZoom; }
+
+    @Override public boolean isCacheable() { return false; }
+
+    @Override public synchronized void close() throws IOException {
+        try {
+            tileStatement.close();
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private int readZoom(final String NAME, final int DEFAULT_ZOOM) {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT value FROM metadata WHERE name = '" + NAME + "'")) {
+            return resultSet.next() ? Integer.parseInt(resultSet.getString(1).trim()) : DEFAULT_ZOOM;
+        } catch (SQLException | NumberFormatException e) {
+            return DEFAULT_ZOOM;
+        }
+    }
+}
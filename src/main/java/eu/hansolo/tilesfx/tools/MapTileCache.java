@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Caches the tiles of a MapTileSource. Decoded tiles are kept in a memory
+ * cache that is bounded by the number of tiles and evicts the least
+ * recently used tile. Tiles of cacheable sources will also be stored in a
+ * disk cache, so they are available offline and after a restart.
+ * The disk cache is bounded by its size in bytes, if it gets too large the
+ * least recently used tiles will be deleted.
+ * Missing tiles will be loaded by a small pool of daemon threads that is
+ * shared by all caches and the listeners will be notified on the FX
+ * application thread. Apart from the loading all methods have to be
+ * called on the FX application thread.
+ */
+public class MapTileCache {
+    public  static final int                               DEFAULT_MAX_TILES           = 256;
+    public  static final long                              DEFAULT_MAX_DISK_CACHE_SIZE = 256L * 1024 * 1024;
+    private static final int                               NO_OF_LOADERS               = 4;
+    private static final long                              RETRY_DELAY                 = 30_000;
+    private static final double                            DISK_CACHE_TRIM_FACTOR      = 0.8;
+    private static final Map<MapTileSource, MapTileCache>  CACHES                      = new IdentityHashMap<>();
+    private static final ExecutorService                   LOADER                      = Executors.newFixedThreadPool(NO_OF_LOADERS, Helper.getThreadFactory("MapTileLoader", true));
+    private        final MapTileSource                     source;
+    private        final Path                              diskCacheDir;
+    private        final long                              maxDiskCacheSize;
+    private        final Map<Long, Image>                  memoryCache;
+    private        final Set<Long>                         pendingTiles;
+    private        final Map<Long, Long>                   failedTiles;
+    private        final List<Runnable>                    listeners;
+    private              long                              diskCacheSize;
+    private              int                               noOfUsers;
+
+
+    // ******************** Constructors **************************************
+    /**
+     * Creates a cache for the given source.
+     * @param SOURCE
+     * @param MAX_TILES the maximum number of tiles that will be kept in memory
+     * @param DISK_CACHE_DIR the directory of the disk cache or null if the tiles should not be stored on disk
+     */
+    public MapTileCache(final MapTileSource SOURCE, final int MAX_TILES, final Path DISK_CACHE_DIR) {
+        this(SOURCE, MAX_TILES, DISK_CACHE_DIR, DEFAULT_MAX_DISK_CACHE_SIZE);
+    }
+    /**
+     * Creates a cache for the given source.
+     * @param SOURCE
+     * @param MAX_TILES the maximum number of tiles that will be kept in memory
+     * @param DISK_CACHE_DIR the directory of the disk cache or null if the tiles should not be stored on disk
+     * @param MAX_DISK_CACHE_SIZE the maximum size of the disk cache in bytes
+     */
+    public MapTileCache(final MapTileSource SOURCE, final int MAX_TILES, final Path DISK_CACHE_DIR, final long MAX_DISK_CACHE_SIZE) {
+        source           = SOURCE;
+        diskCacheDir     = SOURCE.isCacheable() ? DISK_CACHE_DIR : null;
+        maxDiskCacheSize = Math.max(0, MAX_DISK_CACHE_SIZE);
+        memoryCache      = new LinkedHashMap<Long, Image>(64, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(final Entry<Long, Image> ELDEST) { return size() > Math.max(1, MAX_TILES); }
+        };
+        pendingTiles     = new HashSet<>();
+        failedTiles      = new HashMap<>();
+        listeners        = new CopyOnWriteArrayList<>();
+        diskCacheSize    = -1;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the shared cache of the given source. The disk cache will be
+     * located in the directory defined by the system property
+     * tilesfx.tilecache.dir or in ~/.tilesfx/tiles.
+     * Every call has to be paired with a call of release() when the cache
+     * is not needed anymore.
+     * @param SOURCE
+     * @return the shared cache of the given source
+     */
+    public static synchronized MapTileCache get(final MapTileSource SOURCE) {
+        MapTileCache cache = CACHES.computeIfAbsent(SOURCE, source -> {
+            String root = System.getProperty("tilesfx.tilecache.dir", Paths.get(System.getProperty("user.home"), ".tilesfx", "tiles").toString());
+            return new MapTileCache(source, DEFAULT_MAX_TILES, Paths.get(root, source.getName().replaceAll("[^A-Za-z0-9._-]", "_")));
+        });
+        cache.noOfUsers++;
+        return cache;
+    }
+
+    /**
+     * Releases the shared cache of the given source that was obtained by
+     * get(). The cache will be removed when it was released by all its users.
+     * @param SOURCE
+     */
+    public static synchronized void release(final MapTileSource SOURCE) {
+        MapTileCache cache = CACHES.get(SOURCE);
+        if (null == cache || --cache.noOfUsers > 0) return;
+        CACHES.remove(SOURCE);
+    }
+
+    public MapTileSource getSource() { return source; }
+
+    /**
+     * Returns the tile if it is in the memory cache, otherwise the tile will
+     * be loaded in the background and null will be returned. The listeners
+     * will be notified as soon as the tile was loaded.
+     * @param ZOOM
+     * @param X
+     * @param Y
+     * @return the tile if it is in the memory cache or null
+     */
+    public Image getTile(final int ZOOM, final int X, final int Y) {
+        long  key   = key(ZOOM, X, Y);
+        Image image = memoryCache.get(key);
+        if (null != image || pendingTiles.contains(key)) { return image; }
+
+        Long failedAt = failedTiles.get(key);
+        if (null != failedAt && System.currentTimeMillis() - failedAt < RETRY_DELAY) { return null; }
+        if (ZOOM < source.getMinZoom() || ZOOM > source.getMaxZoom()) { return null; }
+
+        pendingTiles.add(key);
+        LOADER.execute(() -> {
+            Image loadedImage = null;
+            try {
+                loadedImage = load(ZOOM, X, Y);
+            } catch (RuntimeException e) {
+                // Report the failure without killing the loader thread, the tile will be retried later
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            } finally {
+                final Image IMAGE = loadedImage;
+                Platform.runLater(() -> onLoaded(key, IMAGE));
+            }
+        });
+        return null;
+    }
+
+    /**
+     * Returns the tile if it is in the memory cache without loading it.
+     * @param ZOOM
+     * @param X
+     * @param Y
+     * @return the tile if it is in the memory cache or null
+     */
+    public Image getCachedTile(final int ZOOM, final int X, final int Y) { return memoryCache.get(key(ZOOM, X, Y)); }
+
+    public void clearMemoryCache() {
+        memoryCache.clear();
+        failedTiles.clear();
+    }
+
+    /**
+     * Returns the maximum size of the disk cache in bytes.
+     * @return the maximum size of the disk cache in bytes
+     */
+    public long getMaxDiskCacheSize() { return maxDiskCacheSize; }
+
+    public void addListener(final Runnable LISTENER) { if (!listeners.contains(LISTENER)) listeners.add(LISTENER); }
+    public void removeListener(final Runnable LISTENER) { listeners.remove(LISTENER); }
+
+    private Image load(final int ZOOM, final int X, final int Y) {
+        try {
+            byte[] data = loadData(ZOOM, X, Y);
+            if (null == data) { return null; }
+            Image image = new Image(new ByteArrayInputStream(data));
+            return image.isError() ? null : image;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the encoded image of the given tile from the disk cache or
+     * loads it from the source and stores it in the disk cache.
+     * @param ZOOM
+     * @param X
+     * @param Y
+     * @return the encoded image of the given tile or null
+     * @throws IOException
+     */
+    byte[] loadData(final int ZOOM, final int X, final int Y) throws IOException {
+        Path   file = null == diskCacheDir ? null : diskCacheDir.resolve(Integer.toString(ZOOM)).resolve(Integer.toString(X)).resolve(Integer.toString(Y));
+        byte[] data = null != file && Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+        if (null != data) {
+            // The modification time marks the last access for the LRU eviction of the disk cache
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } else {
+            data = source.loadTile(ZOOM, X, Y);
+            if (null != data && null != file) { store(file, data); }
+        }
+        return data;
+    }
+
+    private void store(final Path FILE, final byte[] DATA) {
+        Path tmpFile = null;
+        try {
+            Files.createDirectories(FILE.getParent());
+            // Write to a temporary file first to never leave a partial tile in the cache
+            tmpFile = Files.createTempFile(FILE.getParent(), "tile", ".tmp");
+            Files.write(tmpFile, DATA);
+            try {
+                Files.move(tmpFile, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile, FILE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tmpFile = null;
+            addToDiskCacheSize(DATA.length);
+        } catch (IOException e) {
+            // The tile will simply be loaded from the source again next time
+        } finally {
+            if (null != tmpFile) {
+                try { Files.deleteIfExists(tmpFile); } catch (IOException e) { /* Nothing left to do */ }
+            }
+        }
+    }
+
+    /**
+     * Adds the given number of bytes to the size of the disk cache and
+     * deletes the least recently used tiles if the disk cache got too large.
+     * The size of the disk cache will be determined once when the first tile
+     * is stored.
+     * @param BYTES
+     */
+    private synchronized void addToDiskCacheSize(final long BYTES) {
+        if (diskCacheSize < 0) {
+            diskCacheSize = 0;
+            for (TileFile tileFile : listDiskCache()) { diskCacheSize += tileFile.size; }
+        } else {
+            diskCacheSize += BYTES;
+        }
+        if (diskCacheSize <= maxDiskCacheSize) return;
+
+        List<TileFile> tileFiles = listDiskCache();
+        tileFiles.sort(Comparator.comparingLong(tileFile -> tileFile.lastAccess));
+        diskCacheSize = 0;
+        for (TileFile tileFile : tileFiles) { diskCacheSize += tileFile.size; }
+        long targetSize = (long) (maxDiskCacheSize * DISK_CACHE_TRIM_FACTOR);
+        for (TileFile tileFile : tileFiles) {
+            if (diskCacheSize <= targetSize) break;
+            try {
+                Files.deleteIfExists(tileFile.path);
+                diskCacheSize -= tileFile.size;
+            } catch (IOException e) {
+                // The tile will be deleted with the next trim
+            }
+        }
+    }
+
+    private List<TileFile> listDiskCache() {
+        List<TileFile> tileFiles = new ArrayList<>();
+        if (null == diskCacheDir || !Files.isDirectory(diskCacheDir)) { return tileFiles; }
+        try {
+            Files.walkFileTree(diskCacheDir, new SimpleFileVisitor<Path>() {
+                @Override public FileVisitResult visitFile(final Path FILE, final BasicFileAttributes ATTRIBUTES) {
+                    tileFiles.add(new TileFile(FILE, ATTRIBUTES.size(), ATTRIBUTES.lastModifiedTime().toMillis()));
+                    return FileVisitResult.CONTINUE;
+                }
+                @Override public FileVisitResult visitFileFailed(final Path FILE, final IOException EXCEPTION) { return FileVisitResult.CONTINUE; }
+            });
+        } catch (IOException e) {
+            // Use the tiles that have been found so far
+        }
+        return tileFiles;
+    }
+
+    private void onLoaded(final long KEY, final Image IMAGE) {
+        pendingTiles.remove(KEY);
+        if (null == IMAGE) {
+            failedTiles.put(KEY, System.currentTimeMillis());
+            return;
+        }
+        failedTiles.remove(KEY);
+        memoryCache.put(KEY, IMAGE);
+        for (Runnable listener : listeners) { listener.run(); }
+    }
+
+    private static long key(final int ZOOM, final int X, final int Y) { return ((long) ZOOM << 58) | ((long) X << 29) | Y; }
+
+
+    // ******************** Inner Classes *************************************
+    private static class TileFile {
+        private final Path path;
+        private final long size;
+        private final long lastAccess;
+
+
+        TileFile(final Path PATH, final long SIZE, final long LAST_ACCESS) {
+            path       = PATH;
+            size       = SIZE;
+            lastAccess = LAST_ACCESS;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import java.io.IOException;
+
+
+/**
+ * A source of raster map tiles in the XYZ (slippy map) scheme where the
+ * tile 0/0 is in the north west corner of the map.
+ * Implementations have to be thread safe because tiles will be loaded
+ * by several background threads.
+ */
+public interface MapTileSource {
+
+    /**
+     * Returns the encoded image (e.g. png or jpg) of the given tile or null
+     * if the source doesn't contain the tile.
+     * @param ZOOM
+     * @param X
+     * @param Y
+     * @return the encoded image of the given tile or null
+     * @throws IOException
+     */
+    byte[] loadTile(final int ZOOM, final int X, final int Y) throws IOException;
+
+    /**
+     * Returns a name that identifies the source, e.g. as name of the
+     * directory in the disk cache.
+     * @return a name that identifies the source
+     */
+    String getName();
+
+    default int getMinZoom() { return 0; }
+
+    default int getMaxZoom() { return 19; }
+
+    /**
+     * Returns true if the tiles of this source should be stored in the
+     * disk cache. Local sources don't need a disk cache.
+     * @return true if the tiles should be stored in the disk cache
+     */
+    default boolean isCacheable() { return true; }
+}
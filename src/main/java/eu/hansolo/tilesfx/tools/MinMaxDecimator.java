@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+/**
+ * Min/max decimation of equidistant values for line charts. The values are
+ * split into a given number of columns (usually one per pixel) and only the
+ * minimum and the maximum of each column (in their original order) plus
+ * the first and the last value will be kept. The resulting line looks the
+ * same as the line through all values but the number of points is bounded
+ * by the number of columns.
+ */
+public class MinMaxDecimator {
+
+    // ******************** Methods *******************************************
+    /**
+     * Returns the max number of indices that decimate() will return for the
+     * given number of columns.
+     * @param NO_OF_COLUMNS
+     * @return the max number of indices for the given number of columns
+     */
+    public static int getMaxNoOfIndices(final int NO_OF_COLUMNS) { return 2 * Math.max(1, NO_OF_COLUMNS) + 2; }
+
+    /**
+     * Writes the indices of the values that should be drawn into INDICES and
+     * returns the number of indices. If LENGTH is not larger than twice the
+     * number of columns all indices will be returned.
+     * @param VALUES the values
+     * @param LENGTH the number of values that should be used
+     * @param NO_OF_COLUMNS the number of columns (e.g. the width in pixels)
+     * @param INDICES array that will be filled with the indices, needs a length of at least min(LENGTH, getMaxNoOfIndices(NO_OF_COLUMNS))
+     * @return the number of indices
+     */
+    public static int decimate(final double[] VALUES, final int LENGTH, final int NO_OF_COLUMNS, final int[] INDICES) {
+        if (LENGTH <= 0) return 0;
+        int columns = Math.max(1, NO_OF_COLUMNS);
+        if (LENGTH <= 2 * columns) {
+            for (int i = 0 ; i < LENGTH ; i++) { INDICES[i] = i; }
+            return LENGTH;
+        }
+
+        int count = 0;
+        INDICES[count++] = 0;
+        for (int column = 0 ; column < columns ; column++) {
+            int start = (int) ((long) column * LENGTH / columns);
+            int end   = (int) ((long) (column + 1) * LENGTH / columns);
+            if (start >= end) continue;
+            int minIndex = start;
+            int maxIndex = start;
+            for (int i = start + 1 ; i < end ; i++) {
+                if (VALUES[i] < VALUES[minIndex]) { minIndex = i; }
+                if (VALUES[i] > VALUES[maxIndex]) { maxIndex = i; }
+            }
+            int first  = Math.min(minIndex, maxIndex);
+            int second = Math.max(minIndex, maxIndex);
+            if (first > INDICES[count - 1]) { INDICES[count++] = first; }
+            if (second > INDICES[count - 1]) { INDICES[count++] = second; }
+        }
+        if (INDICES[count - 1] != LENGTH - 1) { INDICES[count++] = LENGTH - 1; }
+        return count;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+
+/**
+ * Deque of (sequence, value) pairs with monotonic values which makes it
+ * possible to get the min or max of a sliding window in O(1) amortized.
+ * The sequence is a running number of the added values and is used to
+ * evict the value that leaves the window.
+ */
+class MonotonicDeque {
+    private static final int      INITIAL_CAPACITY = 16;
+    private        final boolean  isMax;
+    private              long[]   sequences;
+    private              double[] values;
+    private              int      head;
+    private              int      size;
+
+
+    // ******************** Constructors **************************************
+    MonotonicDeque(final boolean IS_MAX) {
+        isMax     = IS_MAX;
+        sequences = new long[INITIAL_CAPACITY];
+        values    = new double[INITIAL_CAPACITY];
+    }
+
+
+    // ******************** Methods *******************************************
+    boolean isEmpty() { return size == 0; }
+
+    double peekValue() { return values[head]; }
+
+    void push(final long SEQUENCE, final double VALUE) {
+        while (size > 0) {
+            double last = values[(head + size - 1) % values.length];
+            if (isMax ? last <= VALUE : last >= VALUE) { size--; } else { break; }
+        }
+        if (size == values.length) {
+            long[]   newSequences = new long[values.length * 2];
+            double[] newValues    = new double[values.length * 2];
+            for (int i = 0 ; i < size ; i++) {
+                newSequences[i] = sequences[(head + i) % values.length];
+                newValues[i]    = values[(head + i) % values.length];
+            }
+            sequences = newSequences;
+            values    = newValues;
+            head      = 0;
+        }
+        int tail = (head + size) % values.length;
+        sequences[tail] = SEQUENCE;
+        values[tail]    = VALUE;
+        size++;
+    }
+
+    void evict(final long SEQUENCE) {
+        if (size > 0 && sequences[head] == SEQUENCE) {
+            head = (head + 1) % values.length;
+            size--;
+        }
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+}
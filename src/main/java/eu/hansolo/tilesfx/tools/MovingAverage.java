@@ -18,22 +18,40 @@ package eu.hansolo.tilesfx.tools;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.LinkedList;
+import java.util.AbstractQueue;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.stream.Collectors;
 
 
 /**
  * Created by hansolo on 01.11.16.
+ *
+ * The samples are stored in parallel primitive ring buffers (timestamps in
+ * milliseconds since epoch and values) that grow on demand up to the period.
+ * Average, variance, min, max and the last entry are available in O(1), the
+ * time based average needs a binary search over the timestamps.
  */
 public class MovingAverage {
-    public  static final int             MAX_PERIOD     = 2_073_600; // 24h in seconds
-    private static final int             DEFAULT_PERIOD = 10;
-    private        final Queue<TimeData> window;
+    public  static final int             MAX_PERIOD       = 2_073_600; // 24h in seconds
+    private static final int             DEFAULT_PERIOD   = 10;
+    private static final int             INITIAL_CAPACITY = 16;
+    private              long[]          timestamps;
+    private              double[]        values;
+    private              double[]        runningSums;
+    private              int             head;
+    private              int             size;
     private              int             period;
-    private              double          sum;
+    private              double          runningSum;
+    private              double          mean;
+    private              double          m2;
+    private              MonotonicDeque  minDeque;
+    private              MonotonicDeque  maxDeque;
+    private              long            sequence;
+    private              int             modCount;
+    private        final Queue<TimeData> window;
 
 
     // ******************** Constructors **************************************
@@ -41,64 +59,208 @@ public class MovingAverage {
         this(DEFAULT_PERIOD);
     }
     public MovingAverage(final int PERIOD) {
-        period         = Helper.clamp(0, MAX_PERIOD, PERIOD);
-        window         = new ConcurrentLinkedQueue<>();
+        period = Helper.clamp(0, MAX_PERIOD, PERIOD);
+        window = new WindowView();
+        reset();
     }
 
 
     // ******************** Methods *******************************************
-    public void addData(final TimeData DATA) {
-        sum += DATA.getValue();
-        window.add(DATA);
-        if (window.size() > period) {
-            sum -= window.remove().getValue();
-        }
-    }
-    public void addValue(final double VALUE) {
-        addData(new TimeData(VALUE));
-    }
+    public void addData(final TimeData DATA) { add(DATA.getEpochMillis(), DATA.getValue()); }
+    public void addValue(final double VALUE) { add(System.currentTimeMillis(), VALUE); }
     public void addListOfData(final List<TimeData> LIST_OF_DATA) {
         LIST_OF_DATA.forEach(data -> addData(data));
     }
-
-    public Queue<TimeData> getWindow() {
-        return window.stream()
-                     .map(item -> new TimeData(item.getValue(), item.getTimestamp()))
-                     .collect(Collectors.toCollection(LinkedList::new));
+    /**
+     * Adds the first LENGTH values of the given arrays to the moving average.
+     * Only the last period values will be added because all older values
+     * would be removed from the window anyway.
+     * @param VALUES
+     * @param EPOCH_MILLIS timestamps of the values in milliseconds since epoch
+     * @param LENGTH number of values that should be added
+     */
+    public synchronized void addData(final double[] VALUES, final long[] EPOCH_MILLIS, final int LENGTH) {
+        int start = Math.max(0, LENGTH - period);
+        for (int i = start ; i < LENGTH ; i++) { add(EPOCH_MILLIS[i], VALUES[i]); }
     }
 
-    public TimeData getFirstEntry() { return window.peek(); }
-    public TimeData getLastEntry() { return window.stream().reduce((first, second) -> second).orElse(null); }
+    /**
+     * Returns a read only view on the current window. The view is backed by
+     * the moving average which means changes of the moving average will be
+     * visible in the view. The TimeData objects will be created on access.
+     * @return a read only view on the current window
+     */
+    public Queue<TimeData> getWindow() { return window; }
+
+    public synchronized int getSize() { return size; }
+
+    public synchronized TimeData getFirstEntry() { return size == 0 ? null : entryAt(0); }
+    public synchronized TimeData getLastEntry() { return size == 0 ? null : entryAt(size - 1); }
 
-    public Instant getTimeSpan() {
-        TimeData firstEntry = getFirstEntry();
-        TimeData lastEntry  = getLastEntry();
-        if (null == firstEntry || null == lastEntry) return null;
-        return lastEntry.getTimestamp().minusSeconds(firstEntry.getTimestamp().getEpochSecond());
+    public synchronized double getLastValue() { return size == 0 ? 0 : values[slot(size - 1)]; }
+
+    public synchronized Instant getTimeSpan() {
+        if (size == 0) return null;
+        return Instant.ofEpochMilli(timestamps[slot(size - 1)] - timestamps[head]);
     }
 
-    public double getAverage() {
-        if (window.isEmpty()) return 0; // technically the average is undefined
-        return (sum / window.size());
+    public synchronized double getAverage() {
+        if (size == 0) return 0; // technically the average is undefined
+        return mean;
     }
 
-    public double getTimeBasedAverageOf(final Duration DURATION) {
+    /**
+     * Returns the population variance of the values in the window. The
+     * variance will be updated with Welford's algorithm on every add and
+     * eviction.
+     * @return the population variance of the values in the window
+     */
+    public synchronized double getVariance() { return size == 0 ? 0 : Math.max(0, m2 / size); }
+
+    public double getStdDev() { return Math.sqrt(getVariance()); }
+
+    public synchronized double getMin() { return minDeque.isEmpty() ? 0 : minDeque.peekValue(); }
+
+    public synchronized double getMax() { return maxDeque.isEmpty() ? 0 : maxDeque.peekValue(); }
+
+    /**
+     * Returns the average of all values that have been added within the
+     * given duration. Expects that the data was added in chronological order.
+     * @param DURATION
+     * @return the average of all values that have been added within the given duration
+     */
+    public synchronized double getTimeBasedAverageOf(final Duration DURATION) {
         assert !DURATION.isNegative() : "Time period must be positive";
-        Instant now     = Instant.now();
-        return window.stream()
-                     .filter(v -> v.getTimestamp().isAfter(now.minus(DURATION)))
-                     .mapToDouble(TimeData::getValue)
-                     .average()
-                     .getAsDouble();
+        if (size == 0) return 0;
+        long start = System.currentTimeMillis() - DURATION.toMillis();
+
+        // Binary search for the first entry that is after start
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timestamps[slot(mid)] > start) { hi = mid; } else { lo = mid + 1; }
+        }
+        if (lo == size) return 0;
+
+        int    first = slot(lo);
+        double sum   = runningSums[slot(size - 1)] - (runningSums[first] - values[first]);
+        return sum / (size - lo);
     }
 
-    public int getPeriod() { return period; }
-    public void setPeriod(final int PERIOD) {
+    public synchronized int getPeriod() { return period; }
+    public synchronized void setPeriod(final int PERIOD) {
         period = Helper.clamp(0, MAX_PERIOD, PERIOD);
         reset();
     }
 
-    public boolean isFilling() { return window.size() < period; }
+    public synchronized boolean isFilling() { return size < period; }
+
+    public synchronized void reset() {
+        int capacity = Math.min(INITIAL_CAPACITY, Math.max(1, period));
+        timestamps  = new long[capacity];
+        values      = new double[capacity];
+        runningSums = new double[capacity];
+        head        = 0;
+        size        = 0;
+        runningSum  = 0;
+        mean        = 0;
+        m2          = 0;
+        minDeque    = new MonotonicDeque(false);
+        maxDeque    = new MonotonicDeque(true);
+        sequence    = 0;
+        modCount++;
+    }
+
+    private synchronized void add(final long TIMESTAMP, final double VALUE) {
+        if (period == 0) return;
+        if (size == period) { evictFirst(); }
+        if (size == values.length) { grow(); }
 
-    public void reset() { window.clear(); }
+        int slot = slot(size);
+        runningSum       += VALUE;
+        timestamps[slot]  = TIMESTAMP;
+        values[slot]      = VALUE;
+        runningSums[slot] = runningSum;
+        size++;
+
+        double delta = VALUE - mean;
+        mean += delta / size;
+        m2   += delta * (VALUE - mean);
+
+        minDeque.push(sequence, VALUE);
+        maxDeque.push(sequence, VALUE);
+        sequence++;
+        modCount++;
+    }
+
+    private void evictFirst() {
+        double value = values[head];
+        head = (head + 1) % values.length;
+        size--;
+        if (size == 0) {
+            mean = 0;
+            m2   = 0;
+        } else {
+            double delta = value - mean;
+            mean -= delta / size;
+            m2   -= delta * (value - mean);
+        }
+        long evictedSequence = sequence - size - 1;
+        minDeque.evict(evictedSequence);
+        maxDeque.evict(evictedSequence);
+    }
+
+    private void grow() {
+        int      capacity       = Math.min(period, values.length * 2);
+        long[]   newTimestamps  = new long[capacity];
+        double[] newValues      = new double[capacity];
+        double[] newRunningSums = new double[capacity];
+        for (int i = 0 ; i < size ; i++) {
+            int slot = slot(i);
+            newTimestamps[i]  = timestamps[slot];
+            newValues[i]      = values[slot];
+            newRunningSums[i] = runningSums[slot];
+        }
+        timestamps  = newTimestamps;
+        values      = newValues;
+        runningSums = newRunningSums;
+        head        = 0;
+    }
+
+    private int slot(final int INDEX) { return (head + INDEX) % values.length; }
+
+    private TimeData entryAt(final int INDEX) {
+        int slot = slot(INDEX);
+        return new TimeData(values[slot], timestamps[slot]);
+    }
+
+
+    // ******************** Inner Classes *************************************
+    private class WindowView extends AbstractQueue<TimeData> {
+        @Override public Iterator<TimeData> iterator() {
+            return new Iterator<TimeData>() {
+                private final int expectedModCount = modCount;
+                private       int index;
+
+                @Override public boolean hasNext() { return index < getSize(); }
+
+                @Override public TimeData next() {
+                    synchronized (MovingAverage.this) {
+                        if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                        if (index >= size) throw new NoSuchElementException();
+                        return entryAt(index++);
+                    }
+                }
+            };
+        }
+
+        @Override public int size() { return getSize(); }
+
+        @Override public boolean offer(final TimeData DATA) { throw new UnsupportedOperationException("The averaging window is read only"); }
+
+        @Override public TimeData poll() { throw new UnsupportedOperationException("The averaging window is read only"); }
+
+        @Override public TimeData peek() { return getFirstEntry(); }
+    }
 }
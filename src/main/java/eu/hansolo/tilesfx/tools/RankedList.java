@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+
+/**
+ * Keeps items ordered by a double key in descending order (the item with
+ * the highest key has rank 0). The items are stored in an indexed skip list,
+ * so adding, removing and repositioning an item as well as the lookup of
+ * the rank of an item and of the item at a rank need O(log n). Items with
+ * the same key keep the order in which they got their key.
+ * The key of an item is stored in the list, so the item can be found even
+ * after its value changed. Repositioning an item reuses its node.
+ * Items are identified by identity and not by equals(), so two equal but
+ * distinct items are two entries in the list and the lookup methods only
+ * find the same instance that has been added. Keys must not be NaN.
+ * @param <T>
+ */
+public class RankedList<T> {
+    private static final int               MAX_LEVEL = 32;
+    private        final Node<T>           head;
+    private        final Map<T, Node<T>>   nodes;
+    private        final Node<T>[]         update;
+    private        final int[]             rank;
+    private              int               level;
+    private              int               size;
+    private              long              sequence;
+    private              long              seed;
+
+
+    // ******************** Constructors **************************************
+    public RankedList() {
+        head   = new Node<>(null, MAX_LEVEL);
+        nodes  = new IdentityHashMap<>();
+        update = newNodeArray(MAX_LEVEL);
+        rank   = new int[MAX_LEVEL];
+        level  = 1;
+        size   = 0;
+        seed   = System.nanoTime() | 1;
+    }
+
+
+    // ******************** Methods *******************************************
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public boolean contains(final T ITEM) { return nodes.containsKey(ITEM); }
+
+    /**
+     * Adds the given item with the given key or updates its key if it's
+     * already in the list.
+     * @param ITEM
+     * @param KEY
+     * @return the rank of the item
+     * @throws IllegalArgumentException if the key is NaN
+     */
+    public int add(final T ITEM, final double KEY) {
+        checkKey(KEY);
+        Node<T> node = nodes.get(ITEM);
+        if (null != node) { return update(ITEM, KEY); }
+        node = new Node<>(ITEM, randomLevel());
+        nodes.put(ITEM, node);
+        node.key      = KEY;
+        node.sequence = sequence++;
+        return insert(node);
+    }
+
+    /**
+     * Sets the key of the given item and moves it to its new rank. The
+     * item will be added if it's not in the list.
+     * @param ITEM
+     * @param KEY
+     * @return the new rank of the item
+     * @throws IllegalArgumentException if the key is NaN
+     */
+    public int update(final T ITEM, final double KEY) {
+        checkKey(KEY);
+        Node<T> node = nodes.get(ITEM);
+        if (null == node) { return add(ITEM, KEY); }
+        if (Double.compare(node.key, KEY) == 0) { return indexOf(node); }
+        unlink(node);
+        node.key      = KEY;
+        node.sequence = sequence++;
+        return insert(node);
+    }
+
+    /**
+     * Removes the given item from the list.
+     * @param ITEM
+     * @return the rank the item had or -1 if it was not in the list
+     */
+    public int remove(final T ITEM) {
+        Node<T> node = nodes.remove(ITEM);
+        return null == node ? -1 : unlink(node);
+    }
+
+    public void clear() {
+        for (int i = 0 ; i < MAX_LEVEL ; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        nodes.clear();
+        level = 1;
+        size  = 0;
+    }
+
+    /**
+     * Returns the rank of the given item or -1 if it is not in the list.
+     * @param ITEM
+     * @return the rank of the given item or -1
+     */
+    public int indexOf(final T ITEM) {
+        Node<T> node = nodes.get(ITEM);
+        return null == node ? -1 : indexOf(node);
+    }
+
+    /**
+     * Returns the key of the given item or NaN if it is not in the list.
+     * @param ITEM
+     * @return the key of the given item or NaN
+     */
+    public double getKey(final T ITEM) {
+        Node<T> node = nodes.get(ITEM);
+        return null == node ? Double.NaN : node.key;
+    }
+
+    /**
+     * Returns the item at the given rank.
+     * @param RANK
+     * @return the item at the given rank
+     */
+    public T get(final int RANK) {
+        if (RANK < 0 || RANK >= size) { throw new IndexOutOfBoundsException("Rank: " + RANK + ", Size: " + size); }
+        int     target    = RANK + 1;
+        int     traversed = 0;
+        Node<T> x         = head;
+        for (int i = level - 1 ; i >= 0 ; i--) {
+            while (null != x.next[i] && traversed + x.span[i] <= target) {
+                traversed += x.span[i];
+                x          = x.next[i];
+            }
+            if (traversed == target) { return x.item; }
+        }
+        throw new IllegalStateException("Corrupted ranked list");
+    }
+
+    /**
+     * Copies the items from rank FROM (inclusive) to rank TO (exclusive) into
+     * the given array. Only the start of the range needs a search, the rest
+     * will be read sequentially.
+     * @param FROM
+     * @param TO
+     * @param ITEMS array with a length of at least TO - FROM
+     * @return the number of items that have been copied
+     */
+    public int getRange(final int FROM, final int TO, final T[] ITEMS) {
+        int from = Math.max(0, FROM);
+        int to   = Math.min(size, TO);
+        if (from >= to) return 0;
+        Node<T> x     = nodeAt(from);
+        int     count = 0;
+        for (int i = from ; i < to ; i++) {
+            ITEMS[count++] = x.item;
+            x = x.next[0];
+        }
+        return count;
+    }
+
+    private Node<T> nodeAt(final int RANK) {
+        int     target    = RANK + 1;
+        int     traversed = 0;
+        Node<T> x         = head;
+        for (int i = level - 1 ; i >= 0 ; i--) {
+            while (null != x.next[i] && traversed + x.span[i] <= target) {
+                traversed += x.span[i];
+                x          = x.next[i];
+            }
+        }
+        return x;
+    }
+
+    private int indexOf(final Node<T> NODE) {
+        int     traversed = 0;
+        Node<T> x         = head;
+        for (int i = level - 1 ; i >= 0 ; i--) {
+            while (null != x.next[i] && precedes(x.next[i], NODE)) {
+                traversed += x.span[i];
+                x          = x.next[i];
+            }
+        }
+        return traversed;
+    }
+
+    private int insert(final Node<T> NODE) {
+        Node<T> x = head;
+        for (int i = level - 1 ; i >= 0 ; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (null != x.next[i] && precedes(x.next[i], NODE)) {
+                rank[i] += x.span[i];
+                x        = x.next[i];
+            }
+            update[i] = x;
+        }
+        int nodeLevel = NODE.next.length;
+        if (nodeLevel > level) {
+            for (int i = level ; i < nodeLevel ; i++) {
+                rank[i]      = 0;
+                update[i]    = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+        for (int i = 0 ; i < nodeLevel ; i++) {
+            NODE.next[i]      = update[i].next[i];
+            update[i].next[i] = NODE;
+            NODE.span[i]      = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = nodeLevel ; i < level ; i++) { update[i].span[i]++; }
+        size++;
+        return rank[0];
+    }
+
+    private int unlink(final Node<T> NODE) {
+        int     traversed = 0;
+        Node<T> x         = head;
+        for (int i = level - 1 ; i >= 0 ; i--) {
+            while (null != x.next[i] && precedes(x.next[i], NODE)) {
+                traversed += x.span[i];
+                x          = x.next[i];
+            }
+            update[i] = x;
+        }
+        for (int i = 0 ; i < level ; i++) {
+            if (update[i].next[i] == NODE) {
+                update[i].span[i] += NODE.span[i] - 1;
+                update[i].next[i]  = NODE.next[i];
+            } else {
+                update[i].span[i] -= 1;
+            }
+        }
+        for (int i = 0 ; i < NODE.next.length ; i++) { NODE.next[i] = null; }
+        while (level > 1 && null == head.next[level - 1]) { level--; }
+        size--;
+        return traversed;
+    }
+
+    private static void checkKey(final double KEY) {
+        // NaN can't be ordered and would corrupt the spans of the skip list
+        if (Double.isNaN(KEY)) { throw new IllegalArgumentException("Key must not be NaN"); }
+    }
+
+    private static boolean precedes(final Node<?> A, final Node<?> B) {
+        return A.key > B.key || (A.key == B.key && A.sequence < B.sequence);
+    }
+
+    private int randomLevel() {
+        // xorshift, every level has a probability of 1/4
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL) {
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            if ((seed & 3) != 0) break;
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] newNodeArray(final int LENGTH) { return (Node<T>[]) new Node<?>[LENGTH]; }
+
+
+    // ******************** Inner Classes *************************************
+    private static class Node<T> {
+        private final T         item;
+        private final Node<T>[] next;
+        private final int[]     span;
+        private       double    key;
+        private       long      sequence;
+
+
+        Node(final T ITEM, final int LEVEL) {
+            item = ITEM;
+            next = newNodeArray(LEVEL);
+            span = new int[LEVEL];
+        }
+    }
+}
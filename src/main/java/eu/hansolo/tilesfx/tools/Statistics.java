@@ -16,12 +16,15 @@
 
 package eu.hansolo.tilesfx.tools;
 
-import java.util.Collections;
 import java.util.List;
 
 
 /**
  * Created by hansolo on 06.12.16.
+ *
+ * Statistics over complete lists of values. For values that are added
+ * continuously use the StreamingStatistics which will be updated
+ * incrementally.
  */
 public class Statistics {
 
@@ -39,9 +42,9 @@ public class Statistics {
     public static final double getStdDev(final List<Double> DATA) { return Math.sqrt(getVariance(DATA)); }
 
     public static final double getMedian(final List<Double> DATA) {
-        int size = DATA.size();
-        Collections.sort(DATA);
-        return size % 2 == 0 ? (DATA.get((size / 2) - 1) + DATA.get(size / 2)) / 2.0 : DATA.get(size / 2);
+        int      size   = DATA.size();
+        double[] sorted = DATA.stream().mapToDouble(v -> v).sorted().toArray();
+        return size % 2 == 0 ? (sorted[(size / 2) - 1] + sorted[size / 2]) / 2.0 : sorted[size / 2];
     }
 
     public static final double getMin(final List<Double> DATA) { return DATA.stream().mapToDouble(v -> v).min().orElse(0); }
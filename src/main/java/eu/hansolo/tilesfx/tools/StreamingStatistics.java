@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import java.util.Arrays;
+
+
+/**
+ * Incremental statistics over a sliding window of the last windowSize
+ * values. All values are kept in a primitive ring buffer and the
+ * statistics will be updated on every add and eviction:
+ * - mean and variance with Welford's algorithm
+ * - min and max with monotonic deques
+ * - median and quantiles with a histogram sketch over [min, max]
+ * Mean, variance, min and max are O(1), the quantile sketch is O(noOfBins).
+ * The histogram will be created from the window on the first quantile
+ * query, so it costs nothing as long as no quantile is needed.
+ * If no range was given, quantiles will be calculated exactly on demand
+ * which is O(n log n).
+ */
+public class StreamingStatistics {
+    public  static final int            DEFAULT_NO_OF_BINS = 256;
+    private static final int            INITIAL_CAPACITY   = 16;
+    private              double[]       values;
+    private              int            head;
+    private              int            size;
+    private              int            windowSize;
+    private              double         mean;
+    private              double         m2;
+    private              long           sequence;
+    private        final MonotonicDeque minDeque;
+    private        final MonotonicDeque maxDeque;
+    private        final boolean        sketchEnabled;
+    private        final double         sketchMin;
+    private        final double         sketchMax;
+    private        final int            noOfBins;
+    private              int[]          bins;
+
+
+    // ******************** Constructors **************************************
+    public StreamingStatistics(final int WINDOW_SIZE) {
+        this(WINDOW_SIZE, 0, 0, 0);
+    }
+    public StreamingStatistics(final int WINDOW_SIZE, final double MIN, final double MAX) {
+        this(WINDOW_SIZE, MIN, MAX, DEFAULT_NO_OF_BINS);
+    }
+    public StreamingStatistics(final int WINDOW_SIZE, final double MIN, final double MAX, final int NO_OF_BINS) {
+        if (WINDOW_SIZE < 1) throw new IllegalArgumentException("Window size must be larger than 0");
+        windowSize    = WINDOW_SIZE;
+        values        = new double[Math.min(INITIAL_CAPACITY, WINDOW_SIZE)];
+        minDeque      = new MonotonicDeque(false);
+        maxDeque      = new MonotonicDeque(true);
+        sketchEnabled = NO_OF_BINS > 0 && MAX > MIN && Double.isFinite(MAX - MIN);
+        sketchMin     = MIN;
+        sketchMax     = MAX;
+        noOfBins      = NO_OF_BINS;
+    }
+
+
+    // ******************** Methods *******************************************
+    /**
+     * Adds the given value to the window. If the window is full the oldest
+     * value will be evicted.
+     * @param VALUE
+     */
+    public void add(final double VALUE) {
+        if (size == windowSize) { evictFirst(); }
+        if (size == values.length) { grow(); }
+
+        values[(head + size) % values.length] = VALUE;
+        size++;
+
+        double delta = VALUE - mean;
+        mean += delta / size;
+        m2   += delta * (VALUE - mean);
+
+        minDeque.push(sequence, VALUE);
+        maxDeque.push(sequence, VALUE);
+        sequence++;
+
+        if (null != bins) { bins[binOf(VALUE)]++; }
+    }
+
+    /**
+     * Returns the value at the given index in the window where index 0
+     * is the oldest value.
+     * @param INDEX
+     * @return the value at the given index in the window
+     */
+    public double get(final int INDEX) {
+        if (INDEX < 0 || INDEX >= size) throw new IndexOutOfBoundsException("Index: " + INDEX + ", Size: " + size);
+        return values[(head + INDEX) % values.length];
+    }
+
+    /**
+     * Copies the values of the window (oldest first) into the given array
+     * and returns the number of copied values. The array has to be able to
+     * hold at least getSize() values.
+     * @param TARGET
+     * @return the number of values that have been copied
+     */
+    public int copyTo(final double[] TARGET) {
+        int firstPart = Math.min(size, values.length - head);
+        System.arraycopy(values, head, TARGET, 0, firstPart);
+        System.arraycopy(values, 0, TARGET, firstPart, size - firstPart);
+        return size;
+    }
+
+    public double getLast() { return size == 0 ? 0 : values[(head + size - 1) % values.length]; }
+
+    public int getSize() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public boolean isFull() { return size == windowSize; }
+
+    public int getWindowSize() { return windowSize; }
+    /**
+     * Defines the number of values in the window. Changing the window
+     * size will clear all values.
+     * @param WINDOW_SIZE
+     */
+    public void setWindowSize(final int WINDOW_SIZE) {
+        if (WINDOW_SIZE < 1) throw new IllegalArgumentException("Window size must be larger than 0");
+        windowSize = WINDOW_SIZE;
+        values     = new double[Math.min(INITIAL_CAPACITY, WINDOW_SIZE)];
+        clear();
+    }
+
+    public void clear() {
+        head     = 0;
+        size     = 0;
+        mean     = 0;
+        m2       = 0;
+        sequence = 0;
+        minDeque.clear();
+        maxDeque.clear();
+        if (null != bins) { Arrays.fill(bins, 0); }
+    }
+
+    public double getMean() { return size == 0 ? 0 : mean; }
+
+    public double getVariance() { return size == 0 ? 0 : Math.max(0, m2 / size); }
+
+    public double getStdDev() { return Math.sqrt(getVariance()); }
+
+    public double getMin() { return minDeque.isEmpty() ? 0 : minDeque.peekValue(); }
+
+    public double getMax() { return maxDeque.isEmpty() ? 0 : maxDeque.peekValue(); }
+
+    public double getMedian() { return getQuantile(0.5); }
+
+    /**
+     * Returns the given quantile (0.0 - 1.0) of the values in the window.
+     * If a range was given the quantile will be estimated by the histogram
+     * sketch (the error is at most one bin width), otherwise it will be
+     * calculated exactly.
+     * @param QUANTILE
+     * @return the given quantile of the values in the window
+     */
+    public double getQuantile(final double QUANTILE) {
+        if (size == 0) return 0;
+        double quantile = Helper.clamp(0.0, 1.0, QUANTILE);
+        if (sketchEnabled) {
+            if (null == bins) { initBins(); }
+            double rank  = quantile * (size - 1);
+            int    lower = (int) Math.floor(rank);
+            int    upper = (int) Math.ceil(rank);
+            double lo    = estimateValueAtRank(lower);
+            double hi    = lower == upper ? lo : estimateValueAtRank(upper);
+            return lo + (hi - lo) * (rank - lower);
+        } else {
+            double[] sorted = new double[size];
+            for (int i = 0 ; i < size ; i++) { sorted[i] = values[(head + i) % values.length]; }
+            Arrays.sort(sorted);
+            double rank  = quantile * (size - 1);
+            int    lower = (int) Math.floor(rank);
+            int    upper = (int) Math.ceil(rank);
+            return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+        }
+    }
+
+    private double estimateValueAtRank(final int RANK) {
+        double binWidth = (sketchMax - sketchMin) / bins.length;
+        int    count    = 0;
+        for (int i = 0 ; i < bins.length ; i++) {
+            if (bins[i] == 0) continue;
+            if (count + bins[i] > RANK) {
+                // Assume the values are evenly distributed within the bin and stay within the measured range
+                double fraction = (RANK - count + 0.5) / bins[i];
+                return Helper.clamp(getMin(), getMax(), sketchMin + (i + fraction) * binWidth);
+            }
+            count += bins[i];
+        }
+        return getMax();
+    }
+
+    private void initBins() {
+        bins = new int[noOfBins];
+        for (int i = 0 ; i < size ; i++) { bins[binOf(values[(head + i) % values.length])]++; }
+    }
+
+    private void evictFirst() {
+        double value = values[head];
+        head = (head + 1) % values.length;
+        size--;
+        if (size == 0) {
+            mean = 0;
+            m2   = 0;
+        } else {
+            double delta = value - mean;
+            mean -= delta / size;
+            m2   -= delta * (value - mean);
+        }
+        long evictedSequence = sequence - size - 1;
+        minDeque.evict(evictedSequence);
+        maxDeque.evict(evictedSequence);
+        if (null != bins) { bins[binOf(value)]--; }
+    }
+
+    private void grow() {
+        double[] newValues = new double[Math.min(windowSize, values.length * 2)];
+        for (int i = 0 ; i < size ; i++) { newValues[i] = values[(head + i) % values.length]; }
+        values = newValues;
+        head   = 0;
+    }
+
+    private int binOf(final double VALUE) {
+        int bin = (int) ((VALUE - sketchMin) / (sketchMax - sketchMin) * noOfBins);
+        return bin < 0 ? 0 : (bin >= noOfBins ? noOfBins - 1 : bin);
+    }
+}
@@ -19,29 +19,65 @@ package eu.hansolo.tilesfx.tools;
 import eu.hansolo.tilesfx.chart.ChartData;
 
 import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 
 
 /**
  * Created by hansolo on 01.11.16.
+ *
+ * Immutable time series sample (value and timestamp in milliseconds since
+ * epoch) that is used by the MovingAverage. In contrast to ChartData it
+ * doesn't carry any animation or event related state.
  */
-public class TimeData extends ChartData {
+public final class TimeData {
+    private final double value;
+    private final long   epochMillis;
+
 
     // ******************** Constructors **************************************
     public TimeData(final double VALUE) {
-        super(VALUE, Instant.now());
+        this(VALUE, System.currentTimeMillis());
     }
     public TimeData(final double VALUE, final Instant TIMESTAMP) {
-        super(VALUE, TIMESTAMP);
+        this(VALUE, TIMESTAMP.toEpochMilli());
+    }
+    public TimeData(final double VALUE, final long EPOCH_MILLIS) {
+        value       = VALUE;
+        epochMillis = EPOCH_MILLIS;
     }
 
 
     // ******************** Methods *******************************************
-    @Override public void setValue(final double VALUE) {}
+    public double getValue() { return value; }
+
+    public long getEpochMillis() { return epochMillis; }
+
+    public Instant getTimestamp() { return Instant.ofEpochMilli(epochMillis); }
+
+    public ZonedDateTime getTimestampAsDateTime(final ZoneId ZONE_ID) { return ZonedDateTime.ofInstant(getTimestamp(), ZONE_ID); }
+
+    /**
+     * Returns a new ChartData object with the value and timestamp of this
+     * TimeData. Can be used where the data of the averaging window should
+     * be visualized in a chart.
+     * @return a new ChartData object with the value and timestamp of this TimeData
+     */
+    public ChartData toChartData() { return new ChartData(value, getTimestamp()); }
+
+    @Override public boolean equals(final Object OBJECT) {
+        if (this == OBJECT) return true;
+        if (!(OBJECT instanceof TimeData)) return false;
+        TimeData data = (TimeData) OBJECT;
+        return epochMillis == data.epochMillis && Double.compare(value, data.value) == 0;
+    }
+
+    @Override public int hashCode() { return 31 * Double.hashCode(value) + Long.hashCode(epochMillis); }
 
     @Override public String toString() {
         return new StringBuilder().append("{\n")
-                                  .append("  \"timestamp\":").append(super.getTimestamp().toEpochMilli()).append(",\n")
-                                  .append("  \"value\":").append(super.getValue()).append("\n")
+                                  .append("  \"timestamp\":").append(epochMillis).append(",\n")
+                                  .append("  \"value\":").append(value).append("\n")
                                   .append("}")
                                   .toString();
     }
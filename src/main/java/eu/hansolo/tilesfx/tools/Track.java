@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Stores the points of a track in parallel primitive ring buffers
+ * (latitude, longitude and timestamp in milliseconds since epoch). Names
+ * will only be stored if at least one point has a name. Appending a point
+ * needs O(1). The track can be limited by the number of points and by the
+ * age of the points relative to the latest point. Points at 0/0 mark a gap
+ * in the track.
+ * Every point has an absolute index that doesn't change when older points
+ * are removed, so renderers only need to process the points from their
+ * last end index to getEndIndex() as long as the generation of the track
+ * didn't change. The generation changes whenever the track is replaced or
+ * cleared.
+ * All methods synchronize on the track, readers that need a consistent
+ * view over several calls (e.g. simplify() and the following getters)
+ * have to synchronize on the track too.
+ */
+public class Track {
+    private static final int       INITIAL_CAPACITY     = 64;
+    private static final double    PIXEL_TOLERANCE      = 1.0;
+    private static final double    TILE_SIZE            = 256;
+    private static final double    MAX_LATITUDE         = 85.0511287798;
+    private static final int       MAX_PROVISIONAL_SPAN = 256;
+    private              double[]  latitudes;
+    private              double[]  longitudes;
+    private              long[]    epochMillis;
+    private              String[]  names;
+    private              int       head;
+    private              int       size;
+    private              long      firstIndex;
+    private              int       generation;
+    private              int       maxPoints;
+    private              long      maxAge;
+    private              int       simplifiedZoomLevel;
+    private              int       simplifiedGeneration;
+    private              long      simplifiedEnd;
+    private              long[]    keptIndices;
+    private              int       noOfKeptIndices;
+    private              double[]  xs;
+    private              double[]  ys;
+    private              boolean[] keep;
+    private              int[]     stack;
+
+
+    // ******************** Constructors **************************************
+    public Track() {
+        keptIndices = new long[INITIAL_CAPACITY];
+        xs          = new double[0];
+        ys          = new double[0];
+        keep        = new boolean[0];
+        stack       = new int[INITIAL_CAPACITY];
+        clear();
+    }
+
+
+    // ******************** Methods *******************************************
+    public void add(final Location LOCATION) {
+        add(LOCATION.getLatitude(), LOCATION.getLongitude(), LOCATION.getTimestamp().toEpochMilli(), LOCATION.getName());
+    }
+    public void add(final double LATITUDE, final double LONGITUDE, final long EPOCH_MILLIS) { add(LATITUDE, LONGITUDE, EPOCH_MILLIS, null); }
+    public synchronized void add(final double LATITUDE, final double LONGITUDE, final long EPOCH_MILLIS, final String NAME) {
+        if (maxPoints > 0 && size >= maxPoints) { evict(size - maxPoints + 1); }
+        if (size == latitudes.length) { grow(); }
+        if (null == names && null != NAME && !NAME.isEmpty()) { names = new String[latitudes.length]; }
+
+        int slot = (head + size) % latitudes.length;
+        latitudes[slot]   = LATITUDE;
+        longitudes[slot]  = LONGITUDE;
+        epochMillis[slot] = EPOCH_MILLIS;
+        if (null != names) { names[slot] = NAME; }
+        size++;
+
+        evictOutdated();
+    }
+
+    /**
+     * Replaces all points of the track with the given locations.
+     * @param LOCATIONS
+     */
+    public synchronized void set(final List<Location> LOCATIONS) {
+        clear();
+        LOCATIONS.forEach(location -> add(location));
+    }
+
+    public synchronized void clear() {
+        latitudes       = new double[INITIAL_CAPACITY];
+        longitudes      = new double[INITIAL_CAPACITY];
+        epochMillis     = new long[INITIAL_CAPACITY];
+        names           = null;
+        head            = 0;
+        size            = 0;
+        firstIndex      = 0;
+        noOfKeptIndices = 0;
+        simplifiedEnd   = 0;
+        generation++;
+    }
+
+    public synchronized int size() { return size; }
+
+    public synchronized boolean isEmpty() { return size == 0; }
+
+    /**
+     * Returns the absolute index of the first point of the track.
+     * @return the absolute index of the first point
+     */
+    public synchronized long getFirstIndex() { return firstIndex; }
+
+    /**
+     * Returns the absolute index after the last point of the track.
+     * @return the absolute index after the last point
+     */
+    public synchronized long getEndIndex() { return firstIndex + size; }
+
+    public synchronized int getGeneration() { return generation; }
+
+    // The following methods expect an index relative to the first point
+    public synchronized double getLatitude(final int INDEX) { return latitudes[slot(INDEX)]; }
+    public synchronized double getLongitude(final int INDEX) { return longitudes[slot(INDEX)]; }
+    public synchronized long getEpochMillis(final int INDEX) { return epochMillis[slot(INDEX)]; }
+    public synchronized String getName(final int INDEX) {
+        String name = null == names ? null : names[slot(INDEX)];
+        return null == name ? "" : name;
+    }
+    public synchronized boolean isGap(final int INDEX) {
+        int slot = slot(INDEX);
+        return latitudes[slot] == 0 && longitudes[slot] == 0;
+    }
+    public Location getLocation(final int INDEX) {
+        return new Location(getLatitude(INDEX), getLongitude(INDEX), 0, Instant.ofEpochMilli(getEpochMillis(INDEX)), getName(INDEX));
+    }
+
+    public synchronized int getMaxPoints() { return maxPoints; }
+    /**
+     * Defines the maximum number of points of the track. If the track
+     * exceeds this number the oldest points will be removed. A value of 0
+     * means no limit.
+     * @param MAX_POINTS
+     */
+    public synchronized void setMaxPoints(final int MAX_POINTS) {
+        maxPoints = Math.max(0, MAX_POINTS);
+        if (maxPoints > 0 && size > maxPoints) { evict(size - maxPoints); }
+    }
+
+    public synchronized Duration getMaxAge() { return Duration.ofMillis(maxAge); }
+    /**
+     * Defines the maximum age of the points relative to the latest point.
+     * Older points will be removed. Duration.ZERO means no limit.
+     * @param MAX_AGE
+     */
+    public synchronized void setMaxAge(final Duration MAX_AGE) {
+        maxAge = null == MAX_AGE || MAX_AGE.isNegative() ? 0 : MAX_AGE.toMillis();
+        evictOutdated();
+    }
+
+    /**
+     * Returns the indices (relative to the first point) of the points that
+     * are needed to draw the track at the given zoom level of a web mercator
+     * map with an error of at most one pixel. The points will be simplified
+     * with the Douglas-Peucker algorithm, gaps will always be kept.
+     * The result will be updated incrementally, only the points that have
+     * been appended since the last call and the last few points before
+     * them will be simplified again. After old points have been removed
+     * the span from the new first point to the next kept point will be
+     * simplified again.
+     * @param ZOOM_LEVEL
+     * @return the indices of the points that are needed to draw the track
+     */
+    public synchronized int[] simplify(final int ZOOM_LEVEL) {
+        double tolerance = PIXEL_TOLERANCE / (TILE_SIZE * (1L << Helper.clamp(0, 30, ZOOM_LEVEL)));
+        if (ZOOM_LEVEL != simplifiedZoomLevel || generation != simplifiedGeneration || simplifiedEnd <= firstIndex) {
+            simplifiedZoomLevel  = ZOOM_LEVEL;
+            simplifiedGeneration = generation;
+            simplifiedEnd        = firstIndex;
+            noOfKeptIndices      = 0;
+        } else {
+            // Remove the points that have been evicted
+            int evicted = 0;
+            while (evicted < noOfKeptIndices && keptIndices[evicted] < firstIndex) { evicted++; }
+            if (evicted > 0 && evicted < noOfKeptIndices) {
+                // The first point replaces the evicted start of the leading span, so this span has to be simplified again
+                long   next = keptIndices[evicted];
+                long[] tail = Arrays.copyOfRange(keptIndices, evicted + 1, noOfKeptIndices);
+                noOfKeptIndices = 0;
+                simplifyRange(firstIndex, next, tolerance);
+                ensureKeptCapacity(noOfKeptIndices + tail.length);
+                System.arraycopy(tail, 0, keptIndices, noOfKeptIndices, tail.length);
+                noOfKeptIndices += tail.length;
+            } else if (evicted > 0) {
+                simplifiedEnd   = firstIndex;
+                noOfKeptIndices = 0;
+            }
+        }
+
+        long endIndex = firstIndex + size;
+        if (simplifiedEnd < endIndex) {
+            long from = firstIndex;
+            if (noOfKeptIndices > 0) {
+                // The last kept point was only kept because it was the end of the last run
+                long last   = keptIndices[noOfKeptIndices - 1];
+                long anchor = noOfKeptIndices > 1 ? keptIndices[noOfKeptIndices - 2] : last;
+                if (anchor != last && endIndex - anchor <= MAX_PROVISIONAL_SPAN) {
+                    from             = anchor;
+                    noOfKeptIndices -= 2;
+                } else {
+                    from             = last;
+                    noOfKeptIndices -= 1;
+                }
+            }
+            simplifyRange(from, endIndex - 1, tolerance);
+            simplifiedEnd = endIndex;
+        }
+
+        int[] indices = new int[noOfKeptIndices];
+        for (int i = 0 ; i < noOfKeptIndices ; i++) { indices[i] = (int) (keptIndices[i] - firstIndex); }
+        return indices;
+    }
+
+    private void simplifyRange(final long FROM, final long TO, final double TOLERANCE) {
+        long sectionStart = FROM;
+        for (long index = FROM ; index <= TO ; index++) {
+            if (!isGap((int) (index - firstIndex))) continue;
+            if (index > sectionStart) { simplifySection(sectionStart, index - 1, TOLERANCE); }
+            addKeptIndex(index);
+            sectionStart = index + 1;
+        }
+        if (sectionStart <= TO) { simplifySection(sectionStart, TO, TOLERANCE); }
+    }
+
+    private void simplifySection(final long FROM, final long TO, final double TOLERANCE) {
+        int length = (int) (TO - FROM + 1);
+        if (length <= 2) {
+            for (long index = FROM ; index <= TO ; index++) { addKeptIndex(index); }
+            return;
+        }
+        if (xs.length < length) {
+            xs   = new double[length];
+            ys   = new double[length];
+            keep = new boolean[length];
+        }
+        for (int i = 0 ; i < length ; i++) {
+            int    slot = slot((int) (FROM - firstIndex) + i);
+            double sin  = Math.sin(Math.toRadians(Helper.clamp(-MAX_LATITUDE, MAX_LATITUDE, latitudes[slot])));
+            xs[i]   = (longitudes[slot] + 180) / 360;
+            ys[i]   = 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+            keep[i] = false;
+        }
+        keep[0]          = true;
+        keep[length - 1] = true;
+
+        double toleranceSquared = TOLERANCE * TOLERANCE;
+        int    stackSize        = 0;
+        stack[stackSize++] = 0;
+        stack[stackSize++] = length - 1;
+        while (stackSize > 0) {
+            int    end         = stack[--stackSize];
+            int    start       = stack[--stackSize];
+            int    maxIndex    = -1;
+            double maxDistance = toleranceSquared;
+            for (int i = start + 1 ; i < end ; i++) {
+                double distance = distanceToSegmentSquared(xs[i], ys[i], xs[start], ys[start], xs[end], ys[end]);
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    maxIndex    = i;
+                }
+            }
+            if (maxIndex < 0) continue;
+            keep[maxIndex] = true;
+            if (stackSize + 4 > stack.length) {
+                int[] newStack = new int[stack.length * 2];
+                System.arraycopy(stack, 0, newStack, 0, stackSize);
+                stack = newStack;
+            }
+            stack[stackSize++] = start;
+            stack[stackSize++] = maxIndex;
+            stack[stackSize++] = maxIndex;
+            stack[stackSize++] = end;
+        }
+        for (int i = 0 ; i < length ; i++) { if (keep[i]) { addKeptIndex(FROM + i); } }
+    }
+
+    private static double distanceToSegmentSquared(final double X, final double Y, final double X1, final double Y1, final double X2, final double Y2) {
+        double dx     = X2 - X1;
+        double dy     = Y2 - Y1;
+        double length = dx * dx + dy * dy;
+        double t      = length == 0 ? 0 : Helper.clamp(0.0, 1.0, ((X - X1) * dx + (Y - Y1) * dy) / length);
+        double px     = X1 + t * dx - X;
+        double py     = Y1 + t * dy - Y;
+        return px * px + py * py;
+    }
+
+    private void addKeptIndex(final long INDEX) {
+        ensureKeptCapacity(noOfKeptIndices + 1);
+        keptIndices[noOfKeptIndices++] = INDEX;
+    }
+
+    private void ensureKeptCapacity(final int CAPACITY) {
+        if (CAPACITY <= keptIndices.length) return;
+        long[] newKeptIndices = new long[Math.max(CAPACITY, keptIndices.length * 2)];
+        System.arraycopy(keptIndices, 0, newKeptIndices, 0, noOfKeptIndices);
+        keptIndices = newKeptIndices;
+    }
+
+    private void evictOutdated() {
+        if (maxAge <= 0 || size < 2) return;
+        long oldest  = epochMillis[slot(size - 1)] - maxAge;
+        int  evicted = 0;
+        while (evicted < size - 1 && epochMillis[slot(evicted)] < oldest) { evicted++; }
+        if (evicted > 0) { evict(evicted); }
+    }
+
+    private void evict(final int COUNT) {
+        if (null != names) {
+            for (int i = 0 ; i < COUNT ; i++) { names[slot(i)] = null; }
+        }
+        head        = (head + COUNT) % latitudes.length;
+        size       -= COUNT;
+        firstIndex += COUNT;
+    }
+
+    private void grow() {
+        int      capacity       = maxPoints > 0 ? Math.min(maxPoints, latitudes.length * 2) : latitudes.length * 2;
+        double[] newLatitudes   = new double[capacity];
+        double[] newLongitudes  = new double[capacity];
+        long[]   newEpochMillis = new long[capacity];
+        String[] newNames       = null == names ? null : new String[capacity];
+        for (int i = 0 ; i < size ; i++) {
+            int slot = slot(i);
+            newLatitudes[i]   = latitudes[slot];
+            newLongitudes[i]  = longitudes[slot];
+            newEpochMillis[i] = epochMillis[slot];
+            if (null != names) { newNames[i] = names[slot]; }
+        }
+        latitudes   = newLatitudes;
+        longitudes  = newLongitudes;
+        epochMillis = newEpochMillis;
+        names       = newNames;
+        head        = 0;
+    }
+
+    private int slot(final int INDEX) { return (head + INDEX) % latitudes.length; }
+}
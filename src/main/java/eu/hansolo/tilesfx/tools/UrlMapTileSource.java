@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Loads the tiles from a tile server. The url template may contain the
+ * placeholders {z}, {x}, {y} and {s}, where {s} will be replaced by one
+ * of the given subdomains in a round robin manner.
+ */
+public class UrlMapTileSource implements MapTileSource {
+    private static final int           CONNECT_TIMEOUT = 5_000;
+    private static final int           READ_TIMEOUT    = 10_000;
+    private static final String        USER_AGENT      = "TilesFX";
+    private        final String        name;
+    private        final String        urlTemplate;
+    private        final int           maxZoom;
+    private        final String[]      subdomains;
+    private        final AtomicInteger subdomainIndex;
+
+
+    // ******************** Constructors **************************************
+    public UrlMapTileSource(final String NAME, final String URL_TEMPLATE, final int MAX_ZOOM, final String... SUBDOMAINS) {
+        name           = NAME;
+        urlTemplate    = URL_TEMPLATE;
+        maxZoom        = MAX_ZOOM;
+        subdomains     = null == SUBDOMAINS || SUBDOMAINS.length == 0 ? new String[] { "a", "b", "c" } : SUBDOMAINS;
+        subdomainIndex = new AtomicInteger();
+    }
+
+
+    // ******************** Methods *******************************************
+    @Override public byte[] loadTile(final int ZOOM, final int X, final int Y) throws IOException {
+        String subdomain = subdomains[Math.floorMod(subdomainIndex.getAndIncrement(), subdomains.length)];
+        String url       = urlTemplate.replace("{z}", Integer.toString(ZOOM))
+                                      .replace("{x}", Integer.toString(X))
+                                      .replace("{y}", Integer.toString(Y))
+                                      .replace("{s}", subdomain);
+
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT);
+        connection.setReadTimeout(READ_TIMEOUT);
+        connection.setRequestProperty("User-Agent", USER_AGENT);
+        try {
+            int responseCode = connection.getResponseCode();
+            if (HttpURLConnection.HTTP_NOT_FOUND == responseCode) { return null; }
+            if (HttpURLConnection.HTTP_OK != responseCode) { throw new IOException("Loading tile " + url + " failed with " + responseCode); }
+            try (InputStream inputStream = connection.getInputStream()) {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(1024, connection.getContentLength()));
+                byte[]                buffer       = new byte[8192];
+                int                   length;
+                while ((length = inputStream.read(buffer)) != -1) { outputStream.write(buffer, 0, length); }
+                return outputStream.toByteArray();
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Override public String getName() { return name; }
+
+    @Override public int getMaxZoom() { return maxZoom; }
+}
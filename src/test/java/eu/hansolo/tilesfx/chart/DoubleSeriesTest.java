@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.chart;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+
+public class DoubleSeriesTest {
+
+    @Test public void addValueKeepsTheLastMaxSizeValues() {
+        Random        random   = new Random(3);
+        DoubleSeries  series   = new DoubleSeries("test");
+        Deque<Double> expected = new ArrayDeque<>();
+        series.setMaxSize(100);
+        for (int i = 0 ; i < 1_000 ; i++) {
+            double value = random.nextGaussian();
+            series.addValue(value);
+            expected.addLast(value);
+            if (expected.size() > 100) { expected.removeFirst(); }
+            if (i % 37 == 0) { assertSameValues(expected, series); }
+        }
+        assertSameValues(expected, series);
+    }
+
+    @Test public void getValuesReturnsTheValuesInOrder() {
+        DoubleSeries series = new DoubleSeries("test");
+        series.setMaxSize(10);
+        for (int i = 0 ; i < 25 ; i++) { series.addValue(i); }
+        double[] values = series.getValues();
+        for (int i = 0 ; i < 10 ; i++) { assertEquals(15 + i, values[i], 0); }
+        series.addValue(25);
+        assertEquals(25, series.getLastValue(), 0);
+        assertEquals(16, series.getValue(0), 0);
+    }
+
+    @Test public void setMaxSizeKeepsTheLatestValues() {
+        DoubleSeries series = new DoubleSeries("test");
+        series.setMaxSize(8);
+        for (int i = 0 ; i < 13 ; i++) { series.addValue(i); }
+        series.setMaxSize(3);
+        assertEquals(3, series.getSize());
+        assertEquals(10, series.getValue(0), 0);
+        assertEquals(12, series.getValue(2), 0);
+        assertEquals(10, series.getMin(), 0);
+        assertEquals(12, series.getMax(), 0);
+    }
+
+
+    private static void assertSameValues(final Deque<Double> EXPECTED, final DoubleSeries SERIES) {
+        assertEquals(EXPECTED.size(), SERIES.getSize());
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        int    i   = 0;
+        for (double value : EXPECTED) {
+            assertEquals(value, SERIES.getValue(i++), 0);
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        assertEquals(min, SERIES.getMin(), 0);
+        assertEquals(max, SERIES.getMax(), 0);
+        assertEquals(EXPECTED.peekLast(), SERIES.getLastValue(), 0);
+    }
+}
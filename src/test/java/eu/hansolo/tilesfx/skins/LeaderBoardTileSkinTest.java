@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.skins;
+
+import eu.hansolo.tilesfx.tools.RankedList;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+
+public class LeaderBoardTileSkinTest {
+
+    @Test public void itemWithoutValueIsRankedLast() {
+        RankedList<String> ranking = new RankedList<>();
+        ranking.add("a", LeaderBoardTileSkin.getRankingKey(10));
+        ranking.add("nan", LeaderBoardTileSkin.getRankingKey(Double.NaN));
+        ranking.add("b", LeaderBoardTileSkin.getRankingKey(-5));
+
+        assertEquals(2, ranking.indexOf("nan"));
+        assertEquals(0, ranking.update("nan", LeaderBoardTileSkin.getRankingKey(20)));
+        assertEquals(2, ranking.update("nan", LeaderBoardTileSkin.getRankingKey(Double.NaN)));
+
+        String[] items = new String[3];
+        ranking.getRange(0, 3, items);
+        assertSame("a", items[0]);
+        assertSame("b", items[1]);
+        assertSame("nan", items[2]);
+    }
+
+    @Test public void valuesAreUsedAsKeys() {
+        assertEquals(42.5, LeaderBoardTileSkin.getRankingKey(42.5), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, LeaderBoardTileSkin.getRankingKey(Double.NaN), 0.0);
+    }
+}
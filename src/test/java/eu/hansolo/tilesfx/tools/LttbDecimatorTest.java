@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class LttbDecimatorTest {
+
+    @Test public void keepsThresholdPointsAndTheEndpoints() {
+        Random random = new Random(11);
+        for (int length : new int[] { 101, 1_000, 4_321, 100_000 }) {
+            double[] values = randomWalk(random, length);
+            for (int threshold : new int[] { 3, 10, 100 }) {
+                int[] indices = new int[threshold];
+                int   count   = LttbDecimator.decimate(values, length, threshold, indices);
+                assertEquals(threshold, count);
+                assertEquals(0, indices[0]);
+                assertEquals(length - 1, indices[count - 1]);
+                for (int i = 1 ; i < count ; i++) { assertTrue("Indices are not ascending", indices[i] > indices[i - 1]); }
+            }
+        }
+    }
+
+    @Test public void keepsAllPointsIfThereAreNotMoreThanThreshold() {
+        double[] values  = randomWalk(new Random(5), 50);
+        int[]    indices = new int[50];
+        assertEquals(50, LttbDecimator.decimate(values, 50, 50, indices));
+        for (int i = 0 ; i < 50 ; i++) { assertEquals(i, indices[i]); }
+        assertEquals(0, LttbDecimator.decimate(values, 0, 50, indices));
+    }
+
+
+    private static double[] randomWalk(final Random RANDOM, final int LENGTH) {
+        double[] values = new double[LENGTH];
+        for (int i = 1 ; i < LENGTH ; i++) { values[i] = values[i - 1] + RANDOM.nextGaussian(); }
+        return values;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+
+public class MapTileCacheTest {
+    private static final int TILE_SIZE = 100;
+
+
+    @Test public void cacheIsSharedUntilItWasReleasedByAllUsers() {
+        MapTileSource source = new TestSource();
+        MapTileCache  first  = MapTileCache.get(source);
+        MapTileCache  second = MapTileCache.get(source);
+        assertSame(first, second);
+
+        MapTileCache.release(source);
+        assertSame(first, MapTileCache.get(source));
+        MapTileCache.release(source);
+        MapTileCache.release(source);
+
+        MapTileCache third = MapTileCache.get(source);
+        assertFalse(first == third);
+        MapTileCache.release(source);
+    }
+
+    @Test public void diskCacheEvictsTheLeastRecentlyUsedTiles() throws IOException {
+        Path dir = Files.createTempDirectory("tilecache");
+        try {
+            TestSource   source = new TestSource();
+            MapTileCache cache  = new MapTileCache(source, 16, dir, 10 * TILE_SIZE);
+            for (int x = 0 ; x < 9 ; x++) { cache.loadData(1, x, 0); }
+            assertEquals(9, source.noOfLoads);
+
+            // Give the tiles distinct access times and read tile 0 again to make it the most recently used one
+            long now = System.currentTimeMillis();
+            for (int x = 0 ; x < 9 ; x++) { Files.setLastModifiedTime(tile(dir, x), FileTime.fromMillis(now - 100_000 + x * 1_000)); }
+            cache.loadData(1, 0, 0);
+            assertEquals(9, source.noOfLoads);
+
+            // Exceeding the max size trims the disk cache to 80% of its max size
+            cache.loadData(1, 9, 0);
+            cache.loadData(1, 10, 0);
+            assertEquals(11, source.noOfLoads);
+            assertTrue(Files.exists(tile(dir, 0)));
+            for (int x = 1 ; x <= 3 ; x++) { assertFalse("Tile " + x + " was not evicted", Files.exists(tile(dir, x))); }
+            for (int x = 4 ; x <= 10 ; x++) { assertTrue("Tile " + x + " was evicted", Files.exists(tile(dir, x))); }
+            try (Stream<Path> files = Files.walk(dir)) {
+                assertFalse("Temporary file left in the disk cache", files.anyMatch(file -> file.toString().endsWith(".tmp")));
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+
+    private static Path tile(final Path DIR, final int X) { return DIR.resolve("1").resolve(Integer.toString(X)).resolve("0"); }
+
+
+    private static class TestSource implements MapTileSource {
+        private int noOfLoads;
+
+
+        @Override public byte[] loadTile(final int ZOOM, final int X, final int Y) {
+            noOfLoads++;
+            return new byte[TILE_SIZE];
+        }
+
+        @Override public String getName() { return "Test"; }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class MinMaxDecimatorTest {
+
+    @Test public void keepsTheEndpointsAndTheExtremaOfEveryColumn() {
+        Random random = new Random(13);
+        for (int length : new int[] { 101, 1_000, 4_321, 100_000 }) {
+            double[] values = new double[length];
+            for (int i = 1 ; i < length ; i++) { values[i] = values[i - 1] + random.nextGaussian(); }
+            for (int columns : new int[] { 1, 7, 50 }) {
+                int[] indices = new int[MinMaxDecimator.getMaxNoOfIndices(columns)];
+                int   count   = MinMaxDecimator.decimate(values, length, columns, indices);
+                assertTrue("Too many indices", count <= MinMaxDecimator.getMaxNoOfIndices(columns));
+                assertEquals(0, indices[0]);
+                assertEquals(length - 1, indices[count - 1]);
+                for (int i = 1 ; i < count ; i++) { assertTrue("Indices are not ascending", indices[i] > indices[i - 1]); }
+
+                for (int column = 0 ; column < columns ; column++) {
+                    int    start = (int) ((long) column * length / columns);
+                    int    end   = (int) ((long) (column + 1) * length / columns);
+                    double min   = Double.MAX_VALUE;
+                    double max   = -Double.MAX_VALUE;
+                    for (int i = start ; i < end ; i++) {
+                        min = Math.min(min, values[i]);
+                        max = Math.max(max, values[i]);
+                    }
+                    assertTrue("Minimum of column " + column + " is missing", containsValue(values, indices, count, start, end, min));
+                    assertTrue("Maximum of column " + column + " is missing", containsValue(values, indices, count, start, end, max));
+                }
+            }
+        }
+    }
+
+    @Test public void keepsAllPointsIfThereAreNotMoreThanTwoPerColumn() {
+        double[] values  = new double[20];
+        int[]    indices = new int[20];
+        assertEquals(20, MinMaxDecimator.decimate(values, 20, 10, indices));
+        for (int i = 0 ; i < 20 ; i++) { assertEquals(i, indices[i]); }
+        assertEquals(0, MinMaxDecimator.decimate(values, 0, 10, indices));
+    }
+
+
+    private static boolean containsValue(final double[] VALUES, final int[] INDICES, final int COUNT, final int START, final int END, final double VALUE) {
+        for (int i = 0 ; i < COUNT ; i++) {
+            if (INDICES[i] >= START && INDICES[i] < END && VALUES[INDICES[i]] == VALUE) { return true; }
+        }
+        return false;
+    }
+}
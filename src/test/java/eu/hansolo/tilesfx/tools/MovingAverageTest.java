@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+public class MovingAverageTest {
+    private static final double EPSILON = 1e-9;
+
+
+    @Test public void statisticsMatchTheValuesInTheWindow() {
+        Random        random        = new Random(23);
+        MovingAverage movingAverage = new MovingAverage(50);
+        Deque<Double> window        = new ArrayDeque<>();
+        for (int i = 0 ; i < 1_000 ; i++) {
+            double value = 20 + 5 * random.nextGaussian();
+            movingAverage.addData(new TimeData(value, i * 1_000L));
+            window.addLast(value);
+            if (window.size() > 50) { window.removeFirst(); }
+            assertEquals(window.size() < 50, movingAverage.isFilling());
+            if (i % 17 == 0) { assertSameStatistics(window, movingAverage); }
+        }
+        assertSameStatistics(window, movingAverage);
+        assertEquals(950_000L, movingAverage.getFirstEntry().getEpochMillis());
+        assertEquals(999_000L, movingAverage.getLastEntry().getEpochMillis());
+        assertEquals(49_000L, movingAverage.getTimeSpan().toEpochMilli());
+    }
+
+    @Test public void addDataOnlyKeepsTheLastPeriodValues() {
+        MovingAverage movingAverage = new MovingAverage(10);
+        double[]      values        = new double[100];
+        long[]        epochMillis   = new long[100];
+        for (int i = 0 ; i < 100 ; i++) {
+            values[i]      = i;
+            epochMillis[i] = i;
+        }
+        movingAverage.addData(values, epochMillis, 100);
+        assertEquals(10, movingAverage.getSize());
+        assertEquals(94.5, movingAverage.getAverage(), EPSILON);
+        assertEquals(90, movingAverage.getMin(), 0);
+        assertEquals(99, movingAverage.getLastValue(), 0);
+        assertEquals(10, movingAverage.getWindow().size());
+        assertEquals(90, movingAverage.getWindow().peek().getValue(), 0);
+    }
+
+    @Test public void timeBasedAverageOnlyUsesTheRecentValues() {
+        MovingAverage movingAverage = new MovingAverage(100);
+        long          now           = System.currentTimeMillis();
+        for (int i = 60 ; i >= 0 ; i--) { movingAverage.addData(new TimeData(i, now - i * 1_000L)); }
+        // The values 0 - 10 have been added within the last 10.5 seconds
+        assertEquals(5, movingAverage.getTimeBasedAverageOf(Duration.ofMillis(10_500)), EPSILON);
+        assertEquals(30, movingAverage.getTimeBasedAverageOf(Duration.ofMinutes(5)), EPSILON);
+    }
+
+    @Test public void setPeriodResetsTheWindow() {
+        MovingAverage movingAverage = new MovingAverage(5);
+        for (int i = 0 ; i < 5 ; i++) { movingAverage.addValue(i); }
+        assertFalse(movingAverage.isFilling());
+        movingAverage.setPeriod(3);
+        assertEquals(0, movingAverage.getSize());
+        assertTrue(movingAverage.isFilling());
+        assertEquals(0, movingAverage.getAverage(), 0);
+    }
+
+
+    private static void assertSameStatistics(final Deque<Double> WINDOW, final MovingAverage MOVING_AVERAGE) {
+        double sum = 0;
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (double value : WINDOW) {
+            sum += value;
+            min  = Math.min(min, value);
+            max  = Math.max(max, value);
+        }
+        double mean     = sum / WINDOW.size();
+        double variance = 0;
+        for (double value : WINDOW) { variance += (value - mean) * (value - mean); }
+        variance /= WINDOW.size();
+
+        assertEquals(WINDOW.size(), MOVING_AVERAGE.getSize());
+        assertEquals(mean, MOVING_AVERAGE.getAverage(), EPSILON);
+        assertEquals(variance, MOVING_AVERAGE.getVariance(), 1e-6);
+        assertEquals(min, MOVING_AVERAGE.getMin(), 0);
+        assertEquals(max, MOVING_AVERAGE.getMax(), 0);
+        assertEquals(WINDOW.peekLast(), MOVING_AVERAGE.getLastValue(), 0);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class RankedListTest {
+
+    @Test public void randomOperationsMatchSortedList() {
+        for (long seed = 0 ; seed < 10 ; seed++) {
+            Random           random = new Random(seed);
+            RankedList<Item> list   = new RankedList<>();
+            List<Item>       sorted = new ArrayList<>();
+            Item[]           items  = new Item[200];
+            for (int i = 0 ; i < items.length ; i++) { items[i] = new Item(i); }
+
+            for (int i = 0 ; i < 5_000 ; i++) {
+                Item item = items[random.nextInt(items.length)];
+                // Only a few different keys to get a lot of items with the same key
+                double key = random.nextInt(20);
+                switch (random.nextInt(4)) {
+                    case 0 :
+                        int removedRank = sorted.indexOf(item);
+                        if (removedRank >= 0) { sorted.remove(removedRank); }
+                        item.inList = false;
+                        assertEquals(removedRank, list.remove(item));
+                        break;
+                    case 1 :
+                        setKey(sorted, item, key);
+                        assertEquals(sorted.indexOf(item), list.add(item, key));
+                        break;
+                    default:
+                        setKey(sorted, item, key);
+                        assertEquals(sorted.indexOf(item), list.update(item, key));
+                        break;
+                }
+                if (i % 50 == 0) { assertSameOrder(sorted, list, items); }
+            }
+            assertSameOrder(sorted, list, items);
+        }
+    }
+
+    @Test public void getRangeReadsTheItemsInRankOrder() {
+        RankedList<Item> list  = new RankedList<>();
+        Item[]           items = new Item[100];
+        for (int i = 0 ; i < items.length ; i++) {
+            items[i] = new Item(i);
+            list.add(items[i], i);
+        }
+        Item[] range = new Item[10];
+        assertEquals(10, list.getRange(20, 30, range));
+        for (int i = 0 ; i < 10 ; i++) { assertSame(items[79 - i], range[i]); }
+        assertEquals(5, list.getRange(95, 120, range));
+        assertEquals(0, list.getRange(100, 110, range));
+    }
+
+    @Test public void nanKeysAreRejected() {
+        RankedList<Item> list = new RankedList<>();
+        Item             item = new Item(0);
+        try {
+            list.add(item, Double.NaN);
+            fail("NaN key was accepted by add()");
+        } catch (IllegalArgumentException e) {
+            assertFalse(list.contains(item));
+            assertEquals(0, list.size());
+        }
+        list.add(item, 1);
+        try {
+            list.update(item, Double.NaN);
+            fail("NaN key was accepted by update()");
+        } catch (IllegalArgumentException e) {
+            assertEquals(1, list.getKey(item), 0);
+            assertEquals(0, list.indexOf(item));
+        }
+    }
+
+    @Test public void itemsAreIdentifiedByIdentity() {
+        RankedList<String> list   = new RankedList<>();
+        String             first  = new String("item");
+        String             second = new String("item");
+        list.add(first, 1);
+        list.add(second, 2);
+        assertEquals(2, list.size());
+        assertSame(second, list.get(0));
+        assertSame(first, list.get(1));
+        assertEquals(-1, list.indexOf(new String("item")));
+    }
+
+
+    private static void setKey(final List<Item> SORTED, final Item ITEM, final double KEY) {
+        // An item only moves behind the items with the same key if its key changed
+        if (ITEM.inList && Double.compare(ITEM.key, KEY) == 0) return;
+        SORTED.remove(ITEM);
+        ITEM.key    = KEY;
+        ITEM.inList = true;
+        int index = 0;
+        while (index < SORTED.size() && SORTED.get(index).key >= KEY) { index++; }
+        SORTED.add(index, ITEM);
+    }
+
+    private static void assertSameOrder(final List<Item> SORTED, final RankedList<Item> LIST, final Item[] ITEMS) {
+        assertEquals(SORTED.size(), LIST.size());
+        for (int rank = 0 ; rank < SORTED.size() ; rank++) { assertSame(SORTED.get(rank), LIST.get(rank)); }
+        for (Item item : ITEMS) {
+            assertEquals(SORTED.indexOf(item), LIST.indexOf(item));
+            assertTrue(item.inList == LIST.contains(item));
+        }
+    }
+
+
+    private static class Item {
+        private final int     id;
+        private       double  key;
+        private       boolean inList;
+
+
+        Item(final int ID) { id = ID; }
+
+        @Override public String toString() { return "Item " + id; }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+public class StreamingStatisticsTest {
+    private static final double EPSILON = 1e-9;
+
+
+    @Test public void statisticsMatchTheValuesInTheWindow() {
+        Random              random     = new Random(17);
+        StreamingStatistics statistics = new StreamingStatistics(100);
+        Deque<Double>       window     = new ArrayDeque<>();
+        for (int i = 0 ; i < 2_000 ; i++) {
+            double value = 50 + 10 * random.nextGaussian();
+            statistics.add(value);
+            window.addLast(value);
+            if (window.size() > 100) { window.removeFirst(); }
+            if (i % 23 == 0) { assertSameStatistics(window, statistics); }
+        }
+        assertSameStatistics(window, statistics);
+        assertTrue(statistics.isFull());
+    }
+
+    @Test public void estimatedQuantilesStayWithinOneBin() {
+        Random              random     = new Random(19);
+        StreamingStatistics statistics = new StreamingStatistics(500, 0, 100, 100);
+        StreamingStatistics exact      = new StreamingStatistics(500);
+        for (int i = 0 ; i < 3_000 ; i++) {
+            double value = Helper.clamp(0.0, 100.0, 50 + 15 * random.nextGaussian());
+            statistics.add(value);
+            exact.add(value);
+        }
+        double binWidth = 100.0 / 100;
+        for (double quantile : new double[] { 0.05, 0.25, 0.5, 0.75, 0.95 }) {
+            assertEquals("Quantile " + quantile, exact.getQuantile(quantile), statistics.getQuantile(quantile), binWidth);
+        }
+    }
+
+    @Test public void sketchIsKeptUpToDateAfterTheFirstQuery() {
+        StreamingStatistics statistics = new StreamingStatistics(10, 0, 100, 100);
+        for (int i = 0 ; i < 25 ; i++) { statistics.add(i); }
+        assertEquals(19.5, statistics.getMedian(), 1);
+        for (int i = 50 ; i < 60 ; i++) { statistics.add(i); }
+        assertEquals(54.5, statistics.getMedian(), 1);
+        statistics.clear();
+        statistics.add(80);
+        assertEquals(80, statistics.getMedian(), 1);
+    }
+
+    @Test public void setWindowSizeClearsTheWindow() {
+        StreamingStatistics statistics = new StreamingStatistics(10);
+        for (int i = 0 ; i < 25 ; i++) { statistics.add(i); }
+        assertEquals(10, statistics.getSize());
+        assertEquals(15, statistics.get(0), 0);
+        assertEquals(24, statistics.getLast(), 0);
+
+        statistics.setWindowSize(3);
+        assertTrue(statistics.isEmpty());
+        assertEquals(0, statistics.getMean(), 0);
+        for (int i = 0 ; i < 5 ; i++) { statistics.add(i); }
+        assertEquals(3, statistics.getSize());
+        assertEquals(2, statistics.getMin(), 0);
+        assertEquals(4, statistics.getMax(), 0);
+        assertEquals(3, statistics.getMean(), EPSILON);
+        assertFalse(statistics.isEmpty());
+    }
+
+
+    private static void assertSameStatistics(final Deque<Double> WINDOW, final StreamingStatistics STATISTICS) {
+        int      size   = WINDOW.size();
+        double[] values = new double[size];
+        int      i      = 0;
+        double   sum    = 0;
+        for (double value : WINDOW) {
+            values[i++] = value;
+            sum        += value;
+        }
+        double mean     = sum / size;
+        double variance = 0;
+        for (double value : values) { variance += (value - mean) * (value - mean); }
+        variance /= size;
+
+        double[] copy = new double[size];
+        assertEquals(size, STATISTICS.copyTo(copy));
+        for (int j = 0 ; j < size ; j++) { assertEquals(values[j], copy[j], 0); }
+
+        Arrays.sort(values);
+        assertEquals(size, STATISTICS.getSize());
+        assertEquals(mean, STATISTICS.getMean(), EPSILON);
+        assertEquals(variance, STATISTICS.getVariance(), 1e-6);
+        assertEquals(values[0], STATISTICS.getMin(), 0);
+        assertEquals(values[size - 1], STATISTICS.getMax(), 0);
+        double rank = 0.5 * (size - 1);
+        int    low  = (int) Math.floor(rank);
+        int    high = (int) Math.ceil(rank);
+        assertEquals(values[low] + (values[high] - values[low]) * (rank - low), STATISTICS.getMedian(), EPSILON);
+    }
+}
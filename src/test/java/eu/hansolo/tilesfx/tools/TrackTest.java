@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017 by Gerrit Grunwald
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.hansolo.tilesfx.tools;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class TrackTest {
+    private static final double MAX_LATITUDE = 85.0511287798;
+    private static final int    ZOOM_LEVEL   = 12;
+    private static final double TOLERANCE    = 1.0 / (256 * (1 << ZOOM_LEVEL));
+
+
+    @Test public void simplifiedTrackStaysWithinTolerance() {
+        Random random = new Random(42);
+        Track  track  = new Track();
+        addRandomWalk(track, random, 5_000, 0);
+        assertWithinTolerance(track, track.simplify(ZOOM_LEVEL));
+    }
+
+    @Test public void incrementallySimplifiedTrackStaysWithinTolerance() {
+        Random random = new Random(7);
+        Track  track  = new Track();
+        for (int i = 0 ; i < 50 ; i++) {
+            addRandomWalk(track, random, 100, 20);
+            assertWithinTolerance(track, track.simplify(ZOOM_LEVEL));
+        }
+    }
+
+    @Test public void simplifiedTrackStaysWithinToleranceAfterEviction() {
+        for (long seed = 0 ; seed < 20 ; seed++) {
+            Random random = new Random(seed);
+            Track  track  = new Track();
+            track.setMaxPoints(300 + random.nextInt(300));
+            for (int i = 0 ; i < 40 ; i++) {
+                addRandomWalk(track, random, 1 + random.nextInt(150), 0);
+                assertWithinTolerance(track, track.simplify(ZOOM_LEVEL));
+            }
+            track.setMaxPoints(track.size() / 3);
+            assertWithinTolerance(track, track.simplify(ZOOM_LEVEL));
+        }
+    }
+
+    @Test public void evictionKeepsMaxPoints() {
+        Track track = new Track();
+        track.setMaxPoints(100);
+        for (int i = 0 ; i < 1_000 ; i++) { track.add(10 + i * 1e-4, 20, i); }
+        assertEquals(100, track.size());
+        assertEquals(900, track.getFirstIndex());
+        assertEquals(1_000, track.getEndIndex());
+        assertEquals(900, track.getEpochMillis(0));
+        assertEquals(999, track.getEpochMillis(99));
+    }
+
+    @Test public void evictionKeepsMaxAge() {
+        Track track = new Track();
+        track.setMaxAge(java.time.Duration.ofMillis(50));
+        for (int i = 0 ; i < 1_000 ; i++) { track.add(10, 20 + i * 1e-4, i); }
+        assertEquals(51, track.size());
+        assertEquals(949, track.getEpochMillis(0));
+    }
+
+    @Test public void gapsAndEndpointsAreKept() {
+        Track track = new Track();
+        for (int i = 0 ; i < 100 ; i++) { track.add(10, 20 + i * 1e-5, i); }
+        track.add(0, 0, 100);
+        for (int i = 0 ; i < 100 ; i++) { track.add(11, 20 + i * 1e-5, 101 + i); }
+        int[] indices = track.simplify(ZOOM_LEVEL);
+        assertEquals(5, indices.length);
+        assertEquals(0, indices[0]);
+        assertEquals(99, indices[1]);
+        assertEquals(100, indices[2]);
+        assertEquals(101, indices[3]);
+        assertEquals(200, indices[4]);
+    }
+
+
+    private static void addRandomWalk(final Track TRACK, final Random RANDOM, final int COUNT, final int GAP_EVERY) {
+        double latitude  = TRACK.isEmpty() ? 47 : TRACK.getLatitude(TRACK.size() - 1);
+        double longitude = TRACK.isEmpty() ? 8  : TRACK.getLongitude(TRACK.size() - 1);
+        if (latitude == 0 && longitude == 0) {
+            latitude  = 47;
+            longitude = 8;
+        }
+        long millis = TRACK.isEmpty() ? 0 : TRACK.getEpochMillis(TRACK.size() - 1) + 1;
+        for (int i = 0 ; i < COUNT ; i++) {
+            if (GAP_EVERY > 0 && RANDOM.nextInt(GAP_EVERY) == 0) {
+                TRACK.add(0, 0, millis++);
+                continue;
+            }
+            latitude  += (RANDOM.nextDouble() - 0.45) * 1e-3;
+            longitude += (RANDOM.nextDouble() - 0.45) * 1e-3;
+            TRACK.add(latitude, longitude, millis++);
+        }
+    }
+
+    private static void assertWithinTolerance(final Track TRACK, final int[] INDICES) {
+        int size = TRACK.size();
+        if (size == 0) { return; }
+        assertEquals("first point kept", 0, INDICES[0]);
+        assertEquals("last point kept", size - 1, INDICES[INDICES.length - 1]);
+        for (int k = 0 ; k < INDICES.length - 1 ; k++) {
+            int start = INDICES[k];
+            int end   = INDICES[k + 1];
+            assertTrue("indices ascending", start < end);
+            for (int i = start + 1 ; i < end ; i++) {
+                assertTrue("gap " + i + " kept", !TRACK.isGap(i));
+                if (TRACK.isGap(start) || TRACK.isGap(end)) { continue; }
+                double distance = distanceToSegment(x(TRACK, i), y(TRACK, i), x(TRACK, start), y(TRACK, start), x(TRACK, end), y(TRACK, end));
+                assertTrue("point " + i + " is " + (distance / TOLERANCE) + " pixels away", distance <= TOLERANCE * 1.000001);
+            }
+        }
+    }
+
+    private static double x(final Track TRACK, final int INDEX) { return (TRACK.getLongitude(INDEX) + 180) / 360; }
+
+    private static double y(final Track TRACK, final int INDEX) {
+        double sin = Math.sin(Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, TRACK.getLatitude(INDEX)))));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+
+    private static double distanceToSegment(final double X, final double Y, final double X1, final double Y1, final double X2, final double Y2) {
+        double dx     = X2 - X1;
+        double dy     = Y2 - Y1;
+        double length = dx * dx + dy * dy;
+        double t      = length == 0 ? 0 : Math.max(0, Math.min(1, ((X - X1) * dx + (Y - Y1) * dy) / length));
+        return Math.hypot(X1 + t * dx - X, Y1 + t * dy - Y);
+    }
+}